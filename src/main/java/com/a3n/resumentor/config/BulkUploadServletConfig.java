@@ -0,0 +1,40 @@
+package com.a3n.resumentor.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.servlet.MultipartConfigFactory;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * Serves the bulk upload endpoint from a DispatcherServlet of its own, so that only this
+ * endpoint accepts large zips while all others keep the spring.servlet.multipart limits.
+ * The servlet uses the application context, so controllers, exception handlers and the
+ * security filters are the same as for every other request.
+ */
+@Configuration
+public class BulkUploadServletConfig {
+
+    public static final String BULK_UPLOAD_PATH = "/api/resume/bulk-upload";
+
+    @Value("${bulk.multipart.max-file-size:100MB}")
+    private DataSize maxFileSize;
+
+    @Value("${bulk.multipart.max-request-size:200MB}")
+    private DataSize maxRequestSize;
+
+    @Bean
+    public ServletRegistrationBean<DispatcherServlet> bulkUploadServletRegistration(WebApplicationContext applicationContext) {
+        ServletRegistrationBean<DispatcherServlet> registration =
+                new ServletRegistrationBean<>(new DispatcherServlet(applicationContext), BULK_UPLOAD_PATH);
+        registration.setName("bulkUploadDispatcherServlet");
+        MultipartConfigFactory multipart = new MultipartConfigFactory();
+        multipart.setMaxFileSize(maxFileSize);
+        multipart.setMaxRequestSize(maxRequestSize);
+        registration.setMultipartConfig(multipart.createMultipartConfig());
+        return registration;
+    }
+}
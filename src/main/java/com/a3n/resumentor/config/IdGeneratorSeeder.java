@@ -0,0 +1,44 @@
+package com.a3n.resumentor.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves each entity's row in the {@code id_generators} table past the highest id already
+ * in its table. Entities used to get their ids from AUTO_INCREMENT; the pooled table
+ * generator hands out blocks of ids in memory so inserts can be batched, and without this
+ * it would start at 1 on an existing database. Runs once the schema has been updated and
+ * before the application accepts requests.
+ */
+@Component
+@Slf4j
+public class IdGeneratorSeeder {
+
+    private static final List<String> TABLES = List.of(
+            "users", "resumes", "interview_sessions", "interview_questions", "achievements");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Forces the schema update (which creates id_generators) to run first
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void seed() {
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            // The table generator stores the last id it has reserved (hibernate.id.generator.stored_last_used),
+            // so the next block starts at next_val + 1
+            jdbcTemplate.update("INSERT INTO id_generators (sequence_name, next_val) VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, ?)", table, maxId, maxId);
+            log.debug("Id generator for {} starts at or after {}", table, maxId + 1);
+        }
+    }
+}
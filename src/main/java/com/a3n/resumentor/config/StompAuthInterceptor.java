@@ -0,0 +1,147 @@
+package com.a3n.resumentor.config;
+
+import com.a3n.resumentor.repository.InterviewSessionRepository;
+import com.a3n.resumentor.service.AnalysisProgressPublisher;
+import com.a3n.resumentor.service.ResumeAnalysisJobService;
+import com.a3n.resumentor.util.JwtTokenProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authenticates STOMP connections once, from the {@code Authorization} header of the
+ * CONNECT frame, and only lets clients use the destinations the app serves: SUBSCRIBE to
+ * their own {@code /user/queue/...} queues and to {@code /topic/interviews/{id}}, and SEND
+ * to {@code /app/interviews/{id}/...}. Everything else is refused, as are destinations
+ * containing broker pattern characters, which the simple broker would otherwise match
+ * against other users' topics. Interview ownership is checked against the database the
+ * first time a connection touches a session and is then remembered for the lifetime of
+ * the connection. Connections without a token stay anonymous and can use none of them.
+ */
+@Component
+@Slf4j
+public class StompAuthInterceptor implements ChannelInterceptor {
+
+    private static final Set<String> USER_QUEUES = Set.of(
+            AnalysisProgressPublisher.USER_DESTINATION, ResumeAnalysisJobService.USER_JOB_DESTINATION);
+    private static final Pattern INTERVIEW_TOPIC = Pattern.compile("^/topic/interviews/(\\d+)$");
+    private static final Pattern INTERVIEW_ACTION = Pattern.compile("^/app/interviews/(\\d+)/(next|answer|transcript)$");
+    private static final Pattern BROKER_PATTERN = Pattern.compile("[*?{}]");
+    private static final String AUTHORIZED_INTERVIEWS = "authorizedInterviews";
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private InterviewSessionRepository interviewSessionRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        switch (accessor.getCommand()) {
+            case CONNECT -> authenticate(accessor);
+            case SUBSCRIBE -> authorizeSubscribe(accessor);
+            case SEND -> authorizeSend(accessor);
+            default -> { }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (!StringUtils.hasText(header)) {
+            return;
+        }
+        String jwt = header.startsWith("Bearer ") ? header.substring(7) : header;
+        if (!jwtTokenProvider.validateToken(jwt)) {
+            throw new AccessDeniedException("Invalid authorization token");
+        }
+        Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+        accessor.setUser(new UsernamePasswordAuthenticationToken(userId, null, Collections.emptyList()));
+        log.debug("STOMP connection authenticated for user: {}", userId);
+    }
+
+    private void authorizeSubscribe(StompHeaderAccessor accessor) {
+        String destination = checkedDestination(accessor);
+        if (USER_QUEUES.contains(destination)) {
+            return;
+        }
+        Matcher interview = INTERVIEW_TOPIC.matcher(destination);
+        if (interview.matches()) {
+            authorizeInterview(accessor, Long.valueOf(interview.group(1)));
+            return;
+        }
+        throw new AccessDeniedException("Not allowed to subscribe to " + destination);
+    }
+
+    private void authorizeSend(StompHeaderAccessor accessor) {
+        // Only the server publishes to /topic and the queues
+        String destination = checkedDestination(accessor);
+        Matcher interview = INTERVIEW_ACTION.matcher(destination);
+        if (interview.matches()) {
+            authorizeInterview(accessor, Long.valueOf(interview.group(1)));
+            return;
+        }
+        throw new AccessDeniedException("Not allowed to send to " + destination);
+    }
+
+    /**
+     * The destination of a frame from an authenticated connection, without pattern characters.
+     */
+    private String checkedDestination(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null || BROKER_PATTERN.matcher(destination).find()) {
+            throw new AccessDeniedException("Not allowed to access " + destination);
+        }
+        if (userId(accessor.getUser()) == null) {
+            throw new AccessDeniedException("STOMP destinations require an authenticated connection");
+        }
+        return destination;
+    }
+
+    private void authorizeInterview(StompHeaderAccessor accessor, Long sessionId) {
+        Long userId = userId(accessor.getUser());
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        @SuppressWarnings("unchecked")
+        Set<Long> authorized = attributes == null ? ConcurrentHashMap.newKeySet()
+                : (Set<Long>) attributes.computeIfAbsent(AUTHORIZED_INTERVIEWS, key -> ConcurrentHashMap.newKeySet());
+        if (authorized.contains(sessionId)) {
+            return;
+        }
+        if (interviewSessionRepository.findBySessionIdAndUserId(sessionId, userId).isEmpty()) {
+            throw new AccessDeniedException("Interview session unauthorized access");
+        }
+        authorized.add(sessionId);
+    }
+
+    /**
+     * The user id of an authenticated STOMP principal, or null for anonymous connections.
+     */
+    public static Long userId(Principal principal) {
+        if (principal instanceof Authentication authentication && authentication.getPrincipal() instanceof Long id) {
+            return id;
+        }
+        return null;
+    }
+}
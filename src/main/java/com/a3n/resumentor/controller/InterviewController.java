@@ -4,10 +4,14 @@ import com.a3n.resumentor.dto.InterviewAnswerRequest;
 import com.a3n.resumentor.dto.InterviewResponse;
 import com.a3n.resumentor.dto.ReportDTO;
 import com.a3n.resumentor.entity.InterviewSession;
+import com.a3n.resumentor.exception.CapacityExceededException;
+import com.a3n.resumentor.service.AnalysisScheduler;
+import com.a3n.resumentor.service.IdempotencyService;
 import com.a3n.resumentor.service.InterviewService;
 import com.a3n.resumentor.util.JwtTokenProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +28,12 @@ public class InterviewController {
 
     @Autowired
     private InterviewService interviewService;
+
+    @Autowired
+    private AnalysisScheduler analysisScheduler;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
     
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
@@ -76,20 +86,41 @@ public class InterviewController {
     @PostMapping("/submit-answer")
     public ResponseEntity<?> submitAnswer(
             @RequestBody InterviewAnswerRequest request,
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 
         try {
             Long userId = extractUserIdFromToken(token);
+            String fingerprint = IdempotencyService.answerFingerprint(
+                    request.getSessionId(), request.getQuestionId(), request.getAnswer());
+            return idempotencyService.execute(idempotencyKey, userId, "submit-answer", fingerprint,
+                    () -> evaluateAnswer(request, userId));
+        } catch (Exception e) {
+            log.error("Error submitting answer: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Error submitting answer: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    private ResponseEntity<?> evaluateAnswer(InterviewAnswerRequest request, Long userId) {
+        try {
             log.info("Submitting answer for session: {} question: {}", request.getSessionId(), request.getQuestionId());
 
-            InterviewResponse response = interviewService.submitAnswer(
-                    request.getSessionId(),
-                    request.getQuestionId(),
-                    request.getAnswer(),
-                    userId
-            );
+            InterviewResponse response = analysisScheduler.call(userId, AnalysisScheduler.Workload.INTERVIEW_EVALUATION,
+                    () -> interviewService.submitAnswer(
+                            request.getSessionId(),
+                            request.getQuestionId(),
+                            request.getAnswer(),
+                            userId
+                    ));
 
             return ResponseEntity.ok(response);
+        } catch (CapacityExceededException e) {
+            log.warn("Answer evaluation rejected: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
         } catch (Exception e) {
             log.error("Error submitting answer: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
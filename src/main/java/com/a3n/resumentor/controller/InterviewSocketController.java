@@ -0,0 +1,166 @@
+package com.a3n.resumentor.controller;
+
+import com.a3n.resumentor.config.StompAuthInterceptor;
+import com.a3n.resumentor.dto.InterviewAnswerRequest;
+import com.a3n.resumentor.dto.InterviewResponse;
+import com.a3n.resumentor.dto.TranscriptChunk;
+import com.a3n.resumentor.exception.CapacityExceededException;
+import com.a3n.resumentor.service.AnalysisScheduler;
+import com.a3n.resumentor.service.IdempotencyService;
+import com.a3n.resumentor.service.InterviewService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Controller;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The interview question loop over STOMP on {@code /ws/interview}. The connection is
+ * authenticated once at CONNECT and session ownership is checked once per connection by
+ * {@link StompAuthInterceptor}. Clients send to {@code /app/interviews/{id}/next} and
+ * {@code /app/interviews/{id}/answer} and receive QUESTION, FEEDBACK, FOLLOW_UP, COMPLETED
+ * and ERROR events on {@code /topic/interviews/{id}}, tagged with the {@code request-id}
+ * header of the request that caused them. Answers are evaluated on the analysis
+ * scheduler and honour the same Idempotency-Key as the REST endpoint. Spoken answers are
+ * streamed to {@code /app/interviews/{id}/transcript}, usually from a connection on
+ * {@code /ws/transcript}; nothing is published back for them.
+ */
+@Controller
+@Slf4j
+public class InterviewSocketController {
+
+    public static final String TOPIC = "/topic/interviews/%d";
+    // Echoed as requestId on the events a request causes, so clients can match replies
+    public static final String REQUEST_ID_HEADER = "request-id";
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private AnalysisScheduler analysisScheduler;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @MessageMapping("/interviews/{sessionId}/next")
+    public void nextQuestion(@DestinationVariable Long sessionId,
+                             @Header(name = REQUEST_ID_HEADER, required = false) String requestId,
+                             Principal principal) {
+        Long userId = StompAuthInterceptor.userId(principal);
+        try {
+            publishQuestion(sessionId, interviewService.getNextQuestion(sessionId, userId), requestId);
+        } catch (Exception e) {
+            log.error("Error fetching question over STOMP: {}", e.getMessage());
+            publishError(sessionId, requestId, "Error fetching question: " + e.getMessage(), false);
+        }
+    }
+
+    @MessageMapping("/interviews/{sessionId}/answer")
+    public void submitAnswer(@DestinationVariable Long sessionId,
+                             @Payload InterviewAnswerRequest request,
+                             @Header(name = IdempotencyService.HEADER, required = false) String idempotencyKey,
+                             @Header(name = REQUEST_ID_HEADER, required = false) String requestHeader,
+                             Principal principal) {
+        Long userId = StompAuthInterceptor.userId(principal);
+        String requestId = requestHeader != null ? requestHeader : idempotencyKey;
+        log.info("Submitting answer over STOMP for session: {} question: {}", sessionId, request.getQuestionId());
+
+        // Same scope and fingerprint as the REST endpoint, so a retry over either replays.
+        // The key is resolved first, so a duplicate never takes a place on the scheduler.
+        String fingerprint = IdempotencyService.answerFingerprint(sessionId, request.getQuestionId(), request.getAnswer());
+        try {
+            idempotencyService.executeAsync(idempotencyKey, userId, "submit-answer", fingerprint,
+                    () -> analysisScheduler.<ResponseEntity<?>>submit(userId, AnalysisScheduler.Workload.INTERVIEW_EVALUATION,
+                            () -> ResponseEntity.ok(interviewService.submitAnswer(
+                                    sessionId, request.getQuestionId(), request.getAnswer(), userId))))
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            log.error("Error submitting answer over STOMP: {}", error.getMessage());
+                            publishError(sessionId, requestId, "Error submitting answer: " + error.getMessage(), false);
+                        } else if (result.getStatusCode().is2xxSuccessful() && result.getBody() instanceof InterviewResponse response) {
+                            publishAnswerResult(sessionId, requestId, request.getQuestionId(), response);
+                        } else {
+                            publishError(sessionId, requestId, messageOf(result.getBody()),
+                                    result.getStatusCode().is5xxServerError());
+                        }
+                    });
+        } catch (CapacityExceededException e) {
+            log.warn("Answer evaluation rejected: {}", e.getMessage());
+            publishError(sessionId, requestId, e.getMessage(), true);
+        }
+    }
+
+    @MessageMapping("/interviews/{sessionId}/transcript")
+    public void appendTranscript(@DestinationVariable Long sessionId, @Payload TranscriptChunk chunk,
+                                 Principal principal) {
+        Long userId = StompAuthInterceptor.userId(principal);
+        try {
+            if (!interviewService.appendTranscript(sessionId, chunk.getQuestionId(), chunk.getText(), chunk.isReset(), userId)) {
+                log.debug("Transcript chunk of question {} was not buffered: the question is answered or over the size limit",
+                        chunk.getQuestionId());
+            }
+        } catch (Exception e) {
+            // Not published: the answer is still scored from the submitted text
+            log.warn("Error buffering transcript for session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    private void publishAnswerResult(Long sessionId, String requestId, Long questionId, InterviewResponse response) {
+        Map<String, Object> feedback = event("FEEDBACK", requestId);
+        feedback.put("questionId", questionId);
+        feedback.put("score", response.getCurrentScore());
+        feedback.put("feedback", response.getFeedback());
+        publish(sessionId, feedback);
+
+        if (response.getFollowUpQuestion() != null) {
+            Map<String, Object> followUp = event("FOLLOW_UP", requestId);
+            followUp.put("question", response.getFollowUpQuestion());
+            publish(sessionId, followUp);
+        }
+        publishQuestion(sessionId, response, requestId);
+    }
+
+    private void publishQuestion(Long sessionId, InterviewResponse response, String requestId) {
+        Map<String, Object> event = event(Boolean.TRUE.equals(response.getIsCompleted()) ? "COMPLETED" : "QUESTION", requestId);
+        event.put("question", response);
+        publish(sessionId, event);
+    }
+
+    private void publishError(Long sessionId, String requestId, String message, boolean retryable) {
+        Map<String, Object> event = event("ERROR", requestId);
+        event.put("message", message);
+        event.put("retryable", retryable);
+        publish(sessionId, event);
+    }
+
+    private Map<String, Object> event(String type, String requestId) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("type", type);
+        if (requestId != null) {
+            event.put("requestId", requestId);
+        }
+        return event;
+    }
+
+    private void publish(Long sessionId, Map<String, Object> event) {
+        messagingTemplate.convertAndSend(String.format(TOPIC, sessionId), (Object) event);
+    }
+
+    private static String messageOf(Object body) {
+        if (body instanceof Map<?, ?> map && map.get("message") != null) {
+            return map.get("message").toString();
+        }
+        return "Error submitting answer";
+    }
+}
@@ -1,15 +1,24 @@
 package com.a3n.resumentor.controller;
 
+import com.a3n.resumentor.dto.AnalysisJob;
 import com.a3n.resumentor.dto.ResumeAnalysisResponse;
 import com.a3n.resumentor.entity.Resume;
+import com.a3n.resumentor.exception.CapacityExceededException;
+import com.a3n.resumentor.service.AnalysisProgressPublisher;
+import com.a3n.resumentor.service.AnalysisScheduler;
+import com.a3n.resumentor.service.BulkResumeAnalysisService;
+import com.a3n.resumentor.service.IdempotencyService;
+import com.a3n.resumentor.service.ResumeAnalysisJobService;
 import com.a3n.resumentor.service.ResumeAnalysisService;
 import com.a3n.resumentor.util.JwtTokenProvider;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -25,6 +34,18 @@ public class ResumeController {
     @Autowired
     private ResumeAnalysisService resumeAnalysisService;
     
+    @Autowired
+    private BulkResumeAnalysisService bulkResumeAnalysisService;
+
+    @Autowired
+    private ResumeAnalysisJobService resumeAnalysisJobService;
+
+    @Autowired
+    private AnalysisScheduler analysisScheduler;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
@@ -33,17 +54,35 @@ public class ResumeController {
             @RequestParam("file") MultipartFile file,
             @RequestParam("jobRole") String jobRole,
             @RequestParam(value = "jobDescription", required = false) String jobDescription,
-            @RequestHeader("Authorization") String token) {
+            @RequestHeader("Authorization") String token,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
 
         try {
             Long userId = extractUserIdFromToken(token);
+            return idempotencyService.execute(idempotencyKey, userId, "resume-upload",
+                    uploadFingerprint(idempotencyKey, file, jobRole, jobDescription),
+                    () -> analyzeUpload(file, jobRole, jobDescription, userId));
+        } catch (Exception e) {
+            log.error("Resume analysis error: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Analysis failed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    private ResponseEntity<?> analyzeUpload(MultipartFile file, String jobRole, String jobDescription, Long userId) {
+        try {
             log.info("Resume upload request for user: {}", userId);
 
-            ResumeAnalysisResponse response = resumeAnalysisService.analyzeResume(
-                    file, jobRole, jobDescription, userId
-            );
+            ResumeAnalysisResponse response = analysisScheduler.call(userId, AnalysisScheduler.Workload.RESUME_ANALYSIS,
+                    () -> resumeAnalysisService.analyzeResume(file, jobRole, jobDescription, userId));
 
             return ResponseEntity.ok(response);
+        } catch (CapacityExceededException e) {
+            log.warn("Resume analysis rejected: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
         } catch (IOException e) {
             log.error("File processing error: {}", e.getMessage());
             Map<String, String> error = new HashMap<>();
@@ -57,6 +96,101 @@ public class ResumeController {
         }
     }
 
+    /**
+     * Queues an analysis and returns right away with a job id. Poll the status URL, or
+     * subscribe to the topic to be notified when the job finishes.
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<?> submitAnalysisJob(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("jobRole") String jobRole,
+            @RequestParam(value = "jobDescription", required = false) String jobDescription,
+            @RequestHeader("Authorization") String token,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+
+        try {
+            Long userId = extractUserIdFromToken(token);
+            return idempotencyService.execute(idempotencyKey, userId, "resume-job",
+                    uploadFingerprint(idempotencyKey, file, jobRole, jobDescription),
+                    () -> queueAnalysisJob(file, jobRole, jobDescription, userId));
+        } catch (Exception e) {
+            log.error("Resume analysis job error: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Could not start analysis: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    private ResponseEntity<?> queueAnalysisJob(MultipartFile file, String jobRole, String jobDescription, Long userId) {
+        try {
+            log.info("Resume analysis job request for user: {}", userId);
+
+            AnalysisJob job = resumeAnalysisJobService.submit(file, jobRole, jobDescription, userId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("jobId", job.getJobId());
+            response.put("status", job.getStatus());
+            response.put("statusUrl", "/api/resume/jobs/" + job.getJobId());
+            response.put("topic", ResumeAnalysisJobService.USER_JOB_DESTINATION);
+            response.put("progressTopic", AnalysisProgressPublisher.USER_DESTINATION);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (CapacityExceededException e) {
+            log.warn("Resume analysis job rejected: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        } catch (IOException e) {
+            log.error("File processing error: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Error processing file: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            log.error("Resume analysis job error: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Could not start analysis: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getAnalysisJob(
+            @PathVariable String jobId,
+            @RequestHeader("Authorization") String token) {
+
+        try {
+            Long userId = extractUserIdFromToken(token);
+            return ResponseEntity.ok(resumeAnalysisJobService.getJob(jobId, userId));
+        } catch (SecurityException e) {
+            log.warn("Access denied to analysis job {}: {}", jobId, e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Access denied");
+            return ResponseEntity.status(403).body(error);
+        } catch (Exception e) {
+            log.error("Error fetching analysis job: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Analysis job not found");
+            return ResponseEntity.status(404).body(error);
+        }
+    }
+
+    /**
+     * Analyzes a batch of resumes (individual files and/or zips) against one job role.
+     * Progress and results are streamed back as server-sent events: "progress",
+     * "result" and "error" per file, then a final "complete" summary.
+     */
+    @PostMapping("/bulk-upload")
+    public SseEmitter bulkUploadAndAnalyze(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("jobRole") String jobRole,
+            @RequestParam(value = "jobDescription", required = false) String jobDescription,
+            @RequestHeader("Authorization") String token) throws IOException {
+
+        Long userId = extractUserIdFromToken(token);
+        log.info("Bulk resume upload request for user: {} ({} parts)", userId, files.size());
+        // Validation errors are rendered by GlobalExceptionHandler before the stream starts
+        return bulkResumeAnalysisService.startBulkAnalysis(files, jobRole, jobDescription, userId);
+    }
+
     @GetMapping("/{resumeId}")
     public ResponseEntity<?> getResume(
             @PathVariable Long resumeId,
@@ -151,6 +285,15 @@ public class ResumeController {
         }
     }
 
+    private String uploadFingerprint(String idempotencyKey, MultipartFile file, String jobRole,
+                                     String jobDescription) throws IOException {
+        // Hashing reads the whole file, so skip it for requests without a key
+        if (!StringUtils.hasText(idempotencyKey)) {
+            return null;
+        }
+        return IdempotencyService.uploadFingerprint(file, jobRole, jobDescription);
+    }
+
     private Long extractUserIdFromToken(String token) {
         if (StringUtils.hasText(token) && token.startsWith("Bearer ")) {
             String jwt = token.substring(7);
@@ -0,0 +1,45 @@
+package com.a3n.resumentor.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of an asynchronous resume analysis. Returned by the status endpoint and pushed
+ * to the owner's {@code /user/queue/resume-jobs} when the job finishes.
+ */
+@Data
+@NoArgsConstructor
+public class AnalysisJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private String jobId;
+    private volatile Status status;
+    private String fileName;
+    private String jobRole;
+    private volatile ResumeAnalysisResponse result;
+    private volatile String error;
+    private LocalDateTime createdAt;
+    private volatile LocalDateTime updatedAt;
+
+    @JsonIgnore
+    private Long userId;
+
+    public AnalysisJob(String jobId, Long userId, String fileName, String jobRole) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.fileName = fileName;
+        this.jobRole = jobRole;
+        this.status = Status.QUEUED;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = createdAt;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
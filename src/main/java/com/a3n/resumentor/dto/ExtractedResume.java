@@ -0,0 +1,80 @@
+package com.a3n.resumentor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExtractedResume {
+    private String text;
+    private Integer pageCount;
+    private List<Section> sections = new ArrayList<>();
+    private Contact contact;
+
+    public ExtractedResume(String text, Integer pageCount, List<Section> sections) {
+        this.text = text;
+        this.pageCount = pageCount;
+        this.sections = sections;
+    }
+
+    /**
+     * A deep copy, so a shared (e.g. cached) instance is never changed through the copy.
+     */
+    public ExtractedResume copy() {
+        List<Section> sectionsCopy = new ArrayList<>(sections.size());
+        sections.forEach(section -> sectionsCopy.add(section.copy()));
+        return new ExtractedResume(text, pageCount, sectionsCopy, contact == null ? null : contact.copy());
+    }
+
+    public boolean hasSection(String name) {
+        return sections.stream().anyMatch(section -> section.getName().equals(name));
+    }
+
+    public Section findSection(String name) {
+        return sections.stream().filter(section -> section.getName().equals(name)).findFirst().orElse(null);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Section {
+        private String name;      // normalized name, e.g. EXPERIENCE (OTHER for unrecognized headings)
+        private String heading;   // heading line as it appears in the document
+        private Integer start;    // offset of the heading in text
+        private Integer end;      // offset where the next section starts
+        private List<String> bullets = new ArrayList<>();
+
+        public Section(String name, String heading, Integer start, Integer end) {
+            this(name, heading, start, end, new ArrayList<>());
+        }
+
+        public Section copy() {
+            return new Section(name, heading, start, end, new ArrayList<>(bullets));
+        }
+    }
+
+    /**
+     * Contact details found in the block before the first section heading.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Contact {
+        private String email;
+        private String phone;
+        private String linkedin;
+        private String github;
+        private String location;
+        private Integer start;
+        private Integer end;
+
+        public Contact copy() {
+            return new Contact(email, phone, linkedin, github, location, start, end);
+        }
+    }
+}
@@ -21,4 +21,6 @@ public class InterviewResponse {
     private Integer currentScore;
     private InterviewQuestion.DifficultyLevel difficultyLevel;
     private Boolean isFollowUp;
+    // Follow-up question queued in response to the submitted answer, if any
+    private String followUpQuestion;
 }
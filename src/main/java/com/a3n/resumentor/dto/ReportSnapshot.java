@@ -0,0 +1,17 @@
+package com.a3n.resumentor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A finished interview's report as stored in {@code interview_sessions.feedback_report},
+ * tagged with the version of the report format it was built with.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSnapshot {
+    private int version;
+    private ReportDTO report;
+}
@@ -42,4 +42,7 @@ public class ResumeAnalysisResponse {
     private Integer keywordDensityScore;
     private List<String> atsIssues;
     private List<String> atsTips;
+
+    // Set when the upload revises an earlier resume
+    private ResumeRevision revision;
 }
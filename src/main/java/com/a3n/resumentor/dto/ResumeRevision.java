@@ -0,0 +1,33 @@
+package com.a3n.resumentor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How an upload differs from the earlier version of the same resume it revises.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumeRevision {
+    private Long previousResumeId;
+    private Integer previousAtsScore;
+    private Integer scoreDelta;
+    private Integer unattributedDelta;   // part of scoreDelta no single section change explains
+    private Boolean analysisReused;      // nothing changed, previous analysis was kept
+    private List<SectionChange> changes = new ArrayList<>();
+    private List<String> unchangedSections = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SectionChange {
+        private String section;
+        private String change;        // ADDED, REMOVED or MODIFIED
+        private Integer scoreDelta;   // rule-based score change caused by this section alone
+    }
+}
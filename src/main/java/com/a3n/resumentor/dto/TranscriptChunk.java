@@ -0,0 +1,18 @@
+package com.a3n.resumentor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A piece of a spoken answer streamed over {@code /ws/transcript}. With {@code reset} set,
+ * the text replaces everything buffered for the question so far.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptChunk {
+    private Long questionId;
+    private String text;
+    private boolean reset;
+}
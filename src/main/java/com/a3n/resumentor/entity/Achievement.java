@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 @Builder
 public class Achievement {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "achievements_id")
+    @TableGenerator(name = "achievements_id", table = "id_generators", pkColumnValue = "achievements", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
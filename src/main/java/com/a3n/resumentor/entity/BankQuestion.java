@@ -0,0 +1,54 @@
+package com.a3n.resumentor.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A question in the interview question bank. Questions are filed under a role key (such as
+ * {@code backend}, or {@code general} for questions that suit any role) and a category, and
+ * may be pinned to a difficulty. The fingerprint makes repeated imports of the same file
+ * idempotent.
+ */
+@Entity
+@Table(name = "question_bank",
+        uniqueConstraints = @UniqueConstraint(name = "uk_question_bank_fingerprint", columnNames = "fingerprint"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BankQuestion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "question_bank_id")
+    @TableGenerator(name = "question_bank_id", table = "id_generators", pkColumnValue = "question_bank", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String role;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Category category;
+
+    // Null when the question suits any difficulty
+    @Enumerated(EnumType.STRING)
+    private InterviewQuestion.DifficultyLevel difficultyLevel;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String questionText;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    // Maintained by the database so edits made directly in SQL are picked up by the refresh too
+    @Column(insertable = false, updatable = false,
+            columnDefinition = "DATETIME(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt;
+
+    public enum Category {
+        INTRO, TECHNICAL, BEHAVIORAL, GENERAL
+    }
+}
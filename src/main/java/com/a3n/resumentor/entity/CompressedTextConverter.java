@@ -0,0 +1,113 @@
+package com.a3n.resumentor.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate-compresses large text columns using a preset dictionary built from our own
+ * analysis JSON, feedback templates and skill names. Compressed values are stored as
+ * {@code dz1:<base64>} in the existing LONGTEXT columns, so rows written before this
+ * converter existed (plain text, no prefix) are still read back unchanged. Base64 makes
+ * values about a third larger than the raw deflate output would be in a BLOB; keeping the
+ * text columns avoids a column type change and an offline migration of existing rows.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    public static final String PREFIX = "dz1:";
+
+    // Below this size the base64 overhead eats most of the gain
+    static final int MIN_COMPRESS_CHARS = 256;
+
+    private static final byte[] DICTIONARY = loadDictionary("/compression/text-dictionary-v1.txt");
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        // Text that happens to start with the prefix must be compressed, or it would be misread
+        if (attribute.length() < MIN_COMPRESS_CHARS && !attribute.startsWith(PREFIX)) {
+            return attribute;
+        }
+        return compress(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        if (dbData == null || !dbData.startsWith(PREFIX)) {
+            return dbData;
+        }
+        return decompress(dbData);
+    }
+
+    public static boolean isCompressed(String dbData) {
+        return dbData != null && dbData.startsWith(PREFIX);
+    }
+
+    static String compress(String text) {
+        byte[] input = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 3));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(buffer);
+                out.write(buffer, 0, written);
+            }
+            return PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static String decompress(String dbData) {
+        byte[] input = Base64.getDecoder().decode(dbData.substring(PREFIX.length()));
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalStateException("Truncated compressed column value");
+                    }
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed column value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] loadDictionary(String resource) {
+        try (InputStream in = CompressedTextConverter.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Compression dictionary not found: " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -11,7 +11,8 @@ import lombok.*;
 @AllArgsConstructor
 public class InterviewQuestion {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "interview_questions_id")
+    @TableGenerator(name = "interview_questions_id", table = "id_generators", pkColumnValue = "interview_questions", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
@@ -28,9 +29,11 @@ public class InterviewQuestion {
     private DifficultyLevel difficultyLevel;
 
     @Column(columnDefinition = "LONGTEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String userAnswer;
 
     @Column(columnDefinition = "LONGTEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String aiFeedback;
 
     private Integer answerScore;
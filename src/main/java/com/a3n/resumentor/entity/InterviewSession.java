@@ -10,13 +10,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "interview_sessions")
+@Table(name = "interview_sessions",
+        indexes = @Index(name = "idx_interview_sessions_status_start", columnList = "status, start_time"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class InterviewSession {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "interview_sessions_id")
+    @TableGenerator(name = "interview_sessions_id", table = "id_generators", pkColumnValue = "interview_sessions", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
@@ -39,10 +41,14 @@ public class InterviewSession {
     private LocalDateTime endTime;
     private Integer durationMinutes;
 
+    @JsonIgnore
     @Column(columnDefinition = "LONGTEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String transcript;
 
+    @JsonIgnore
     @Column(columnDefinition = "LONGTEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String feedbackReport;
 
     private Integer score;
@@ -56,6 +62,40 @@ public class InterviewSession {
     @Enumerated(EnumType.STRING)
     private SessionStatus status = SessionStatus.ONGOING;
 
+    // Running totals of the scored, non-blank answers per difficulty and category. They are
+    // only changed by InterviewSessionRepository.addScore, never by saving the entity, and
+    // are null on sessions started before they were introduced.
+
+    @JsonIgnore
+    @Embedded
+    @AttributeOverride(name = "scoreSum", column = @Column(name = "basic_score_sum", updatable = false))
+    @AttributeOverride(name = "scoredCount", column = @Column(name = "basic_scored_count", updatable = false))
+    private ScoreTally basicScores = new ScoreTally();
+
+    @JsonIgnore
+    @Embedded
+    @AttributeOverride(name = "scoreSum", column = @Column(name = "intermediate_score_sum", updatable = false))
+    @AttributeOverride(name = "scoredCount", column = @Column(name = "intermediate_scored_count", updatable = false))
+    private ScoreTally intermediateScores = new ScoreTally();
+
+    @JsonIgnore
+    @Embedded
+    @AttributeOverride(name = "scoreSum", column = @Column(name = "advanced_score_sum", updatable = false))
+    @AttributeOverride(name = "scoredCount", column = @Column(name = "advanced_scored_count", updatable = false))
+    private ScoreTally advancedScores = new ScoreTally();
+
+    @JsonIgnore
+    @Embedded
+    @AttributeOverride(name = "scoreSum", column = @Column(name = "technical_score_sum", updatable = false))
+    @AttributeOverride(name = "scoredCount", column = @Column(name = "technical_scored_count", updatable = false))
+    private ScoreTally technicalScores = new ScoreTally();
+
+    @JsonIgnore
+    @Embedded
+    @AttributeOverride(name = "scoreSum", column = @Column(name = "behavioral_score_sum", updatable = false))
+    @AttributeOverride(name = "scoredCount", column = @Column(name = "behavioral_scored_count", updatable = false))
+    private ScoreTally behavioralScores = new ScoreTally();
+
     @JsonIgnore
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
@@ -16,7 +16,8 @@ import java.util.List;
 @AllArgsConstructor
 public class Resume {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "resumes_id")
+    @TableGenerator(name = "resumes_id", table = "id_generators", pkColumnValue = "resumes", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
@@ -32,10 +33,15 @@ public class Resume {
     private String jobDescription;
     private Integer atsScore;
 
+    // Earlier resume this upload was detected as a revision of
+    private Long previousVersionId;
+
     @Column(columnDefinition = "LONGTEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String analysisResult;
 
     @Column(columnDefinition = "LONGTEXT")
+    @Convert(converter = CompressedTextConverter.class)
     private String resumeText;
 
     @CreationTimestamp
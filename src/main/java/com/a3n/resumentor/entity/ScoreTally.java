@@ -0,0 +1,22 @@
+package com.a3n.resumentor.entity;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running sum and count of the scored answers in one bucket of an interview.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreTally {
+    private Integer scoreSum = 0;
+    private Integer scoredCount = 0;
+
+    public int average() {
+        return scoredCount == null || scoredCount == 0 ? 0 : scoreSum / scoredCount;
+    }
+}
@@ -0,0 +1,10 @@
+package com.a3n.resumentor.exception;
+
+/**
+ * Thrown when work is refused because the analysis queues are full. Maps to 503.
+ */
+public class CapacityExceededException extends IllegalStateException {
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.a3n.resumentor.repository;
+
+import com.a3n.resumentor.entity.BankQuestion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BankQuestionRepository extends JpaRepository<BankQuestion, Long> {
+
+    List<BankQuestion> findByActiveTrue();
+
+    /** Fingerprints of every question, retired ones included, for deduplicating imports. */
+    @Query("SELECT q.fingerprint FROM BankQuestion q")
+    List<String> findAllFingerprints();
+
+    /**
+     * Changes whenever a question is added, removed or edited; the in-memory index is
+     * rebuilt when it does.
+     */
+    @Query("SELECT COUNT(q) AS questionCount, MAX(q.id) AS maxId, MAX(q.updatedAt) AS lastUpdated FROM BankQuestion q")
+    BankVersion findVersion();
+
+    interface BankVersion {
+        Long getQuestionCount();
+        Long getMaxId();
+        LocalDateTime getLastUpdated();
+    }
+}
@@ -3,12 +3,75 @@ package com.a3n.resumentor.repository;
 import com.a3n.resumentor.entity.InterviewQuestion;
 import com.a3n.resumentor.entity.InterviewSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface InterviewQuestionRepository extends JpaRepository<InterviewQuestion, Long> {
     List<InterviewQuestion> findBySessionOrderByQuestionNumberAsc(InterviewSession session);
     Long countBySession(InterviewSession session);
+
+    @Modifying
+    @Query("UPDATE InterviewQuestion q SET q.userAnswer = :answer, q.aiFeedback = :feedback, q.answerScore = :score "
+            + "WHERE q.id = :id")
+    int recordAnswer(@Param("id") Long id, @Param("answer") String answer,
+                     @Param("feedback") String feedback, @Param("score") Integer score);
+
+    /**
+     * Records the answer only if the question has not been answered yet; returns 0 otherwise.
+     */
+    @Modifying
+    @Query("UPDATE InterviewQuestion q SET q.userAnswer = :answer, q.aiFeedback = :feedback, q.answerScore = :score "
+            + "WHERE q.id = :id AND q.userAnswer IS NULL")
+    int recordFirstAnswer(@Param("id") Long id, @Param("answer") String answer,
+                          @Param("feedback") String feedback, @Param("score") Integer score);
+
+    /**
+     * The question's score if it counts towards the session tallies (scored, non-blank answer).
+     */
+    @Query("SELECT q.answerScore FROM InterviewQuestion q WHERE q.id = :id AND q.answerScore IS NOT NULL "
+            + "AND q.userAnswer IS NOT NULL AND TRIM(q.userAnswer) <> ''")
+    Optional<Integer> findCountedScore(@Param("id") Long id);
+
+    @Query("SELECT COUNT(q) FROM InterviewQuestion q WHERE q.session.id = :sessionId AND q.userAnswer IS NULL")
+    long countUnanswered(@Param("sessionId") Long sessionId);
+
+    /**
+     * Count, sum and average of the scored, non-blank answers of a session per difficulty.
+     */
+    @Query("SELECT q.difficultyLevel AS difficultyLevel, COUNT(q) AS answeredCount, "
+            + "SUM(q.answerScore) AS scoreSum, AVG(q.answerScore) AS averageScore "
+            + "FROM InterviewQuestion q WHERE q.session.id = :sessionId AND q.answerScore IS NOT NULL "
+            + "AND q.userAnswer IS NOT NULL AND TRIM(q.userAnswer) <> '' GROUP BY q.difficultyLevel")
+    List<DifficultyScore> findScoresByDifficulty(@Param("sessionId") Long sessionId);
+
+    /**
+     * The questions of a session without their answer and feedback text.
+     */
+    @Query("SELECT q.id AS id, q.questionNumber AS questionNumber, q.questionText AS questionText, "
+            + "q.difficultyLevel AS difficultyLevel, q.isFollowUp AS isFollowUp, "
+            + "CASE WHEN q.userAnswer IS NULL THEN false ELSE true END AS answered "
+            + "FROM InterviewQuestion q WHERE q.session.id = :sessionId ORDER BY q.questionNumber ASC")
+    List<QuestionOutline> findOutlinesBySessionId(@Param("sessionId") Long sessionId);
+
+    interface DifficultyScore {
+        InterviewQuestion.DifficultyLevel getDifficultyLevel();
+        Long getAnsweredCount();
+        Long getScoreSum();
+        Double getAverageScore();
+    }
+
+    interface QuestionOutline {
+        Long getId();
+        Integer getQuestionNumber();
+        String getQuestionText();
+        InterviewQuestion.DifficultyLevel getDifficultyLevel();
+        Boolean getIsFollowUp();
+        Boolean getAnswered();
+    }
 }
@@ -3,10 +3,12 @@ package com.a3n.resumentor.repository;
 import com.a3n.resumentor.entity.InterviewSession;
 import com.a3n.resumentor.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +19,50 @@ public interface InterviewSessionRepository extends JpaRepository<InterviewSessi
     
     @Query("SELECT s FROM InterviewSession s JOIN FETCH s.user u WHERE s.id = :sessionId AND u.id = :userId")
     Optional<InterviewSession> findBySessionIdAndUserId(@Param("sessionId") Long sessionId, @Param("userId") Long userId);
+
+    /**
+     * Atomically adds a scored answer to the session's difficulty and category tallies.
+     * Re-scoring an answer passes the change in score and a zero (or negative) count.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InterviewSession s SET "
+            + "s.basicScores.scoreSum = s.basicScores.scoreSum + CASE :difficulty WHEN 'BASIC' THEN :scoreDelta ELSE 0 END, "
+            + "s.basicScores.scoredCount = s.basicScores.scoredCount + CASE :difficulty WHEN 'BASIC' THEN :countDelta ELSE 0 END, "
+            + "s.intermediateScores.scoreSum = s.intermediateScores.scoreSum + CASE :difficulty WHEN 'INTERMEDIATE' THEN :scoreDelta ELSE 0 END, "
+            + "s.intermediateScores.scoredCount = s.intermediateScores.scoredCount + CASE :difficulty WHEN 'INTERMEDIATE' THEN :countDelta ELSE 0 END, "
+            + "s.advancedScores.scoreSum = s.advancedScores.scoreSum + CASE :difficulty WHEN 'ADVANCED' THEN :scoreDelta ELSE 0 END, "
+            + "s.advancedScores.scoredCount = s.advancedScores.scoredCount + CASE :difficulty WHEN 'ADVANCED' THEN :countDelta ELSE 0 END, "
+            + "s.technicalScores.scoreSum = s.technicalScores.scoreSum + CASE WHEN :technical = true THEN :scoreDelta ELSE 0 END, "
+            + "s.technicalScores.scoredCount = s.technicalScores.scoredCount + CASE WHEN :technical = true THEN :countDelta ELSE 0 END, "
+            + "s.behavioralScores.scoreSum = s.behavioralScores.scoreSum + CASE WHEN :technical = false THEN :scoreDelta ELSE 0 END, "
+            + "s.behavioralScores.scoredCount = s.behavioralScores.scoredCount + CASE WHEN :technical = false THEN :countDelta ELSE 0 END "
+            + "WHERE s.id = :sessionId")
+    int addScore(@Param("sessionId") Long sessionId, @Param("difficulty") String difficulty,
+                 @Param("technical") boolean technical, @Param("scoreDelta") int scoreDelta,
+                 @Param("countDelta") int countDelta);
+
+    /**
+     * Completes ongoing sessions started before {@code cutoff} that have at least one answer,
+     * scoring them with the average of their scored, non-blank answers.
+     */
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.status = :completed, s.endTime = :now, s.durationMinutes = :duration, "
+            + "s.score = (SELECT COALESCE(FLOOR(AVG(q.answerScore)), 0) FROM InterviewQuestion q WHERE q.session = s "
+            + "AND q.answerScore IS NOT NULL AND q.userAnswer IS NOT NULL AND TRIM(q.userAnswer) <> '') "
+            + "WHERE s.status = :ongoing AND s.startTime < :cutoff "
+            + "AND EXISTS (SELECT 1 FROM InterviewQuestion q WHERE q.session = s AND q.userAnswer IS NOT NULL)")
+    int completeExpired(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now,
+                        @Param("duration") Integer duration,
+                        @Param("ongoing") InterviewSession.SessionStatus ongoing,
+                        @Param("completed") InterviewSession.SessionStatus completed);
+
+    /**
+     * Marks ongoing sessions started before {@code cutoff} as abandoned.
+     */
+    @Modifying
+    @Query("UPDATE InterviewSession s SET s.status = :abandoned, s.endTime = :now "
+            + "WHERE s.status = :ongoing AND s.startTime < :cutoff")
+    int abandonExpired(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now,
+                       @Param("ongoing") InterviewSession.SessionStatus ongoing,
+                       @Param("abandoned") InterviewSession.SessionStatus abandoned);
 }
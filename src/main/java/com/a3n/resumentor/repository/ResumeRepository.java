@@ -3,12 +3,39 @@ package com.a3n.resumentor.repository;
 import com.a3n.resumentor.entity.Resume;
 import com.a3n.resumentor.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Long> {
     List<Resume> findByUserOrderByCreatedAtDesc(User user);
     List<Resume> findByUserId(Long userId);
+
+    /**
+     * The user's five latest resumes for a role, as far as revision matching needs them.
+     * The stored analysis is left out; only the matched version's is read, on its own.
+     */
+    @Query("SELECT r.id AS id, r.fileName AS fileName, r.jobDescription AS jobDescription, "
+            + "r.atsScore AS atsScore, r.resumeText AS resumeText FROM Resume r "
+            + "WHERE r.user.id = :userId AND r.jobRole = :jobRole AND r.resumeText IS NOT NULL "
+            + "ORDER BY r.createdAt DESC LIMIT 5")
+    List<RevisionCandidate> findRevisionCandidates(@Param("userId") Long userId, @Param("jobRole") String jobRole);
+
+    @Query("SELECT r.analysisResult FROM Resume r WHERE r.id = :id")
+    String findAnalysisResultById(@Param("id") Long id);
+
+    @Query("SELECT r.fileUrl FROM Resume r WHERE r.fileUrl IN :fileUrls")
+    List<String> findReferencedFileUrls(@Param("fileUrls") Collection<String> fileUrls);
+
+    interface RevisionCandidate {
+        Long getId();
+        String getFileName();
+        String getJobDescription();
+        Integer getAtsScore();
+        String getResumeText();
+    }
 }
@@ -0,0 +1,28 @@
+package com.a3n.resumentor.repository;
+
+import com.a3n.resumentor.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Takes over an expired lease or renews one already held by {@code owner}.
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.expiresAt = :until "
+            + "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int takeOver(@Param("name") String name, @Param("owner") String owner,
+                 @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_leases (name, owner, expires_at) VALUES (:name, :owner, :until)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,21 @@
+package com.a3n.resumentor.service;
+
+import java.util.Map;
+
+/**
+ * Receives stage updates while a resume moves through the analysis pipeline.
+ */
+@FunctionalInterface
+public interface AnalysisProgressListener {
+
+    String UPLOADED = "UPLOADED";
+    String EXTRACTED = "EXTRACTED";
+    String SCORING = "SCORING";
+    String AI_PENDING = "AI_PENDING";
+    String SAVED = "SAVED";
+    String FAILED = "FAILED";
+
+    AnalysisProgressListener NONE = (stage, details) -> { };
+
+    void onStage(String stage, Map<String, Object> details);
+}
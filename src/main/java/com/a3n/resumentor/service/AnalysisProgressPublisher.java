@@ -0,0 +1,44 @@
+package com.a3n.resumentor.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Publishes analysis stage events to the user's own {@code /user/queue/resume-progress}
+ * on the STOMP broker, so the analyzer page can show real progress and partial results.
+ * Events are routed by the authenticated principal of the connection, so no other user
+ * can subscribe to them, including the AI_PENDING preview.
+ */
+@Service
+@Slf4j
+public class AnalysisProgressPublisher {
+
+    public static final String DESTINATION = "/queue/resume-progress";
+    // What clients subscribe to; the broker resolves it to the connection's own user
+    public static final String USER_DESTINATION = "/user" + DESTINATION;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    public AnalysisProgressListener forUser(Long userId, String jobId) {
+        String user = userId.toString();
+        return (stage, details) -> {
+            Map<String, Object> event = new HashMap<>(details);
+            event.put("stage", stage);
+            event.put("jobId", jobId);
+            event.put("timestamp", LocalDateTime.now().toString());
+            try {
+                messagingTemplate.convertAndSendToUser(user, DESTINATION, event);
+            } catch (Exception e) {
+                // Progress is best-effort; never fail an analysis because of it
+                log.debug("Could not publish {} progress for user {}: {}", stage, userId, e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,340 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.User;
+import com.a3n.resumentor.exception.CapacityExceededException;
+import com.a3n.resumentor.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits analysis and interview-evaluation work onto a shared worker pool. Each user gets
+ * their own queue and queues are served by deficit round robin, so one user scripting
+ * uploads only delays their own work. Registered users get a larger quantum than guests,
+ * and each class has its own concurrency cap so a flood of guest accounts can never hold
+ * every worker (or all of the OpenAI quota).
+ */
+@Service
+@Slf4j
+public class AnalysisScheduler {
+
+    public enum UserClass { REGISTERED, GUEST }
+
+    /**
+     * Kinds of scheduled work with their relative cost in deficit units.
+     */
+    public enum Workload {
+        RESUME_ANALYSIS(4),
+        INTERVIEW_EVALUATION(1);
+
+        private final int cost;
+
+        Workload(int cost) {
+            this.cost = cost;
+        }
+    }
+
+    @Value("${scheduler.workers:8}")
+    private int workers;
+
+    @Value("${scheduler.registered.quantum:4}")
+    private int registeredQuantum;
+
+    @Value("${scheduler.registered.max-concurrency:8}")
+    private int registeredMaxConcurrency;
+
+    @Value("${scheduler.guest.quantum:1}")
+    private int guestQuantum;
+
+    @Value("${scheduler.guest.max-concurrency:2}")
+    private int guestMaxConcurrency;
+
+    @Value("${scheduler.max-queued:200}")
+    private int maxQueued;
+
+    @Value("${scheduler.max-queued-per-user:20}")
+    private int maxQueuedPerUser;
+
+    // How long call() waits for a worker before giving up; running work is always awaited
+    @Value("${scheduler.max-wait-ms:60000}")
+    private long maxWaitMs;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, UserClass> userClasses = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private final Map<Long, Flow> flows = new HashMap<>();
+    private final Deque<Flow> activeFlows = new ArrayDeque<>();
+    private final Map<UserClass, ClassState> classes = new EnumMap<>(UserClass.class);
+    private int queued;
+    private int running;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "analysis-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        classes.put(UserClass.REGISTERED, new ClassState(UserClass.REGISTERED, registeredQuantum, registeredMaxConcurrency));
+        classes.put(UserClass.GUEST, new ClassState(UserClass.GUEST, guestQuantum, guestMaxConcurrency));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues work for the given user. Throws {@link CapacityExceededException} when the
+     * user's queue or the scheduler as a whole is full.
+     */
+    public <T> CompletableFuture<T> submit(Long userId, Workload workload, Callable<T> work) {
+        return enqueue(userId, workload, work).future;
+    }
+
+    /**
+     * Runs work through the scheduler and waits for its result on the calling thread.
+     * If no worker has picked the work up within {@code scheduler.max-wait-ms} it is
+     * taken off the queue and {@link CapacityExceededException} is thrown.
+     */
+    public <T> T call(Long userId, Workload workload, Callable<T> work) throws IOException {
+        Task<T> task = enqueue(userId, workload, work);
+        try {
+            try {
+                return task.future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (withdraw(userId, task)) {
+                    throw new CapacityExceededException("Analysis is busy, please try again shortly");
+                }
+                // Already running; its result is on the way
+                return task.future.get();
+            }
+        } catch (InterruptedException e) {
+            withdraw(userId, task);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for analysis", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private <T> Task<T> enqueue(Long userId, Workload workload, Callable<T> work) {
+        UserClass userClass = classify(userId);
+        Task<T> task = new Task<>(workload, work, System.nanoTime());
+        synchronized (this) {
+            ClassState state = classes.get(userClass);
+            Flow flow = flows.get(userId);
+            if (queued >= maxQueued || (flow != null && flow.tasks.size() >= maxQueuedPerUser)) {
+                state.rejected.increment();
+                throw new CapacityExceededException("Analysis queue is full, please try again shortly");
+            }
+            if (flow == null) {
+                flow = new Flow(userId, state);
+                flows.put(userId, flow);
+                activeFlows.addLast(flow);
+                state.activeUsers++;
+            }
+            flow.tasks.addLast(task);
+            state.queued++;
+            queued++;
+            dispatch();
+        }
+        return task;
+    }
+
+    /**
+     * Takes a task that no worker has started off its user's queue. Returns false if the
+     * task has already been started.
+     */
+    private synchronized boolean withdraw(Long userId, Task<?> task) {
+        Flow flow = flows.get(userId);
+        if (flow == null || !flow.tasks.remove(task)) {
+            return false;
+        }
+        if (flow.tasks.isEmpty()) {
+            flows.remove(userId);
+            activeFlows.remove(flow);
+            flow.state.activeUsers--;
+        }
+        flow.state.queued--;
+        queued--;
+        flow.state.expired.increment();
+        task.future.cancel(false);
+        return true;
+    }
+
+    public UserClass classify(Long userId) {
+        // Guest status is fixed when the account is created, so it is looked up only once
+        return userClasses.computeIfAbsent(userId, id -> userRepository.findById(id)
+                .map(User::getIsGuest)
+                .filter(Boolean.TRUE::equals)
+                .map(guest -> UserClass.GUEST)
+                .orElse(UserClass.REGISTERED));
+    }
+
+    /**
+     * Starts queued tasks while workers are free. Within the flows whose class is under
+     * its cap, the flow at the head of the ring gets its quantum once per turn and runs
+     * tasks while its deficit covers them; then the turn passes to the next flow.
+     */
+    private synchronized void dispatch() {
+        while (running < workers && hasEligibleFlow()) {
+            Flow flow = activeFlows.pollFirst();
+            if (flow.state.running >= flow.state.maxConcurrency) {
+                // Class is at its cap; skip without using up the flow's turn
+                activeFlows.addLast(flow);
+                continue;
+            }
+            if (!flow.inTurn) {
+                flow.deficit += flow.state.quantum;
+                flow.inTurn = true;
+            }
+            Task<?> head = flow.tasks.peekFirst();
+            if (head.workload.cost > flow.deficit) {
+                flow.inTurn = false;
+                activeFlows.addLast(flow);
+                continue;
+            }
+
+            flow.tasks.pollFirst();
+            flow.deficit -= head.workload.cost;
+            if (flow.tasks.isEmpty()) {
+                // Idle flows do not bank credit
+                flows.remove(flow.userId);
+                flow.state.activeUsers--;
+            } else {
+                activeFlows.addFirst(flow);
+            }
+            flow.state.queued--;
+            queued--;
+            flow.state.running++;
+            running++;
+            start(flow.state, head);
+        }
+    }
+
+    private boolean hasEligibleFlow() {
+        for (ClassState state : classes.values()) {
+            if (state.queued > 0 && state.running < state.maxConcurrency) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> void start(ClassState state, Task<T> task) {
+        state.waitTime(task.workload).record(System.nanoTime() - task.queuedAt, TimeUnit.NANOSECONDS);
+        executor.execute(() -> {
+            try {
+                task.future.complete(task.work.call());
+            } catch (Throwable e) {
+                task.future.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    state.running--;
+                    running--;
+                    dispatch();
+                }
+            }
+        });
+    }
+
+    private static class Task<T> {
+        private final Workload workload;
+        private final Callable<T> work;
+        private final long queuedAt;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Task(Workload workload, Callable<T> work, long queuedAt) {
+            this.workload = workload;
+            this.work = work;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    private static class Flow {
+        private final Long userId;
+        private final ClassState state;
+        private final Deque<Task<?>> tasks = new ArrayDeque<>();
+        private int deficit;
+        private boolean inTurn;
+
+        Flow(Long userId, ClassState state) {
+            this.userId = userId;
+            this.state = state;
+        }
+    }
+
+    private class ClassState {
+        private final UserClass userClass;
+        private final int quantum;
+        private final int maxConcurrency;
+        private final Counter rejected;
+        private final Counter expired;
+        private final Map<Workload, Timer> waitTimes = new EnumMap<>(Workload.class);
+        private int queued;
+        private int running;
+        private int activeUsers;
+
+        ClassState(UserClass userClass, int quantum, int maxConcurrency) {
+            this.userClass = userClass;
+            this.quantum = quantum;
+            this.maxConcurrency = maxConcurrency;
+            String tag = userClass.name().toLowerCase();
+
+            rejected = Counter.builder("resumentor.scheduler.rejected")
+                    .tag("class", tag)
+                    .description("Work refused because the queue was full")
+                    .register(meterRegistry);
+            expired = Counter.builder("resumentor.scheduler.expired")
+                    .tag("class", tag)
+                    .description("Work taken off the queue after waiting longer than scheduler.max-wait-ms")
+                    .register(meterRegistry);
+            Gauge.builder("resumentor.scheduler.queued", this, s -> s.queued)
+                    .tag("class", tag)
+                    .description("Tasks waiting for a worker")
+                    .register(meterRegistry);
+            Gauge.builder("resumentor.scheduler.running", this, s -> s.running)
+                    .tag("class", tag)
+                    .description("Tasks currently running")
+                    .register(meterRegistry);
+            Gauge.builder("resumentor.scheduler.active-users", this, s -> s.activeUsers)
+                    .tag("class", tag)
+                    .description("Users with queued work")
+                    .register(meterRegistry);
+        }
+
+        Timer waitTime(Workload workload) {
+            return waitTimes.computeIfAbsent(workload, w -> Timer.builder("resumentor.scheduler.wait")
+                    .tag("class", userClass.name().toLowerCase())
+                    .tag("workload", w.name().toLowerCase())
+                    .description("Time spent queued before a worker picked the task up")
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import com.a3n.resumentor.dto.ResumeAnalysisResponse;
+import com.a3n.resumentor.entity.Resume;
+import com.a3n.resumentor.entity.User;
+import com.a3n.resumentor.exception.CapacityExceededException;
+import com.a3n.resumentor.exception.ResourceNotFoundException;
+import com.a3n.resumentor.repository.UserRepository;
+import com.a3n.resumentor.storage.StagedUpload;
+import com.a3n.resumentor.util.FileUploadUtil;
+import com.a3n.resumentor.util.PDFExtractor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Analyzes many resumes against one job role, e.g. for career-center staff. Files are
+ * staged to disk on the request thread (zip entries are streamed out one at a time),
+ * then a coordinator fans them out to a bounded worker pool for extraction and
+ * analysis and saves the results in batches. Per-file progress is streamed back as
+ * server-sent events. Only {@code bulk.max-concurrent-batches} batches run at once, and
+ * {@code bulk.max-batches-per-user} per user; further batches are refused with
+ * {@link CapacityExceededException} before anything is staged.
+ */
+@Service
+@Slf4j
+public class BulkResumeAnalysisService {
+
+    @Value("${bulk.pool.size:4}")
+    private int poolSize;
+
+    @Value("${bulk.max-files:200}")
+    private int maxFiles;
+
+    @Value("${bulk.persist-batch-size:20}")
+    private int persistBatchSize;
+
+    @Value("${bulk.sse-timeout-ms:1800000}")
+    private long sseTimeoutMs;
+
+    @Value("${bulk.max-concurrent-batches:4}")
+    private int maxConcurrentBatches;
+
+    @Value("${bulk.max-batches-per-user:1}")
+    private int maxBatchesPerUser;
+
+    @Autowired
+    private ResumeAnalysisService resumeAnalysisService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FileUploadUtil fileUploadUtil;
+
+    @Autowired
+    private PDFExtractor pdfExtractor;
+
+    @Autowired
+    private AnalysisScheduler analysisScheduler;
+
+    private ExecutorService workers;
+    private ExecutorService coordinators;
+    // One coordinator thread per permit, so an admitted batch never waits for a coordinator
+    private Semaphore batchPermits;
+    private final Map<Long, Integer> batchesByUser = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        workers = Executors.newFixedThreadPool(poolSize, namedThreads("bulk-analysis"));
+        coordinators = Executors.newFixedThreadPool(maxConcurrentBatches, namedThreads("bulk-coordinator"));
+        batchPermits = new Semaphore(maxConcurrentBatches);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinators.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Stages every uploaded file (or every resume inside uploaded zips) and starts the
+     * analysis in the background. Files that fail validation are reported as errors in
+     * the event stream rather than failing the whole batch.
+     */
+    public SseEmitter startBulkAnalysis(List<MultipartFile> files, String jobRole, String jobDescription,
+                                        Long userId) throws IOException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        admit(userId);
+
+        List<BulkItem> items = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                String name = file.getOriginalFilename();
+                if (name != null && name.toLowerCase().endsWith(".zip")) {
+                    stageZip(file, items);
+                } else {
+                    checkFileCount(items);
+                    try {
+                        items.add(BulkItem.staged(name, fileUploadUtil.stageUpload(file)));
+                    } catch (IllegalArgumentException e) {
+                        items.add(BulkItem.rejected(name, e.getMessage()));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            items.forEach(BulkItem::close);
+            release(userId);
+            throw e;
+        }
+
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        log.info("Bulk analysis of {} files for user: {}, job role: {}", items.size(), userId, jobRole);
+        try {
+            coordinators.execute(() -> {
+                try {
+                    runBatch(items, user, jobRole, jobDescription, emitter);
+                } finally {
+                    release(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Only when shutting down
+            items.forEach(BulkItem::close);
+            release(userId);
+            throw new CapacityExceededException("Bulk analysis is not available, please try again shortly");
+        }
+        return emitter;
+    }
+
+    private void admit(Long userId) {
+        boolean[] admitted = {false};
+        batchesByUser.compute(userId, (id, running) -> {
+            int count = running == null ? 0 : running;
+            if (count >= maxBatchesPerUser) {
+                return running;
+            }
+            admitted[0] = true;
+            return count + 1;
+        });
+        if (!admitted[0]) {
+            throw new CapacityExceededException("A bulk analysis of yours is still running, please wait for it to finish");
+        }
+        if (!batchPermits.tryAcquire()) {
+            batchesByUser.computeIfPresent(userId, (id, running) -> running > 1 ? running - 1 : null);
+            throw new CapacityExceededException("Too many bulk analyses are running, please try again shortly");
+        }
+    }
+
+    private void release(Long userId) {
+        batchPermits.release();
+        batchesByUser.computeIfPresent(userId, (id, running) -> running > 1 ? running - 1 : null);
+    }
+
+    private void stageZip(MultipartFile zipFile, List<BulkItem> items) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(zipFile.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                String baseName = name.substring(name.lastIndexOf('/') + 1);
+                // Skip folders and archive-tool metadata such as __MACOSX/._resume.pdf
+                if (entry.isDirectory() || baseName.isEmpty() || baseName.startsWith(".") || name.startsWith("__MACOSX/")) {
+                    continue;
+                }
+                checkFileCount(items);
+                try {
+                    items.add(BulkItem.staged(baseName, fileUploadUtil.stageStream(zip, baseName)));
+                } catch (IllegalArgumentException e) {
+                    items.add(BulkItem.rejected(baseName, e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void checkFileCount(List<BulkItem> items) {
+        if (items.size() >= maxFiles) {
+            throw new IllegalArgumentException("Too many files, at most " + maxFiles + " can be analyzed at once");
+        }
+    }
+
+    private void runBatch(List<BulkItem> items, User user, String jobRole, String jobDescription, SseEmitter emitter) {
+        CompletionService<BulkItem> completion = new ExecutorCompletionService<>(workers);
+        AtomicInteger succeeded = new AtomicInteger();
+        int submitted = 0;
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkItem item = items.get(i);
+            item.index = i;
+            if (item.upload == null) {
+                send(emitter, "error", event(item, "error", item.error));
+                continue;
+            }
+            completion.submit(() -> analyze(item, user, jobRole, jobDescription, emitter));
+            submitted++;
+        }
+
+        List<BulkItem> pending = new ArrayList<>();
+        try {
+            for (int done = 0; done < submitted; done++) {
+                BulkItem item = completion.take().get();
+                if (item.resume == null) {
+                    send(emitter, "error", event(item, "error", item.error));
+                    continue;
+                }
+                pending.add(item);
+                if (pending.size() >= persistBatchSize) {
+                    persist(pending, user, emitter, succeeded);
+                }
+            }
+            persist(pending, user, emitter, succeeded);
+
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("total", items.size());
+            summary.put("succeeded", succeeded.get());
+            summary.put("failed", items.size() - succeeded.get());
+            send(emitter, "complete", summary);
+            emitter.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.completeWithError(e);
+        } catch (Exception e) {
+            log.error("Bulk analysis failed: {}", e.getMessage(), e);
+            emitter.completeWithError(e);
+        } finally {
+            // Anything not persisted is cleaned up by the staged upload
+            items.forEach(BulkItem::close);
+        }
+    }
+
+    private BulkItem analyze(BulkItem item, User user, String jobRole, String jobDescription, SseEmitter emitter) {
+        try {
+            // Each file waits its turn on the shared scheduler, so a large batch is served
+            // fairly alongside other users' work
+            ExtractedResume extracted = analysisScheduler.call(user.getId(), AnalysisScheduler.Workload.RESUME_ANALYSIS, () -> {
+                send(emitter, "progress", event(item, "extracting", null));
+                ExtractedResume text = pdfExtractor.extractResume(item.upload.getLocalPath().toString());
+
+                send(emitter, "progress", event(item, "analyzing", null));
+                item.analysis = resumeAnalysisService.analyze(text, jobRole, jobDescription, AnalysisProgressListener.NONE);
+                return text;
+            });
+
+            String fileUrl = item.upload.awaitStored();
+            item.resume = resumeAnalysisService.buildResume(user, fileUrl, item.fileName, jobRole, jobDescription,
+                    extracted.getText(), item.analysis);
+        } catch (Exception e) {
+            log.warn("Bulk analysis of {} failed: {}", item.fileName, e.getMessage());
+            item.error = e.getMessage();
+        }
+        return item;
+    }
+
+    private void persist(List<BulkItem> pending, User user, SseEmitter emitter, AtomicInteger succeeded) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            int bestScore = 0;
+            for (BulkItem item : pending) {
+                if (item.analysis.getAtsScore() != null) {
+                    bestScore = Math.max(bestScore, item.analysis.getAtsScore());
+                }
+            }
+            List<Resume> saved = resumeAnalysisService.persist(
+                    pending.stream().map(item -> item.resume).toList(), user.getId(), bestScore);
+
+            for (int i = 0; i < pending.size(); i++) {
+                BulkItem item = pending.get(i);
+                item.upload.markPersisted();
+                item.analysis.setResumeId(saved.get(i).getId());
+                succeeded.incrementAndGet();
+
+                Map<String, Object> result = event(item, "done", null);
+                result.put("resumeId", saved.get(i).getId());
+                result.put("atsScore", item.analysis.getAtsScore());
+                send(emitter, "result", result);
+            }
+        } catch (Exception e) {
+            log.error("Could not save bulk analysis batch: {}", e.getMessage(), e);
+            for (BulkItem item : pending) {
+                send(emitter, "error", event(item, "error", "Could not save analysis"));
+            }
+        }
+        pending.clear();
+    }
+
+    private Map<String, Object> event(BulkItem item, String stage, String message) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("index", item.index);
+        event.put("fileName", item.fileName);
+        event.put("stage", stage);
+        if (message != null) {
+            event.put("message", message);
+        }
+        return event;
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        // Workers and the coordinator share one emitter
+        synchronized (emitter) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; keep processing so the results are still saved
+                log.debug("Could not send bulk analysis event: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class BulkItem {
+        private final String fileName;
+        private final StagedUpload upload;
+        private int index;
+        private String error;
+        private Resume resume;
+        private ResumeAnalysisResponse analysis;
+
+        private BulkItem(String fileName, StagedUpload upload, String error) {
+            this.fileName = fileName;
+            this.upload = upload;
+            this.error = error;
+        }
+
+        static BulkItem staged(String fileName, StagedUpload upload) {
+            return new BulkItem(fileName, upload, null);
+        }
+
+        static BulkItem rejected(String fileName, String error) {
+            return new BulkItem(fileName, null, error);
+        }
+
+        void close() {
+            if (upload != null) {
+                upload.close();
+            }
+        }
+    }
+}
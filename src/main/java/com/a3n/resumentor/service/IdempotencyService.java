@@ -0,0 +1,241 @@
+package com.a3n.resumentor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import com.a3n.resumentor.util.ContentHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Makes retried requests that carry an {@code Idempotency-Key} header return the response
+ * of the first attempt instead of running the pipeline again. Keys are scoped to the user
+ * and endpoint and kept in a bounded LRU map that only evicts finished entries. While the
+ * first attempt is still running the key holds an in-flight future, so a concurrent
+ * duplicate waits for that result rather than recomputing it. Server errors are not
+ * remembered so they can be retried.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    @Value("${idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${idempotency.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${idempotency.wait-timeout-ms:120000}")
+    private long waitTimeoutMs;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Map<String, Entry> entries;
+    private Counter replayed;
+
+    @PostConstruct
+    public void init() {
+        entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                // Evict the least recently used finished entry. An in-flight entry stays, or its
+                // duplicates would run the action again; the map can briefly exceed the bound by
+                // the number of requests still running.
+                if (size() > maxEntries) {
+                    Iterator<Entry> oldest = values().iterator();
+                    while (oldest.hasNext()) {
+                        if (oldest.next().response.isDone()) {
+                            oldest.remove();
+                            break;
+                        }
+                    }
+                }
+                return false;
+            }
+        };
+        replayed = meterRegistry.counter("resumentor.idempotency.replayed");
+    }
+
+    /**
+     * Runs the action once per key. {@code fingerprint} identifies the request payload;
+     * reusing a key for a different payload is rejected with 422.
+     */
+    public ResponseEntity<?> execute(String key, Long userId, String scope, String fingerprint,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (!StringUtils.hasText(key)) {
+            return action.get();
+        }
+        String storeKey = userId + ":" + scope + ":" + key;
+        Claim claim = claim(storeKey, fingerprint);
+        if (!claim.owner()) {
+            if (!claim.entry().fingerprint.equals(fingerprint)) {
+                return mismatch();
+            }
+            replayed.increment();
+            log.info("Replaying response for idempotency key {} ({})", key, scope);
+            return await(claim.entry());
+        }
+
+        Entry entry = claim.entry();
+        try {
+            ResponseEntity<?> response = action.get();
+            if (response.getStatusCode().is5xxServerError()) {
+                forget(storeKey, entry);
+            }
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            forget(storeKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #execute}, for an action that completes asynchronously, e.g. on the
+     * analysis scheduler. A duplicate does not run or queue anything; its future completes
+     * with the response of the first attempt.
+     */
+    public CompletableFuture<ResponseEntity<?>> executeAsync(String key, Long userId, String scope, String fingerprint,
+                                                             Supplier<CompletableFuture<ResponseEntity<?>>> action) {
+        if (!StringUtils.hasText(key)) {
+            return action.get();
+        }
+        String storeKey = userId + ":" + scope + ":" + key;
+        Claim claim = claim(storeKey, fingerprint);
+        if (!claim.owner()) {
+            if (!claim.entry().fingerprint.equals(fingerprint)) {
+                return CompletableFuture.completedFuture(mismatch());
+            }
+            replayed.increment();
+            log.info("Replaying response for idempotency key {} ({})", key, scope);
+            return claim.entry().response.copy()
+                    .orTimeout(waitTimeoutMs, TimeUnit.MILLISECONDS)
+                    .handle((response, error) -> error == null ? response : replayError(error));
+        }
+
+        Entry entry = claim.entry();
+        CompletableFuture<ResponseEntity<?>> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            forget(storeKey, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        return result.whenComplete((response, error) -> {
+            if (error != null || response.getStatusCode().is5xxServerError()) {
+                forget(storeKey, entry);
+            }
+            if (error != null) {
+                entry.response.completeExceptionally(error);
+            } else {
+                entry.response.complete(response);
+            }
+        });
+    }
+
+    /**
+     * Fingerprint of an answer submission, shared by the REST and STOMP endpoints so a
+     * retry over either replays the same result.
+     */
+    public static String answerFingerprint(Long sessionId, Long questionId, String answer) {
+        return ContentHash.fingerprint(sessionId, questionId, answer);
+    }
+
+    /**
+     * Fingerprint of a resume upload: the SHA-256 of the file content plus the job fields.
+     */
+    public static String uploadFingerprint(MultipartFile file, String jobRole, String jobDescription) throws IOException {
+        return ContentHash.fingerprint(file, jobRole, jobDescription);
+    }
+
+    private Claim claim(String storeKey, String fingerprint) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            Entry entry = entries.get(storeKey);
+            if (entry == null || entry.isExpired(now, ttlMinutes)) {
+                entry = new Entry(fingerprint, now);
+                entries.put(storeKey, entry);
+                return new Claim(entry, true);
+            }
+            return new Claim(entry, false);
+        }
+    }
+
+    private ResponseEntity<?> await(Entry entry) {
+        try {
+            return entry.response.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the original request");
+        } catch (TimeoutException | ExecutionException e) {
+            return replayError(e);
+        }
+    }
+
+    private ResponseEntity<?> replayError(Throwable error) {
+        Throwable cause = error instanceof ExecutionException || error instanceof CompletionException
+                ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return error(HttpStatus.CONFLICT, "The original request is still being processed, please retry shortly");
+        }
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "The original request failed: " + cause.getMessage());
+    }
+
+    private ResponseEntity<?> mismatch() {
+        return error(HttpStatus.UNPROCESSABLE_CONTENT, "Idempotency-Key was already used for a different request");
+    }
+
+    private void forget(String storeKey, Entry entry) {
+        synchronized (entries) {
+            entries.remove(storeKey, entry);
+        }
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        return ResponseEntity.status(status).body(error);
+    }
+
+    private record Claim(Entry entry, boolean owner) {
+    }
+
+    private static class Entry {
+        private final String fingerprint;
+        private final long createdAt;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        Entry(String fingerprint, long createdAt) {
+            this.fingerprint = fingerprint;
+            this.createdAt = createdAt;
+        }
+
+        boolean isExpired(long now, long ttlMinutes) {
+            // An attempt that is still running never expires under its duplicates
+            return response.isDone() && now - createdAt > TimeUnit.MINUTES.toNanos(ttlMinutes);
+        }
+    }
+}
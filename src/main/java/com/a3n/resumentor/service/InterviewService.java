@@ -2,20 +2,32 @@ package com.a3n.resumentor.service;
 
 import com.a3n.resumentor.dto.InterviewResponse;
 import com.a3n.resumentor.dto.ReportDTO;
+import com.a3n.resumentor.dto.ReportSnapshot;
 import com.a3n.resumentor.entity.InterviewQuestion;
 import com.a3n.resumentor.entity.InterviewSession;
 import com.a3n.resumentor.entity.Resume;
+import com.a3n.resumentor.entity.ScoreTally;
 import com.a3n.resumentor.entity.User;
 import com.a3n.resumentor.exception.ResourceNotFoundException;
 import com.a3n.resumentor.repository.InterviewQuestionRepository;
+import com.a3n.resumentor.repository.InterviewQuestionRepository.DifficultyScore;
 import com.a3n.resumentor.repository.InterviewSessionRepository;
 import com.a3n.resumentor.repository.ResumeRepository;
 import com.a3n.resumentor.repository.UserRepository;
+import com.a3n.resumentor.service.LiveInterviewStateCache.LiveInterview;
+import com.a3n.resumentor.service.LiveInterviewStateCache.LiveQuestion;
+import com.a3n.resumentor.util.AnswerFeatures;
 import com.a3n.resumentor.util.MockAIAnalyzer;
 import com.a3n.resumentor.util.OpenAIService;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -30,9 +42,12 @@ import java.util.stream.IntStream;
 @Transactional
 public class InterviewService {
 
-    private static final int INTERVIEW_DURATION_MINUTES = 30;
+    static final int INTERVIEW_DURATION_MINUTES = 30;
     private static final int TOTAL_QUESTIONS = 12;
 
+    // Bump whenever ReportDTO or the way it is computed changes; older snapshots are rebuilt on view
+    static final int REPORT_SNAPSHOT_VERSION = 1;
+
     @Autowired
     private InterviewSessionRepository interviewSessionRepository;
 
@@ -54,6 +69,19 @@ public class InterviewService {
     @Autowired
     private AchievementService achievementService;
 
+    @Autowired
+    private LiveInterviewStateCache liveInterviewStateCache;
+
+    @Autowired
+    private QuestionBankService questionBankService;
+
+    @Value("${interview.transcript.max-answer-chars:20000}")
+    private int maxTranscriptChars;
+
+    private final ObjectMapper snapshotMapper = new ObjectMapper()
+            .setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
     public InterviewSession startInterview(Long userId, Long resumeId) {
         log.info("Starting interview for user: {}, resume: {}", userId, resumeId);
 
@@ -71,19 +99,16 @@ public class InterviewService {
 
         InterviewSession savedSession = interviewSessionRepository.save(session);
 
-        // Generate questions
-        generateQuestions(savedSession, resume);
+        // Generate questions; the new session starts out in the live cache
+        List<InterviewQuestion> questions = generateQuestions(savedSession, resume);
+        liveInterviewStateCache.put(LiveInterviewStateCache.from(savedSession, userId, questions));
+        liveInterviewStateCache.evictOnRollback(savedSession.getId());
 
         log.info("Interview session started. Session ID: {}", savedSession.getId());
         return savedSession;
     }
 
-    private void generateQuestions(InterviewSession session, Resume resume) {
-        List<String> questionTexts = mockAIAnalyzer.generateInterviewQuestions(
-                resume.getResumeText(),
-                resume.getJobRole()
-        );
-
+    private List<InterviewQuestion> generateQuestions(InterviewSession session, Resume resume) {
         // Create basic, intermediate, advanced distribution (4-4-4 for 12 questions)
         int[] difficulties = new int[TOTAL_QUESTIONS];
         for (int i = 0; i < TOTAL_QUESTIONS; i++) {
@@ -92,6 +117,10 @@ public class InterviewService {
             else difficulties[i] = 2; // ADVANCED (4 questions)
         }
 
+        List<String> questionTexts = questionBankService.sampleInterview(resume.getJobRole(),
+                IntStream.of(difficulties).mapToObj(d -> InterviewQuestion.DifficultyLevel.values()[d]).toList());
+
+        List<InterviewQuestion> questions = new ArrayList<>();
         IntStream.range(0, TOTAL_QUESTIONS).forEach(i -> {
             InterviewQuestion question = new InterviewQuestion();
             question.setSession(session);
@@ -100,81 +129,111 @@ public class InterviewService {
             question.setDifficultyLevel(InterviewQuestion.DifficultyLevel.values()[difficulties[i]]);
             question.setIsFollowUp(false);
 
-            interviewQuestionRepository.save(question);
+            questions.add(question);
         });
 
+        // One batched insert for the whole set
+        List<InterviewQuestion> saved = interviewQuestionRepository.saveAll(questions);
         log.info("Generated {} interview questions for session: {}", TOTAL_QUESTIONS, session.getId());
+        return saved;
     }
 
     public InterviewResponse getNextQuestion(Long sessionId, Long userId) {
-        InterviewSession session = verifySessionOwnership(sessionId, userId);
+        LiveInterview state = liveState(sessionId, userId);
 
-        if (isInterviewCompleted(session)) {
+        if (isInterviewCompleted(state)) {
             throw new IllegalArgumentException("Interview has been completed");
         }
 
         // Get the first unanswered question
-        List<InterviewQuestion> questions = interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session);
-        InterviewQuestion nextQuestion = questions.stream()
-                .filter(q -> q.getUserAnswer() == null)
-                .findFirst()
-                .orElse(questions.get(questions.size() - 1));
+        return buildInterviewResponse(state, state.nextQuestion());
+    }
+
+    /**
+     * Buffers a speech-to-text chunk of the answer to a question and updates its evaluation
+     * features, so scoring at submit time does not have to re-read the answer. Runs without
+     * a transaction; only a cold live state touches the database.
+     *
+     * @return whether the chunk was buffered
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean appendTranscript(Long sessionId, Long questionId, String text, boolean reset, Long userId) {
+        LiveInterview state = liveState(sessionId, userId);
+
+        if (isInterviewCompleted(state)) {
+            throw new IllegalArgumentException("Interview has been completed");
+        }
 
-        return buildInterviewResponse(session, nextQuestion);
+        LiveQuestion question = state.findQuestion(questionId);
+        if (question == null) {
+            throw new ResourceNotFoundException("Question not found");
+        }
+        return state.appendTranscript(questionId, text, reset,
+                () -> mockAIAnalyzer.answerFeatures(question.getText()), maxTranscriptChars);
     }
 
     public InterviewResponse submitAnswer(Long sessionId, Long questionId, String answer, Long userId) {
-        InterviewSession session = verifySessionOwnership(sessionId, userId);
+        LiveInterview state = liveState(sessionId, userId);
 
-        if (isInterviewCompleted(session)) {
+        if (isInterviewCompleted(state)) {
             throw new IllegalArgumentException("Interview has been completed");
         }
 
-        InterviewQuestion question = interviewQuestionRepository.findById(questionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Question not found"));
+        LiveQuestion question = state.findQuestion(questionId);
+        if (question == null) {
+            throw new ResourceNotFoundException("Question not found");
+        }
+        liveInterviewStateCache.evictOnRollback(sessionId);
 
         log.info("=== SUBMIT ANSWER DEBUG ===");
         log.info("Session: {}, Question: {}, Answer length: {}", sessionId, questionId, answer != null ? answer.length() : 0);
 
-        // Evaluate answer
-        String feedback = mockAIAnalyzer.evaluateInterviewAnswer(
-                question.getQuestionText(),
-                answer,
-                session.getResume().getResumeText()
-        );
+        // Evaluate answer, from the streamed transcript's features when they match the submitted text
+        AnswerFeatures features = state.takeAnswerFeatures(questionId, answer);
+        if (features == null) {
+            features = mockAIAnalyzer.answerFeatures(question.getText());
+            features.append(answer);
+        }
+        String feedback = mockAIAnalyzer.evaluateInterviewAnswer(question.getText(), features);
 
         // Score the answer (mock scoring)
-        int score = calculateScore(answer, feedback);
+        int score = calculateScore(answer, features, feedback);
 
         log.info("Generated score: {}, Feedback length: {}", score, feedback != null ? feedback.length() : 0);
 
-        question.setUserAnswer(answer);
-        question.setAiFeedback(feedback);
-        question.setAnswerScore(score);
-
-        InterviewQuestion savedQuestion = interviewQuestionRepository.save(question);
-        log.info("Saved question - ID: {}, Score: {}, Answer saved: {}",
-            savedQuestion.getId(), savedQuestion.getAnswerScore(), savedQuestion.getUserAnswer() != null);
+        // Write-through: one update of the answered row, then the session tallies and the live state
+        Integer previousScore = null;
+        if (interviewQuestionRepository.recordFirstAnswer(questionId, answer, feedback, score) == 0) {
+            // Re-answered: the new score replaces the earlier one in the tallies
+            previousScore = interviewQuestionRepository.findCountedScore(questionId).orElse(null);
+            interviewQuestionRepository.recordAnswer(questionId, answer, feedback, score);
+        }
+        boolean counted = answer != null && !answer.trim().isEmpty();
+        int scoreDelta = (counted ? score : 0) - (previousScore != null ? previousScore : 0);
+        int countDelta = (counted ? 1 : 0) - (previousScore != null ? 1 : 0);
+        if (scoreDelta != 0 || countDelta != 0) {
+            interviewSessionRepository.addScore(sessionId, question.getDifficultyLevel().name(),
+                    isTechnicalQuestion(question.getText()), scoreDelta, countDelta);
+        }
+        state.markAnswered(questionId);
+        log.info("Saved question - ID: {}, Score: {}, Answer saved: {}", questionId, score, answer != null);
 
         // Try to generate a conversational follow-up question via AI
-        if (!Boolean.TRUE.equals(question.getIsFollowUp())) {
+        String followUpQuestion = null;
+        if (!question.isFollowUp()) {
             try {
-                String jobRole = session.getResume() != null ? session.getResume().getJobRole() : "General";
                 String followUpText = openAIService.generateFollowUpQuestion(
-                        question.getQuestionText(), answer, jobRole);
+                        question.getText(), answer, state.getJobRole());
 
                 if (followUpText != null && !followUpText.isBlank()) {
-                    // Get current max question number
-                    List<InterviewQuestion> allQs = interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session);
-                    int maxNum = allQs.stream().mapToInt(InterviewQuestion::getQuestionNumber).max().orElse(0);
-
                     InterviewQuestion followUp = new InterviewQuestion();
-                    followUp.setSession(session);
-                    followUp.setQuestionNumber(maxNum + 1);
+                    followUp.setSession(interviewSessionRepository.getReferenceById(sessionId));
+                    followUp.setQuestionNumber(state.maxQuestionNumber() + 1);
                     followUp.setQuestionText(followUpText);
                     followUp.setDifficultyLevel(question.getDifficultyLevel());
                     followUp.setIsFollowUp(true);
-                    interviewQuestionRepository.save(followUp);
+                    state.addQuestion(interviewQuestionRepository.save(followUp));
+                    followUpQuestion = followUpText;
                     log.info("Generated follow-up question for session: {}", sessionId);
                 }
             } catch (Exception e) {
@@ -182,22 +241,22 @@ public class InterviewService {
             }
         }
 
-        // Check if all questions answered or time exceeded
-        if (isInterviewCompleted(session)) {
+        // Check if all questions answered or time exceeded; the database has the final say
+        if (isInterviewCompleted(state) && (state.elapsedMinutes() >= INTERVIEW_DURATION_MINUTES
+                || interviewQuestionRepository.countUnanswered(sessionId) == 0)) {
+            InterviewSession session = verifySessionOwnership(sessionId, userId);
             session.setStatus(InterviewSession.SessionStatus.COMPLETED);
             session.setEndTime(LocalDateTime.now());
             session.setDurationMinutes((int) ChronoUnit.MINUTES.between(session.getStartTime(), session.getEndTime()));
 
-            // Calculate and save the session score
-            List<InterviewQuestion> allQuestions = interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session);
-            int avgScore = (int) allQuestions.stream()
-                    .filter(q -> q.getUserAnswer() != null && !q.getUserAnswer().trim().isEmpty() && q.getAnswerScore() != null)
-                    .mapToInt(InterviewQuestion::getAnswerScore)
-                    .average()
-                    .orElse(0);
+            int avgScore = overallScores(session).average();
             session.setScore(avgScore);
+            List<InterviewQuestion> questions = interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session);
+            session.setTranscript(buildTranscript(questions));
+            storeReportSnapshot(session, buildInterviewReport(session, questions));
 
             interviewSessionRepository.save(session);
+            liveInterviewStateCache.evict(sessionId);
             log.info("Interview completed for session: {}, Final Score: {}", sessionId, avgScore);
 
             // Check and award achievements
@@ -207,9 +266,15 @@ public class InterviewService {
             } catch (Exception e) {
                 log.warn("Error checking interview achievements: {}", e.getMessage());
             }
+
         }
 
-        return getNextQuestion(sessionId, userId);
+        // Reports isCompleted once the interview is over, which the client acts on
+        InterviewResponse response = buildInterviewResponse(state, state.nextQuestion());
+        response.setFeedback(feedback);
+        response.setCurrentScore(score);
+        response.setFollowUpQuestion(followUpQuestion);
+        return response;
     }
 
     public void endInterview(Long sessionId, Long userId, Integer eyeContactPercentage, Integer faceCenteringScore) {
@@ -228,18 +293,17 @@ public class InterviewService {
         }
 
         // Calculate overall score from ANSWERED questions only
-        List<InterviewQuestion> questions = interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session);
-        List<InterviewQuestion> answeredQuestions = questions.stream()
-                .filter(q -> q.getUserAnswer() != null && !q.getUserAnswer().trim().isEmpty() && q.getAnswerScore() != null)
-                .collect(java.util.stream.Collectors.toList());
-        
-        int avgScore = (int) answeredQuestions.stream()
-                .mapToInt(InterviewQuestion::getAnswerScore)
-                .average()
-                .orElse(0);
+        ScoreTally overall = overallScores(session);
+        int avgScore = overall.average();
 
         session.setScore(avgScore);
+        List<InterviewQuestion> questions = interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session);
+        if (session.getTranscript() == null) {
+            session.setTranscript(buildTranscript(questions));
+        }
+        storeReportSnapshot(session, buildInterviewReport(session, questions));
         interviewSessionRepository.save(session);
+        liveInterviewStateCache.evict(sessionId);
 
         // Check and award achievements
         try {
@@ -249,7 +313,7 @@ public class InterviewService {
             log.warn("Error checking interview achievements: {}", e.getMessage());
         }
 
-        log.info("Interview ended for session: {}. Answered: {}, Avg Score: {}", sessionId, answeredQuestions.size(), avgScore);
+        log.info("Interview ended for session: {}. Answered: {}, Avg Score: {}", sessionId, overall.getScoredCount(), avgScore);
     }
 
     public void deleteInterview(Long sessionId, Long userId) {
@@ -261,21 +325,66 @@ public class InterviewService {
 
         // Delete the session
         interviewSessionRepository.delete(session);
+        liveInterviewStateCache.evict(sessionId);
 
         log.info("Interview session deleted: {}", sessionId);
     }
 
+    /**
+     * Serves the report of a finished interview from its stored snapshot. Reports of
+     * ongoing interviews, and of finished ones without a current snapshot (reaped sessions,
+     * older sessions, or a bumped report version), are built from the questions; the
+     * latter are stored for the next view.
+     */
     public ReportDTO getInterviewReport(Long sessionId, Long userId) {
         InterviewSession session = verifySessionOwnership(sessionId, userId);
 
-        List<InterviewQuestion> questions = interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session);
-        
-        log.info("=== REPORT GENERATION DEBUG ===");
-        log.info("Session ID: {}, Total questions in DB: {}", sessionId, questions.size());
-        
-        // Log each question's state
+        ReportDTO snapshot = readReportSnapshot(session);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        ReportDTO report = buildInterviewReport(session);
+        if (session.getStatus() != InterviewSession.SessionStatus.ONGOING) {
+            storeReportSnapshot(session, report);
+            interviewSessionRepository.save(session);
+        }
+        return report;
+    }
+
+    private ReportDTO readReportSnapshot(InterviewSession session) {
+        if (session.getFeedbackReport() == null || session.getStatus() == InterviewSession.SessionStatus.ONGOING) {
+            return null;
+        }
+        try {
+            JsonNode snapshot = snapshotMapper.readTree(session.getFeedbackReport());
+            if (snapshot.path("version").asInt() != REPORT_SNAPSHOT_VERSION) {
+                return null;
+            }
+            return snapshotMapper.treeToValue(snapshot.get("report"), ReportDTO.class);
+        } catch (Exception e) {
+            log.warn("Discarding unreadable report snapshot of session {}: {}", session.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void storeReportSnapshot(InterviewSession session, ReportDTO report) {
+        try {
+            session.setFeedbackReport(snapshotMapper.writeValueAsString(new ReportSnapshot(REPORT_SNAPSHOT_VERSION, report)));
+        } catch (Exception e) {
+            // The report is rebuilt on the next view instead
+            log.warn("Could not store report snapshot of session {}: {}", session.getId(), e.getMessage());
+            session.setFeedbackReport(null);
+        }
+    }
+
+    private ReportDTO buildInterviewReport(InterviewSession session) {
+        return buildInterviewReport(session, interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session));
+    }
+
+    private ReportDTO buildInterviewReport(InterviewSession session, List<InterviewQuestion> questions) {
+        log.debug("Building report for session {} from {} questions", session.getId(), questions.size());
         for (InterviewQuestion q : questions) {
-            log.info("Q{}: Answer={}, Score={}, Feedback={}", 
+            log.debug("Q{}: Answer={}, Score={}, Feedback={}", 
                 q.getQuestionNumber(),
                 q.getUserAnswer() != null ? "YES (len=" + q.getUserAnswer().length() + ")" : "NULL",
                 q.getAnswerScore(),
@@ -288,7 +397,7 @@ public class InterviewService {
                 .filter(q -> q.getUserAnswer() != null && !q.getUserAnswer().trim().isEmpty())
                 .collect(java.util.stream.Collectors.toList());
         
-        log.info("Answered questions count: {}", answeredQuestions.size());
+        log.debug("Answered questions count: {}", answeredQuestions.size());
 
         ReportDTO report = new ReportDTO();
         report.setSessionId(session.getId());
@@ -297,13 +406,11 @@ public class InterviewService {
         report.setDurationMinutes(session.getDurationMinutes() != null ? session.getDurationMinutes() : 0);
         
         // ALWAYS calculate totalScore from answered questions
-        int totalScore = (int) answeredQuestions.stream()
-                .filter(q -> q.getAnswerScore() != null)
-                .mapToInt(InterviewQuestion::getAnswerScore)
-                .average()
-                .orElse(0);
+        boolean tallied = hasScoreTallies(session);
+        ScoreTally overall = overallScores(session);
+        int totalScore = overall.average();
         
-        log.info("Calculated total score from {} answered questions: {}", answeredQuestions.size(), totalScore);
+        log.debug("Calculated total score from {} answered questions: {}", answeredQuestions.size(), totalScore);
         report.setTotalScore(totalScore);
 
         // Calculate basic statistics based on answered questions
@@ -322,25 +429,26 @@ public class InterviewService {
         report.setIncorrectAnswers((int) incorrectAnswers);
 
         // Calculate average score per question
-        double avgScore = answeredQuestions.stream()
-                .filter(q -> q.getAnswerScore() != null)
-                .mapToInt(InterviewQuestion::getAnswerScore)
-                .average()
-                .orElse(0);
+        double avgScore = overall.getScoredCount() == 0 ? 0 : (double) overall.getScoreSum() / overall.getScoredCount();
         report.setAverageScorePerQuestion(Math.round(avgScore * 10) / 10.0);
 
-        // Calculate scores by difficulty
-        int basicScore = calculateAverageByDifficulty(answeredQuestions, InterviewQuestion.DifficultyLevel.BASIC);
-        int intermediateScore = calculateAverageByDifficulty(answeredQuestions, InterviewQuestion.DifficultyLevel.INTERMEDIATE);
-        int advancedScore = calculateAverageByDifficulty(answeredQuestions, InterviewQuestion.DifficultyLevel.ADVANCED);
+        // Calculate scores by difficulty (running tallies, or a scan for sessions that predate them)
+        int basicScore = tallied ? session.getBasicScores().average()
+                : calculateAverageByDifficulty(answeredQuestions, InterviewQuestion.DifficultyLevel.BASIC);
+        int intermediateScore = tallied ? session.getIntermediateScores().average()
+                : calculateAverageByDifficulty(answeredQuestions, InterviewQuestion.DifficultyLevel.INTERMEDIATE);
+        int advancedScore = tallied ? session.getAdvancedScores().average()
+                : calculateAverageByDifficulty(answeredQuestions, InterviewQuestion.DifficultyLevel.ADVANCED);
         
         report.setBasicQuestionsScore(basicScore);
         report.setIntermediateQuestionsScore(intermediateScore);
         report.setAdvancedQuestionsScore(advancedScore);
 
         // Calculate technical vs behavioral scores
-        int technicalScore = calculateCategoryScore(answeredQuestions, true);
-        int behavioralScore = calculateCategoryScore(answeredQuestions, false);
+        int technicalScore = tallied ? session.getTechnicalScores().average()
+                : calculateCategoryScore(answeredQuestions, true);
+        int behavioralScore = tallied ? session.getBehavioralScores().average()
+                : calculateCategoryScore(answeredQuestions, false);
         report.setTechnicalScore(technicalScore);
         report.setBehavioralScore(behavioralScore);
 
@@ -479,6 +587,33 @@ public class InterviewService {
         return report;
     }
 
+    private static boolean hasScoreTallies(InterviewSession session) {
+        return session.getBasicScores() != null && session.getIntermediateScores() != null
+                && session.getAdvancedScores() != null && session.getTechnicalScores() != null
+                && session.getBehavioralScores() != null;
+    }
+
+    /**
+     * Sum and count of all scored answers: read from the session's running tallies, or
+     * aggregated in the database for sessions started before the tallies existed.
+     */
+    private ScoreTally overallScores(InterviewSession session) {
+        ScoreTally overall = new ScoreTally();
+        if (hasScoreTallies(session)) {
+            for (ScoreTally tally : List.of(session.getBasicScores(), session.getIntermediateScores(),
+                    session.getAdvancedScores())) {
+                overall.setScoreSum(overall.getScoreSum() + tally.getScoreSum());
+                overall.setScoredCount(overall.getScoredCount() + tally.getScoredCount());
+            }
+            return overall;
+        }
+        for (DifficultyScore score : interviewQuestionRepository.findScoresByDifficulty(session.getId())) {
+            overall.setScoreSum(overall.getScoreSum() + score.getScoreSum().intValue());
+            overall.setScoredCount(overall.getScoredCount() + score.getAnsweredCount().intValue());
+        }
+        return overall;
+    }
+
     private int calculateAverageByDifficulty(List<InterviewQuestion> questions, InterviewQuestion.DifficultyLevel level) {
         return (int) questions.stream()
                 .filter(q -> q.getDifficultyLevel() == level && q.getAnswerScore() != null)
@@ -489,20 +624,21 @@ public class InterviewService {
 
     private int calculateCategoryScore(List<InterviewQuestion> questions, boolean technical) {
         return (int) questions.stream()
-                .filter(q -> {
-                    String text = q.getQuestionText().toLowerCase();
-                    boolean isTechnical = text.contains("code") || text.contains("design") || 
-                                         text.contains("implement") || text.contains("api") ||
-                                         text.contains("database") || text.contains("system") ||
-                                         text.contains("architecture") || text.contains("testing");
-                    return technical ? isTechnical : !isTechnical;
-                })
+                .filter(q -> isTechnicalQuestion(q.getQuestionText()) == technical)
                 .filter(q -> q.getAnswerScore() != null)
                 .mapToInt(InterviewQuestion::getAnswerScore)
                 .average()
                 .orElse(0);
     }
 
+    private static boolean isTechnicalQuestion(String questionText) {
+        String text = questionText.toLowerCase();
+        return text.contains("code") || text.contains("design") ||
+                text.contains("implement") || text.contains("api") ||
+                text.contains("database") || text.contains("system") ||
+                text.contains("architecture") || text.contains("testing");
+    }
+
     private int calculateCommunicationRating(List<InterviewQuestion> questions) {
         long wellAnswered = questions.stream()
                 .filter(q -> q.getUserAnswer() != null && q.getUserAnswer().split("\\s+").length >= 30)
@@ -533,27 +669,40 @@ public class InterviewService {
         );
     }
 
-    private InterviewResponse buildInterviewResponse(InterviewSession session, InterviewQuestion question) {
-        long elapsedMinutes = ChronoUnit.MINUTES.between(session.getStartTime(), LocalDateTime.now());
-        List<InterviewQuestion> questions = interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session);
-
+    private InterviewResponse buildInterviewResponse(LiveInterview state, LiveQuestion question) {
         InterviewResponse response = new InterviewResponse();
-        response.setSessionId(session.getId());
+        response.setSessionId(state.getSessionId());
         response.setQuestionId(question.getId());
-        response.setCurrentQuestion(question.getQuestionText());
-        response.setJobRole(session.getResume().getJobRole());
-        response.setQuestionNumber(question.getQuestionNumber());
-        response.setTotalQuestions(questions.size());
-        response.setElapsedMinutes((int) elapsedMinutes);
-        response.setIsCompleted(elapsedMinutes >= INTERVIEW_DURATION_MINUTES || hasAllQuestionsAnswered(session));
+        response.setCurrentQuestion(question.getText());
+        response.setJobRole(state.getJobRole());
+        response.setQuestionNumber(question.getNumber());
+        response.setTotalQuestions(state.questionCount());
+        response.setElapsedMinutes((int) state.elapsedMinutes());
+        response.setIsCompleted(isInterviewCompleted(state));
         response.setDifficultyLevel(question.getDifficultyLevel());
-        response.setIsFollowUp(Boolean.TRUE.equals(question.getIsFollowUp()));
+        response.setIsFollowUp(question.isFollowUp());
 
         return response;
     }
 
-    private int calculateScore(String answer, String feedback) {
-        if (answer == null || answer.trim().isEmpty()) {
+    /**
+     * The interview as alternating question and answer turns, written to the session once
+     * it is over. Unanswered questions are left out.
+     */
+    private String buildTranscript(List<InterviewQuestion> questions) {
+        StringBuilder transcript = new StringBuilder();
+        for (InterviewQuestion q : questions) {
+            if (q.getUserAnswer() == null || q.getUserAnswer().isBlank()) {
+                continue;
+            }
+            transcript.append("AI: ").append(q.getQuestionText()).append('\n')
+                    .append("You: ").append(q.getUserAnswer().strip()).append("\n\n");
+        }
+        return transcript.toString();
+    }
+
+    private int calculateScore(String answer, AnswerFeatures features, String feedback) {
+        if (answer == null || features.isBlank()) {
             return 0;
         }
         
@@ -562,7 +711,7 @@ public class InterviewService {
         }
         
         String feedbackLower = feedback.toLowerCase();
-        int wordCount = answer.split("\\s+").length;
+        int wordCount = features.wordCount();
         int baseScore = 50;
         
         // Check for excellent/outstanding indicators
@@ -590,23 +739,35 @@ public class InterviewService {
         }
         
         // Check if answer contains examples
-        String answerLower = answer.toLowerCase();
-        if (answerLower.contains("for example") || answerLower.contains("for instance") ||
-            answerLower.contains("in my experience")) {
+        if (features.contains("for example") || features.contains("for instance") ||
+            features.contains("in my experience")) {
             baseScore = Math.min(100, baseScore + 5);
         }
         
         return Math.min(100, Math.max(0, baseScore));
     }
 
-    private boolean isInterviewCompleted(InterviewSession session) {
-        long elapsedMinutes = ChronoUnit.MINUTES.between(session.getStartTime(), LocalDateTime.now());
-        return elapsedMinutes >= INTERVIEW_DURATION_MINUTES || hasAllQuestionsAnswered(session);
+    private boolean isInterviewCompleted(LiveInterview state) {
+        // Sessions ended by the user or closed by the reaper are no longer ongoing
+        return state.isClosed() || state.elapsedMinutes() >= INTERVIEW_DURATION_MINUTES || state.allAnswered();
     }
 
-    private boolean hasAllQuestionsAnswered(InterviewSession session) {
-        List<InterviewQuestion> questions = interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session);
-        return questions.stream().allMatch(q -> q.getUserAnswer() != null);
+    /**
+     * Live state of the session, loaded once from the database and then kept in memory
+     * while the interview is ongoing.
+     */
+    private LiveInterview liveState(Long sessionId, Long userId) {
+        LiveInterview state = liveInterviewStateCache.get(sessionId);
+        if (state != null && state.getUserId().equals(userId)) {
+            return state;
+        }
+        InterviewSession session = verifySessionOwnership(sessionId, userId);
+        state = LiveInterviewStateCache.restore(session, userId,
+                interviewQuestionRepository.findOutlinesBySessionId(sessionId));
+        if (session.getStatus() == InterviewSession.SessionStatus.ONGOING) {
+            liveInterviewStateCache.put(state);
+        }
+        return state;
     }
 
     private InterviewSession verifySessionOwnership(Long sessionId, Long userId) {
@@ -0,0 +1,96 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.InterviewSession.SessionStatus;
+import com.a3n.resumentor.repository.InterviewSessionRepository;
+import com.a3n.resumentor.repository.SchedulerLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Closes interviews whose time limit has passed but that were never finished. Sessions
+ * with at least one answer are completed and scored in SQL; sessions without any are
+ * marked abandoned. Both are single set-based UPDATE statements. A lease row in
+ * {@code scheduler_leases} makes sure only one application node runs the reaper; the
+ * lease is taken in the same transaction as the updates, so a node that loses the race
+ * blocks on the row until the winner commits and then sees the lease as held.
+ */
+@Service
+@Slf4j
+public class InterviewSessionReaper {
+
+    static final String LEASE_NAME = "interview-session-reaper";
+
+    @Value("${interview.reaper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${interview.reaper.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Autowired
+    private InterviewSessionRepository interviewSessionRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String nodeId;
+    private Counter completed;
+    private Counter abandoned;
+
+    @PostConstruct
+    public void init() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        nodeId = host + ":" + UUID.randomUUID();
+        completed = meterRegistry.counter("resumentor.interview.reaped", "outcome", "completed");
+        abandoned = meterRegistry.counter("resumentor.interview.reaped", "outcome", "abandoned");
+    }
+
+    @Scheduled(fixedDelayString = "${interview.reaper.interval-ms:60000}",
+            initialDelayString = "${interview.reaper.initial-delay-ms:30000}")
+    @Transactional
+    public void reap() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!acquireLease(now)) {
+            return;
+        }
+
+        LocalDateTime cutoff = now.minusMinutes(InterviewService.INTERVIEW_DURATION_MINUTES);
+        int completedCount = interviewSessionRepository.completeExpired(cutoff, now,
+                InterviewService.INTERVIEW_DURATION_MINUTES, SessionStatus.ONGOING, SessionStatus.COMPLETED);
+        int abandonedCount = interviewSessionRepository.abandonExpired(cutoff, now,
+                SessionStatus.ONGOING, SessionStatus.ABANDONED);
+
+        completed.increment(completedCount);
+        abandoned.increment(abandonedCount);
+        if (completedCount + abandonedCount > 0) {
+            log.info("Expired interview sessions: {} completed, {} abandoned", completedCount, abandonedCount);
+        }
+    }
+
+    private boolean acquireLease(LocalDateTime now) {
+        LocalDateTime until = now.plusSeconds(leaseSeconds);
+        return schedulerLeaseRepository.takeOver(LEASE_NAME, nodeId, now, until) > 0
+                || schedulerLeaseRepository.insertIfAbsent(LEASE_NAME, nodeId, until) > 0;
+    }
+}
@@ -0,0 +1,294 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.InterviewQuestion;
+import com.a3n.resumentor.entity.InterviewSession;
+import com.a3n.resumentor.repository.InterviewQuestionRepository.QuestionOutline;
+import com.a3n.resumentor.util.AnswerFeatures;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the state of ONGOING interviews in memory so the question loop does not reload
+ * every question (with its LONGTEXT answer and feedback) several times per answer. The
+ * state holds the ordered questions without their answers and an answered bitmap; scores
+ * are aggregated in the database. Spoken answers streamed over {@code /ws/transcript} are
+ * buffered here per unanswered question together with their evaluation features. Callers
+ * write to the database first and then update the state; a rolled-back transaction evicts
+ * it so it is rebuilt from the database. Entries are dropped when the interview completes,
+ * runs past its time limit or has been idle too long.
+ */
+@Service
+@Slf4j
+public class LiveInterviewStateCache {
+
+    @Value("${interview.live-cache.idle-minutes:45}")
+    private long idleMinutes;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, LiveInterview> sessions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("resumentor.interview.live-sessions", sessions, Map::size)
+                .description("Ongoing interviews held in the live state cache")
+                .register(meterRegistry);
+    }
+
+    public LiveInterview get(Long sessionId) {
+        LiveInterview state = sessions.get(sessionId);
+        if (state != null) {
+            state.touch();
+        }
+        return state;
+    }
+
+    public void put(LiveInterview state) {
+        sessions.put(state.getSessionId(), state);
+    }
+
+    public void evict(Long sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /**
+     * Evicts the session if the current transaction does not commit, so a cache updated
+     * ahead of a failed write never outlives it.
+     */
+    public void evictOnRollback(Long sessionId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    evict(sessionId);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${interview.live-cache.purge-interval-ms:60000}")
+    public void purgeIdle() {
+        LocalDateTime idleCutoff = LocalDateTime.now().minusMinutes(idleMinutes);
+        sessions.values().removeIf(state -> state.getLastAccess().isBefore(idleCutoff)
+                || state.elapsedMinutes() >= InterviewService.INTERVIEW_DURATION_MINUTES);
+    }
+
+    /**
+     * Builds the live state of a new session from its questions in question-number order.
+     */
+    public static LiveInterview from(InterviewSession session, Long userId, List<InterviewQuestion> questions) {
+        LiveInterview state = empty(session, userId);
+        questions.forEach(state::addQuestion);
+        return state;
+    }
+
+    /**
+     * Rebuilds the live state of a session from its question outlines in question-number order.
+     */
+    public static LiveInterview restore(InterviewSession session, Long userId, List<QuestionOutline> outlines) {
+        LiveInterview state = empty(session, userId);
+        for (QuestionOutline outline : outlines) {
+            state.add(new LiveQuestion(outline.getId(), outline.getQuestionNumber(), outline.getQuestionText(),
+                    outline.getDifficultyLevel(), Boolean.TRUE.equals(outline.getIsFollowUp())),
+                    Boolean.TRUE.equals(outline.getAnswered()));
+        }
+        return state;
+    }
+
+    private static LiveInterview empty(InterviewSession session, Long userId) {
+        String jobRole = session.getResume() != null ? session.getResume().getJobRole() : "General";
+        String resumeText = session.getResume() != null ? session.getResume().getResumeText() : null;
+        return new LiveInterview(session.getId(), userId, session.getStartTime(), jobRole, resumeText,
+                session.getStatus() != InterviewSession.SessionStatus.ONGOING);
+    }
+
+    /**
+     * Live state of one interview. Mutations are synchronized on the instance.
+     */
+    @Getter
+    public static class LiveInterview {
+        private final Long sessionId;
+        private final Long userId;
+        private final LocalDateTime startTime;
+        private final String jobRole;
+        private final String resumeText;
+        // Ended or expired in the database; never true for cached entries
+        private final boolean closed;
+        private final List<LiveQuestion> questions = new ArrayList<>();
+        private final BitSet answered = new BitSet();
+        // Transcripts of answers still being spoken, by question id
+        private final Map<Long, LiveAnswer> transcripts = new HashMap<>();
+        private volatile LocalDateTime lastAccess = LocalDateTime.now();
+
+        LiveInterview(Long sessionId, Long userId, LocalDateTime startTime, String jobRole, String resumeText,
+                      boolean closed) {
+            this.sessionId = sessionId;
+            this.userId = userId;
+            this.startTime = startTime;
+            this.jobRole = jobRole;
+            this.resumeText = resumeText;
+            this.closed = closed;
+        }
+
+        void touch() {
+            lastAccess = LocalDateTime.now();
+        }
+
+        public void addQuestion(InterviewQuestion question) {
+            add(new LiveQuestion(question.getId(), question.getQuestionNumber(), question.getQuestionText(),
+                    question.getDifficultyLevel(), Boolean.TRUE.equals(question.getIsFollowUp())),
+                    question.getUserAnswer() != null);
+        }
+
+        private synchronized void add(LiveQuestion question, boolean isAnswered) {
+            if (isAnswered) {
+                answered.set(questions.size());
+            }
+            questions.add(question);
+        }
+
+        public synchronized LiveQuestion findQuestion(Long questionId) {
+            return questions.stream().filter(q -> q.getId().equals(questionId)).findFirst().orElse(null);
+        }
+
+        /**
+         * Marks the question answered and drops its transcript buffer, so chunks that were
+         * still in flight when the answer was submitted are not kept.
+         */
+        public synchronized void markAnswered(Long questionId) {
+            int index = indexOf(questionId);
+            if (index >= 0) {
+                answered.set(index);
+            }
+            transcripts.remove(questionId);
+        }
+
+        private int indexOf(Long questionId) {
+            for (int i = 0; i < questions.size(); i++) {
+                if (questions.get(i).getId().equals(questionId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Appends a transcript chunk to the question's buffer, or starts the buffer over when
+         * {@code reset} is set. Chunks of answered questions are ignored. A buffer that would
+         * grow past {@code maxChars} is dropped until the next reset and the answer is then
+         * evaluated from the submitted text.
+         *
+         * @return whether the chunk was buffered
+         */
+        public synchronized boolean appendTranscript(Long questionId, String text, boolean reset,
+                                                     Supplier<AnswerFeatures> features, int maxChars) {
+            int index = indexOf(questionId);
+            if (index < 0 || answered.get(index)) {
+                return false;
+            }
+            LiveAnswer answer = transcripts.get(questionId);
+            if (reset || answer == null) {
+                answer = new LiveAnswer(features.get());
+                transcripts.put(questionId, answer);
+            }
+            if (answer.overflowed) {
+                return false;
+            }
+            String chunk = text != null ? text : "";
+            if (answer.text.length() + chunk.length() > maxChars) {
+                answer.overflowed = true;
+                answer.text.setLength(0);
+                return false;
+            }
+            answer.text.append(chunk);
+            answer.features.append(chunk);
+            return true;
+        }
+
+        /**
+         * Removes the question's transcript buffer and returns its features if the buffered
+         * text is the submitted answer, or null if the answer was edited or never streamed.
+         */
+        public synchronized AnswerFeatures takeAnswerFeatures(Long questionId, String answer) {
+            LiveAnswer buffered = transcripts.remove(questionId);
+            if (buffered == null || buffered.overflowed || answer == null) {
+                return null;
+            }
+            return AnswerFeatures.strip(buffered.text).equals(AnswerFeatures.strip(answer)) ? buffered.features : null;
+        }
+
+        public synchronized int maxQuestionNumber() {
+            return questions.stream().mapToInt(LiveQuestion::getNumber).max().orElse(0);
+        }
+
+        public synchronized boolean allAnswered() {
+            return answered.cardinality() == questions.size();
+        }
+
+        /**
+         * The first unanswered question, or the last question once all are answered.
+         */
+        public synchronized LiveQuestion nextQuestion() {
+            int index = answered.nextClearBit(0);
+            return index < questions.size() ? questions.get(index) : questions.get(questions.size() - 1);
+        }
+
+        public synchronized int questionCount() {
+            return questions.size();
+        }
+
+        public long elapsedMinutes() {
+            return Duration.between(startTime, LocalDateTime.now()).toMinutes();
+        }
+    }
+
+    private static class LiveAnswer {
+        private final StringBuilder text = new StringBuilder();
+        private final AnswerFeatures features;
+        private boolean overflowed;
+
+        LiveAnswer(AnswerFeatures features) {
+            this.features = features;
+        }
+    }
+
+    @Getter
+    public static class LiveQuestion {
+        private final Long id;
+        private final int number;
+        private final String text;
+        private final InterviewQuestion.DifficultyLevel difficultyLevel;
+        private final boolean followUp;
+
+        LiveQuestion(Long id, int number, String text, InterviewQuestion.DifficultyLevel difficultyLevel, boolean followUp) {
+            this.id = id;
+            this.number = number;
+            this.text = text;
+            this.difficultyLevel = difficultyLevel;
+            this.followUp = followUp;
+        }
+    }
+}
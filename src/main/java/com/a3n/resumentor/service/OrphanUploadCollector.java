@@ -0,0 +1,128 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.repository.ResumeRepository;
+import com.a3n.resumentor.storage.ResumeStorage;
+import com.a3n.resumentor.storage.StoredObject;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Periodically deletes stored uploads that no resume row points at - left behind by
+ * failed analyses, crashes between storing and saving, or users deleted via cascade.
+ * Files younger than the grace period are never touched so in-flight uploads are safe.
+ * Each run checks the store in batches against {@code resumes.file_url} and stops after
+ * a fixed number of deletions, pausing between batches to keep the load on the
+ * database and the store low.
+ */
+@Service
+@Slf4j
+public class OrphanUploadCollector {
+
+    @Value("${storage.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${storage.gc.grace-period-hours:24}")
+    private long gracePeriodHours;
+
+    @Value("${storage.gc.batch-size:500}")
+    private int batchSize;
+
+    @Value("${storage.gc.max-deletes-per-run:1000}")
+    private int maxDeletesPerRun;
+
+    @Value("${storage.gc.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Autowired
+    private ResumeStorage resumeStorage;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter reclaimedBytes;
+    private Counter deletedFiles;
+
+    @PostConstruct
+    public void init() {
+        reclaimedBytes = Counter.builder("resumentor.storage.gc.reclaimed")
+                .baseUnit("bytes")
+                .description("Bytes freed by deleting unreferenced uploads")
+                .register(meterRegistry);
+        deletedFiles = meterRegistry.counter("resumentor.storage.gc.deleted");
+    }
+
+    @Scheduled(fixedDelayString = "${storage.gc.interval-ms:3600000}",
+            initialDelayString = "${storage.gc.initial-delay-ms:300000}")
+    public void collect() {
+        if (!enabled) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofHours(gracePeriodHours));
+        int deleted = 0;
+        long bytes = 0;
+
+        try (Stream<StoredObject> objects = resumeStorage.list()) {
+            Iterator<StoredObject> candidates = objects
+                    .filter(object -> object.getLastModified().isBefore(cutoff))
+                    .iterator();
+
+            while (candidates.hasNext() && deleted < maxDeletesPerRun) {
+                List<StoredObject> batch = new ArrayList<>(batchSize);
+                while (candidates.hasNext() && batch.size() < batchSize) {
+                    batch.add(candidates.next());
+                }
+
+                Set<String> referenced = new HashSet<>(resumeRepository.findReferencedFileUrls(
+                        batch.stream().map(StoredObject::getLocation).toList()));
+                for (StoredObject object : batch) {
+                    if (deleted >= maxDeletesPerRun) break;
+                    if (referenced.contains(object.getLocation())) continue;
+                    if (delete(object)) {
+                        deleted++;
+                        bytes += object.getSize();
+                    }
+                }
+
+                if (candidates.hasNext() && batchPauseMs > 0) {
+                    Thread.sleep(batchPauseMs);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Orphan upload collection failed: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (deleted > 0) {
+            log.info("Orphan upload collection removed {} files ({} bytes)", deleted, bytes);
+        }
+    }
+
+    private boolean delete(StoredObject object) {
+        try {
+            resumeStorage.delete(object.getLocation()).join();
+            deletedFiles.increment();
+            reclaimedBytes.increment(object.getSize());
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not delete orphaned upload {}: {}", object.getLocation(), e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.BankQuestion;
+import com.a3n.resumentor.entity.BankQuestion.Category;
+import com.a3n.resumentor.entity.InterviewQuestion.DifficultyLevel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the active question bank, bucketed by role, category and
+ * difficulty. A question without a difficulty is filed under every difficulty, and every
+ * question is also filed under the "any difficulty" bucket (a null difficulty), so each
+ * lookup is a single map access. Sampling draws from buckets in place, without copying or
+ * shuffling them.
+ */
+final class QuestionBankIndex {
+
+    static final QuestionBankIndex EMPTY = new QuestionBankIndex(List.of());
+
+    private final Map<Key, List<String>> buckets;
+    // Longest first, so the most specific role key contained in a job title wins
+    private final List<String> roles;
+    private final int size;
+
+    QuestionBankIndex(Collection<BankQuestion> questions) {
+        Map<Key, List<String>> building = new HashMap<>();
+        Set<String> roleKeys = new HashSet<>();
+        for (BankQuestion q : questions) {
+            roleKeys.add(q.getRole());
+            file(building, new Key(q.getRole(), q.getCategory(), null), q.getQuestionText());
+            if (q.getDifficultyLevel() != null) {
+                file(building, new Key(q.getRole(), q.getCategory(), q.getDifficultyLevel()), q.getQuestionText());
+            } else {
+                for (DifficultyLevel level : DifficultyLevel.values()) {
+                    file(building, new Key(q.getRole(), q.getCategory(), level), q.getQuestionText());
+                }
+            }
+        }
+        Map<Key, List<String>> frozen = new HashMap<>();
+        building.forEach((key, texts) -> frozen.put(key, List.copyOf(texts)));
+        this.buckets = Map.copyOf(frozen);
+        this.roles = roleKeys.stream().sorted(Comparator.comparingInt(String::length).reversed()).toList();
+        this.size = questions.size();
+    }
+
+    private static void file(Map<Key, List<String>> buckets, Key key, String text) {
+        buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(text);
+    }
+
+    List<String> bucket(String role, Category category, DifficultyLevel difficulty) {
+        return buckets.getOrDefault(new Key(role, category, difficulty), List.of());
+    }
+
+    List<String> roles() {
+        return roles;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Draws up to {@code count} questions uniformly without replacement from the
+     * concatenation of the pools, skipping any already in {@code chosen} and adding the
+     * drawn ones to it. A sparse Fisher-Yates shuffle only records the positions it swaps,
+     * so the cost is proportional to the number of draws rather than the pool sizes.
+     */
+    static List<String> sample(int count, Set<String> chosen, Random random, List<List<String>> pools) {
+        int total = 0;
+        for (List<String> pool : pools) {
+            total += pool.size();
+        }
+        List<String> drawn = new ArrayList<>(Math.min(count, total));
+        Map<Integer, Integer> swapped = new HashMap<>();
+        for (int i = 0; i < total && drawn.size() < count; i++) {
+            int j = i + random.nextInt(total - i);
+            int picked = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault(i, i));
+            String question = at(pools, picked);
+            if (chosen.add(question)) {
+                drawn.add(question);
+            }
+        }
+        return drawn;
+    }
+
+    private static String at(List<List<String>> pools, int index) {
+        for (List<String> pool : pools) {
+            if (index < pool.size()) {
+                return pool.get(index);
+            }
+            index -= pool.size();
+        }
+        throw new IndexOutOfBoundsException(index);
+    }
+
+    private record Key(String role, Category category, DifficultyLevel difficulty) {
+    }
+}
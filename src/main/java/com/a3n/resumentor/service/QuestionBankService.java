@@ -0,0 +1,287 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.BankQuestion;
+import com.a3n.resumentor.entity.BankQuestion.Category;
+import com.a3n.resumentor.entity.InterviewQuestion.DifficultyLevel;
+import com.a3n.resumentor.repository.BankQuestionRepository;
+import com.a3n.resumentor.repository.BankQuestionRepository.BankVersion;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Serves interview questions from the {@code question_bank} table through an immutable
+ * in-memory {@link QuestionBankIndex}. JSON files under
+ * {@code interview.question-bank.import-locations} are imported at startup; imports are
+ * idempotent and written in batches, so files with thousands of questions are fine. The
+ * index is swapped atomically after an import and whenever the table changes, which is
+ * checked every {@code interview.question-bank.refresh-interval-ms}, so questions added
+ * on another node or directly in SQL go live without a restart. A file that cannot be
+ * imported, or a bank left empty, fails startup rather than every later interview.
+ */
+@Service
+@Slf4j
+public class QuestionBankService {
+
+    static final String GENERAL_ROLE = "general";
+    private static final int INTRO_QUESTIONS = 3;
+
+    // Job titles are matched against these in order, then against any other role key in the bank
+    private static final Map<String, List<String>> ROLE_ALIASES = new LinkedHashMap<>();
+    static {
+        ROLE_ALIASES.put("backend", List.of("backend", "java", "spring"));
+        ROLE_ALIASES.put("frontend", List.of("frontend", "react", "angular"));
+        ROLE_ALIASES.put("fullstack", List.of("fullstack", "full stack"));
+        ROLE_ALIASES.put("data-science", List.of("data scientist", "data science"));
+        ROLE_ALIASES.put("machine-learning", List.of("machine learning", "ml engineer"));
+        ROLE_ALIASES.put("devops", List.of("devops", "sre"));
+        ROLE_ALIASES.put("security", List.of("security", "cybersecurity"));
+        ROLE_ALIASES.put("qa", List.of("qa", "test", "quality"));
+        ROLE_ALIASES.put("mobile", List.of("mobile", "android", "ios"));
+        ROLE_ALIASES.put("cloud", List.of("cloud", "architect"));
+        ROLE_ALIASES.put("product", List.of("product manager", "product owner"));
+    }
+
+    @Value("${interview.question-bank.import-locations:classpath:question-bank/*.json}")
+    private String[] importLocations;
+
+    @Value("${interview.question-bank.import-batch-size:500}")
+    private int importBatchSize;
+
+    @Autowired
+    private BankQuestionRepository bankQuestionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Forces the schema update (which creates question_bank) to run first
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper importMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private volatile QuestionBankIndex index = QuestionBankIndex.EMPTY;
+    private volatile String loadedVersion;
+
+    /**
+     * One entry of an import file: questions sharing a role, category and optional difficulty.
+     */
+    public record QuestionGroup(String role, Category category, DifficultyLevel difficulty, List<String> questions) {
+    }
+
+    @PostConstruct
+    public void init() {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        reload();
+        for (String location : importLocations) {
+            try {
+                for (Resource resource : resolver.getResources(location.trim())) {
+                    importResource(resource);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not import question bank from " + location, e);
+            }
+        }
+        if (index.isEmpty()) {
+            throw new IllegalStateException("The interview question bank is empty; check interview.question-bank.import-locations");
+        }
+        log.info("Question bank loaded: {} questions across {} roles", index.size(), index.roles().size());
+    }
+
+    private void importResource(Resource resource) throws Exception {
+        try (InputStream in = resource.getInputStream()) {
+            List<QuestionGroup> groups = List.of(importMapper.readValue(in, QuestionGroup[].class));
+            int imported = importQuestions(groups);
+            if (imported > 0) {
+                log.info("Imported {} questions from {}", imported, resource.getDescription());
+            }
+        }
+    }
+
+    /**
+     * Adds the questions that are not in the bank yet, in batched transactions, and makes
+     * them live immediately.
+     *
+     * @return the number of questions added
+     */
+    public int importQuestions(Collection<QuestionGroup> groups) {
+        // Retired questions keep their fingerprint, so the active index alone is not enough
+        Set<String> seen = new HashSet<>(bankQuestionRepository.findAllFingerprints());
+        List<BankQuestion> fresh = new ArrayList<>();
+        for (QuestionGroup group : groups) {
+            if (group.role() == null || group.role().isBlank() || group.category() == null || group.questions() == null) {
+                log.warn("Skipping question group without a role, category or questions");
+                continue;
+            }
+            String role = group.role().strip().toLowerCase();
+            for (String text : group.questions()) {
+                if (text == null || text.isBlank()) {
+                    continue;
+                }
+                String questionText = text.strip();
+                String fingerprint = fingerprint(role, group.category(), group.difficulty(), questionText);
+                if (seen.add(fingerprint)) {
+                    BankQuestion question = new BankQuestion();
+                    question.setRole(role);
+                    question.setCategory(group.category());
+                    question.setDifficultyLevel(group.difficulty());
+                    question.setQuestionText(questionText);
+                    question.setFingerprint(fingerprint);
+                    question.setActive(true);
+                    fresh.add(question);
+                }
+            }
+        }
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+
+        int imported = 0;
+        for (int from = 0; from < fresh.size(); from += importBatchSize) {
+            List<BankQuestion> batch = fresh.subList(from, Math.min(fresh.size(), from + importBatchSize));
+            try {
+                transactionTemplate.executeWithoutResult(status -> bankQuestionRepository.saveAll(batch));
+                imported += batch.size();
+            } catch (DataIntegrityViolationException e) {
+                // Another node imported the same file at the same time; its rows are picked up below
+                log.info("Skipped a batch of {} questions already imported elsewhere", batch.size());
+            }
+        }
+        reload();
+        return imported;
+    }
+
+    @Scheduled(fixedDelayString = "${interview.question-bank.refresh-interval-ms:60000}",
+            initialDelayString = "${interview.question-bank.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            if (!currentVersion().equals(loadedVersion)) {
+                reload();
+                log.info("Question bank refreshed: {} questions", index.size());
+            }
+        } catch (Exception e) {
+            log.warn("Question bank refresh failed, keeping the current index: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void reload() {
+        // Read the version first: a change that lands during the load triggers another reload
+        String version = currentVersion();
+        index = new QuestionBankIndex(bankQuestionRepository.findByActiveTrue());
+        loadedVersion = version;
+    }
+
+    private String currentVersion() {
+        BankVersion version = bankQuestionRepository.findVersion();
+        return version.getQuestionCount() + ":" + version.getMaxId() + ":" + version.getLastUpdated();
+    }
+
+    /**
+     * Picks one question per slot for a new interview. The first slots get introductory
+     * questions; the rest are drawn from the role's technical questions (or the general
+     * ones for roles without any) together with the behavioral questions, preferring
+     * questions matching the slot's difficulty. No question is used twice unless the bank
+     * runs out, in which case general questions and then earlier picks fill the remaining slots.
+     */
+    public List<String> sampleInterview(String jobRole, List<DifficultyLevel> slots) {
+        QuestionBankIndex current = index;
+        if (current.isEmpty()) {
+            throw new IllegalStateException("The interview question bank is empty");
+        }
+        String role = resolveRole(current, jobRole);
+        Random random = ThreadLocalRandom.current();
+        Set<String> chosen = new HashSet<>();
+        List<String> questions = new ArrayList<>(slots.size());
+
+        for (int i = 0; i < slots.size(); i++) {
+            DifficultyLevel level = slots.get(i);
+            List<String> drawn = i < INTRO_QUESTIONS
+                    ? QuestionBankIndex.sample(1, chosen, random, pools(current, role, Category.INTRO, level))
+                    : QuestionBankIndex.sample(1, chosen, random, mainPools(current, role, level));
+            if (drawn.isEmpty()) {
+                drawn = QuestionBankIndex.sample(1, chosen, random, pools(current, role, Category.GENERAL, level));
+            }
+            if (drawn.isEmpty()) {
+                drawn = QuestionBankIndex.sample(1, chosen, random, mainPools(current, role, null));
+            }
+            if (!drawn.isEmpty()) {
+                questions.add(drawn.get(0));
+            } else if (!questions.isEmpty()) {
+                questions.add(questions.get(i % questions.size()));
+            } else {
+                throw new IllegalStateException("The interview question bank has no questions for " + role);
+            }
+        }
+        return questions;
+    }
+
+    private static List<List<String>> mainPools(QuestionBankIndex index, String role, DifficultyLevel level) {
+        List<String> technical = index.bucket(role, Category.TECHNICAL, level);
+        if (technical.isEmpty()) {
+            technical = index.bucket(GENERAL_ROLE, Category.TECHNICAL, level);
+        }
+        List<List<String>> pools = new ArrayList<>(pools(index, role, Category.BEHAVIORAL, level));
+        pools.add(0, technical);
+        return pools;
+    }
+
+    private static List<List<String>> pools(QuestionBankIndex index, String role, Category category, DifficultyLevel level) {
+        if (GENERAL_ROLE.equals(role)) {
+            return List.of(index.bucket(role, category, level));
+        }
+        return List.of(index.bucket(role, category, level), index.bucket(GENERAL_ROLE, category, level));
+    }
+
+    static String resolveRole(QuestionBankIndex index, String jobRole) {
+        if (jobRole == null || jobRole.isBlank()) {
+            return GENERAL_ROLE;
+        }
+        String title = jobRole.toLowerCase();
+        for (Map.Entry<String, List<String>> role : ROLE_ALIASES.entrySet()) {
+            if (role.getValue().stream().anyMatch(title::contains)) {
+                return role.getKey();
+            }
+        }
+        for (String role : index.roles()) {
+            if (!GENERAL_ROLE.equals(role) && title.contains(role)) {
+                return role;
+            }
+        }
+        return GENERAL_ROLE;
+    }
+
+    static String fingerprint(String role, Category category, DifficultyLevel difficulty, String questionText) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String key = role + '\u0000' + category + '\u0000' + difficulty + '\u0000' + questionText;
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
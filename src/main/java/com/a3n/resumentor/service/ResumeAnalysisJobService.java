@@ -0,0 +1,122 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.dto.AnalysisJob;
+import com.a3n.resumentor.dto.ResumeAnalysisResponse;
+import com.a3n.resumentor.exception.CapacityExceededException;
+import com.a3n.resumentor.exception.ResourceNotFoundException;
+import com.a3n.resumentor.storage.StagedUpload;
+import com.a3n.resumentor.util.FileUploadUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs resume analyses as background jobs so the upload request returns as soon as the
+ * file is staged. Jobs are queued on the {@link AnalysisScheduler}; when the user's queue
+ * or the scheduler is full new jobs are refused instead of piling up. Finished jobs are
+ * kept in memory for a while so clients can poll for the result.
+ */
+@Service
+@Slf4j
+public class ResumeAnalysisJobService {
+
+    public static final String JOB_DESTINATION = "/queue/resume-jobs";
+    // What clients subscribe to; the broker resolves it to the connection's own user
+    public static final String USER_JOB_DESTINATION = "/user" + JOB_DESTINATION;
+
+    @Value("${analysis.jobs.retention-minutes:30}")
+    private long retentionMinutes;
+
+    @Autowired
+    private ResumeAnalysisService resumeAnalysisService;
+
+    @Autowired
+    private FileUploadUtil fileUploadUtil;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private AnalysisProgressPublisher progressPublisher;
+
+    @Autowired
+    private AnalysisScheduler analysisScheduler;
+
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Stages the upload and queues its analysis. The multipart file is only valid during
+     * the request, so staging happens here on the request thread.
+     */
+    public AnalysisJob submit(MultipartFile file, String jobRole, String jobDescription, Long userId) throws IOException {
+        StagedUpload upload = fileUploadUtil.stageUpload(file);
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), userId, upload.getOriginalFilename(), jobRole);
+        jobs.put(job.getJobId(), job);
+        try {
+            analysisScheduler.submit(userId, AnalysisScheduler.Workload.RESUME_ANALYSIS, () -> {
+                run(job, upload, jobDescription);
+                return null;
+            });
+        } catch (CapacityExceededException e) {
+            jobs.remove(job.getJobId());
+            upload.close();
+            throw e;
+        }
+        log.info("Queued resume analysis job {} for user: {}", job.getJobId(), userId);
+        return job;
+    }
+
+    public AnalysisJob getJob(String jobId, Long userId) {
+        AnalysisJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Analysis job not found: " + jobId);
+        }
+        if (!job.getUserId().equals(userId)) {
+            throw new SecurityException("Unauthorized to view this analysis job");
+        }
+        return job;
+    }
+
+    private void run(AnalysisJob job, StagedUpload upload, String jobDescription) {
+        update(job, AnalysisJob.Status.RUNNING);
+        AnalysisProgressListener progress = progressPublisher.forUser(job.getUserId(), job.getJobId());
+        try (upload) {
+            ResumeAnalysisResponse result = resumeAnalysisService.analyzeStaged(
+                    upload, job.getJobRole(), jobDescription, job.getUserId(), progress);
+            job.setResult(result);
+            update(job, AnalysisJob.Status.COMPLETED);
+        } catch (Exception e) {
+            log.error("Resume analysis job {} failed: {}", job.getJobId(), e.getMessage());
+            job.setError(e.getMessage());
+            update(job, AnalysisJob.Status.FAILED);
+            progress.onStage(AnalysisProgressListener.FAILED, Map.of("message", String.valueOf(e.getMessage())));
+        }
+
+        try {
+            messagingTemplate.convertAndSendToUser(job.getUserId().toString(), JOB_DESTINATION, job);
+        } catch (Exception e) {
+            log.warn("Could not push completion of job {}: {}", job.getJobId(), e.getMessage());
+        }
+    }
+
+    private void update(AnalysisJob job, AnalysisJob.Status status) {
+        job.setStatus(status);
+        job.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.jobs.purge-interval-ms:60000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getUpdatedAt().isBefore(cutoff));
+    }
+}
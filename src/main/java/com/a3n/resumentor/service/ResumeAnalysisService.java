@@ -1,11 +1,13 @@
 package com.a3n.resumentor.service;
 
+import com.a3n.resumentor.dto.ExtractedResume;
 import com.a3n.resumentor.dto.ResumeAnalysisResponse;
 import com.a3n.resumentor.entity.Resume;
 import com.a3n.resumentor.entity.User;
 import com.a3n.resumentor.exception.ResourceNotFoundException;
 import com.a3n.resumentor.repository.ResumeRepository;
 import com.a3n.resumentor.repository.UserRepository;
+import com.a3n.resumentor.storage.StagedUpload;
 import com.a3n.resumentor.util.FileUploadUtil;
 import com.a3n.resumentor.util.MockAIAnalyzer;
 import com.a3n.resumentor.util.OpenAIService;
@@ -15,14 +17,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Resume analysis pipeline: stage, extract, analyze, persist. Only the persist step runs
+ * in a transaction - file I/O, parsing and the AI call must not hold a pooled database
+ * connection while they wait.
+ */
 @Service
 @Slf4j
-@Transactional
 public class ResumeAnalysisService {
 
     @Autowired
@@ -46,36 +56,95 @@ public class ResumeAnalysisService {
     @Autowired
     private AchievementService achievementService;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AnalysisProgressPublisher progressPublisher;
+
+    @Autowired
+    private ResumeRevisionService resumeRevisionService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public ResumeAnalysisResponse analyzeResume(MultipartFile file, String jobRole, String jobDescription, Long userId) throws IOException {
+        // Stage the upload; the storage write continues in the background
+        try (StagedUpload upload = fileUploadUtil.stageUpload(file)) {
+            return analyzeStaged(upload, jobRole, jobDescription, userId, progressPublisher.forUser(userId, null));
+        }
+    }
+
+    /**
+     * Extracts, analyzes and saves an upload that has already been staged. The caller
+     * owns the staged upload and closes it afterwards.
+     */
+    public ResumeAnalysisResponse analyzeStaged(StagedUpload upload, String jobRole, String jobDescription, Long userId,
+                                                AnalysisProgressListener progress) throws IOException {
         log.info("Starting resume analysis for user: {}, job role: {}", userId, jobRole);
 
         // Get user
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
-        // Upload file
-        String fileUrl = fileUploadUtil.uploadFile(file);
-        String fileName = file.getOriginalFilename();
+        String fileName = upload.getOriginalFilename();
+        progress.onStage(AnalysisProgressListener.UPLOADED, Collections.singletonMap("fileName", fileName));
+
+        // Extract text from the local copy
+        ExtractedResume extracted = pdfExtractor.extractResume(upload.getLocalPath().toString());
+        String resumeText = extracted.getText();
+        log.info("Resume text extracted successfully ({} sections)", extracted.getSections().size());
+        Map<String, Object> extractedDetails = new HashMap<>();
+        extractedDetails.put("pageCount", extracted.getPageCount());
+        extractedDetails.put("sections", extracted.getSections().stream().map(ExtractedResume.Section::getName).toList());
+        progress.onStage(AnalysisProgressListener.EXTRACTED, extractedDetails);
+
+        ResumeRevisionService.Revision revision = resumeRevisionService.findPreviousVersion(
+                userId, jobRole, jobDescription, fileName, resumeText);
+        ResumeAnalysisResponse analysisResponse = revision != null
+                ? analyzeRevision(extracted, revision, jobRole, jobDescription, progress)
+                : analyze(extracted, jobRole, jobDescription, progress);
 
-        // Extract text
-        String resumeText = pdfExtractor.extractText(fileUrl);
-        log.info("Resume text extracted successfully");
+        // The stored location is persisted, so the background write must have finished
+        String fileUrl = upload.awaitStored();
+
+        // Save to database
+        Resume resume = buildResume(user, fileUrl, fileName, jobRole, jobDescription, resumeText, analysisResponse);
+        if (revision != null) {
+            resume.setPreviousVersionId(revision.getPrevious().getId());
+        }
+        Resume savedResume = persist(List.of(resume), userId, analysisResponse.getAtsScore()).get(0);
+        upload.markPersisted();
+        analysisResponse.setResumeId(savedResume.getId());
+        Map<String, Object> savedDetails = new HashMap<>();
+        savedDetails.put("resumeId", savedResume.getId());
+        savedDetails.put("atsScore", analysisResponse.getAtsScore());
+        progress.onStage(AnalysisProgressListener.SAVED, savedDetails);
+
+        log.info("Resume analyzed and saved successfully. Resume ID: {}", savedResume.getId());
+        return analysisResponse;
+    }
+
+    /**
+     * Runs the AI analysis, falling back to the rule-based analyzer. Does no database work.
+     * While the AI call is pending the rule-based result is published as a preview.
+     */
+    public ResumeAnalysisResponse analyze(ExtractedResume extracted, String jobRole, String jobDescription,
+                                          AnalysisProgressListener progress) {
+        String resumeText = extracted.getText();
+        progress.onStage(AnalysisProgressListener.SCORING, Map.of());
 
         // Try AI-powered analysis first, fall back to rule-based analyzer
         ResumeAnalysisResponse analysisResponse = null;
+        ResumeAnalysisResponse ruleBasedResponse = null;
 
         if (openAIService.isAvailable()) {
+            // The rule-based pass takes milliseconds, so it doubles as an early preview
+            ruleBasedResponse = mockAIAnalyzer.analyzeResume(extracted, jobRole, jobDescription);
+            progress.onStage(AnalysisProgressListener.AI_PENDING, Collections.singletonMap("preview", ruleBasedResponse));
             try {
                 String aiResult = openAIService.analyzeResumeWithGPT(resumeText, jobRole, jobDescription);
-                if (aiResult != null && !aiResult.isBlank()) {
-                    // Clean potential markdown code fences from GPT response
-                    String cleanJson = aiResult.trim();
-                    if (cleanJson.startsWith("```")) {
-                        cleanJson = cleanJson.replaceAll("^```(?:json)?\\s*", "").replaceAll("\\s*```$", "");
-                    }
-                    analysisResponse = objectMapper.readValue(cleanJson, ResumeAnalysisResponse.class);
+                analysisResponse = parseAnalysis(aiResult);
+                if (analysisResponse != null) {
                     log.info("Resume analyzed using OpenAI GPT");
                 }
             } catch (Exception e) {
@@ -84,11 +153,79 @@ public class ResumeAnalysisService {
         }
 
         if (analysisResponse == null) {
-            analysisResponse = mockAIAnalyzer.analyzeResume(resumeText, jobRole, jobDescription);
+            analysisResponse = ruleBasedResponse != null
+                    ? ruleBasedResponse
+                    : mockAIAnalyzer.analyzeResume(extracted, jobRole, jobDescription);
             log.info("Resume analyzed using rule-based analyzer (fallback)");
         }
+        return analysisResponse;
+    }
 
-        // Save to database
+    /**
+     * Analyzes a revised resume starting from its earlier version. An unchanged resume
+     * keeps the earlier analysis; a small revision sends only the changed sections to the
+     * AI; anything larger gets a full analysis. The result carries the section diff.
+     */
+    private ResumeAnalysisResponse analyzeRevision(ExtractedResume extracted, ResumeRevisionService.Revision revision,
+                                                   String jobRole, String jobDescription,
+                                                   AnalysisProgressListener progress) {
+        ResumeAnalysisResponse analysisResponse = null;
+        boolean reused = false;
+
+        if (revision.isUnchanged()) {
+            progress.onStage(AnalysisProgressListener.SCORING, Map.of());
+            try {
+                analysisResponse = revision.previousAnalysis();
+                reused = true;
+                log.info("Resume is unchanged since resume {}, reusing its analysis", revision.getPrevious().getId());
+            } catch (IOException e) {
+                log.warn("Could not read previous analysis, analyzing again: {}", e.getMessage());
+            }
+        } else if (revision.isIncremental() && openAIService.isAvailable()) {
+            progress.onStage(AnalysisProgressListener.SCORING, Map.of());
+            ResumeAnalysisResponse ruleBasedResponse = mockAIAnalyzer.analyzeResume(extracted, jobRole, jobDescription);
+            progress.onStage(AnalysisProgressListener.AI_PENDING, Collections.singletonMap("preview", ruleBasedResponse));
+            try {
+                ResumeAnalysisResponse previous = revision.previousAnalysis();
+                String aiResult = openAIService.reviseAnalysisWithGPT(objectMapper.writeValueAsString(previous),
+                        revision.describeChanges(), jobRole, jobDescription);
+                analysisResponse = parseAnalysis(aiResult);
+                if (analysisResponse != null) {
+                    log.info("Revised resume analyzed using OpenAI GPT ({} changed sections)", revision.getChanges().size());
+                }
+            } catch (Exception e) {
+                log.warn("Incremental AI analysis failed, using rule-based analyzer: {}", e.getMessage());
+            }
+            if (analysisResponse == null) {
+                analysisResponse = ruleBasedResponse;
+            }
+        }
+
+        if (analysisResponse == null) {
+            analysisResponse = analyze(extracted, jobRole, jobDescription, progress);
+        }
+        analysisResponse.setRevision(resumeRevisionService.describe(
+                revision, analysisResponse.getAtsScore(), jobRole, reused));
+        return analysisResponse;
+    }
+
+    private ResumeAnalysisResponse parseAnalysis(String aiResult) throws IOException {
+        if (aiResult == null || aiResult.isBlank()) {
+            return null;
+        }
+        // Clean potential markdown code fences from GPT response
+        String cleanJson = aiResult.trim();
+        if (cleanJson.startsWith("```")) {
+            cleanJson = cleanJson.replaceAll("^```(?:json)?\\s*", "").replaceAll("\\s*```$", "");
+        }
+        return objectMapper.readValue(cleanJson, ResumeAnalysisResponse.class);
+    }
+
+    /**
+     * Builds the (unsaved) resume row for an analysis result.
+     */
+    public Resume buildResume(User user, String fileUrl, String fileName, String jobRole, String jobDescription,
+                              String resumeText, ResumeAnalysisResponse analysisResponse) throws IOException {
         Resume resume = new Resume();
         resume.setUser(user);
         resume.setFileUrl(fileUrl);
@@ -98,26 +235,33 @@ public class ResumeAnalysisService {
         resume.setAtsScore(analysisResponse.getAtsScore());
         resume.setResumeText(resumeText);
         resume.setAnalysisResult(objectMapper.writeValueAsString(analysisResponse));
+        return resume;
+    }
 
-        Resume savedResume = resumeRepository.save(resume);
-        analysisResponse.setResumeId(savedResume.getId());
+    /**
+     * Saves analyzed resumes and awards achievements in one short transaction.
+     */
+    public List<Resume> persist(List<Resume> resumes, Long userId, Integer atsScore) {
+        return transactionTemplate.execute(status -> {
+            List<Resume> saved = resumeRepository.saveAll(resumes);
 
-        // Check and award any achievements
-        try {
-            achievementService.checkResumeAchievements(userId, analysisResponse.getAtsScore());
-        } catch (Exception e) {
-            log.warn("Error checking achievements: {}", e.getMessage());
-        }
-
-        log.info("Resume analyzed and saved successfully. Resume ID: {}", savedResume.getId());
-        return analysisResponse;
+            // Check and award any achievements
+            try {
+                achievementService.checkResumeAchievements(userId, atsScore != null ? atsScore : 0);
+            } catch (Exception e) {
+                log.warn("Error checking achievements: {}", e.getMessage());
+            }
+            return saved;
+        });
     }
 
+    @Transactional(readOnly = true)
     public Resume getResumeById(Long resumeId) {
         return resumeRepository.findById(resumeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Resume not found with ID: " + resumeId));
     }
 
+    @Transactional(readOnly = true)
     public ResumeAnalysisResponse getResumeAnalysis(Long resumeId) {
         Resume resume = getResumeById(resumeId);
         try {
@@ -128,12 +272,14 @@ public class ResumeAnalysisService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<Resume> getUserResumes(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
         return resumeRepository.findByUserOrderByCreatedAtDesc(user);
     }
 
+    @Transactional
     public void deleteResume(Long resumeId, Long userId) {
         Resume resume = getResumeById(resumeId);
 
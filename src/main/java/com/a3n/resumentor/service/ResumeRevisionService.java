@@ -0,0 +1,271 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import com.a3n.resumentor.dto.ResumeAnalysisResponse;
+import com.a3n.resumentor.dto.ResumeRevision;
+import com.a3n.resumentor.repository.ResumeRepository;
+import com.a3n.resumentor.util.MockAIAnalyzer;
+import com.a3n.resumentor.util.ResumeSectionDetector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Recognizes uploads that revise one of the user's earlier resumes for the same role and
+ * diffs the two section by section. Both versions are segmented from plain text with the
+ * same detector so that section boundaries line up, and sections are compared on their
+ * normalized text. The score change is attributed per section by splicing each change
+ * alone into the earlier version and re-scoring it from the rule-based analyzer's
+ * per-block features, so each block is read once however many sections changed.
+ */
+@Service
+@Slf4j
+public class ResumeRevisionService {
+
+    private static final String HEADER = "HEADER";
+
+    @Value("${analysis.revision.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analysis.revision.min-overlap:0.5}")
+    private double minOverlap;
+
+    @Value("${analysis.revision.max-changed-fraction:0.5}")
+    private double maxChangedFraction;
+
+    @Value("${analysis.revision.max-attributed-changes:8}")
+    private int maxAttributedChanges;
+
+    @Autowired
+    private ResumeRepository resumeRepository;
+
+    @Autowired
+    private ResumeSectionDetector resumeSectionDetector;
+
+    @Autowired
+    private MockAIAnalyzer mockAIAnalyzer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Returns the closest earlier version of this resume, or null when the upload does not
+     * look like a revision of anything the user analyzed for this role and description.
+     */
+    public Revision findPreviousVersion(Long userId, String jobRole, String jobDescription,
+                                        String fileName, String resumeText) {
+        if (!enabled) {
+            return null;
+        }
+        List<ExtractedResume.Section> currentSections = resumeSectionDetector.detectSections(resumeText);
+        Map<String, String> current = blocks(resumeText, currentSections);
+        String currentEmail = emailOf(resumeText, currentSections);
+
+        Revision best = null;
+        for (ResumeRepository.RevisionCandidate candidate : resumeRepository.findRevisionCandidates(userId, jobRole)) {
+            if (!sameDescription(jobDescription, candidate.getJobDescription())) {
+                continue;
+            }
+            String candidateText = candidate.getResumeText();
+            List<ExtractedResume.Section> candidateSections = resumeSectionDetector.detectSections(candidateText);
+            String candidateEmail = emailOf(candidateText, candidateSections);
+            if (currentEmail != null && candidateEmail != null && !currentEmail.equalsIgnoreCase(candidateEmail)) {
+                // Someone else's resume uploaded from the same account
+                continue;
+            }
+            Revision revision = new Revision(candidate, blocks(candidateText, candidateSections), current);
+            boolean sameFile = fileName != null && fileName.equals(candidate.getFileName());
+            if ((revision.overlap >= minOverlap || (sameFile && revision.overlap > 0))
+                    && (best == null || revision.overlap > best.overlap)) {
+                best = revision;
+            }
+        }
+        if (best != null) {
+            log.info("Upload is a revision of resume {} ({} of {} sections changed)", best.previous.getId(),
+                    best.changes.size(), best.changes.size() + best.unchanged.size());
+        }
+        return best;
+    }
+
+    /**
+     * Describes the revision for the report: which sections changed and how much of the
+     * score change each one explains on its own.
+     */
+    public ResumeRevision describe(Revision revision, Integer atsScore, String jobRole, boolean analysisReused) {
+        ResumeRevision report = new ResumeRevision();
+        report.setPreviousResumeId(revision.previous.getId());
+        report.setPreviousAtsScore(revision.previous.getAtsScore());
+        report.setAnalysisReused(analysisReused);
+        report.setUnchangedSections(revision.unchanged);
+        if (atsScore != null && revision.previous.getAtsScore() != null) {
+            report.setScoreDelta(atsScore - revision.previous.getAtsScore());
+        }
+
+        Map<String, MockAIAnalyzer.TextFeatures> previousFeatures = new LinkedHashMap<>();
+        revision.previousBlocks.forEach((key, block) -> previousFeatures.put(key, features(key, block, jobRole)));
+        int baseline = mockAIAnalyzer.atsScore(previousFeatures.values(), jobRole);
+        int attributed = 0;
+        for (int i = 0; i < revision.changes.size(); i++) {
+            Change change = revision.changes.get(i);
+            Integer delta = null;
+            if (i < maxAttributedChanges) {
+                Map<String, MockAIAnalyzer.TextFeatures> spliced = new LinkedHashMap<>(previousFeatures);
+                if (change.after == null) {
+                    spliced.remove(change.key);
+                } else {
+                    spliced.put(change.key, features(change.key, change.after, jobRole));
+                }
+                delta = mockAIAnalyzer.atsScore(spliced.values(), jobRole) - baseline;
+                attributed += delta;
+            }
+            report.getChanges().add(new ResumeRevision.SectionChange(change.key, change.type, delta));
+        }
+        if (report.getScoreDelta() != null) {
+            report.setUnattributedDelta(report.getScoreDelta() - attributed);
+        }
+        return report;
+    }
+
+    private MockAIAnalyzer.TextFeatures features(String key, String block, String jobRole) {
+        String sectionName = HEADER.equals(key) ? null : key.replaceFirst("#\\d+$", "");
+        return mockAIAnalyzer.features(block, sectionName, jobRole);
+    }
+
+    /**
+     * Splits text into the block above the first heading and one block per section, keyed
+     * by section name (repeated names get a #n suffix), in document order.
+     */
+    private Map<String, String> blocks(String text, List<ExtractedResume.Section> sections) {
+        Map<String, String> blocks = new LinkedHashMap<>();
+        int headerEnd = sections.isEmpty() ? text.length() : sections.get(0).getStart();
+        blocks.put(HEADER, text.substring(0, headerEnd));
+        for (ExtractedResume.Section section : sections) {
+            String key = section.getName();
+            for (int n = 2; blocks.containsKey(key); n++) {
+                key = section.getName() + "#" + n;
+            }
+            blocks.put(key, text.substring(section.getStart(), section.getEnd()));
+        }
+        return blocks;
+    }
+
+    private static String normalize(String block) {
+        return block.toLowerCase().replaceAll("\\s+", " ").trim();
+    }
+
+    private String emailOf(String text, List<ExtractedResume.Section> sections) {
+        ExtractedResume.Contact contact = resumeSectionDetector.detectContact(text, sections);
+        return contact != null ? contact.getEmail() : null;
+    }
+
+    private static boolean sameDescription(String a, String b) {
+        String left = StringUtils.hasText(a) ? a.trim() : "";
+        String right = StringUtils.hasText(b) ? b.trim() : "";
+        return left.equals(right);
+    }
+
+    /**
+     * A matched earlier version and the section-level differences from it.
+     */
+    @Getter
+    public class Revision {
+        private final ResumeRepository.RevisionCandidate previous;
+        private final Map<String, String> previousBlocks;
+        private final List<Change> changes = new ArrayList<>();
+        private final List<String> unchanged = new ArrayList<>();
+        private final double overlap;
+        private final int changedChars;
+        private final int totalChars;
+
+        Revision(ResumeRepository.RevisionCandidate previous, Map<String, String> previousBlocks, Map<String, String> currentBlocks) {
+            this.previous = previous;
+            this.previousBlocks = previousBlocks;
+
+            int changed = 0;
+            int total = 0;
+            for (Map.Entry<String, String> block : currentBlocks.entrySet()) {
+                String before = previousBlocks.get(block.getKey());
+                total += block.getValue().length();
+                if (before == null) {
+                    changes.add(new Change(block.getKey(), "ADDED", null, block.getValue()));
+                    changed += block.getValue().length();
+                } else if (!normalize(before).equals(normalize(block.getValue()))) {
+                    changes.add(new Change(block.getKey(), "MODIFIED", before, block.getValue()));
+                    changed += block.getValue().length();
+                } else {
+                    unchanged.add(block.getKey());
+                }
+            }
+            for (Map.Entry<String, String> block : previousBlocks.entrySet()) {
+                if (!currentBlocks.containsKey(block.getKey())) {
+                    changes.add(new Change(block.getKey(), "REMOVED", block.getValue(), null));
+                    // Removed text counts against the incremental budget just like added text
+                    changed += block.getValue().length();
+                    total += block.getValue().length();
+                }
+            }
+            this.overlap = (double) unchanged.size() / Math.max(currentBlocks.size(), previousBlocks.size());
+            this.changedChars = changed;
+            this.totalChars = total;
+        }
+
+        public boolean isUnchanged() {
+            return changes.isEmpty();
+        }
+
+        /**
+         * Small enough that sending only the changed sections beats a full analysis.
+         */
+        public boolean isIncremental() {
+            return !changes.isEmpty() && changedChars <= totalChars * maxChangedFraction;
+        }
+
+        /**
+         * The earlier version's stored analysis, read on its own since candidates leave it out.
+         */
+        public ResumeAnalysisResponse previousAnalysis() throws IOException {
+            String stored = resumeRepository.findAnalysisResultById(previous.getId());
+            if (stored == null) {
+                throw new IOException("Resume " + previous.getId() + " has no stored analysis");
+            }
+            ResumeAnalysisResponse analysis = objectMapper.readValue(stored, ResumeAnalysisResponse.class);
+            analysis.setResumeId(null);
+            analysis.setRevision(null);
+            return analysis;
+        }
+
+        /**
+         * The changed sections with their old and new text, for the AI prompt.
+         */
+        public String describeChanges() {
+            StringBuilder text = new StringBuilder();
+            for (Change change : changes) {
+                text.append("### ").append(change.key).append(" (").append(change.type).append(")\n");
+                if (change.before != null) text.append("Before:\n").append(change.before.trim()).append('\n');
+                if (change.after != null) text.append("After:\n").append(change.after.trim()).append('\n');
+                text.append('\n');
+            }
+            return text.toString();
+        }
+    }
+
+    private static class Change {
+        private final String key;
+        private final String type;
+        private final String before;
+        private final String after;
+
+        Change(String key, String type, String before, String after) {
+            this.key = key;
+            this.type = type;
+            this.before = before;
+            this.after = after;
+        }
+    }
+}
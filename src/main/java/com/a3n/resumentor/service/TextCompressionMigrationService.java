@@ -0,0 +1,105 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.CompressedTextConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rewrites rows stored before {@link CompressedTextConverter} was introduced so that
+ * old data gets the same savings. Reads are transparent either way, so this is optional
+ * and runs in the background in small keyset-paged batches when
+ * {@code storage.compression.migrate-on-startup=true}.
+ */
+@Service
+@Slf4j
+public class TextCompressionMigrationService implements ApplicationRunner {
+
+    private static final Map<String, List<String>> COMPRESSED_COLUMNS = Map.of(
+            "resumes", List.of("analysis_result", "resume_text"),
+            "interview_sessions", List.of("transcript", "feedback_report"),
+            "interview_questions", List.of("user_answer", "ai_feedback")
+    );
+
+    @Value("${storage.compression.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    @Value("${storage.compression.migration-batch-size:200}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!migrateOnStartup) {
+            return;
+        }
+        Thread worker = new Thread(this::migrateAll, "text-compression-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void migrateAll() {
+        COMPRESSED_COLUMNS.forEach((table, columns) -> columns.forEach(column -> {
+            try {
+                migrateColumn(table, column);
+            } catch (Exception e) {
+                log.error("Compression migration of {}.{} failed: {}", table, column, e.getMessage(), e);
+            }
+        }));
+    }
+
+    private void migrateColumn(String table, String column) {
+        String select = "SELECT id, " + column + " FROM " + table
+                + " WHERE id > ? AND " + column + " IS NOT NULL AND " + column + " NOT LIKE '"
+                + CompressedTextConverter.PREFIX + "%' ORDER BY id LIMIT ?";
+        // Guard on the old value so a concurrent application write is never overwritten
+        String update = "UPDATE " + table + " SET " + column + " = ? WHERE id = ? AND " + column + " = ?";
+
+        long lastId = 0;
+        long rows = 0;
+        long bytesBefore = 0;
+        long bytesAfter = 0;
+        long startNanos = System.nanoTime();
+
+        while (true) {
+            List<Map<String, Object>> batch = jdbcTemplate.queryForList(select, lastId, batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Object[]> updates = new ArrayList<>();
+            for (Map<String, Object> row : batch) {
+                lastId = ((Number) row.get("id")).longValue();
+                String plain = (String) row.get(column);
+                String stored = converter.convertToDatabaseColumn(plain);
+                if (!stored.equals(plain)) {
+                    updates.add(new Object[]{stored, lastId, plain});
+                    bytesBefore += plain.getBytes(StandardCharsets.UTF_8).length;
+                    bytesAfter += stored.length();
+                }
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(update, updates);
+                rows += updates.size();
+            }
+        }
+
+        if (rows > 0) {
+            log.info("Compressed {} rows of {}.{}: {} -> {} bytes ({}%) in {} ms", rows, table, column,
+                    bytesBefore, bytesAfter, bytesAfter * 100 / Math.max(1, bytesBefore),
+                    (System.nanoTime() - startNanos) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.a3n.resumentor.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps uploads in a map. Meant for tests and local experiments (storage.type=memory).
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "memory")
+@Slf4j
+public class InMemoryResumeStorage implements ResumeStorage {
+
+    static final String SCHEME = "memory:";
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, Instant> storedAt = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<String> store(String key, Path source) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                objects.put(key, Files.readAllBytes(source));
+                storedAt.put(key, Instant.now());
+                return SCHEME + key;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        byte[] content = objects.get(keyOf(location));
+        if (content == null) {
+            throw new FileNotFoundException("No stored file at " + location);
+        }
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String location) {
+        objects.remove(keyOf(location));
+        storedAt.remove(keyOf(location));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public Stream<StoredObject> list() {
+        return objects.entrySet().stream()
+                .map(entry -> new StoredObject(SCHEME + entry.getKey(), entry.getValue().length,
+                        storedAt.getOrDefault(entry.getKey(), Instant.now())));
+    }
+
+    private String keyOf(String location) {
+        return location.startsWith(SCHEME) ? location.substring(SCHEME.length()) : location;
+    }
+}
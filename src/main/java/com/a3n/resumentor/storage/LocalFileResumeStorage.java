@@ -0,0 +1,210 @@
+package com.a3n.resumentor.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Stores uploads in a directory on the local filesystem (the default backend).
+ * Files are copied with {@link AsynchronousFileChannel} into a temp name and moved
+ * into place once complete, so a half-written file is never visible under its key.
+ * Locations keep the historical {@code <uploadDir>/<name>} format.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+@Slf4j
+public class LocalFileResumeStorage implements ResumeStorage {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Value("${file.upload.dir:uploads}")
+    private String uploadDir;
+
+    private Path uploadPath;
+    private ExecutorService ioExecutor;
+
+    @PostConstruct
+    public void init() throws IOException {
+        uploadPath = Paths.get(uploadDir);
+        Files.createDirectories(uploadPath);
+        ioExecutor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "local-storage-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> store(String key, Path source) {
+        Path target = uploadPath.resolve(key);
+        Path partial = uploadPath.resolve(key + ".part");
+        CompletableFuture<String> result = new CompletableFuture<>();
+        try {
+            AsynchronousFileChannel in = AsynchronousFileChannel.open(source,
+                    EnumSet.of(StandardOpenOption.READ), ioExecutor);
+            AsynchronousFileChannel out = AsynchronousFileChannel.open(partial,
+                    EnumSet.of(StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING),
+                    ioExecutor);
+            new ChunkCopy(in, out, result).readNext();
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+        }
+
+        return result.thenApply(ignored -> {
+            try {
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("File stored successfully: {}", key);
+                return uploadDir + File.separator + key;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((location, error) -> {
+            if (error != null) {
+                deleteQuietly(partial);
+            }
+        });
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        try {
+            return Files.newInputStream(Paths.get(location));
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("No stored file at " + location);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String location) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.deleteIfExists(Paths.get(location));
+                log.info("File deleted: {}", location);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, ioExecutor);
+    }
+
+    @Override
+    public Stream<StoredObject> list() throws IOException {
+        return Files.list(uploadPath)
+                .filter(Files::isRegularFile)
+                .map(this::describe)
+                .filter(object -> object != null);
+    }
+
+    private StoredObject describe(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new StoredObject(uploadDir + File.separator + path.getFileName(), attributes.size(),
+                    attributes.lastModifiedTime().toInstant());
+        } catch (IOException e) {
+            // Deleted between listing and stat
+            return null;
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not remove partial upload {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ioExecutor.shutdown();
+    }
+
+    /**
+     * Read-chunk / write-chunk loop driven entirely by completion callbacks.
+     */
+    private static class ChunkCopy {
+        private final AsynchronousFileChannel in;
+        private final AsynchronousFileChannel out;
+        private final CompletableFuture<String> result;
+        private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+        private long position;
+
+        ChunkCopy(AsynchronousFileChannel in, AsynchronousFileChannel out, CompletableFuture<String> result) {
+            this.in = in;
+            this.out = out;
+            this.result = result;
+        }
+
+        void readNext() {
+            buffer.clear();
+            in.read(buffer, position, null, new CompletionHandler<Integer, Void>() {
+                @Override
+                public void completed(Integer read, Void attachment) {
+                    if (read < 0) {
+                        finish(null);
+                        return;
+                    }
+                    buffer.flip();
+                    writeBuffer();
+                }
+
+                @Override
+                public void failed(Throwable error, Void attachment) {
+                    finish(error);
+                }
+            });
+        }
+
+        void writeBuffer() {
+            out.write(buffer, position, null, new CompletionHandler<Integer, Void>() {
+                @Override
+                public void completed(Integer written, Void attachment) {
+                    position += written;
+                    if (buffer.hasRemaining()) {
+                        writeBuffer();
+                    } else {
+                        readNext();
+                    }
+                }
+
+                @Override
+                public void failed(Throwable error, Void attachment) {
+                    finish(error);
+                }
+            });
+        }
+
+        void finish(Throwable error) {
+            try (in; out) {
+                if (error == null) {
+                    out.force(true);
+                }
+            } catch (IOException e) {
+                if (error == null) error = e;
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(null);
+            }
+        }
+    }
+}
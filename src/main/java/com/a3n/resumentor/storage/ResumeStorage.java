@@ -0,0 +1,34 @@
+package com.a3n.resumentor.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Backend that holds uploaded resume files. Writes and deletes are asynchronous so
+ * storage latency stays off the request thread; the returned location string is what
+ * gets persisted in {@code resumes.file_url}.
+ */
+public interface ResumeStorage {
+
+    /**
+     * Streams the local file into the store under the given key.
+     * Completes with the location of the stored object.
+     */
+    CompletableFuture<String> store(String key, Path source);
+
+    InputStream open(String location) throws IOException;
+
+    CompletableFuture<Void> delete(String location);
+
+    /**
+     * Lazily lists everything in the store; callers must close the stream. Backends that
+     * cannot enumerate their contents return an empty stream and are skipped by the
+     * orphan collector.
+     */
+    default Stream<StoredObject> list() throws IOException {
+        return Stream.empty();
+    }
+}
@@ -0,0 +1,288 @@
+package com.a3n.resumentor.storage;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stores uploads in an S3-compatible bucket (AWS S3, MinIO, Ceph, ...) using path-style
+ * requests signed with AWS Signature V4. Uses the JDK HTTP client so uploads stream
+ * from disk and complete asynchronously. Listing pages through ListObjectsV2 so the
+ * orphan collector works here too. For local development point
+ * {@code storage.s3.endpoint} at a MinIO container.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+@Slf4j
+public class S3CompatibleResumeStorage implements ResumeStorage {
+
+    private static final String SCHEME = "s3://";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+
+    @Value("${storage.s3.endpoint:http://localhost:9000}")
+    private String endpoint;
+
+    @Value("${storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${storage.s3.bucket:resumes}")
+    private String bucket;
+
+    @Value("${storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${storage.s3.secret-key:}")
+    private String secretKey;
+
+    private HttpClient httpClient;
+    private SigV4Signer signer;
+
+    @PostConstruct
+    public void init() {
+        signer = new SigV4Signer(accessKey, secretKey, region, "s3");
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        log.info("Resume storage: S3-compatible bucket '{}' at {}", bucket, endpoint);
+    }
+
+    @Override
+    public CompletableFuture<String> store(String key, Path source) {
+        try {
+            HttpRequest request = signedRequest("PUT", key)
+                    .PUT(HttpRequest.BodyPublishers.ofFile(source))
+                    .build();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenApply(response -> {
+                        checkStatus(response, "store " + key);
+                        log.info("File stored successfully: {}", key);
+                        return SCHEME + bucket + "/" + key;
+                    });
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public InputStream open(String location) throws IOException {
+        HttpRequest request = signedRequest("GET", keyOf(location)).GET().build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() == 404) {
+                response.body().close();
+                throw new FileNotFoundException("No stored file at " + location);
+            }
+            if (response.statusCode() / 100 != 2) {
+                response.body().close();
+                throw new IOException("Object store returned HTTP " + response.statusCode() + " for " + location);
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading " + location, e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String location) {
+        try {
+            HttpRequest request = signedRequest("DELETE", keyOf(location)).DELETE().build();
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .thenAccept(response -> {
+                        checkStatus(response, "delete " + location);
+                        log.info("File deleted: {}", location);
+                    });
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Pages through the bucket with ListObjectsV2; the next page is only requested once the
+     * previous one has been consumed. A failure on a later page surfaces as an
+     * {@link UncheckedIOException} from the stream.
+     */
+    @Override
+    public Stream<StoredObject> list() throws IOException {
+        ListPage first = listPage(null);
+        Iterator<StoredObject> objects = new Iterator<>() {
+            private ListPage page = first;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == page.objects().size() && page.nextToken() != null) {
+                    try {
+                        page = listPage(page.nextToken());
+                        next = 0;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next < page.objects().size();
+            }
+
+            @Override
+            public StoredObject next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return page.objects().get(next++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(objects, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private ListPage listPage(String continuationToken) throws IOException {
+        TreeMap<String, String> query = new TreeMap<>();
+        query.put("list-type", "2");
+        if (continuationToken != null) {
+            query.put("continuation-token", continuationToken);
+        }
+        HttpRequest request = signedRequest("GET", "/" + encodePathSegment(bucket), query).GET().build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() / 100 != 2) {
+                    throw new IOException("Object store returned HTTP " + response.statusCode() + " listing bucket " + bucket);
+                }
+                return parseListPage(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while listing bucket " + bucket, e);
+        }
+    }
+
+    private ListPage parseListPage(InputStream body) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        List<StoredObject> objects = new ArrayList<>();
+        String nextToken = null;
+        boolean truncated = false;
+        String key = null;
+        long size = 0;
+        Instant lastModified = null;
+        try {
+            XMLStreamReader xml = factory.createXMLStreamReader(body);
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamReader.START_ELEMENT) {
+                    switch (xml.getLocalName()) {
+                        case "Contents" -> {
+                            key = null;
+                            size = 0;
+                            lastModified = null;
+                        }
+                        case "Key" -> key = xml.getElementText();
+                        case "Size" -> size = Long.parseLong(xml.getElementText().trim());
+                        case "LastModified" -> lastModified = Instant.parse(xml.getElementText().trim());
+                        case "IsTruncated" -> truncated = Boolean.parseBoolean(xml.getElementText().trim());
+                        case "NextContinuationToken" -> nextToken = xml.getElementText();
+                        default -> {
+                        }
+                    }
+                } else if (xml.getEventType() == XMLStreamReader.END_ELEMENT && xml.getLocalName().equals("Contents")
+                        && key != null && lastModified != null) {
+                    objects.add(new StoredObject(SCHEME + bucket + "/" + key, size, lastModified));
+                }
+            }
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new IOException("Could not read bucket listing for " + bucket, e);
+        }
+        return new ListPage(objects, truncated ? nextToken : null);
+    }
+
+    private record ListPage(List<StoredObject> objects, String nextToken) {
+    }
+
+    private String keyOf(String location) {
+        String prefix = SCHEME + bucket + "/";
+        return location.startsWith(prefix) ? location.substring(prefix.length()) : location;
+    }
+
+    private void checkStatus(HttpResponse<?> response, String operation) {
+        // S3 answers 204 for deletes, including deletes of missing keys
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Object store failed to " + operation + ": HTTP " + response.statusCode());
+        }
+    }
+
+    private HttpRequest.Builder signedRequest(String method, String key) throws IOException {
+        return signedRequest(method, "/" + encodePathSegment(bucket) + "/" + encodeKey(key), new TreeMap<>());
+    }
+
+    private HttpRequest.Builder signedRequest(String method, String canonicalUri, TreeMap<String, String> query)
+            throws IOException {
+        // SigV4 wants the query parameters sorted by name and encoded like path segments
+        StringJoiner canonicalQuery = new StringJoiner("&");
+        query.forEach((name, value) -> canonicalQuery.add(encodePathSegment(name) + "=" + encodePathSegment(value)));
+        URI uri = URI.create(endpoint.replaceAll("/+$", "") + canonicalUri
+                + (query.isEmpty() ? "" : "?" + canonicalQuery));
+        String host = uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        String amzDate = SigV4Signer.AMZ_DATE.format(now);
+
+        try {
+            String authorization = signer.authorization(method, canonicalUri, canonicalQuery.toString(),
+                    Map.of("host", host, "x-amz-content-sha256", UNSIGNED_PAYLOAD, "x-amz-date", amzDate),
+                    UNSIGNED_PAYLOAD, now);
+            return HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(60))
+                    .header("x-amz-date", amzDate)
+                    .header("x-amz-content-sha256", UNSIGNED_PAYLOAD)
+                    .header("Authorization", authorization);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Could not sign object store request", e);
+        }
+    }
+
+    private String encodeKey(String key) {
+        String[] segments = key.split("/", -1);
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) encoded.append('/');
+            encoded.append(encodePathSegment(segments[i]));
+        }
+        return encoded.toString();
+    }
+
+    private String encodePathSegment(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("*", "%2A")
+                .replace("%7E", "~");
+    }
+}
@@ -0,0 +1,95 @@
+package com.a3n.resumentor.storage;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * AWS Signature Version 4 for header-based authorization. The caller supplies the already
+ * encoded canonical URI and query string and the headers to sign, which must include
+ * {@code host} and {@code x-amz-date}; header names are lowercased and sorted here.
+ */
+final class SigV4Signer {
+
+    static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final DateTimeFormatter SCOPE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+    private final String service;
+
+    SigV4Signer(String accessKey, String secretKey, String region, String service) {
+        this.accessKey = accessKey;
+        this.secretKey = secretKey;
+        this.region = region;
+        this.service = service;
+    }
+
+    /**
+     * The value of the {@code Authorization} header for the request.
+     */
+    String authorization(String method, String canonicalUri, String canonicalQuery, Map<String, String> headers,
+                         String payloadHash, ZonedDateTime time) throws GeneralSecurityException {
+        SortedMap<String, String> canonicalHeaders = canonicalHeaders(headers);
+        String signedHeaders = String.join(";", canonicalHeaders.keySet());
+        String signature = signature(canonicalRequest(method, canonicalUri, canonicalQuery, canonicalHeaders, payloadHash), time);
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope(time)
+                + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature;
+    }
+
+    String signature(String canonicalRequest, ZonedDateTime time) throws GeneralSecurityException {
+        ZonedDateTime utc = time.withZoneSameInstant(ZoneOffset.UTC);
+        String stringToSign = ALGORITHM + "\n" + AMZ_DATE.format(utc) + "\n" + scope(utc) + "\n" + sha256Hex(canonicalRequest);
+        return HexFormat.of().formatHex(hmac(signingKey(SCOPE_DATE.format(utc)), stringToSign));
+    }
+
+    byte[] signingKey(String scopeDate) throws GeneralSecurityException {
+        byte[] dateKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), scopeDate);
+        return hmac(hmac(hmac(dateKey, region), service), "aws4_request");
+    }
+
+    static String canonicalRequest(String method, String canonicalUri, String canonicalQuery,
+                                   SortedMap<String, String> canonicalHeaders, String payloadHash) {
+        StringBuilder request = new StringBuilder()
+                .append(method).append('\n')
+                .append(canonicalUri).append('\n')
+                .append(canonicalQuery).append('\n');
+        canonicalHeaders.forEach((name, value) -> request.append(name).append(':').append(value).append('\n'));
+        return request.append('\n')
+                .append(String.join(";", canonicalHeaders.keySet())).append('\n')
+                .append(payloadHash)
+                .toString();
+    }
+
+    static SortedMap<String, String> canonicalHeaders(Map<String, String> headers) {
+        SortedMap<String, String> canonical = new TreeMap<>();
+        headers.forEach((name, value) -> canonical.put(name.toLowerCase(), value.trim().replaceAll(" +", " ")));
+        return canonical;
+    }
+
+    private String scope(ZonedDateTime time) {
+        return SCOPE_DATE.format(time.withZoneSameInstant(ZoneOffset.UTC)) + "/" + region + "/" + service + "/aws4_request";
+    }
+
+    static String sha256Hex(String data) throws GeneralSecurityException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] hmac(byte[] key, String data) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    }
+}
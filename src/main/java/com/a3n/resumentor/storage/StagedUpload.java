@@ -0,0 +1,83 @@
+package com.a3n.resumentor.storage;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * An upload that has been copied to local scratch space while it is written to the
+ * {@link ResumeStorage} backend in the background. Extraction reads the local copy
+ * right away; {@link #awaitStored()} is only needed before the location is persisted.
+ * Unless {@link #markPersisted()} is called, closing also deletes the stored copy so a
+ * failed analysis does not leave an orphaned file behind.
+ */
+@Slf4j
+public class StagedUpload implements AutoCloseable {
+
+    @Getter
+    private final Path localPath;
+
+    @Getter
+    private final String originalFilename;
+
+    private final CompletableFuture<String> stored;
+    private final ResumeStorage storage;
+    private volatile boolean persisted;
+
+    public StagedUpload(Path localPath, String originalFilename, CompletableFuture<String> stored, ResumeStorage storage) {
+        this.localPath = localPath;
+        this.originalFilename = originalFilename;
+        this.stored = stored;
+        this.storage = storage;
+    }
+
+    public CompletableFuture<String> storedLocation() {
+        return stored;
+    }
+
+    public String awaitStored() throws IOException {
+        try {
+            return stored.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Could not store uploaded file: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Records that the stored location has been saved, so the stored copy is kept on close.
+     */
+    public void markPersisted() {
+        persisted = true;
+    }
+
+    /**
+     * Removes the scratch copy once the background write no longer needs it, and the
+     * stored copy as well if nothing was persisted.
+     */
+    @Override
+    public void close() {
+        stored.whenComplete((location, error) -> {
+            try {
+                Files.deleteIfExists(localPath);
+            } catch (IOException e) {
+                log.warn("Could not remove staged upload {}: {}", localPath, e.getMessage());
+            }
+            if (error == null && !persisted) {
+                storage.delete(location).whenComplete((ignored, deleteError) -> {
+                    if (deleteError != null) {
+                        log.warn("Could not remove unused upload {}: {}", location, deleteError.getMessage());
+                    }
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.a3n.resumentor.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A file held by a {@link ResumeStorage} backend, as seen when listing its contents.
+ */
+@Data
+@AllArgsConstructor
+public class StoredObject {
+    private String location;
+    private long size;
+    private Instant lastModified;
+}
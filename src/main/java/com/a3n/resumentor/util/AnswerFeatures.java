@@ -0,0 +1,229 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.util.AnswerRules.Indicator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The feature vector of an answer, accumulated over text that may arrive in pieces, such
+ * as speech-to-text partials. Every character is looked at once: it advances the word and
+ * sentence counts, the jargon matcher, the metrics automaton and the question's indicator
+ * automaton, so the answer never has to be re-read when it is evaluated and chunk
+ * boundaries make no difference. Counts match {@code split("\\s+")} and
+ * {@code split("[.!?]+")} over the trimmed text, and indicator phrases are matched like
+ * {@code toLowerCase(Locale.ROOT).contains(phrase)}. Not thread-safe.
+ */
+public class AnswerFeatures {
+
+    private static final char[][] JARGON = {
+            "API".toCharArray(), "SDK".toCharArray(), "MVP".toCharArray(), "OOP".toCharArray(),
+            "DRY".toCharArray(), "SOLID".toCharArray(), "REST".toCharArray()};
+    private static final int MAX_JARGON_LENGTH = 5;
+
+    // A digit immediately followed by a unit; same matches as \d+%|\d+ times|... anywhere in the text
+    private static final PhraseAutomaton METRICS = new PhraseAutomaton(metricPhrases(), false);
+
+    private final AnswerRules rules;
+    private final boolean[] found;
+    private int phraseState = PhraseAutomaton.START;
+    private int metricState = PhraseAutomaton.START;
+    private boolean metrics;
+
+    private final char[] word = new char[MAX_JARGON_LENGTH];
+    private int wordLength;
+    private boolean wordTooLong;
+    private boolean jargon;
+
+    private boolean started;
+    private boolean pendingSpace;
+    private int words;
+    private int delimiterRuns;
+    private boolean inDelimiter;
+    private boolean lastSegmentHasText;
+    private boolean sawText;
+
+    public AnswerFeatures(AnswerRules rules) {
+        this.rules = rules;
+        this.found = new boolean[rules.automaton().size()];
+    }
+
+    public AnswerRules getRules() {
+        return rules;
+    }
+
+    public void append(CharSequence chunk) {
+        if (chunk == null) {
+            return;
+        }
+        PhraseAutomaton phrases = rules.automaton();
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+
+            phraseState = phrases.next(phraseState, c, found);
+            metricState = METRICS.next(metricState, c);
+            if (METRICS.matches(metricState).length > 0) {
+                metrics = true;
+            }
+            count(c);
+            matchJargon(c);
+        }
+    }
+
+    private void count(char c) {
+        boolean space = isSpace(c);
+        if (!started && space) {
+            // Leading whitespace is not part of the answer
+            return;
+        }
+        if (space) {
+            pendingSpace = true;
+        } else if (!started || pendingSpace) {
+            started = true;
+            pendingSpace = false;
+            words++;
+        }
+
+        if (c == '.' || c == '!' || c == '?') {
+            if (!inDelimiter) {
+                delimiterRuns++;
+                inDelimiter = true;
+                lastSegmentHasText = false;
+            }
+        } else {
+            inDelimiter = false;
+            if (!space) {
+                lastSegmentHasText = true;
+                sawText = true;
+            }
+        }
+    }
+
+    private void matchJargon(char c) {
+        if (isWordChar(c)) {
+            if (wordLength < MAX_JARGON_LENGTH) {
+                word[wordLength++] = c;
+            } else {
+                wordTooLong = true;
+            }
+        } else {
+            jargon |= isJargonWord();
+            wordLength = 0;
+            wordTooLong = false;
+        }
+    }
+
+    private boolean isJargonWord() {
+        if (wordTooLong || wordLength == 0) {
+            return false;
+        }
+        for (char[] acronym : JARGON) {
+            if (acronym.length == wordLength) {
+                boolean same = true;
+                for (int i = 0; i < wordLength && same; i++) {
+                    same = acronym[i] == word[i];
+                }
+                if (same) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int wordCount() {
+        return words;
+    }
+
+    public int sentenceCount() {
+        // Only delimiters and whitespace between them: split leaves a single empty segment or none
+        if (!sawText && delimiterRuns < 2) {
+            return 0;
+        }
+        return delimiterRuns + (lastSegmentHasText ? 1 : 0);
+    }
+
+    public boolean isBlank() {
+        return words == 0;
+    }
+
+    /**
+     * Whether one of the jargon acronyms appears as a whole, case-sensitive word.
+     */
+    public boolean hasJargon() {
+        return jargon || isJargonWord();
+    }
+
+    public boolean hasMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Whether any of the indicator's phrases occurs in the text.
+     */
+    public boolean any(Indicator indicator) {
+        for (int id : rules.ids(indicator)) {
+            if (found[id]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * How many of the indicator's phrases occur in the text.
+     */
+    public int count(Indicator indicator) {
+        int count = 0;
+        for (int id : rules.ids(indicator)) {
+            if (found[id]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Whether the phrase occurs in the text; only indicator phrases of the rules are tracked.
+     */
+    public boolean contains(String phrase) {
+        int id = rules.automaton().idOf(phrase);
+        return id >= 0 && found[id];
+    }
+
+    /**
+     * The text with leading and trailing whitespace removed, using the same notion of
+     * whitespace as the counts.
+     */
+    public static String strip(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && isSpace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && isSpace(text.charAt(end - 1))) {
+            end--;
+        }
+        return text.subSequence(start, end).toString();
+    }
+
+    private static List<String> metricPhrases() {
+        List<String> phrases = new ArrayList<>();
+        for (char digit = '0'; digit <= '9'; digit++) {
+            for (String unit : List.of("%", " times", " users", " years", " months")) {
+                phrases.add(digit + unit);
+            }
+        }
+        return phrases;
+    }
+
+    // The \s class of java.util.regex
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // The \w class of java.util.regex, which also decides \b
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
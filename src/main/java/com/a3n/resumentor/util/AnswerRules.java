@@ -0,0 +1,81 @@
+package com.a3n.resumentor.util;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compiled indicator rules for answers to one question: every indicator phrase, from
+ * the fixed marker lists and from the question itself, in one {@link PhraseAutomaton},
+ * plus what the question asks for. Built once per question and shared by every
+ * {@link AnswerFeatures} scanning an answer to it.
+ */
+public final class AnswerRules {
+
+    public enum Indicator {
+        EXPLANATION, STRUCTURE, FILLER, EXAMPLE, LEARNING, PROCESS, TOPIC, EXPECTED_TERM
+    }
+
+    private final PhraseAutomaton automaton;
+    // Phrase ids per indicator, in list order; a phrase listed twice is counted twice
+    private final int[][] indicatorIds = new int[Indicator.values().length][];
+    private final boolean technical;
+    private final boolean asksBackground;
+    private final boolean asksReflection;
+    private final boolean asksProcess;
+
+    public AnswerRules(Map<Indicator, List<String>> indicators, boolean technical, boolean asksBackground,
+                       boolean asksReflection, boolean asksProcess) {
+        List<String> phrases = new ArrayList<>();
+        indicators.values().forEach(phrases::addAll);
+        this.automaton = new PhraseAutomaton(phrases, true);
+        Map<Indicator, List<String>> all = new EnumMap<>(Indicator.class);
+        all.putAll(indicators);
+        for (Indicator indicator : Indicator.values()) {
+            indicatorIds[indicator.ordinal()] = all.getOrDefault(indicator, List.of()).stream()
+                    .mapToInt(automaton::idOf).filter(id -> id >= 0).toArray();
+        }
+        this.technical = technical;
+        this.asksBackground = asksBackground;
+        this.asksReflection = asksReflection;
+        this.asksProcess = asksProcess;
+    }
+
+    PhraseAutomaton automaton() {
+        return automaton;
+    }
+
+    int[] ids(Indicator indicator) {
+        return indicatorIds[indicator.ordinal()];
+    }
+
+    public int size(Indicator indicator) {
+        return indicatorIds[indicator.ordinal()].length;
+    }
+
+    public boolean isTechnical() {
+        return technical;
+    }
+
+    /**
+     * "Tell me about yourself" and "walk me through" questions.
+     */
+    public boolean asksBackground() {
+        return asksBackground;
+    }
+
+    /**
+     * Questions about challenges, mistakes, difficulties or failures.
+     */
+    public boolean asksReflection() {
+        return asksReflection;
+    }
+
+    /**
+     * Questions about an approach, strategy or process.
+     */
+    public boolean asksProcess() {
+        return asksProcess;
+    }
+}
@@ -0,0 +1,86 @@
+package com.a3n.resumentor.util;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 digests of file content and request payloads, as lowercase hex. Used for the
+ * extraction cache key and for Idempotency-Key fingerprints.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static String of(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return of(in);
+        }
+    }
+
+    public static String of(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Digest of the given values in order. Each value is length-prefixed, so no two
+     * different lists of values share a fingerprint, and null differs from "".
+     */
+    public static String fingerprint(Object... parts) {
+        MessageDigest digest = sha256();
+        for (Object part : parts) {
+            update(digest, part);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Like {@link #fingerprint(Object...)}, with the content of the uploaded file first.
+     */
+    public static String fingerprint(MultipartFile file, Object... parts) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = file.getInputStream()) {
+            update(digest, of(in));
+        }
+        for (Object part : parts) {
+            update(digest, part);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Object part) {
+        if (part == null) {
+            digest.update(intBytes(-1));
+            return;
+        }
+        byte[] bytes = part.toString().getBytes(StandardCharsets.UTF_8);
+        digest.update(intBytes(bytes.length));
+        digest.update(bytes);
+    }
+
+    private static byte[] intBytes(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
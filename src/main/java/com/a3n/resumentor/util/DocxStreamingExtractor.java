@@ -0,0 +1,264 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads DOCX text straight from the zip with StAX instead of building a POI DOM.
+ * Covers body paragraphs, tables, text boxes, headers and footers, emitted in
+ * document order (headers, body, footers). Headers and footers follow the sections
+ * that reference them, first-page, even-page and default variant in turn like POI's
+ * extractor. Elements are matched by local name so both transitional and strict OOXML
+ * documents are handled.
+ */
+@Component
+@Slf4j
+public class DocxStreamingExtractor {
+
+    private static final String MARKUP_COMPATIBILITY_NS = "http://schemas.openxmlformats.org/markup-compatibility/2006";
+    private static final Pattern HEADER_PART = Pattern.compile("word/header(\\d*)\\.xml");
+    private static final Pattern FOOTER_PART = Pattern.compile("word/footer(\\d*)\\.xml");
+    private static final List<String> VARIANT_ORDER = List.of("first", "even", "default");
+
+    // Guards against zip bombs - no real resume comes close to this
+    @Value("${extraction.docx.max-chars:2000000}")
+    private int maxChars;
+
+    private final XMLInputFactory xmlInputFactory;
+
+    public DocxStreamingExtractor() {
+        xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    }
+
+    public ExtractedResume extract(File file) throws IOException {
+        try (ZipFile zip = new ZipFile(file)) {
+            ZipEntry document = zip.getEntry("word/document.xml");
+            if (document == null) {
+                throw new IOException("Not a valid DOCX file: word/document.xml is missing");
+            }
+
+            StringBuilder body = new StringBuilder();
+            List<Map<String, String>> sections = new ArrayList<>();
+            appendPart(zip, document, body, sections);
+            Map<String, String> relationships = readRelationships(zip);
+
+            StringBuilder text = new StringBuilder();
+            // Different header variants (first page, even pages) often repeat the same text
+            Set<String> seenHeaderFooterText = new HashSet<>();
+
+            for (ZipEntry header : headerFooterParts(zip, sections, relationships, "header", HEADER_PART)) {
+                appendUnique(zip, header, text, seenHeaderFooterText);
+            }
+            text.append(body);
+            checkLimit(text);
+            for (ZipEntry footer : headerFooterParts(zip, sections, relationships, "footer", FOOTER_PART)) {
+                appendUnique(zip, footer, text, seenHeaderFooterText);
+            }
+
+            return new ExtractedResume(text.toString(), readPageCount(zip), new ArrayList<>());
+        }
+    }
+
+    /**
+     * The parts referenced by the sections in document order, or every part of the kind by
+     * number when the document has no references (or no relationships to resolve them).
+     */
+    private List<ZipEntry> headerFooterParts(ZipFile zip, List<Map<String, String>> sections,
+                                             Map<String, String> relationships, String kind, Pattern pattern) {
+        Set<ZipEntry> parts = new LinkedHashSet<>();
+        for (Map<String, String> section : sections) {
+            for (String variant : VARIANT_ORDER) {
+                String target = relationships.get(section.get(kind + ":" + variant));
+                ZipEntry part = target == null ? null : zip.getEntry(target);
+                if (part != null) {
+                    parts.add(part);
+                }
+            }
+        }
+        if (!parts.isEmpty()) {
+            return new ArrayList<>(parts);
+        }
+        List<ZipEntry> numbered = new ArrayList<>();
+        zip.stream().filter(entry -> pattern.matcher(entry.getName()).matches()).forEach(numbered::add);
+        numbered.sort(Comparator.comparingInt(entry -> partNumber(entry, pattern)));
+        return numbered;
+    }
+
+    private static int partNumber(ZipEntry entry, Pattern pattern) {
+        Matcher matcher = pattern.matcher(entry.getName());
+        return matcher.matches() && !matcher.group(1).isEmpty() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    /**
+     * Relationship ids of the main document part mapped to zip entry names.
+     */
+    private Map<String, String> readRelationships(ZipFile zip) throws IOException {
+        Map<String, String> relationships = new HashMap<>();
+        ZipEntry rels = zip.getEntry("word/_rels/document.xml.rels");
+        if (rels == null) {
+            return relationships;
+        }
+        try (InputStream in = zip.getInputStream(rels)) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("Relationship")) {
+                        String id = reader.getAttributeValue(null, "Id");
+                        String target = reader.getAttributeValue(null, "Target");
+                        if (id != null && target != null) {
+                            relationships.put(id, target.startsWith("/") ? target.substring(1) : "word/" + target);
+                        }
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed DOCX relationships: " + e.getMessage(), e);
+        }
+        return relationships;
+    }
+
+    private void appendUnique(ZipFile zip, ZipEntry part, StringBuilder text, Set<String> seen) throws IOException {
+        StringBuilder partText = new StringBuilder();
+        appendPart(zip, part, partText, null);
+        String normalized = partText.toString().trim();
+        if (!normalized.isEmpty() && seen.add(normalized)) {
+            text.append(partText);
+            checkLimit(text);
+        }
+    }
+
+    private void appendPart(ZipFile zip, ZipEntry part, StringBuilder text, List<Map<String, String>> sections) throws IOException {
+        try (InputStream in = zip.getInputStream(part)) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            try {
+                readText(reader, text, sections);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed DOCX part " + part.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Appends the text of a part. With {@code sections} given, also collects the header and
+     * footer references of every section, keyed by kind and variant (e.g. "header:default").
+     */
+    private void readText(XMLStreamReader reader, StringBuilder text, List<Map<String, String>> sections)
+            throws XMLStreamException, IOException {
+        Map<String, String> section = null;
+        int runDepth = 0;
+        int fallbackDepth = 0;
+        boolean inText = false;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (MARKUP_COMPATIBILITY_NS.equals(reader.getNamespaceURI()) && name.equals("Fallback")) {
+                    // Text boxes are stored twice (DrawingML choice + VML fallback); keep only the choice
+                    fallbackDepth++;
+                } else if (fallbackDepth == 0) {
+                    switch (name) {
+                        case "r" -> runDepth++;
+                        case "t" -> inText = true;
+                        case "tab" -> { if (runDepth > 0) text.append('\t'); }
+                        case "br", "cr" -> { if (runDepth > 0) text.append('\n'); }
+                        case "noBreakHyphen" -> text.append('-');
+                        case "sectPr" -> section = new HashMap<>();
+                        case "headerReference", "footerReference" -> {
+                            if (section != null) {
+                                String type = reader.getAttributeValue(reader.getNamespaceURI(), "type");
+                                section.putIfAbsent((name.startsWith("header") ? "header:" : "footer:")
+                                        + (type == null ? "default" : type), relationshipId(reader));
+                            }
+                        }
+                        default -> { }
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = reader.getLocalName();
+                if (MARKUP_COMPATIBILITY_NS.equals(reader.getNamespaceURI()) && name.equals("Fallback")) {
+                    fallbackDepth--;
+                } else if (fallbackDepth == 0) {
+                    switch (name) {
+                        case "r" -> runDepth--;
+                        case "t" -> inText = false;
+                        case "sectPr" -> {
+                            if (sections != null && section != null) {
+                                sections.add(section);
+                            }
+                            section = null;
+                        }
+                        case "p" -> {
+                            text.append('\n');
+                            checkLimit(text);
+                        }
+                        default -> { }
+                    }
+                }
+            } else if (inText && fallbackDepth == 0
+                    && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                        || event == XMLStreamConstants.SPACE)) {
+                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+            }
+        }
+    }
+
+    private static String relationshipId(XMLStreamReader reader) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            if (reader.getAttributeLocalName(i).equals("id")) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    private Integer readPageCount(ZipFile zip) {
+        ZipEntry appProps = zip.getEntry("docProps/app.xml");
+        if (appProps == null) {
+            return null;
+        }
+        try (InputStream in = zip.getInputStream(appProps)) {
+            XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(in);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("Pages")) {
+                        return Integer.parseInt(reader.getElementText().trim());
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException | NumberFormatException e) {
+            log.debug("Could not read DOCX page count: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void checkLimit(StringBuilder text) throws IOException {
+        if (text.length() > maxChars) {
+            throw new IOException("Document text exceeds the maximum supported size");
+        }
+    }
+}
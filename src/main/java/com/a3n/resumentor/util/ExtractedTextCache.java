@@ -0,0 +1,195 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Two-tier cache of extraction results keyed by the SHA-256 of the file content.
+ * A small LRU map sits in front of gzip-compressed JSON sidecar files on disk.
+ * The disk tier is size-limited and evicts the least recently used sidecars. Entries are
+ * copied in and out, so callers are free to modify what they get.
+ */
+@Component
+@Slf4j
+public class ExtractedTextCache {
+
+    private static final String SIDECAR_SUFFIX = ".json.gz";
+    // Bump when ExtractedResume changes shape; stale sidecars then age out through eviction
+    private static final String FORMAT_VERSION = "v2";
+
+    @Value("${extraction.cache.dir:text-cache}")
+    private String cacheDir;
+
+    @Value("${extraction.cache.max-memory-entries:64}")
+    private int maxMemoryEntries;
+
+    @Value("${extraction.cache.max-disk-bytes:268435456}")
+    private long maxDiskBytes;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong diskBytes = new AtomicLong();
+    private Map<String, ExtractedResume> memoryTier;
+    private Path cachePath;
+    private Counter hitCounter;
+    private Counter missCounter;
+
+    @PostConstruct
+    public void init() throws IOException {
+        memoryTier = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExtractedResume> eldest) {
+                return size() > maxMemoryEntries;
+            }
+        });
+
+        cachePath = Paths.get(cacheDir);
+        Files.createDirectories(cachePath);
+        try (Stream<Path> files = Files.list(cachePath)) {
+            diskBytes.set(files.filter(this::isSidecar).mapToLong(this::sizeOf).sum());
+        }
+
+        hitCounter = meterRegistry.counter("resumentor.extraction.cache", "result", "hit");
+        missCounter = meterRegistry.counter("resumentor.extraction.cache", "result", "miss");
+        log.info("Extracted text cache at {} ({} bytes on disk)", cachePath.toAbsolutePath(), diskBytes.get());
+    }
+
+    public String hashFile(Path file) throws IOException {
+        return ContentHash.of(file);
+    }
+
+    public Optional<ExtractedResume> get(String contentHash) {
+        ExtractedResume cached = memoryTier.get(contentHash);
+        if (cached == null) {
+            cached = readSidecar(contentHash);
+            if (cached != null) {
+                memoryTier.put(contentHash, cached);
+            }
+        }
+        (cached != null ? hitCounter : missCounter).increment();
+        return Optional.ofNullable(cached).map(ExtractedResume::copy);
+    }
+
+    public void put(String contentHash, ExtractedResume extracted) {
+        memoryTier.put(contentHash, extracted.copy());
+        writeSidecar(contentHash, extracted);
+    }
+
+    private ExtractedResume readSidecar(String contentHash) {
+        Path sidecar = sidecarPath(contentHash);
+        if (!Files.exists(sidecar)) {
+            return null;
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(sidecar))) {
+            ExtractedResume extracted = objectMapper.readValue(in, ExtractedResume.class);
+            // Touch the sidecar so disk eviction sees it as recently used
+            Files.setLastModifiedTime(sidecar, FileTime.fromMillis(System.currentTimeMillis()));
+            return extracted;
+        } catch (IOException e) {
+            log.warn("Discarding unreadable text cache entry {}: {}", contentHash, e.getMessage());
+            deleteSidecar(sidecar);
+            return null;
+        }
+    }
+
+    private void writeSidecar(String contentHash, ExtractedResume extracted) {
+        Path sidecar = sidecarPath(contentHash);
+        Path tempFile = null;
+        try {
+            // Unique per write: the same file may be cached by two requests at once
+            tempFile = Files.createTempFile(cachePath, contentHash, ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                objectMapper.writeValue(out, extracted);
+            }
+            long previousSize = Files.exists(sidecar) ? sizeOf(sidecar) : 0;
+            Files.move(tempFile, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (diskBytes.addAndGet(sizeOf(sidecar) - previousSize) > maxDiskBytes) {
+                evictDiskTier();
+            }
+        } catch (IOException e) {
+            log.warn("Could not write text cache entry {}: {}", contentHash, e.getMessage());
+            if (tempFile != null) {
+                deleteSidecar(tempFile);
+            }
+        }
+    }
+
+    /**
+     * Deletes least recently used sidecars until the disk tier is back under 90% of its limit.
+     */
+    private synchronized void evictDiskTier() throws IOException {
+        if (diskBytes.get() <= maxDiskBytes) {
+            return;
+        }
+        List<Path> sidecars;
+        try (Stream<Path> files = Files.list(cachePath)) {
+            sidecars = files.filter(this::isSidecar)
+                    .sorted(Comparator.comparingLong(this::lastModified))
+                    .toList();
+        }
+        long target = (long) (maxDiskBytes * 0.9);
+        int evicted = 0;
+        for (Path sidecar : sidecars) {
+            if (diskBytes.get() <= target) break;
+            long size = sizeOf(sidecar);
+            if (deleteSidecar(sidecar)) {
+                diskBytes.addAndGet(-size);
+                evicted++;
+            }
+        }
+        log.info("Evicted {} text cache entries, {} bytes remain on disk", evicted, diskBytes.get());
+    }
+
+    private Path sidecarPath(String contentHash) {
+        return cachePath.resolve(contentHash + "." + FORMAT_VERSION + SIDECAR_SUFFIX);
+    }
+
+    private boolean isSidecar(Path path) {
+        return path.getFileName().toString().endsWith(SIDECAR_SUFFIX);
+    }
+
+    private boolean deleteSidecar(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete text cache file {}: {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
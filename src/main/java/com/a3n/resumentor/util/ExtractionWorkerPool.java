@@ -0,0 +1,120 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.exception.CapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated, bounded pool for document text extraction.
+ * Keeps PDF/DOCX parsing off the request threads and caps how many documents
+ * are parsed (and queued) at once, with a wall-clock timeout per document.
+ */
+@Component
+@Slf4j
+public class ExtractionWorkerPool {
+
+    @Value("${extraction.pool.size:4}")
+    private int poolSize;
+
+    @Value("${extraction.pool.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Value("${extraction.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+    private Timer extractionTimer;
+    private Counter rejectedCounter;
+    private Counter timeoutCounter;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "doc-extract-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("resumentor.extraction.queue.depth", executor, e -> e.getQueue().size())
+                .description("Documents waiting for an extraction worker")
+                .register(meterRegistry);
+        Gauge.builder("resumentor.extraction.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Documents currently being extracted")
+                .register(meterRegistry);
+        extractionTimer = Timer.builder("resumentor.extraction.time")
+                .description("Wall-clock time spent extracting a single document")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("resumentor.extraction.rejected")
+                .description("Extractions rejected because the queue was full")
+                .register(meterRegistry);
+        timeoutCounter = Counter.builder("resumentor.extraction.timeouts")
+                .description("Extractions cancelled after exceeding the timeout")
+                .register(meterRegistry);
+
+        log.info("Extraction pool started: {} workers, queue capacity {}, timeout {}s",
+                poolSize, queueCapacity, timeoutSeconds);
+    }
+
+    /**
+     * Runs the task on the extraction pool and waits for its result.
+     * The task is cancelled (interrupted) if it exceeds the configured timeout. Throws
+     * {@link CapacityExceededException} when the queue is full, so the request is answered
+     * with a retryable 503.
+     */
+    public <T> T execute(String documentName, Callable<T> task) throws IOException {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> extractionTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Extraction queue full, rejecting document: {}", documentName);
+            throw new CapacityExceededException("Server is busy processing other documents, please retry shortly");
+        }
+
+        try {
+            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeoutCounter.increment();
+            log.warn("Extraction timed out after {}s: {}", timeoutSeconds, documentName);
+            throw new IOException("Document took too long to process");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Document extraction was interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Document extraction failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,32 +1,44 @@
 package com.a3n.resumentor.util;
 
+import com.a3n.resumentor.storage.ResumeStorage;
+import com.a3n.resumentor.storage.StagedUpload;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 @Slf4j
 public class FileUploadUtil {
 
-    @Value("${file.upload.dir:uploads}")
-    private String uploadDir;
+    @Value("${file.upload.staging-dir:${java.io.tmpdir}/resumentor-staging}")
+    private String stagingDir;
 
     @Value("${file.upload.max-size:10485760}")
     private long maxFileSize;
 
+    @Autowired
+    private ResumeStorage resumeStorage;
+
     private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("pdf", "docx");
 
-    public String uploadFile(MultipartFile file) throws IOException {
+    /**
+     * Validates the upload, copies it to local scratch space and starts writing it to
+     * the storage backend in the background.
+     */
+    public StagedUpload stageUpload(MultipartFile file) throws IOException {
         // Validate file
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
@@ -37,36 +49,70 @@ public class FileUploadUtil {
             throw new IllegalArgumentException("File size exceeds maximum allowed size");
         }
 
+        // Stage locally, then hand off to the storage backend
+        String uniqueFileName = uniqueName(file.getOriginalFilename());
+        Path localPath = stagingPath(uniqueFileName);
+        file.transferTo(localPath);
+        return store(uniqueFileName, localPath, file.getOriginalFilename());
+    }
+
+    /**
+     * Same as {@link #stageUpload(MultipartFile)} for content read from a stream, such as
+     * an entry of an uploaded zip. The stream is copied to disk, never buffered whole.
+     */
+    public StagedUpload stageStream(InputStream content, String fileName) throws IOException {
+        String uniqueFileName = uniqueName(fileName);
+        Path localPath = stagingPath(uniqueFileName);
+        try (OutputStream out = Files.newOutputStream(localPath)) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                total += read;
+                if (total > maxFileSize) {
+                    throw new IllegalArgumentException("File size exceeds maximum allowed size");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(localPath);
+            throw e;
+        }
+        return store(uniqueFileName, localPath, fileName);
+    }
+
+    private String uniqueName(String fileName) {
         // Validate file extension
-        String fileName = file.getOriginalFilename();
         String extension = getFileExtension(fileName);
         if (!ALLOWED_EXTENSIONS.contains(extension.toLowerCase())) {
             throw new IllegalArgumentException("File type not allowed. Only PDF, DOC, DOCX are allowed");
         }
 
-        // Create upload directory if not exists
-        Path uploadPath = Paths.get(uploadDir);
-        Files.createDirectories(uploadPath);
-
         // Generate unique filename
-        String uniqueFileName = UUID.randomUUID() + "." + extension;
-        Path filePath = uploadPath.resolve(uniqueFileName);
+        return UUID.randomUUID() + "." + extension.toLowerCase();
+    }
 
-        // Save file
-        Files.copy(file.getInputStream(), filePath);
-        log.info("File uploaded successfully: {}", uniqueFileName);
+    private Path stagingPath(String uniqueFileName) throws IOException {
+        Path stagingPath = Paths.get(stagingDir);
+        Files.createDirectories(stagingPath);
+        return stagingPath.resolve(uniqueFileName);
+    }
 
-        return uploadDir + File.separator + uniqueFileName;
+    private StagedUpload store(String uniqueFileName, Path localPath, String originalFilename) {
+        CompletableFuture<String> stored = resumeStorage.store(uniqueFileName, localPath);
+        log.info("File staged for upload: {}", uniqueFileName);
+        return new StagedUpload(localPath, originalFilename, stored, resumeStorage);
     }
 
-    public void deleteFile(String filePath) {
-        try {
-            Path path = Paths.get(filePath);
-            Files.deleteIfExists(path);
-            log.info("File deleted: {}", filePath);
-        } catch (IOException e) {
-            log.error("Error deleting file: {}", filePath, e);
-        }
+    /**
+     * Deletes a stored file in the background.
+     */
+    public void deleteFile(String location) {
+        resumeStorage.delete(location).whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.error("Error deleting file: {}", location, error);
+            }
+        });
     }
 
     private String getFileExtension(String fileName) {
@@ -0,0 +1,143 @@
+package com.a3n.resumentor.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text stripper that also records the font size, weight and horizontal position of
+ * every output line, so headings and bullets can be told apart from body text in the
+ * same pass that extracts the text. Not thread-safe; use one instance per document.
+ */
+public class LayoutTextStripper extends PDFTextStripper {
+
+    private final List<Word> words = new ArrayList<>();
+    private StringWriter writer;
+
+    public LayoutTextStripper() throws IOException {
+        super();
+    }
+
+    /**
+     * Extracts the text of the configured page range together with its line layout.
+     */
+    public Result extract(PDDocument document) throws IOException {
+        words.clear();
+        writer = new StringWriter();
+        writeText(document, writer);
+        String text = writer.toString();
+        return new Result(text, buildLines(text));
+    }
+
+    @Override
+    protected void startPage(PDPage page) throws IOException {
+        // Stops between pages once the worker has been interrupted by a timeout
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("PDF extraction cancelled");
+        }
+        super.startPage(page);
+    }
+
+    @Override
+    protected void writeString(String text, List<TextPosition> textPositions) throws IOException {
+        if (writer != null && !textPositions.isEmpty()) {
+            float sizeSum = 0;
+            int boldChars = 0;
+            for (TextPosition position : textPositions) {
+                sizeSum += position.getFontSizeInPt();
+                if (isBold(position.getFont())) boldChars++;
+            }
+            words.add(new Word(writer.getBuffer().length(), text.length(), sizeSum / textPositions.size(),
+                    boldChars * 2 >= textPositions.size(), textPositions.get(0).getXDirAdj()));
+        }
+        super.writeString(text, textPositions);
+    }
+
+    private boolean isBold(PDFont font) {
+        if (font == null) {
+            return false;
+        }
+        PDFontDescriptor descriptor = font.getFontDescriptor();
+        if (descriptor != null && (descriptor.isForceBold() || descriptor.getFontWeight() >= 600)) {
+            return true;
+        }
+        String name = font.getName();
+        if (name == null) {
+            return false;
+        }
+        String lower = name.toLowerCase();
+        return lower.contains("bold") || lower.contains("black") || lower.contains("heavy") || lower.contains("semibold");
+    }
+
+    private List<Line> buildLines(String text) {
+        List<Line> lines = new ArrayList<>();
+        int wordIndex = 0;
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) lineEnd = text.length();
+
+            float sizeSum = 0;
+            int chars = 0;
+            int boldChars = 0;
+            float x = Float.MAX_VALUE;
+            while (wordIndex < words.size() && words.get(wordIndex).offset < lineEnd) {
+                Word word = words.get(wordIndex++);
+                if (word.offset < lineStart) continue;
+                sizeSum += word.fontSize * word.length;
+                chars += word.length;
+                if (word.bold) boldChars += word.length;
+                x = Math.min(x, word.x);
+            }
+            if (chars > 0) {
+                lines.add(new Line(lineStart, lineEnd, sizeSum / chars, boldChars * 10 >= chars * 7, x));
+            }
+            lineStart = lineEnd + 1;
+        }
+        return lines;
+    }
+
+    @AllArgsConstructor
+    private static class Word {
+        private final int offset;
+        private final int length;
+        private final float fontSize;
+        private final boolean bold;
+        private final float x;
+    }
+
+    /**
+     * Layout of one output line; start/end are offsets into the extracted text.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Line {
+        private final int start;
+        private final int end;
+        private final float fontSize;
+        private final boolean bold;
+        private final float x;
+
+        public Line shift(int offset) {
+            return new Line(start + offset, end + offset, fontSize, bold, x);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final String text;
+        private final List<Line> lines;
+    }
+}
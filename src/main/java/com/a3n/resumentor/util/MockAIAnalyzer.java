@@ -1,6 +1,9 @@
 package com.a3n.resumentor.util;
 
+import com.a3n.resumentor.dto.ExtractedResume;
 import com.a3n.resumentor.dto.ResumeAnalysisResponse;
+import com.a3n.resumentor.util.AnswerRules.Indicator;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -11,14 +14,26 @@ import java.util.stream.Collectors;
 @Component
 public class MockAIAnalyzer {
 
-    private static final int TOTAL_QUESTIONS = 18;
+    private static final String[] ACTION_VERBS = {"developed", "implemented", "designed", "created", "managed",
+            "led", "built", "improved", "increased", "reduced", "achieved",
+            "delivered", "launched", "optimized", "automated", "integrated"};
+    private static final Pattern METRIC_PATTERN = Pattern.compile("\\d+%|\\$\\d+|\\d+\\+|\\d+ years?");
+
+    @Autowired
+    private ResumeSectionDetector resumeSectionDetector;
 
     // ==================== RESUME ANALYSIS ====================
 
     public ResumeAnalysisResponse analyzeResume(String resumeText, String jobRole, String jobDescription) {
-        String textLower = resumeText.toLowerCase();
+        return analyzeResume(resumeSectionDetector.segment(resumeText, null, null), jobRole, jobDescription);
+    }
+
+    /**
+     * Scores a resume using the sections and contact block found at extraction time,
+     * instead of searching the whole text for heading keywords.
+     */
+    public ResumeAnalysisResponse analyzeResume(ExtractedResume extracted, String jobRole, String jobDescription) {
         String roleLower = jobRole.toLowerCase();
-        String descLower = jobDescription != null ? jobDescription.toLowerCase() : "";
 
         // Get role-specific requirements
         Map<String, List<String>> requirements = getRoleRequirements(roleLower);
@@ -26,42 +41,30 @@ public class MockAIAnalyzer {
         List<String> preferredSkills = requirements.get("preferred");
         List<String> softSkills = requirements.get("soft");
 
-        // Analyze skills
-        List<String> matchedKeywords = new ArrayList<>();
-        List<String> missingKeywords = new ArrayList<>();
-        List<String> foundSkills = new ArrayList<>();
-
-        // Check required skills
-        for (String skill : requiredSkills) {
-            if (containsSkill(textLower, skill)) {
-                matchedKeywords.add(skill);
-                foundSkills.add(skill);
-            } else {
-                missingKeywords.add(skill);
-            }
-        }
-
-        // Check preferred skills
-        for (String skill : preferredSkills) {
-            if (containsSkill(textLower, skill)) {
-                matchedKeywords.add(skill);
+        TextFeatures features = scan(extracted.getText(), requirements);
+        if (extracted.getSections() != null) {
+            for (ExtractedResume.Section section : extracted.getSections()) {
+                features.sectionStarts.putIfAbsent(section.getName(), section.getStart());
             }
         }
+        ExtractedResume.Contact contact = contactOf(extracted);
+        features.email = contact.getEmail() != null;
+        features.phone = contact.getPhone() != null;
+        features.linkedin = contact.getLinkedin() != null;
+        features.githubOrLocation = contact.getGithub() != null || contact.getLocation() != null;
 
-        // Check soft skills
+        // Analyze skills
+        List<String> matchedKeywords = new ArrayList<>();
+        List<String> missingKeywords = new ArrayList<>();
         List<String> matchedSoftSkills = new ArrayList<>();
-        for (String skill : softSkills) {
-            if (containsSkill(textLower, skill)) {
-                matchedSoftSkills.add(skill);
-            }
-        }
+        matchSkills(features, requirements, matchedKeywords, missingKeywords, matchedSoftSkills);
 
         // Calculate comprehensive ATS score and component scores
-        double structureScore = analyzeStructure(resumeText) * 100;
-        double experienceScore = analyzeExperience(resumeText) * 100;
+        double structureScore = analyzeStructure(features) * 100;
+        double experienceScore = analyzeExperience(features) * 100;
         double softSkillsScore = matchedSoftSkills.size() / 5.0 * 100;
         
-        int atsScore = calculateATSScore(resumeText, matchedKeywords, missingKeywords, 
+        int atsScore = calculateATSScore(features, matchedKeywords, missingKeywords,
                                           requiredSkills, preferredSkills, matchedSoftSkills);
 
         // Calculate keyword match percentage
@@ -70,7 +73,7 @@ public class MockAIAnalyzer {
             (matchedKeywords.size() * 100) / totalKeywords : 0;
 
         // Generate detailed feedback and suggestions
-        List<String> suggestions = generateDetailedSuggestions(resumeText, matchedKeywords, 
+        List<String> suggestions = generateDetailedSuggestions(extracted, matchedKeywords,
                                                                 missingKeywords, jobRole);
         List<String> skillGaps = identifySkillGaps(missingKeywords, jobRole);
         String overallFeedback = generateOverallFeedback(atsScore, matchedKeywords, 
@@ -95,11 +98,8 @@ public class MockAIAnalyzer {
                                                                   missingKeywords.size(), jobRole);
 
         // Calculate ATS Friendliness Breakdown
-        Map<String, Object> atsFriendliness = calculateATSFriendliness(resumeText, matchedKeywords, missingKeywords);
-        int friendlinessScore = (Integer) atsFriendliness.get("overallScore");
-
-        // Merge into a single unified ATS score (content 65% + friendliness 35% + friendly boost)
-        int unifiedScore = (int) Math.min(Math.round(atsScore * 0.65 + friendlinessScore * 0.35 + 3), 100);
+        Map<String, Object> atsFriendliness = calculateATSFriendliness(features, matchedKeywords, missingKeywords);
+        int unifiedScore = unifiedScore(atsScore, (Integer) atsFriendliness.get("overallScore"));
 
         // Recalculate strength based on unified score
         if (unifiedScore >= 85) resumeStrength = "EXCELLENT";
@@ -197,7 +197,7 @@ public class MockAIAnalyzer {
         return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE).matcher(text).find();
     }
 
-    private int calculateATSScore(String resumeText, List<String> matched, List<String> missing,
+    private int calculateATSScore(TextFeatures features, List<String> matched, List<String> missing,
                                    List<String> required, List<String> preferred, 
                                    List<String> matchedSoft) {
         double score = 0;
@@ -217,11 +217,11 @@ public class MockAIAnalyzer {
         score += preferredMatchRate * 15;
         
         // 3. Resume Structure & Format (15% weight)
-        double structureScore = analyzeStructure(resumeText);
+        double structureScore = analyzeStructure(features);
         score += structureScore * 15;
         
         // 4. Experience & Achievements (12% weight - reduced)
-        double experienceScore = analyzeExperience(resumeText);
+        double experienceScore = analyzeExperience(features);
         score += experienceScore * 12;
         
         // 5. Soft Skills (8% weight - reduced, more lenient)
@@ -235,86 +235,67 @@ public class MockAIAnalyzer {
         return (int) Math.min(Math.round(score), 100);
     }
 
-    private double analyzeStructure(String text) {
+    private double analyzeStructure(TextFeatures features) {
         double score = 0;
-        String textLower = text.toLowerCase();
         
         // Check for essential sections
-        String[] sections = {"experience", "education", "skills", "projects", "summary", 
-                            "objective", "certifications", "achievements"};
+        String[] sections = {"EXPERIENCE", "EDUCATION", "SKILLS", "PROJECTS", "SUMMARY",
+                            "OBJECTIVE", "CERTIFICATIONS", "ACHIEVEMENTS"};
         int sectionCount = 0;
         for (String section : sections) {
-            if (textLower.contains(section)) sectionCount++;
+            if (features.sectionStarts.containsKey(section)) sectionCount++;
         }
         score += Math.min(sectionCount / 5.0, 1.0) * 0.4;
         
         // Check for contact info
-        boolean hasEmail = text.contains("@") && (textLower.contains(".com") || 
-                          textLower.contains(".edu") || textLower.contains(".org"));
-        boolean hasPhone = Pattern.compile("\\d{3}[-.]?\\d{3}[-.]?\\d{4}").matcher(text).find();
-        boolean hasLinkedIn = textLower.contains("linkedin");
-        if (hasEmail) score += 0.2;
-        if (hasPhone) score += 0.2;
-        if (hasLinkedIn) score += 0.1;
+        if (features.email) score += 0.2;
+        if (features.phone) score += 0.2;
+        if (features.linkedin) score += 0.1;
         
         // Check for proper length (300-1500 words ideal)
-        int wordCount = text.split("\\s+").length;
+        int wordCount = features.words;
         if (wordCount >= 300 && wordCount <= 1500) score += 0.1;
         else if (wordCount >= 200 && wordCount <= 2000) score += 0.05;
         
         return Math.min(score, 1.0);
     }
 
-    private double analyzeExperience(String text) {
+    private double analyzeExperience(TextFeatures features) {
         double score = 0;
-        String textLower = text.toLowerCase();
         
         // Action verbs
-        String[] actionVerbs = {"developed", "implemented", "designed", "created", "managed", 
-                               "led", "built", "improved", "increased", "reduced", "achieved",
-                               "delivered", "launched", "optimized", "automated", "integrated"};
-        int verbCount = 0;
-        for (String verb : actionVerbs) {
-            if (textLower.contains(verb)) verbCount++;
-        }
-        score += Math.min(verbCount / 8.0, 1.0) * 0.4;
+        score += Math.min(features.actionVerbs.size() / 8.0, 1.0) * 0.4;
         
         // Quantifiable achievements (numbers, percentages)
-        Pattern numberPattern = Pattern.compile("\\d+%|\\$\\d+|\\d+\\+|\\d+ years?");
-        Matcher matcher = numberPattern.matcher(text);
-        int metricCount = 0;
-        while (matcher.find()) metricCount++;
-        score += Math.min(metricCount / 5.0, 1.0) * 0.4;
+        score += Math.min(features.metrics / 5.0, 1.0) * 0.4;
         
         // Years of experience mentioned
-        if (textLower.contains("years of experience") || 
-            textLower.contains("years experience")) score += 0.2;
+        if (features.yearsOfExperience) score += 0.2;
         
         return Math.min(score, 1.0);
     }
 
-    private Map<String, Object> calculateATSFriendliness(String text, List<String> matchedKeywords, List<String> missingKeywords) {
+    private Map<String, Object> calculateATSFriendliness(TextFeatures features, List<String> matchedKeywords, List<String> missingKeywords) {
         Map<String, Object> result = new HashMap<>();
         List<String> issues = new ArrayList<>();
         List<String> tips = new ArrayList<>();
-        String textLower = text.toLowerCase();
         
         // 1. Formatting Score (avoid complex formatting)
         int formattingScore = 100;
-        if (text.contains("│") || text.contains("║") || text.contains("═") || text.contains("┌")) {
+        if (features.tableCharacters) {
             formattingScore -= 25;
             issues.add("Resume contains special characters/table formatting that may confuse ATS");
         }
-        if (text.contains("■") || text.contains("▪") || text.contains("●") || text.contains("○")) {
+        if (features.decorativeBullets) {
             formattingScore -= 10;
             issues.add("Decorative bullet characters may not be parsed correctly");
         }
-        if (text.split("\n").length < 15) {
+        if (features.lines() < 15) {
             formattingScore -= 15;
             issues.add("Resume appears too short or may have formatting issues");
         }
         // Check for consistent formatting
-        int wordCount = text.split("\\s+").length;
+        int wordCount = features.words;
         if (wordCount >= 200 && wordCount <= 800) {
             formattingScore = Math.min(formattingScore + 10, 100);
         }
@@ -322,15 +303,15 @@ public class MockAIAnalyzer {
         
         // 2. Parsability Score (standard sections, readable text)
         int parsabilityScore = 0;
-        String[] requiredSections = {"experience", "education", "skills"};
-        String[] optionalSections = {"summary", "objective", "projects", "certifications", "achievements"};
+        String[] requiredSections = {"EXPERIENCE", "EDUCATION", "SKILLS"};
+        String[] optionalSections = {"SUMMARY", "OBJECTIVE", "PROJECTS", "CERTIFICATIONS", "ACHIEVEMENTS"};
         int foundRequired = 0;
         int foundOptional = 0;
         for (String section : requiredSections) {
-            if (textLower.contains(section)) foundRequired++;
+            if (features.sectionStarts.containsKey(section)) foundRequired++;
         }
         for (String section : optionalSections) {
-            if (textLower.contains(section)) foundOptional++;
+            if (features.sectionStarts.containsKey(section)) foundOptional++;
         }
         parsabilityScore = (int) ((foundRequired / 3.0 * 60) + Math.min(foundOptional / 2.0 * 40, 40));
         if (foundRequired < 3) {
@@ -340,27 +321,21 @@ public class MockAIAnalyzer {
         
         // 3. Contact Info Score
         int contactInfoScore = 0;
-        boolean hasEmail = text.contains("@") && (textLower.contains(".com") || textLower.contains(".edu") || textLower.contains(".org") || textLower.contains(".io"));
-        boolean hasPhone = Pattern.compile("\\(?\\d{3}\\)?[-.]?\\s?\\d{3}[-.]?\\d{4}").matcher(text).find();
-        boolean hasLinkedIn = textLower.contains("linkedin");
-        boolean hasGitHub = textLower.contains("github");
-        boolean hasLocation = textLower.contains("city") || textLower.contains("state") || Pattern.compile("\\b[A-Z][a-z]+,\\s*[A-Z]{2}\\b").matcher(text).find();
-        
-        if (hasEmail) contactInfoScore += 35;
+        if (features.email) contactInfoScore += 35;
         else issues.add("No email address found");
-        if (hasPhone) contactInfoScore += 30;
+        if (features.phone) contactInfoScore += 30;
         else issues.add("No phone number found");
-        if (hasLinkedIn) contactInfoScore += 20;
+        if (features.linkedin) contactInfoScore += 20;
         else tips.add("Add your LinkedIn profile URL");
-        if (hasGitHub || hasLocation) contactInfoScore += 15;
+        if (features.githubOrLocation) contactInfoScore += 15;
         contactInfoScore = Math.min(contactInfoScore, 100);
         
         // 4. Section Organization Score
         int sectionOrgScore = 0;
         // Check if sections appear in logical order
-        int expPos = textLower.indexOf("experience");
-        int eduPos = textLower.indexOf("education");
-        int skillPos = textLower.indexOf("skills");
+        int expPos = features.sectionStarts.getOrDefault("EXPERIENCE", -1);
+        int eduPos = features.sectionStarts.getOrDefault("EDUCATION", -1);
+        int skillPos = features.sectionStarts.getOrDefault("SKILLS", -1);
         
         if (expPos >= 0 && eduPos >= 0 && skillPos >= 0) {
             sectionOrgScore = 70; // Has all major sections
@@ -423,6 +398,162 @@ public class MockAIAnalyzer {
         return result;
     }
 
+    private boolean hasSection(ExtractedResume extracted, String name) {
+        return findSection(extracted, name) != null;
+    }
+
+    private ExtractedResume.Section findSection(ExtractedResume extracted, String name) {
+        return extracted.getSections() == null ? null : extracted.findSection(name);
+    }
+
+    private ExtractedResume.Contact contactOf(ExtractedResume extracted) {
+        if (extracted.getContact() == null) {
+            extracted.setContact(resumeSectionDetector.detectContact(extracted.getText(),
+                    extracted.getSections() == null ? List.of() : extracted.getSections()));
+        }
+        return extracted.getContact();
+    }
+
+    /**
+     * Features of one block of a resume: the text above the first heading when
+     * {@code sectionName} is null, otherwise the named section from its heading line on.
+     */
+    public TextFeatures features(String block, String sectionName, String jobRole) {
+        TextFeatures features = scan(block, getRoleRequirements(jobRole.toLowerCase()));
+        List<ExtractedResume.Section> sections = new ArrayList<>();
+        if (sectionName != null) {
+            features.sectionStarts.put(sectionName, 0);
+            sections.add(new ExtractedResume.Section(sectionName, null, 0, block.length()));
+        }
+        // Location only counts above the first heading, the other contact details anywhere
+        ExtractedResume.Contact contact = resumeSectionDetector.detectContact(block, sections);
+        features.email = contact.getEmail() != null;
+        features.phone = contact.getPhone() != null;
+        features.linkedin = contact.getLinkedin() != null;
+        features.githubOrLocation = contact.getGithub() != null || contact.getLocation() != null;
+        return features;
+    }
+
+    /**
+     * The ATS score {@link #analyzeResume} gives the resume made of these blocks in order,
+     * computed from their features without reading the text again.
+     */
+    public int atsScore(Collection<TextFeatures> blocks, String jobRole) {
+        Map<String, List<String>> requirements = getRoleRequirements(jobRole.toLowerCase());
+        TextFeatures features = new TextFeatures();
+        blocks.forEach(features::append);
+
+        List<String> matchedKeywords = new ArrayList<>();
+        List<String> missingKeywords = new ArrayList<>();
+        List<String> matchedSoftSkills = new ArrayList<>();
+        matchSkills(features, requirements, matchedKeywords, missingKeywords, matchedSoftSkills);
+        int atsScore = calculateATSScore(features, matchedKeywords, missingKeywords,
+                requirements.get("required"), requirements.get("preferred"), matchedSoftSkills);
+        Map<String, Object> atsFriendliness = calculateATSFriendliness(features, matchedKeywords, missingKeywords);
+        return unifiedScore(atsScore, (Integer) atsFriendliness.get("overallScore"));
+    }
+
+    // Merge into a single unified ATS score (content 65% + friendliness 35% + friendly boost)
+    private int unifiedScore(int atsScore, int friendlinessScore) {
+        return (int) Math.min(Math.round(atsScore * 0.65 + friendlinessScore * 0.35 + 3), 100);
+    }
+
+    private TextFeatures scan(String text, Map<String, List<String>> requirements) {
+        TextFeatures features = new TextFeatures();
+        String textLower = text.toLowerCase();
+        for (List<String> skills : requirements.values()) {
+            for (String skill : skills) {
+                if (containsSkill(textLower, skill)) features.skills.add(skill);
+            }
+        }
+        for (String verb : ACTION_VERBS) {
+            if (textLower.contains(verb)) features.actionVerbs.add(verb);
+        }
+        Matcher matcher = METRIC_PATTERN.matcher(text);
+        while (matcher.find()) features.metrics++;
+        features.yearsOfExperience = textLower.contains("years of experience") || textLower.contains("years experience");
+        features.tableCharacters = text.contains("│") || text.contains("║") || text.contains("═") || text.contains("┌");
+        features.decorativeBullets = text.contains("■") || text.contains("▪") || text.contains("●") || text.contains("○");
+        // An empty block, such as the one above a leading heading, adds no words
+        features.words = text.isEmpty() ? 0 : text.split("\\s+").length;
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == '\n') end--;
+        features.newlines = (int) text.chars().filter(c -> c == '\n').count();
+        features.trailingNewlines = text.length() - end;
+        features.length = text.length();
+        return features;
+    }
+
+    private void matchSkills(TextFeatures features, Map<String, List<String>> requirements,
+                             List<String> matched, List<String> missing, List<String> matchedSoft) {
+        // Check required skills
+        for (String skill : requirements.get("required")) {
+            if (features.skills.contains(skill)) {
+                matched.add(skill);
+            } else {
+                missing.add(skill);
+            }
+        }
+
+        // Check preferred skills
+        for (String skill : requirements.get("preferred")) {
+            if (features.skills.contains(skill)) matched.add(skill);
+        }
+
+        // Check soft skills
+        for (String skill : requirements.get("soft")) {
+            if (features.skills.contains(skill)) matchedSoft.add(skill);
+        }
+    }
+
+    /**
+     * What the rule-based score reads from a stretch of resume text. The features of a
+     * resume's blocks append into those of the whole resume, so a resume with one section
+     * swapped can be scored again from features computed once per block.
+     */
+    public static final class TextFeatures {
+        private final Set<String> skills = new HashSet<>();
+        private final Set<String> actionVerbs = new HashSet<>();
+        private final Map<String, Integer> sectionStarts = new HashMap<>();
+        private int metrics;
+        private boolean yearsOfExperience;
+        private boolean tableCharacters;
+        private boolean decorativeBullets;
+        private int words;
+        private int newlines;
+        private int trailingNewlines;
+        private int length;
+        private boolean email;
+        private boolean phone;
+        private boolean linkedin;
+        private boolean githubOrLocation;
+
+        private void append(TextFeatures block) {
+            skills.addAll(block.skills);
+            actionVerbs.addAll(block.actionVerbs);
+            block.sectionStarts.forEach((name, start) -> sectionStarts.putIfAbsent(name, length + start));
+            metrics += block.metrics;
+            yearsOfExperience |= block.yearsOfExperience;
+            tableCharacters |= block.tableCharacters;
+            decorativeBullets |= block.decorativeBullets;
+            words += block.words;
+            newlines += block.newlines;
+            // Blank lines at the end of a block are only dropped when nothing follows them
+            trailingNewlines = block.trailingNewlines == block.length
+                    ? trailingNewlines + block.length : block.trailingNewlines;
+            length += block.length;
+            email |= block.email;
+            phone |= block.phone;
+            linkedin |= block.linkedin;
+            githubOrLocation |= block.githubOrLocation;
+        }
+
+        // Counted like text.split("\n").length: trailing empty lines are not lines
+        private int lines() {
+            return length == 0 ? 0 : newlines + 1 - trailingNewlines;
+        }
+    }
+
     private Map<String, List<String>> getRoleRequirements(String role) {
         Map<String, List<String>> requirements = new HashMap<>();
         
@@ -522,9 +653,10 @@ public class MockAIAnalyzer {
         return requirements;
     }
 
-    private List<String> generateDetailedSuggestions(String text, List<String> matched, 
+    private List<String> generateDetailedSuggestions(ExtractedResume extracted, List<String> matched,
                                                       List<String> missing, String jobRole) {
         List<String> suggestions = new ArrayList<>();
+        String text = extracted.getText();
         String textLower = text.toLowerCase();
 
         // ========== KEYWORD INTEGRATION SUGGESTIONS ==========
@@ -566,7 +698,7 @@ public class MockAIAnalyzer {
         suggestions.add("\nWHERE TO PLACE KEYWORDS:\n");
         
         // Summary section
-        if (!textLower.contains("summary") && !textLower.contains("objective")) {
+        if (!hasSection(extracted, "SUMMARY") && !hasSection(extracted, "OBJECTIVE")) {
             suggestions.add("Professional Summary (Add at top):");
             suggestions.add("   Template: '[Years] experienced [Role] skilled in [Top 3-4 Keywords].");
             suggestions.add("   Proven track record of [Achievement with keyword]. Seeking to leverage");
@@ -576,7 +708,9 @@ public class MockAIAnalyzer {
         }
         
         // Skills section
-        if (!textLower.contains("technical skills") && !textLower.contains("core competencies")) {
+        ExtractedResume.Section skillsSection = findSection(extracted, "SKILLS");
+        String skillsHeading = skillsSection != null ? skillsSection.getHeading().toLowerCase() : "";
+        if (!skillsHeading.contains("technical skills") && !skillsHeading.contains("core competencies")) {
             suggestions.add("Skills Section (Organize by category):");
             suggestions.add("   - Languages: Java, Python, JavaScript");
             suggestions.add("   - Frameworks: Spring Boot, React, Node.js");
@@ -613,7 +747,7 @@ public class MockAIAnalyzer {
         }
 
         // Project section
-        if (!textLower.contains("project") && !textLower.contains("portfolio")) {
+        if (!hasSection(extracted, "PROJECTS") && !textLower.contains("portfolio")) {
             suggestions.add("\nADD PROJECTS SECTION:");
             suggestions.add("   Format: Project Name | Technologies Used (keyword-rich)");
             suggestions.add("   • Describe problem solved using technical keywords");
@@ -622,14 +756,14 @@ public class MockAIAnalyzer {
         }
 
         // Certifications
-        if (!textLower.contains("certification") && !textLower.contains("certified")) {
+        if (!hasSection(extracted, "CERTIFICATIONS") && !textLower.contains("certified")) {
             suggestions.add("\nCERTIFICATIONS (Boosts ATS Score):");
             suggestions.add("   Consider: AWS Certified, Google Cloud, Azure, Kubernetes (CKA)");
             suggestions.add("   Format: 'AWS Certified Solutions Architect - Associate (2024)'");
         }
 
         // LinkedIn
-        if (!textLower.contains("linkedin")) {
+        if (contactOf(extracted).getLinkedin() == null) {
             suggestions.add("\nADD LINKEDIN URL:");
             suggestions.add("   Customize your URL: linkedin.com/in/yourname");
             suggestions.add("   Ensure LinkedIn keywords match resume for consistency");
@@ -770,265 +904,168 @@ public class MockAIAnalyzer {
         return feedback.toString();
     }
 
-    // ==================== INTERVIEW QUESTIONS ====================
+    // ==================== ANSWER EVALUATION ====================
 
-    public List<String> generateInterviewQuestions(String resumeText, String jobRole) {
-        List<String> questions = new ArrayList<>();
-        String roleLower = jobRole.toLowerCase();
+    private static final List<String> EXPLANATION_MARKERS = List.of("which means", "this is", "essentially", "in other words");
+    private static final List<String> STRUCTURE_MARKERS = List.of(
+            "first", "second", "finally", "additionally", "to begin", "in conclusion");
+    private static final List<String> FILLER_WORDS = List.of(
+            "basically", "actually", "really", "very", "literally", "honestly", "just");
+    private static final List<String> EXAMPLE_MARKERS = List.of(
+            "for example", "for instance", "specifically", "in my experience", "when i", "i once");
+    private static final List<String> LEARNING_MARKERS = List.of(
+            "learned", "realized", "improved", "outcome", "grew", "taught me");
+    private static final List<String> PROCESS_MARKERS = List.of(
+            "step", "process", "typically", "approach", "method", "framework");
+
+    // Compiled rules of recently asked questions; bank questions repeat across interviews
+    private static final int RULES_CACHE_SIZE = 1024;
+    private final Map<String, AnswerRules> rulesCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, AnswerRules> eldest) {
+                    return size() > RULES_CACHE_SIZE;
+                }
+            });
 
-        // Add intro questions (3 questions)
-        questions.addAll(getIntroQuestions());
+    private static final String[] VERDICTS = {
+            "NEEDS IMPROVEMENT\n\n", "DECENT RESPONSE\n\n", "GOOD ANSWER\n\n", "EXCELLENT RESPONSE\n\n"};
+    private static final String ANALYSIS_HEADING = "DETAILED ANALYSIS\n─────────────────────\n\n";
 
-        // Add role-specific technical questions (9 questions)
-        questions.addAll(getRoleSpecificQuestions(roleLower));
+    private enum Dimension {
+        CLARITY("Clarity: ", "Excellent - Your response was clear and easy to follow.\n", "Response was reasonably clear.\n"),
+        CONCISENESS("Conciseness: ", "Excellent - Well-balanced response length.\n", "Acceptable length.\n"),
+        RELEVANCE("Relevance: ", "Excellent - Directly addressed the question asked.\n", "Mostly on topic.\n");
 
-        // Add behavioral/situational questions (6 questions)
-        questions.addAll(getBehavioralQuestions(roleLower));
+        private final String label;
+        private final String excellent;
+        private final String acceptable;
 
-        // Ensure we have exactly TOTAL_QUESTIONS
-        while (questions.size() < TOTAL_QUESTIONS) {
-            questions.addAll(getGenericQuestions());
+        Dimension(String label, String excellent, String acceptable) {
+            this.label = label;
+            this.excellent = excellent;
+            this.acceptable = acceptable;
         }
-
-        // Shuffle and return exactly 18 questions
-        Collections.shuffle(questions.subList(3, questions.size())); // Keep intro questions at start
-        return questions.subList(0, TOTAL_QUESTIONS);
     }
 
-    private List<String> getIntroQuestions() {
-        return Arrays.asList(
-            "Tell me about yourself and what made you interested in this role.",
-            "Walk me through your career journey so far - what are you most proud of?",
-            "What excites you most about the technology landscape today?"
-        );
+    // Feedback sentences, rendered per dimension in declaration order
+    private enum Note {
+        EXPLAIN_ACRONYMS(Dimension.CLARITY, "Consider explaining technical acronyms briefly. "),
+        ADD_STRUCTURE(Dimension.CLARITY, "Longer responses benefit from clear structure (First, Then, Finally). "),
+        SHORTER_SENTENCES(Dimension.CLARITY, "Some sentences are quite long - shorter sentences improve readability. "),
+        TOO_BRIEF(Dimension.CONCISENESS, "Response is too brief - expand with more details and examples. "),
+        TOO_LONG(Dimension.CONCISENESS, "Response could be more concise - focus on key points. "),
+        MORE_DETAIL(Dimension.CONCISENESS, "Good start, but could use a bit more detail. "),
+        FEWER_FILLERS(Dimension.CONCISENESS, "Reduce filler words (basically, actually, etc.) for stronger impact. "),
+        PARTIALLY_RELEVANT(Dimension.RELEVANCE, "Your answer partially addresses the question. "),
+        OFF_TOPIC(Dimension.RELEVANCE, "Make sure to directly address what's being asked. "),
+        STRUCTURE_BACKGROUND(Dimension.RELEVANCE, "Structure your background chronologically or thematically. "),
+        SHOW_LEARNING(Dimension.RELEVANCE, "Emphasize what you learned from this experience. "),
+        OUTLINE_APPROACH(Dimension.RELEVANCE, "Outline your systematic approach or methodology. "),
+        MORE_SPECIFICS(Dimension.RELEVANCE, "Include more technical specifics relevant to the question. ");
+
+        private final Dimension dimension;
+        private final String text;
+
+        Note(Dimension dimension, String text) {
+            this.dimension = dimension;
+            this.text = text;
+        }
     }
 
-    private List<String> getRoleSpecificQuestions(String role) {
-        List<String> questions = new ArrayList<>();
+    private enum Tip {
+        USE_STAR("Use the STAR method (Situation, Task, Action, Result) - describe a specific situation, your task, the actions you took, and the measurable results."),
+        QUANTIFY("Quantify your impact wherever possible (e.g., 'reduced load time by 40%', 'managed team of 5', 'processed 10K daily transactions')."),
+        SIGNPOST("Structure longer answers with signpost phrases: 'First...', 'Additionally...', 'Finally...' to guide the interviewer."),
+        SIMPLIFY("Break complex ideas into shorter sentences. Define technical terms briefly when first used."),
+        TIGHTEN("Aim for 50-150 words per response. Cut filler words and focus on your strongest points."),
+        KEEP_GOING("Excellent foundation! Continue practicing to maintain this quality. Consider preparing 3-5 achievement stories you can adapt to different questions.");
 
-        if (role.contains("backend") || role.contains("java") || role.contains("spring")) {
-            questions.addAll(Arrays.asList(
-                "How do you approach designing a RESTful API from scratch? What principles guide your decisions?",
-                "Tell me about a time you had to optimize a slow database query. What was your process?",
-                "How do you ensure thread safety in a multi-threaded Java application?",
-                "Explain your approach to handling exceptions and error responses in a Spring Boot API.",
-                "What's your strategy for breaking down a monolith into microservices?",
-                "How do you implement authentication and authorization in your applications?",
-                "Describe your experience with caching strategies. When would you use Redis vs in-memory cache?",
-                "How do you approach writing testable code? What's your testing strategy?",
-                "Explain a challenging concurrency problem you solved and your approach."
-            ));
-        } else if (role.contains("frontend") || role.contains("react") || role.contains("angular")) {
-            questions.addAll(Arrays.asList(
-                "How do you decide between local state, context, and global state management?",
-                "When would you use useMemo vs useCallback? Give me a real example.",
-                "How do you approach performance optimization in a React application?",
-                "Explain your strategy for handling complex forms with validation.",
-                "How do you structure your components to maximize reusability?",
-                "What's your approach to responsive design and cross-browser compatibility?",
-                "How do you handle API calls and loading/error states elegantly?",
-                "Tell me about your experience with CSS-in-JS vs traditional CSS approaches.",
-                "How do you ensure accessibility in your applications?"
-            ));
-        } else if (role.contains("fullstack") || role.contains("full stack")) {
-            questions.addAll(Arrays.asList(
-                "How do you decide what logic belongs in frontend vs backend?",
-                "Explain your approach to API design between your frontend and backend.",
-                "How do you handle authentication across your full-stack application?",
-                "What's your strategy for managing environment-specific configurations?",
-                "How do you approach database schema design for a new feature?",
-                "Tell me about your experience with real-time features like WebSockets.",
-                "How do you handle file uploads in a full-stack application?",
-                "What's your approach to error handling across the entire stack?",
-                "How do you ensure consistency between frontend and backend validations?"
-            ));
-        } else if (role.contains("data scientist") || role.contains("data science")) {
-            questions.addAll(Arrays.asList(
-                "Walk me through your typical approach to a new data science project.",
-                "How do you handle missing data and what factors influence your approach?",
-                "Explain a time you had to communicate complex findings to non-technical stakeholders.",
-                "How do you choose between different machine learning algorithms for a problem?",
-                "What's your approach to feature engineering and selection?",
-                "How do you prevent overfitting in your models?",
-                "Tell me about a time your model didn't perform as expected in production.",
-                "How do you validate your models before deployment?",
-                "What tools and practices do you use to ensure reproducibility?"
-            ));
-        } else if (role.contains("machine learning") || role.contains("ml engineer")) {
-            questions.addAll(Arrays.asList(
-                "How do you approach deploying ML models to production?",
-                "Explain your MLOps practices and how you handle model versioning.",
-                "What metrics do you use to monitor model performance in production?",
-                "How do you handle model retraining and data drift?",
-                "Tell me about your experience optimizing model inference latency.",
-                "How do you approach feature store design and management?",
-                "What's your strategy for A/B testing ML models?",
-                "Explain a complex neural network architecture you designed.",
-                "How do you handle large-scale distributed training?"
-            ));
-        } else if (role.contains("devops") || role.contains("sre")) {
-            questions.addAll(Arrays.asList(
-                "How do you design a CI/CD pipeline for a microservices architecture?",
-                "Tell me about your experience with infrastructure as code.",
-                "How do you approach Kubernetes cluster management and security?",
-                "What's your incident response process when something goes wrong in production?",
-                "How do you implement effective monitoring and alerting?",
-                "Explain your approach to capacity planning and scaling.",
-                "How do you handle secrets management in your infrastructure?",
-                "Tell me about a time you improved deployment reliability.",
-                "What's your strategy for disaster recovery and business continuity?"
-            ));
-        } else if (role.contains("security") || role.contains("cybersecurity")) {
-            questions.addAll(Arrays.asList(
-                "How do you approach a security assessment of a new application?",
-                "Walk me through your incident response methodology.",
-                "How do you stay current with emerging security threats?",
-                "Explain your approach to implementing zero-trust architecture.",
-                "How do you balance security requirements with developer experience?",
-                "Tell me about a security vulnerability you discovered and how you handled it.",
-                "What's your strategy for security awareness training?",
-                "How do you prioritize security findings for remediation?",
-                "Explain your approach to secure code review."
-            ));
-        } else if (role.contains("qa") || role.contains("test") || role.contains("quality")) {
-            questions.addAll(Arrays.asList(
-                "How do you decide what to automate vs test manually?",
-                "Walk me through your test strategy for a new feature.",
-                "How do you handle flaky tests in your automation suite?",
-                "What's your approach to API testing?",
-                "How do you design test data management strategies?",
-                "Tell me about your experience with performance testing.",
-                "How do you ensure test coverage without slowing down development?",
-                "What metrics do you track to measure quality?",
-                "How do you approach cross-browser and cross-device testing?"
-            ));
-        } else if (role.contains("mobile") || role.contains("android") || role.contains("ios")) {
-            questions.addAll(Arrays.asList(
-                "How do you approach offline-first architecture in mobile apps?",
-                "What's your strategy for handling different screen sizes and orientations?",
-                "How do you optimize app performance and battery usage?",
-                "Explain your approach to state management in mobile development.",
-                "How do you handle app updates and version compatibility?",
-                "What's your testing strategy for mobile applications?",
-                "How do you implement push notifications effectively?",
-                "Tell me about your experience with app store deployment process.",
-                "How do you handle sensitive data storage on mobile devices?"
-            ));
-        } else if (role.contains("cloud") || role.contains("architect")) {
-            questions.addAll(Arrays.asList(
-                "How do you approach designing highly available systems?",
-                "Explain your strategy for cost optimization in the cloud.",
-                "How do you design for scalability from day one?",
-                "What's your approach to multi-region architecture?",
-                "How do you handle data consistency in distributed systems?",
-                "Tell me about your experience with serverless architectures.",
-                "How do you approach vendor lock-in concerns?",
-                "What patterns do you use for inter-service communication?",
-                "How do you design for observability in complex systems?"
-            ));
-        } else if (role.contains("product manager") || role.contains("product owner")) {
-            questions.addAll(Arrays.asList(
-                "How do you prioritize features when everything seems important?",
-                "Walk me through your process for gathering user requirements.",
-                "How do you measure the success of a product feature?",
-                "Tell me about a time you had to say no to a stakeholder.",
-                "How do you balance technical debt against new features?",
-                "What's your approach to defining and tracking OKRs?",
-                "How do you handle competing priorities from different teams?",
-                "Describe your ideal product development workflow.",
-                "How do you validate product ideas before building?"
-            ));
-        } else {
-            questions.addAll(getGenericTechnicalQuestions());
-        }
+        private final String text;
 
-        return questions;
+        Tip(String text) {
+            this.text = text;
+        }
     }
 
-    private List<String> getBehavioralQuestions(String role) {
-        return Arrays.asList(
-            "Tell me about a time you had to work under a tight deadline. How did you manage?",
-            "Describe a situation where you disagreed with a team member. How did you resolve it?",
-            "Give me an example of when you took initiative beyond your regular responsibilities.",
-            "Tell me about a mistake you made and what you learned from it.",
-            "How do you handle feedback, especially when it's critical?",
-            "Describe a time when you had to learn a new technology quickly. What was your approach?",
-            "Tell me about your most challenging project and how you overcame obstacles.",
-            "How do you stay motivated when working on long-term projects?",
-            "Describe a situation where you had to explain a technical concept to a non-technical person."
-        );
+    /**
+     * An empty feature accumulator for answers to this question. Feed it the answer as it
+     * arrives and pass it to {@link #evaluateInterviewAnswer(String, AnswerFeatures)}.
+     */
+    public AnswerFeatures answerFeatures(String question) {
+        return new AnswerFeatures(rulesCache.computeIfAbsent(question, this::compileRules));
     }
 
-    private List<String> getGenericTechnicalQuestions() {
-        return Arrays.asList(
-            "How do you approach debugging a complex issue?",
-            "What's your process for learning a new technology or framework?",
-            "How do you ensure code quality in your projects?",
-            "Explain your approach to documentation.",
-            "How do you handle technical debt in your codebase?",
-            "What development methodologies have you worked with?",
-            "How do you approach code reviews?",
-            "Tell me about your experience with version control workflows.",
-            "How do you keep your technical skills up to date?"
-        );
+    private AnswerRules compileRules(String question) {
+        String questionLower = question.toLowerCase();
+        Map<Indicator, List<String>> indicators = new EnumMap<>(Indicator.class);
+        indicators.put(Indicator.EXPLANATION, EXPLANATION_MARKERS);
+        indicators.put(Indicator.STRUCTURE, STRUCTURE_MARKERS);
+        indicators.put(Indicator.FILLER, FILLER_WORDS);
+        indicators.put(Indicator.EXAMPLE, EXAMPLE_MARKERS);
+        indicators.put(Indicator.LEARNING, LEARNING_MARKERS);
+        indicators.put(Indicator.PROCESS, PROCESS_MARKERS);
+        indicators.put(Indicator.TOPIC, extractKeyTopics(questionLower));
+        boolean technical = isTehnicalQuestion(questionLower);
+        if (technical) {
+            indicators.put(Indicator.EXPECTED_TERM, getExpectedTerms(questionLower));
+        }
+        return new AnswerRules(indicators, technical,
+                questionLower.contains("tell me about yourself") || questionLower.contains("walk me through"),
+                questionLower.contains("challenge") || questionLower.contains("mistake")
+                        || questionLower.contains("difficult") || questionLower.contains("failure"),
+                questionLower.contains("approach") || questionLower.contains("strategy")
+                        || questionLower.contains("how do you") || questionLower.contains("your process"));
     }
 
-    private List<String> getGenericQuestions() {
-        return Arrays.asList(
-            "Where do you see yourself in 5 years?",
-            "What questions do you have for me about the role or team?",
-            "What's your ideal work environment?",
-            "How do you handle stress and pressure?",
-            "What makes you stand out as a candidate?"
-        );
+    public String evaluateInterviewAnswer(String question, String answer, String resumeText) {
+        AnswerFeatures features = answerFeatures(question);
+        features.append(answer);
+        return evaluateInterviewAnswer(question, features);
     }
 
-    // ==================== ANSWER EVALUATION ====================
-
-    public String evaluateInterviewAnswer(String question, String answer, String resumeText) {
-        if (answer == null || answer.trim().isEmpty()) {
+    /**
+     * Evaluates an answer from its feature vector, which must come from
+     * {@link #answerFeatures(String)} for the same question. Scores each dimension from the
+     * features and renders the feedback from fixed templates.
+     */
+    public String evaluateInterviewAnswer(String question, AnswerFeatures features) {
+        if (features.isBlank()) {
             return generateEmptyAnswerFeedback();
         }
 
-        String answerLower = answer.toLowerCase();
-        String questionLower = question.toLowerCase();
-        int wordCount = answer.split("\\s+").length;
-        int sentenceCount = answer.split("[.!?]+").length;
-
-        StringBuilder feedback = new StringBuilder();
-
-        // Determine answer quality
-        int qualityScore = 0;
+        AnswerRules rules = features.getRules();
+        int wordCount = features.wordCount();
+        int sentenceCount = features.sentenceCount();
+        boolean hasStructure = features.any(Indicator.STRUCTURE);
+        boolean hasExample = features.any(Indicator.EXAMPLE);
+        boolean hasMetrics = features.hasMetrics();
+        EnumSet<Note> notes = EnumSet.noneOf(Note.class);
 
         // ========== CLARITY ANALYSIS (how clear and understandable) ==========
         int clarityScore = 0;
-        StringBuilder clarityFeedback = new StringBuilder();
-        
+
         // Check for jargon without explanation
-        boolean hasJargon = Pattern.compile("\\b(API|SDK|MVP|OOP|DRY|SOLID|REST)\\b").matcher(answer).find();
-        boolean hasExplanation = answerLower.contains("which means") || answerLower.contains("this is") ||
-                                answerLower.contains("essentially") || answerLower.contains("in other words");
+        boolean hasJargon = features.hasJargon();
+        boolean hasExplanation = features.any(Indicator.EXPLANATION);
         if (hasJargon && !hasExplanation) {
-            clarityFeedback.append("Consider explaining technical acronyms briefly. ");
+            notes.add(Note.EXPLAIN_ACRONYMS);
             clarityScore -= 1;
         } else if (hasJargon && hasExplanation) {
             clarityScore += 2;
         }
-        
+
         // Check for clear structure
-        boolean hasStructure = answerLower.contains("first") || answerLower.contains("second") ||
-                              answerLower.contains("finally") || answerLower.contains("additionally") ||
-                              answerLower.contains("to begin") || answerLower.contains("in conclusion");
         if (hasStructure) {
             clarityScore += 2;
         } else if (wordCount > 80) {
-            clarityFeedback.append("Longer responses benefit from clear structure (First, Then, Finally). ");
+            notes.add(Note.ADD_STRUCTURE);
         }
-        
+
         // Check for run-on sentences (avg words per sentence)
         double avgWordsPerSentence = sentenceCount > 0 ? (double) wordCount / sentenceCount : wordCount;
         if (avgWordsPerSentence > 30) {
-            clarityFeedback.append("Some sentences are quite long - shorter sentences improve readability. ");
+            notes.add(Note.SHORTER_SENTENCES);
             clarityScore -= 1;
         } else if (avgWordsPerSentence >= 12 && avgWordsPerSentence <= 20) {
             clarityScore += 1;
@@ -1036,60 +1073,42 @@ public class MockAIAnalyzer {
 
         // ========== CONCISENESS ANALYSIS (right amount of content) ==========
         int concisenessScore = 0;
-        StringBuilder concisenessFeedback = new StringBuilder();
-        
+
         if (wordCount < 20) {
-            concisenessFeedback.append("Response is too brief - expand with more details and examples. ");
+            notes.add(Note.TOO_BRIEF);
             concisenessScore -= 2;
         } else if (wordCount >= 40 && wordCount <= 150) {
             concisenessScore += 2; // Ideal range
         } else if (wordCount > 200) {
-            concisenessFeedback.append("Response could be more concise - focus on key points. ");
+            notes.add(Note.TOO_LONG);
             concisenessScore -= 1;
-        } else if (wordCount >= 20 && wordCount < 40) {
-            concisenessFeedback.append("Good start, but could use a bit more detail. ");
+        } else if (wordCount < 40) {
+            notes.add(Note.MORE_DETAIL);
             concisenessScore += 1;
         }
-        
+
         // Check for filler words and redundancy
-        String[] fillerWords = {"basically", "actually", "really", "very", "literally", "honestly", "just"};
-        int fillerCount = 0;
-        for (String filler : fillerWords) {
-            if (answerLower.contains(filler)) fillerCount++;
-        }
-        if (fillerCount >= 3) {
-            concisenessFeedback.append("Reduce filler words (basically, actually, etc.) for stronger impact. ");
+        if (features.count(Indicator.FILLER) >= 3) {
+            notes.add(Note.FEWER_FILLERS);
             concisenessScore -= 1;
         }
 
         // ========== RELEVANCE ANALYSIS (addresses the actual question) ==========
         int relevanceScore = 0;
-        StringBuilder relevanceFeedback = new StringBuilder();
-        
-        // Extract key topics from question
-        List<String> questionKeywords = extractKeyTopics(questionLower);
-        int topicsAddressed = 0;
-        for (String keyword : questionKeywords) {
-            if (answerLower.contains(keyword)) topicsAddressed++;
-        }
-        
-        double relevanceRate = questionKeywords.isEmpty() ? 0.5 : (double) topicsAddressed / questionKeywords.size();
+
+        // Key topics of the question covered by the answer
+        int topics = rules.size(Indicator.TOPIC);
+        double relevanceRate = topics == 0 ? 0.5 : (double) features.count(Indicator.TOPIC) / topics;
         if (relevanceRate >= 0.6) {
             relevanceScore += 2;
         } else if (relevanceRate >= 0.3) {
             relevanceScore += 1;
-            relevanceFeedback.append("Your answer partially addresses the question. ");
+            notes.add(Note.PARTIALLY_RELEVANT);
         } else {
-            relevanceFeedback.append("Make sure to directly address what's being asked. ");
+            notes.add(Note.OFF_TOPIC);
             relevanceScore -= 1;
         }
-        
-        // Check for specifics related to the question type
-        boolean hasExample = answerLower.contains("for example") || answerLower.contains("for instance") ||
-                            answerLower.contains("specifically") || answerLower.contains("in my experience") ||
-                            answerLower.contains("when i") || answerLower.contains("i once");
-        boolean hasMetrics = Pattern.compile("\\d+%|\\d+ times|\\d+ users|\\d+ years|\\d+ months").matcher(answer).find();
-        
+
         if (hasExample) {
             relevanceScore += 1;
         }
@@ -1098,141 +1117,92 @@ public class MockAIAnalyzer {
         }
 
         // Question-specific evaluation
-        if (questionLower.contains("tell me about yourself") || questionLower.contains("walk me through")) {
-            if (!hasStructure) {
-                relevanceFeedback.append("Structure your background chronologically or thematically. ");
-            }
+        if (rules.asksBackground() && !hasStructure) {
+            notes.add(Note.STRUCTURE_BACKGROUND);
         }
-
-        if (questionLower.contains("challenge") || questionLower.contains("mistake") || 
-            questionLower.contains("difficult") || questionLower.contains("failure")) {
-            boolean hasLearning = answerLower.contains("learned") || answerLower.contains("realized") ||
-                                 answerLower.contains("improved") || answerLower.contains("outcome") ||
-                                 answerLower.contains("grew") || answerLower.contains("taught me");
-            if (!hasLearning) {
-                relevanceFeedback.append("Emphasize what you learned from this experience. ");
-                relevanceScore -= 1;
-            }
+        if (rules.asksReflection() && !features.any(Indicator.LEARNING)) {
+            notes.add(Note.SHOW_LEARNING);
+            relevanceScore -= 1;
         }
-
-        if (questionLower.contains("approach") || questionLower.contains("strategy") || 
-            questionLower.contains("how do you") || questionLower.contains("your process")) {
-            boolean hasProcess = answerLower.contains("step") || answerLower.contains("process") ||
-                                answerLower.contains("typically") || answerLower.contains("approach") ||
-                                answerLower.contains("method") || answerLower.contains("framework");
-            if (!hasProcess) {
-                relevanceFeedback.append("Outline your systematic approach or methodology. ");
-                relevanceScore -= 1;
-            }
+        if (rules.asksProcess() && !features.any(Indicator.PROCESS)) {
+            notes.add(Note.OUTLINE_APPROACH);
+            relevanceScore -= 1;
         }
 
         // Technical question evaluation
-        if (isTehnicalQuestion(questionLower)) {
-            List<String> expectedTerms = getExpectedTerms(questionLower);
-            int termsFound = 0;
-            for (String term : expectedTerms) {
-                if (answerLower.contains(term)) termsFound++;
-            }
-            if (termsFound < expectedTerms.size() / 3) {
-                relevanceFeedback.append("Include more technical specifics relevant to the question. ");
+        if (rules.isTechnical()) {
+            int expectedTerms = rules.size(Indicator.EXPECTED_TERM);
+            int termsFound = features.count(Indicator.EXPECTED_TERM);
+            if (termsFound < expectedTerms / 3) {
+                notes.add(Note.MORE_SPECIFICS);
                 relevanceScore -= 1;
-            } else if (termsFound >= expectedTerms.size() / 2) {
+            } else if (termsFound >= expectedTerms / 2) {
                 relevanceScore += 1;
             }
         }
 
-        // Calculate total quality score
-        qualityScore = clarityScore + concisenessScore + relevanceScore;
+        int qualityScore = clarityScore + concisenessScore + relevanceScore;
 
-        // ========== BUILD DETAILED FEEDBACK ==========
-        // Overall assessment header
-        if (qualityScore >= 5) {
-            feedback.append("EXCELLENT RESPONSE\n\n");
-        } else if (qualityScore >= 2) {
-            feedback.append("GOOD ANSWER\n\n");
-        } else if (qualityScore >= 0) {
-            feedback.append("DECENT RESPONSE\n\n");
+        Tip tip;
+        if (!hasExample) {
+            tip = Tip.USE_STAR;
+        } else if (!hasMetrics) {
+            tip = Tip.QUANTIFY;
+        } else if (!hasStructure && wordCount > 50) {
+            tip = Tip.SIGNPOST;
+        } else if (clarityScore < 1) {
+            tip = Tip.SIMPLIFY;
+        } else if (concisenessScore < 1) {
+            tip = Tip.TIGHTEN;
         } else {
-            feedback.append("NEEDS IMPROVEMENT\n\n");
+            tip = Tip.KEEP_GOING;
         }
 
-        // Detailed analysis section
-        feedback.append("DETAILED ANALYSIS\n");
-        feedback.append("─────────────────────\n\n");
-        
-        // Clarity rating
-        feedback.append("Clarity: ");
-        if (clarityScore >= 2) {
-            feedback.append("Excellent - Your response was clear and easy to follow.\n");
-        } else if (clarityScore >= 0) {
-            feedback.append("Good - ");
-            if (clarityFeedback.length() > 0) feedback.append(clarityFeedback);
-            else feedback.append("Response was reasonably clear.\n");
-        } else {
-            feedback.append("Needs Work - ").append(clarityFeedback).append("\n");
-        }
-        
-        // Conciseness rating
-        feedback.append("Conciseness: ");
-        if (concisenessScore >= 2) {
-            feedback.append("Excellent - Well-balanced response length.\n");
-        } else if (concisenessScore >= 0) {
-            feedback.append("Good - ");
-            if (concisenessFeedback.length() > 0) feedback.append(concisenessFeedback);
-            else feedback.append("Acceptable length.\n");
-        } else {
-            feedback.append("Needs Work - ").append(concisenessFeedback).append("\n");
-        }
-        
-        // Relevance rating
-        feedback.append("Relevance: ");
-        if (relevanceScore >= 2) {
-            feedback.append("Excellent - Directly addressed the question asked.\n");
-        } else if (relevanceScore >= 0) {
-            feedback.append("Good - ");
-            if (relevanceFeedback.length() > 0) feedback.append(relevanceFeedback);
-            else feedback.append("Mostly on topic.\n");
-        } else {
-            feedback.append("Needs Work - ").append(relevanceFeedback).append("\n");
-        }
+        // ========== RENDER FEEDBACK ==========
+        StringBuilder feedback = new StringBuilder(1024);
+        feedback.append(VERDICTS[qualityScore >= 5 ? 3 : qualityScore >= 2 ? 2 : qualityScore >= 0 ? 1 : 0]);
+        feedback.append(ANALYSIS_HEADING);
+        renderDimension(feedback, Dimension.CLARITY, clarityScore, notes);
+        renderDimension(feedback, Dimension.CONCISENESS, concisenessScore, notes);
+        renderDimension(feedback, Dimension.RELEVANCE, relevanceScore, notes);
 
-        // Transcript examples
         feedback.append("\nFROM YOUR ANSWER:\n");
-        if (hasExample) {
-            feedback.append("- Good use of examples to illustrate points\n");
-        } else {
-            feedback.append("- Missing concrete examples - add real scenarios\n");
-        }
-        if (hasMetrics) {
-            feedback.append("- Included quantifiable metrics (great!)\n");
-        } else {
-            feedback.append("- No metrics found - add numbers to show impact\n");
-        }
+        feedback.append(hasExample ? "- Good use of examples to illustrate points\n"
+                : "- Missing concrete examples - add real scenarios\n");
+        feedback.append(hasMetrics ? "- Included quantifiable metrics (great!)\n"
+                : "- No metrics found - add numbers to show impact\n");
         if (hasStructure) {
             feedback.append("- Well-structured with clear transitions\n");
         } else if (wordCount > 60) {
             feedback.append("- Could benefit from structural markers\n");
         }
 
-        // Actionable improvement tip
-        feedback.append("\nACTIONABLE TIP:\n");
-        if (!hasExample) {
-            feedback.append("Use the STAR method (Situation, Task, Action, Result) - describe a specific situation, your task, the actions you took, and the measurable results.");
-        } else if (!hasMetrics) {
-            feedback.append("Quantify your impact wherever possible (e.g., 'reduced load time by 40%', 'managed team of 5', 'processed 10K daily transactions').");
-        } else if (!hasStructure && wordCount > 50) {
-            feedback.append("Structure longer answers with signpost phrases: 'First...', 'Additionally...', 'Finally...' to guide the interviewer.");
-        } else if (clarityScore < 1) {
-            feedback.append("Break complex ideas into shorter sentences. Define technical terms briefly when first used.");
-        } else if (concisenessScore < 1) {
-            feedback.append("Aim for 50-150 words per response. Cut filler words and focus on your strongest points.");
-        } else {
-            feedback.append("Excellent foundation! Continue practicing to maintain this quality. Consider preparing 3-5 achievement stories you can adapt to different questions.");
-        }
-
+        feedback.append("\nACTIONABLE TIP:\n").append(tip.text);
         return feedback.toString();
     }
 
+    private static void renderDimension(StringBuilder feedback, Dimension dimension, int score, EnumSet<Note> notes) {
+        feedback.append(dimension.label);
+        if (score >= 2) {
+            feedback.append(dimension.excellent);
+            return;
+        }
+        int start = feedback.length();
+        feedback.append(score >= 0 ? "Good - " : "Needs Work - ");
+        int notesStart = feedback.length();
+        for (Note note : notes) {
+            if (note.dimension == dimension) {
+                feedback.append(note.text);
+            }
+        }
+        boolean noted = feedback.length() > notesStart;
+        if (score >= 0 && !noted) {
+            feedback.append(dimension.acceptable);
+        } else if (score < 0) {
+            feedback.append('\n');
+        }
+    }
+
     private List<String> extractKeyTopics(String question) {
         List<String> topics = new ArrayList<>();
         
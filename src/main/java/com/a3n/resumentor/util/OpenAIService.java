@@ -116,6 +116,42 @@ public class OpenAIService {
         return callGPT(systemPrompt, userPrompt);
     }
 
+    /**
+     * Update an earlier analysis for a revised resume, sending only the sections that changed
+     */
+    public String reviseAnalysisWithGPT(String previousAnalysisJson, String changedSections,
+                                        String jobRole, String jobDescription) {
+        if (!isAvailable) {
+            return null;
+        }
+
+        String systemPrompt = """
+            You are an expert ATS (Applicant Tracking System) analyzer and career coach.
+            You update earlier resume analyses after the candidate revises some sections.
+            Always respond in valid JSON format.
+            """;
+
+        String userPrompt = String.format("""
+            A resume for a %s position was analyzed before. The candidate has since revised it.
+            Only the sections below changed; everything else is exactly as before.
+
+            Job Description: %s
+
+            Previous analysis:
+            %s
+
+            Changed sections:
+            %s
+
+            Return the complete updated analysis as JSON with exactly the same structure as the
+            previous analysis. Re-evaluate every score and list that the changes affect and keep
+            the rest consistent with the previous analysis.
+            """, jobRole, jobDescription != null ? jobDescription : "Not provided",
+                previousAnalysisJson, changedSections);
+
+        return callGPT(systemPrompt, userPrompt);
+    }
+
     /**
      * Generate interview questions using GPT
      */
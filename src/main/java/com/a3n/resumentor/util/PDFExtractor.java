@@ -1,24 +1,55 @@
 package com.a3n.resumentor.util;
 
+import com.a3n.resumentor.dto.ExtractedResume;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Optional;
 
 @Component
 @Slf4j
 public class PDFExtractor {
 
+    @Autowired
+    private ExtractionWorkerPool extractionWorkerPool;
+
+    @Autowired
+    private PageParallelPdfExtractor pageParallelPdfExtractor;
+
+    @Autowired
+    private ExtractedTextCache extractedTextCache;
+
+    @Autowired
+    private ResumeSectionDetector resumeSectionDetector;
+
+    @Autowired
+    private DocxStreamingExtractor docxStreamingExtractor;
+
+    // PDFBox keeps up to this many bytes in heap per document, then spills to temp files
+    @Value("${extraction.pdf.max-main-memory-bytes:8388608}")
+    private long maxMainMemoryBytes;
+
     public String extractTextFromPDF(String filePath) throws IOException {
-        try (PDDocument document = PDDocument.load(new File(filePath))) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
+        return extractPdf(filePath).getText();
+    }
+
+    private ExtractedResume extractPdf(String filePath) throws IOException {
+        File file = new File(filePath);
+        try {
+            try (PDDocument document = PDDocument.load(file, memoryUsageSetting())) {
+                int pageCount = document.getNumberOfPages();
+                if (!pageParallelPdfExtractor.shouldParallelize(pageCount)) {
+                    return segment(new LayoutTextStripper().extract(document), pageCount);
+                }
+                return segment(pageParallelPdfExtractor.extract(document, file, maxMainMemoryBytes), pageCount);
+            }
         } catch (IOException e) {
             log.error("Error extracting text from PDF: {}", filePath, e);
             throw e;
@@ -26,13 +57,13 @@ public class PDFExtractor {
     }
 
     public String extractTextFromDocx(String filePath) throws IOException {
-        StringBuilder text = new StringBuilder();
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             XWPFDocument doc = new XWPFDocument(fis)) {
-            for (XWPFParagraph paragraph : doc.getParagraphs()) {
-                text.append(paragraph.getText()).append("\n");
-            }
-            return text.toString();
+        return extractDocx(filePath).getText();
+    }
+
+    private ExtractedResume extractDocx(String filePath) throws IOException {
+        try {
+            ExtractedResume extracted = docxStreamingExtractor.extract(new File(filePath));
+            return resumeSectionDetector.segment(extracted.getText(), extracted.getPageCount(), null);
         } catch (IOException e) {
             log.error("Error extracting text from DOCX: {}", filePath, e);
             throw e;
@@ -40,12 +71,40 @@ public class PDFExtractor {
     }
 
     public String extractText(String filePath) throws IOException {
+        return extractResume(filePath).getText();
+    }
+
+    /**
+     * Returns the extracted text, page count, sections and contact block for a file. Results are cached
+     * by content hash, so the same file is only parsed once; cache misses are extracted
+     * on the bounded extraction pool, subject to its queue limit and timeout.
+     */
+    public ExtractedResume extractResume(String filePath) throws IOException {
         String extension = getFileExtension(filePath).toLowerCase();
-        return switch (extension) {
-            case "pdf" -> extractTextFromPDF(filePath);
-            case "docx" -> extractTextFromDocx(filePath);
-            default -> throw new IllegalArgumentException("Unsupported file type: " + extension);
-        };
+        if (!extension.equals("pdf") && !extension.equals("docx")) {
+            throw new IllegalArgumentException("Unsupported file type: " + extension);
+        }
+
+        String contentHash = extractedTextCache.hashFile(Paths.get(filePath));
+        Optional<ExtractedResume> cached = extractedTextCache.get(contentHash);
+        if (cached.isPresent()) {
+            log.debug("Extracted text cache hit for {}", filePath);
+            return cached.get();
+        }
+
+        ExtractedResume extracted = extension.equals("pdf")
+                ? extractionWorkerPool.execute(filePath, () -> extractPdf(filePath))
+                : extractionWorkerPool.execute(filePath, () -> extractDocx(filePath));
+        extractedTextCache.put(contentHash, extracted);
+        return extracted;
+    }
+
+    private ExtractedResume segment(LayoutTextStripper.Result layoutText, Integer pageCount) {
+        return resumeSectionDetector.segment(layoutText.getText(), pageCount, layoutText.getLines());
+    }
+
+    private MemoryUsageSetting memoryUsageSetting() {
+        return MemoryUsageSetting.setupMixed(maxMainMemoryBytes);
     }
 
     private String getFileExtension(String filePath) {
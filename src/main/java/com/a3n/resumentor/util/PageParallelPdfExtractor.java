@@ -0,0 +1,127 @@
+package com.a3n.resumentor.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts long PDFs by splitting them into page ranges and stripping each range
+ * on its own thread. PDDocument is not thread-safe, so the calling thread strips the
+ * first range from the document it already has open and every other range opens its
+ * own instance; opening only reads the cross-reference table, and each instance then
+ * parses just the objects of its own pages. The range texts and line layouts are
+ * stitched back together in page order.
+ */
+@Component
+@Slf4j
+public class PageParallelPdfExtractor {
+
+    // Documents shorter than this are extracted serially - splitting costs more than it saves.
+    // 0 (the default) disables splitting: the crossover depends on the cores and disks of the
+    // host and has to be measured there with PageParallelPdfExtractorBenchmark before enabling
+    @Value("${extraction.pdf.parallel-min-pages:0}")
+    private int parallelMinPages;
+
+    @Value("${extraction.pdf.min-pages-per-chunk:3}")
+    private int minPagesPerChunk;
+
+    // 0 means one thread per available core
+    @Value("${extraction.pdf.parallel-threads:0}")
+    private int parallelThreads;
+
+    // Ranges waiting for a page thread; when full, the extraction worker strips the range itself
+    @Value("${extraction.pdf.parallel-queue-capacity:32}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor pageExecutor;
+    private int parallelism;
+
+    @PostConstruct
+    public void init() {
+        parallelism = parallelThreads > 0 ? parallelThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        pageExecutor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "pdf-pages-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public boolean shouldParallelize(int pageCount) {
+        return parallelMinPages > 0 && parallelism > 1 && pageCount >= parallelMinPages;
+    }
+
+    /**
+     * Extracts all pages of {@code document}, which was opened from {@code file} and stays
+     * owned by the caller. The ranges opened here share one more heap budget, so a split
+     * document uses at most twice the memory cap of a serially extracted one.
+     */
+    public LayoutTextStripper.Result extract(PDDocument document, File file, long maxMainMemoryBytes) throws IOException {
+        int pageCount = document.getNumberOfPages();
+        int pagesPerChunk = Math.max(minPagesPerChunk, (pageCount + parallelism - 1) / parallelism);
+        int chunkCount = (pageCount + pagesPerChunk - 1) / pagesPerChunk;
+        long chunkMemoryBytes = Math.max(1, maxMainMemoryBytes / chunkCount);
+
+        List<Future<LayoutTextStripper.Result>> chunks = new ArrayList<>();
+        try {
+            for (int startPage = 1 + pagesPerChunk; startPage <= pageCount; startPage += pagesPerChunk) {
+                int endPage = Math.min(startPage + pagesPerChunk - 1, pageCount);
+                int chunkStart = startPage;
+                chunks.add(pageExecutor.submit(() -> extractRange(file, chunkStart, endPage, chunkMemoryBytes)));
+            }
+            log.debug("Extracting {} pages of {} in {} chunks", pageCount, file.getName(), chunkCount);
+
+            LayoutTextStripper first = new LayoutTextStripper();
+            first.setStartPage(1);
+            first.setEndPage(Math.min(pagesPerChunk, pageCount));
+            LayoutTextStripper.Result result = first.extract(document);
+
+            StringBuilder text = new StringBuilder(result.getText());
+            List<LayoutTextStripper.Line> lines = new ArrayList<>(result.getLines());
+            for (Future<LayoutTextStripper.Result> chunk : chunks) {
+                result = chunk.get();
+                int offset = text.length();
+                result.getLines().forEach(line -> lines.add(line.shift(offset)));
+                text.append(result.getText());
+            }
+            return new LayoutTextStripper.Result(text.toString(), lines);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF extraction cancelled", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("PDF page extraction failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // The stripper checks for interruption between pages, so cancelled ranges stop promptly
+            chunks.forEach(chunk -> chunk.cancel(true));
+        }
+    }
+
+    private LayoutTextStripper.Result extractRange(File file, int startPage, int endPage, long maxMainMemoryBytes) throws IOException {
+        try (PDDocument document = PDDocument.load(file, MemoryUsageSetting.setupMixed(maxMainMemoryBytes))) {
+            LayoutTextStripper stripper = new LayoutTextStripper();
+            stripper.setStartPage(startPage);
+            stripper.setEndPage(endPage);
+            return stripper.extract(document);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pageExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,175 @@
+package com.a3n.resumentor.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over a fixed set of phrases, compiled to a dense transition table:
+ * scanning costs one table lookup per character however many phrases there are, and the
+ * state can be carried from one chunk of text to the next. Matches are plain substring
+ * matches, like {@link String#contains}; with {@code ignoreCase} they are the matches of
+ * {@code toLowerCase(Locale.ROOT).contains}, with the input lowercased character by
+ * character. Only the context-dependent final sigma and characters outside the Basic
+ * Multilingual Plane are compared as they are. Immutable and safe to share.
+ */
+public final class PhraseAutomaton {
+
+    public static final int START = 0;
+
+    private static final int[] NO_MATCHES = new int[0];
+    // Lowercases to two characters: i and a combining dot above
+    private static final char CAPITAL_I_WITH_DOT = '\u0130';
+
+    private final boolean ignoreCase;
+    private final List<String> phrases;
+    private final Map<String, Integer> ids = new HashMap<>();
+    // Symbol 0 stands for every character that appears in no phrase
+    private final int[] asciiSymbols = new int[128];
+    private final Map<Character, Integer> otherSymbols = new HashMap<>();
+    private final int width;
+    private final int[] transitions;
+    private final int[][] matches;
+
+    public PhraseAutomaton(List<String> phrases, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        List<String> distinct = new ArrayList<>();
+        for (String phrase : phrases) {
+            String key = ignoreCase ? phrase.toLowerCase(Locale.ROOT) : phrase;
+            if (!key.isEmpty() && ids.putIfAbsent(key, distinct.size()) == null) {
+                distinct.add(key);
+            }
+        }
+        this.phrases = List.copyOf(distinct);
+
+        int symbols = 1;
+        for (String phrase : this.phrases) {
+            for (int i = 0; i < phrase.length(); i++) {
+                char c = phrase.charAt(i);
+                if (c < 128 ? asciiSymbols[c] == 0 : !otherSymbols.containsKey(c)) {
+                    if (c < 128) {
+                        asciiSymbols[c] = symbols++;
+                    } else {
+                        otherSymbols.put(c, symbols++);
+                    }
+                }
+            }
+        }
+        this.width = symbols;
+
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> output = new ArrayList<>();
+        trie.add(newRow());
+        output.add(new ArrayList<>());
+        for (int id = 0; id < this.phrases.size(); id++) {
+            String phrase = this.phrases.get(id);
+            int state = START;
+            for (int i = 0; i < phrase.length(); i++) {
+                int symbol = symbolOf(phrase.charAt(i));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow());
+                    output.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            output.get(state).add(id);
+        }
+
+        // Breadth-first failure links, folded into the transitions and the outputs
+        int states = trie.size();
+        int[] fail = new int[states];
+        this.transitions = new int[states * width];
+        this.matches = new int[states][];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < width; symbol++) {
+            int child = trie.get(START)[symbol];
+            transitions[symbol] = Math.max(child, START);
+            if (child > 0) {
+                queue.add(child);
+            }
+        }
+        matches[START] = NO_MATCHES;
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> found = output.get(state);
+            found.addAll(output.get(fail[state]));
+            matches[state] = found.isEmpty() ? NO_MATCHES : found.stream().mapToInt(Integer::intValue).toArray();
+            for (int symbol = 0; symbol < width; symbol++) {
+                int child = trie.get(state)[symbol];
+                int fallback = transitions[fail[state] * width + symbol];
+                if (child < 0) {
+                    transitions[state * width + symbol] = fallback;
+                } else {
+                    transitions[state * width + symbol] = child;
+                    fail[child] = fallback;
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    private int[] newRow() {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private int symbolOf(char c) {
+        if (c < 128) {
+            return asciiSymbols[c];
+        }
+        return otherSymbols.isEmpty() ? 0 : otherSymbols.getOrDefault(c, 0);
+    }
+
+    /**
+     * Advances over one character of input and sets {@code found[id]} for every phrase that
+     * ends at it.
+     */
+    public int next(int state, char c, boolean[] found) {
+        if (ignoreCase && c == CAPITAL_I_WITH_DOT) {
+            state = next(state, 'i', found);
+            c = '\u0307';
+        }
+        state = next(state, c);
+        for (int id : matches[state]) {
+            found[id] = true;
+        }
+        return state;
+    }
+
+    /**
+     * Advances over one character of input. With {@code ignoreCase}, a dotted capital I is
+     * only matched through {@link #next(int, char, boolean[])}.
+     */
+    public int next(int state, char c) {
+        if (ignoreCase) {
+            c = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c < 128 ? c : Character.toLowerCase(c);
+        }
+        return transitions[state * width + symbolOf(c)];
+    }
+
+    /**
+     * Ids of the phrases that end at this state, including shorter phrases that are suffixes
+     * of longer ones.
+     */
+    public int[] matches(int state) {
+        return matches[state];
+    }
+
+    /**
+     * The id of a phrase, or -1 if it is not one of the phrases.
+     */
+    public int idOf(String phrase) {
+        return ids.getOrDefault(ignoreCase ? phrase.toLowerCase(Locale.ROOT) : phrase, -1);
+    }
+
+    public int size() {
+        return phrases.size();
+    }
+}
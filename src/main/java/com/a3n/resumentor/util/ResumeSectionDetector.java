@@ -0,0 +1,266 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds section headings, bullets and contact details in extracted resume text. A
+ * heading is a short line that consists of a known section title (optionally followed
+ * by a colon), so words like "experience" inside a bullet point are not mistaken for
+ * a section.
+ */
+@Component
+public class ResumeSectionDetector {
+
+    private static final int MAX_HEADING_LENGTH = 40;
+    private static final int CONTACT_BLOCK_FALLBACK_CHARS = 500;
+
+    private static final Pattern BULLET = Pattern.compile("^(?:[•▪●○■◦‣∙·➢►✓]|[-–*](?=\\s))\\s*");
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+(?:\\.[\\w-]+)+");
+    private static final Pattern PHONE = Pattern.compile("(?:\\+\\d{1,3}[\\s.-]?)?\\(?\\d{3}\\)?[\\s.-]?\\d{3}[\\s.-]?\\d{4}");
+    private static final Pattern LINKEDIN = Pattern.compile("(?:https?://)?(?:www\\.)?linkedin\\.com/[^\\s|,]+|\\blinkedin\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern GITHUB = Pattern.compile("(?:https?://)?(?:www\\.)?github\\.com/[^\\s|,]+|\\bgithub\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LOCATION = Pattern.compile("\\b[A-Z][a-z]+(?: [A-Z][a-z]+)*,\\s*[A-Z]{2}\\b");
+
+    private static final Map<String, String> HEADINGS = new LinkedHashMap<>();
+
+    static {
+        HEADINGS.put("summary", "SUMMARY");
+        HEADINGS.put("professional summary", "SUMMARY");
+        HEADINGS.put("profile", "SUMMARY");
+        HEADINGS.put("about me", "SUMMARY");
+        HEADINGS.put("objective", "OBJECTIVE");
+        HEADINGS.put("career objective", "OBJECTIVE");
+        HEADINGS.put("experience", "EXPERIENCE");
+        HEADINGS.put("work experience", "EXPERIENCE");
+        HEADINGS.put("professional experience", "EXPERIENCE");
+        HEADINGS.put("employment history", "EXPERIENCE");
+        HEADINGS.put("work history", "EXPERIENCE");
+        HEADINGS.put("internships", "EXPERIENCE");
+        HEADINGS.put("education", "EDUCATION");
+        HEADINGS.put("academic background", "EDUCATION");
+        HEADINGS.put("skills", "SKILLS");
+        HEADINGS.put("technical skills", "SKILLS");
+        HEADINGS.put("core competencies", "SKILLS");
+        HEADINGS.put("key skills", "SKILLS");
+        HEADINGS.put("projects", "PROJECTS");
+        HEADINGS.put("personal projects", "PROJECTS");
+        HEADINGS.put("academic projects", "PROJECTS");
+        HEADINGS.put("certifications", "CERTIFICATIONS");
+        HEADINGS.put("certificates", "CERTIFICATIONS");
+        HEADINGS.put("licenses & certifications", "CERTIFICATIONS");
+        HEADINGS.put("achievements", "ACHIEVEMENTS");
+        HEADINGS.put("awards", "ACHIEVEMENTS");
+        HEADINGS.put("honors & awards", "ACHIEVEMENTS");
+        HEADINGS.put("publications", "PUBLICATIONS");
+        HEADINGS.put("languages", "LANGUAGES");
+        HEADINGS.put("interests", "INTERESTS");
+        HEADINGS.put("volunteer experience", "VOLUNTEER");
+    }
+
+    /**
+     * Builds the structured view of a resume: sections with their spans and bullets, and
+     * the contact block. When layout lines are available (PDFs) headings must also look
+     * like headings - bold, larger than body text or all caps - and emphasized headings
+     * with unrecognized titles still close the previous section.
+     */
+    public ExtractedResume segment(String text, Integer pageCount, List<LayoutTextStripper.Line> layout) {
+        List<ExtractedResume.Section> sections = layout == null || layout.isEmpty()
+                ? detectSections(text)
+                : detectSections(text, layout);
+        ExtractedResume extracted = new ExtractedResume(text, pageCount, sections);
+        extracted.setContact(detectContact(text, sections));
+        return extracted;
+    }
+
+    public List<ExtractedResume.Section> detectSections(String text) {
+        List<ExtractedResume.Section> sections = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return sections;
+        }
+
+        BulletCollector bullets = new BulletCollector();
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) lineEnd = text.length();
+
+            String line = text.substring(lineStart, lineEnd).trim();
+            String name = headingName(line);
+            if (name != null) {
+                startSection(sections, bullets, name, line, lineStart, text.length());
+            } else if (!sections.isEmpty()) {
+                bullets.accept(line, null);
+            }
+            lineStart = lineEnd + 1;
+        }
+        bullets.flush();
+        return sections;
+    }
+
+    public List<ExtractedResume.Section> detectSections(String text, List<LayoutTextStripper.Line> layout) {
+        List<ExtractedResume.Section> sections = new ArrayList<>();
+        float bodySize = bodyFontSize(text, layout);
+        boolean styled = layout.stream().anyMatch(line -> line.isBold() || line.getFontSize() > bodySize + 0.5f);
+
+        BulletCollector bullets = new BulletCollector();
+        for (LayoutTextStripper.Line layoutLine : layout) {
+            String line = text.substring(layoutLine.getStart(), layoutLine.getEnd()).trim();
+            if (line.isEmpty()) continue;
+
+            boolean larger = layoutLine.getFontSize() >= bodySize * 1.2f;
+            boolean emphasized = layoutLine.isBold() || larger || isAllCaps(line);
+            String name = headingName(line);
+            if (name != null && (emphasized || !styled)) {
+                startSection(sections, bullets, name, line, layoutLine.getStart(), text.length());
+            } else if (name == null && !sections.isEmpty()
+                    && (larger || (layoutLine.isBold() && isAllCaps(line))) && looksLikeHeading(line)) {
+                // Emphasized heading we don't recognize - it still ends the previous section
+                startSection(sections, bullets, "OTHER", line, layoutLine.getStart(), text.length());
+            } else if (!sections.isEmpty()) {
+                bullets.accept(line, layoutLine.getX());
+            }
+        }
+        bullets.flush();
+        return sections;
+    }
+
+    /**
+     * Finds contact details in the block above the first heading, falling back to the
+     * whole text for details placed elsewhere (sidebars, footers).
+     */
+    public ExtractedResume.Contact detectContact(String text, List<ExtractedResume.Section> sections) {
+        if (text == null) {
+            return null;
+        }
+        int blockEnd = sections.isEmpty()
+                ? Math.min(text.length(), CONTACT_BLOCK_FALLBACK_CHARS)
+                : sections.get(0).getStart();
+        String block = text.substring(0, blockEnd);
+
+        ExtractedResume.Contact contact = new ExtractedResume.Contact();
+        contact.setStart(0);
+        contact.setEnd(blockEnd);
+        contact.setEmail(find(EMAIL, block, text));
+        contact.setPhone(find(PHONE, block, text));
+        contact.setLinkedin(find(LINKEDIN, block, text));
+        contact.setGithub(find(GITHUB, block, text));
+        contact.setLocation(find(LOCATION, block, null));
+        return contact;
+    }
+
+    public String headingName(String line) {
+        if (line.isEmpty() || line.length() > MAX_HEADING_LENGTH) {
+            return null;
+        }
+        String normalized = line.toLowerCase().replaceAll("[:\\-–|•]+$", "").trim();
+        return HEADINGS.get(normalized);
+    }
+
+    private void startSection(List<ExtractedResume.Section> sections, BulletCollector bullets,
+                              String name, String heading, int start, int textLength) {
+        bullets.flush();
+        if (!sections.isEmpty()) {
+            sections.get(sections.size() - 1).setEnd(start);
+        }
+        ExtractedResume.Section section = new ExtractedResume.Section(name, heading, start, textLength);
+        sections.add(section);
+        bullets.target = section.getBullets();
+    }
+
+    /**
+     * The most common font size, weighted by characters.
+     */
+    private float bodyFontSize(String text, List<LayoutTextStripper.Line> layout) {
+        Map<Integer, Integer> charsBySize = new HashMap<>();
+        for (LayoutTextStripper.Line line : layout) {
+            charsBySize.merge(Math.round(line.getFontSize() * 2), line.getEnd() - line.getStart(), Integer::sum);
+        }
+        return charsBySize.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(entry -> entry.getKey() / 2f)
+                .orElse(0f);
+    }
+
+    private boolean isAllCaps(String line) {
+        boolean hasLetter = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (Character.isLowerCase(c)) return false;
+            if (Character.isLetter(c)) hasLetter = true;
+        }
+        return hasLetter;
+    }
+
+    private boolean looksLikeHeading(String line) {
+        return line.length() <= MAX_HEADING_LENGTH
+                && line.split("\\s+").length <= 5
+                && !line.matches(".*[\\d@].*")
+                && !line.endsWith(".") && !line.endsWith(",");
+    }
+
+    private String find(Pattern pattern, String block, String fallback) {
+        Matcher matcher = pattern.matcher(block);
+        if (matcher.find()) {
+            return matcher.group().trim();
+        }
+        if (fallback != null) {
+            matcher = pattern.matcher(fallback);
+            if (matcher.find()) {
+                return matcher.group().trim();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Groups bullet lines of the current section, joining wrapped continuation lines.
+     * With layout a continuation is indented past the bullet glyph; without layout it
+     * is a line that starts in lower case.
+     */
+    private static class BulletCollector {
+        private List<String> target;
+        private StringBuilder current;
+        private Float bulletX;
+
+        void accept(String line, Float x) {
+            if (line.isEmpty()) {
+                flush();
+                return;
+            }
+            Matcher bullet = BULLET.matcher(line);
+            if (bullet.find()) {
+                flush();
+                current = new StringBuilder(line.substring(bullet.end()).trim());
+                bulletX = x;
+            } else if (current != null && isContinuation(line, x)) {
+                current.append(' ').append(line);
+            } else {
+                flush();
+            }
+        }
+
+        private boolean isContinuation(String line, Float x) {
+            if (x != null && bulletX != null) {
+                return x > bulletX + 2;
+            }
+            return Character.isLowerCase(line.charAt(0));
+        }
+
+        void flush() {
+            if (current != null && target != null && current.length() > 0) {
+                target.add(current.toString());
+            }
+            current = null;
+            bulletX = null;
+        }
+    }
+}
@@ -17,11 +17,11 @@ class APIClient {
         };
     }
 
-    async post(endpoint, data = {}) {
+    async post(endpoint, data = {}, extraHeaders = {}) {
         try {
             const response = await fetch(`${this.baseURL}${endpoint}`, {
                 method: 'POST',
-                headers: this.getHeaders(),
+                headers: { ...this.getHeaders(), ...extraHeaders },
                 body: JSON.stringify(data)
             });
             const result = await response.json();
@@ -87,7 +87,7 @@ class APIClient {
         }
     }
 
-    async uploadFile(endpoint, file, formData = {}) {
+    async uploadFile(endpoint, file, formData = {}, extraHeaders = {}) {
         try {
             const form = new FormData();
             form.append('file', file);
@@ -99,7 +99,8 @@ class APIClient {
             const response = await fetch(`${this.baseURL}${endpoint}`, {
                 method: 'POST',
                 headers: {
-                    'Authorization': `Bearer ${this.token}`
+                    'Authorization': `Bearer ${this.token}`,
+                    ...extraHeaders
                 },
                 body: form
             });
@@ -114,6 +115,24 @@ class APIClient {
         }
     }
 
+    // Sends with an Idempotency-Key and retries once on a network failure with the same
+    // key, so the server replays the first response instead of running the work twice
+    newIdempotencyKey() {
+        return (window.crypto && crypto.randomUUID)
+            ? crypto.randomUUID()
+            : `${Date.now()}-${Math.random().toString(36).slice(2)}`;
+    }
+
+    async withIdempotencyKey(send) {
+        const headers = { 'Idempotency-Key': this.newIdempotencyKey() };
+        try {
+            return await send(headers);
+        } catch (error) {
+            if (!(error instanceof TypeError)) throw error;
+            return send(headers);
+        }
+    }
+
     // Auth endpoints
     async loginWithGoogle(googleData) {
         return this.post('/auth/login/google', googleData);
@@ -129,7 +148,17 @@ class APIClient {
 
     // Resume endpoints
     async uploadResume(file, jobRole, jobDescription) {
-        return this.uploadFile('/resume/upload', file, { jobRole, jobDescription });
+        return this.withIdempotencyKey(headers =>
+            this.uploadFile('/resume/upload', file, { jobRole, jobDescription }, headers));
+    }
+
+    async submitResumeJob(file, jobRole, jobDescription) {
+        return this.withIdempotencyKey(headers =>
+            this.uploadFile('/resume/jobs', file, { jobRole, jobDescription }, headers));
+    }
+
+    async getResumeJob(jobId) {
+        return this.get(`/resume/jobs/${jobId}`);
     }
 
     async getResume(resumeId) {
@@ -158,7 +187,8 @@ class APIClient {
     }
 
     async submitAnswer(sessionId, questionId, answer) {
-        return this.post('/interview/submit-answer', { sessionId, questionId, answer });
+        return this.withIdempotencyKey(headers =>
+            this.post('/interview/submit-answer', { sessionId, questionId, answer }, headers));
     }
 
     async endInterview(sessionId, bodyMetrics = {}) {
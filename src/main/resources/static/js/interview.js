@@ -5,6 +5,17 @@ let interviewTimer = null;
 let elapsedSeconds = 0;
 let currentQuestionIndex = 0;
 
+// STOMP connection for the question loop; null means the REST endpoints are used
+let interviewSocket = null;
+let pendingSocketRequest = null;
+const SOCKET_CONNECT_TIMEOUT_MS = 5000;
+const SOCKET_REPLY_TIMEOUT_MS = 120000;
+
+// STOMP connection streaming the spoken answer to the server as it is recognised
+let transcriptSocket = null;
+let transcriptEditTimer = null;
+const TRANSCRIPT_EDIT_DEBOUNCE_MS = 500;
+
 // Speech Recognition & Synthesis
 let recognition = null;
 let synthesis = window.speechSynthesis;
@@ -147,6 +158,7 @@ function initializeSpeech() {
 
             if (finalTranscript.trim()) {
                 currentTranscript += finalTranscript;
+                streamTranscript(finalTranscript, false);
             }
 
             const displayText = currentTranscript + interimTranscript;
@@ -239,6 +251,9 @@ function showTextFallback() {
             textarea.setAttribute('data-listener-added', 'true');
             textarea.addEventListener('input', () => {
                 currentTranscript = textarea.value;
+                // Typed edits replace the streamed transcript once the user pauses
+                clearTimeout(transcriptEditTimer);
+                transcriptEditTimer = setTimeout(() => streamTranscript(currentTranscript, true), TRANSCRIPT_EDIT_DEBOUNCE_MS);
                 document.getElementById('submitBtn').disabled = textarea.value.trim().length === 0;
                 document.getElementById('liveTranscript').textContent = textarea.value || 'Type your answer...';
             });
@@ -285,6 +300,7 @@ function stopRecording() {
 
 function clearTranscript() {
     currentTranscript = '';
+    streamTranscript('', true);
     document.getElementById('liveTranscript').textContent = 'Start speaking...';
     document.getElementById('userAnswer').value = '';
     document.getElementById('submitBtn').disabled = true;
@@ -404,6 +420,8 @@ async function startInterviewSession(resumeId) {
 
         const response = await apiClient.startInterview(resumeId);
         currentSession = response.sessionId;
+        await connectInterviewSocket(currentSession);
+        connectTranscriptSocket();
         hfFaceSamples = [];
         startHuggingFaceFaceAnalysis();
 
@@ -428,7 +446,9 @@ async function startInterviewSession(resumeId) {
 
 async function getNextQuestion() {
     try {
-        const response = await apiClient.getNextQuestion(currentSession);
+        const response = interviewSocket
+            ? await sendInterviewMessage('next', {})
+            : await apiClient.getNextQuestion(currentSession);
         await processInterviewResponse(response);
 
     } catch (error) {
@@ -453,12 +473,16 @@ async function submitAnswer() {
     }
 
     stopRecording();
+    clearTimeout(transcriptEditTimer);
 
     try {
         document.getElementById('submitBtn').disabled = true;
         document.getElementById('micStatus').textContent = 'Processing...';
 
-        const response = await apiClient.submitAnswer(currentSession, currentQuestion.questionId, answer);
+        const response = interviewSocket
+            ? await sendInterviewMessage('answer', { questionId: currentQuestion.questionId, answer },
+                { 'Idempotency-Key': apiClient.newIdempotencyKey() })
+            : await apiClient.submitAnswer(currentSession, currentQuestion.questionId, answer);
 
         addToTranscript('You', answer);
 
@@ -476,6 +500,118 @@ async function submitAnswer() {
     }
 }
 
+// ==================== Interview Socket ====================
+// Connects to /ws/interview once per interview. Resolves either way; on failure the
+// question loop keeps using the REST endpoints.
+function connectInterviewSocket(sessionId) {
+    return new Promise(resolve => {
+        if (typeof SockJS === 'undefined' || typeof Stomp === 'undefined') {
+            resolve(false);
+            return;
+        }
+        const client = Stomp.over(new SockJS('/ws/interview'));
+        client.debug = null;
+        const timer = setTimeout(() => {
+            if (client.connected) client.disconnect();
+            resolve(false);
+        }, SOCKET_CONNECT_TIMEOUT_MS);
+
+        client.connect({ Authorization: `Bearer ${apiClient.token}` }, () => {
+            clearTimeout(timer);
+            client.subscribe(`/topic/interviews/${sessionId}`, message => handleInterviewEvent(JSON.parse(message.body)));
+            interviewSocket = client;
+            resolve(true);
+        }, () => {
+            clearTimeout(timer);
+            interviewSocket = null;
+            failPendingSocketRequest('Connection to the interview server was lost');
+            resolve(false);
+        });
+    });
+}
+
+// The server tags the events a request causes with its request-id, so only the reply to
+// the pending request settles it; events for other requests (e.g. from another tab) do not
+function sendInterviewMessage(action, body, headers = {}) {
+    return new Promise((resolve, reject) => {
+        failPendingSocketRequest('Superseded by a newer request');
+        const requestId = apiClient.newIdempotencyKey();
+        const timer = setTimeout(() => failPendingSocketRequest('The interview server did not respond'),
+            SOCKET_REPLY_TIMEOUT_MS);
+        pendingSocketRequest = { resolve, reject, timer, requestId };
+        interviewSocket.send(`/app/interviews/${currentSession}/${action}`,
+            { ...headers, 'request-id': requestId }, JSON.stringify(body));
+    });
+}
+
+function failPendingSocketRequest(message) {
+    if (!pendingSocketRequest) return;
+    clearTimeout(pendingSocketRequest.timer);
+    pendingSocketRequest.reject({ message });
+    pendingSocketRequest = null;
+}
+
+function handleInterviewEvent(event) {
+    const forPendingRequest = pendingSocketRequest && event.requestId === pendingSocketRequest.requestId;
+    switch (event.type) {
+        case 'FEEDBACK':
+            if (event.score !== null && event.score !== undefined) {
+                document.getElementById('micStatus').textContent = `Last answer score: ${event.score}%`;
+            }
+            break;
+        case 'FOLLOW_UP':
+            if (typeof Toast !== 'undefined') Toast.info('A follow-up question was added to your interview');
+            break;
+        case 'QUESTION':
+        case 'COMPLETED':
+            if (forPendingRequest) {
+                clearTimeout(pendingSocketRequest.timer);
+                pendingSocketRequest.resolve(event.question);
+                pendingSocketRequest = null;
+            }
+            break;
+        case 'ERROR':
+            if (forPendingRequest) failPendingSocketRequest(event.message);
+            break;
+    }
+}
+
+function disconnectInterviewSocket() {
+    if (interviewSocket && interviewSocket.connected) {
+        interviewSocket.disconnect();
+    }
+    interviewSocket = null;
+}
+
+// ==================== Transcript Socket ====================
+// Streams recognised speech to /ws/transcript so the answer is analysed while it is spoken.
+// Best effort: if the connection is missing or the text was edited, the server scores the
+// submitted answer instead.
+function connectTranscriptSocket() {
+    if (typeof SockJS === 'undefined' || typeof Stomp === 'undefined') return;
+    const client = Stomp.over(new SockJS('/ws/transcript'));
+    client.debug = null;
+    client.connect({ Authorization: `Bearer ${apiClient.token}` }, () => {
+        transcriptSocket = client;
+    }, () => {
+        transcriptSocket = null;
+    });
+}
+
+function streamTranscript(text, reset) {
+    if (!transcriptSocket || !transcriptSocket.connected || !currentSession || !currentQuestion) return;
+    transcriptSocket.send(`/app/interviews/${currentSession}/transcript`, {},
+        JSON.stringify({ questionId: currentQuestion.questionId, text, reset }));
+}
+
+function disconnectTranscriptSocket() {
+    clearTimeout(transcriptEditTimer);
+    if (transcriptSocket && transcriptSocket.connected) {
+        transcriptSocket.disconnect();
+    }
+    transcriptSocket = null;
+}
+
 async function processInterviewResponse(response) {
     if (!response) {
         return;
@@ -687,6 +823,8 @@ function closeConfirmModal() {
 
 async function endInterview() {
     clearInterval(interviewTimer);
+    disconnectInterviewSocket();
+    disconnectTranscriptSocket();
     closeConfirmModal();
     stopRecording();
     stopFaceTracking();
@@ -706,6 +844,8 @@ async function endInterview() {
 
 async function completeInterview() {
     clearInterval(interviewTimer);
+    disconnectInterviewSocket();
+    disconnectTranscriptSocket();
     stopRecording();
     stopFaceTracking();
     stopHuggingFaceFaceAnalysis();
@@ -763,6 +903,8 @@ function showError(message) {
 
 // Clean up on page unload
 window.addEventListener('beforeunload', () => {
+    disconnectInterviewSocket();
+    disconnectTranscriptSocket();
     if (recognition) recognition.stop();
     if (synthesis) synthesis.cancel();
     stopHuggingFaceFaceAnalysis();
@@ -81,7 +81,8 @@ function analyzeResume() {
     showLoadingSection();
     analyzeBtn.disabled = true;
 
-    apiClient.uploadResume(selectedResumeFile, jobRole, jobDescription)
+    apiClient.submitResumeJob(selectedResumeFile, jobRole, jobDescription)
+        .then(job => waitForAnalysisJob(job))
         .then(response => {
             analysisData = response;
             displayResults(response);
@@ -89,11 +90,114 @@ function analyzeResume() {
         })
         .catch(error => {
             console.error('Analysis error:', error);
-            showError('Error analyzing resume. Please try again.');
+            showError(error && error.status === 503
+                ? 'The analyzer is busy right now. Please try again in a moment.'
+                : 'Error analyzing resume. Please try again.');
             analyzeBtn.disabled = false;
         });
 }
 
+const JOB_POLL_INTERVAL_MS = 1500;
+const SOCKET_CONNECT_TIMEOUT_MS = 5000;
+
+const STAGE_LABELS = {
+    UPLOADED: 'Resume uploaded',
+    EXTRACTED: 'Reading your resume',
+    SCORING: 'Scoring against the job role',
+    AI_PENDING: 'Waiting for AI feedback',
+    SAVED: 'Saving your results'
+};
+
+// Waits for the analysis job to finish and resolves with the analysis result.
+// Stage updates and completion arrive over STOMP; polling is only the fallback
+// for browsers where the socket cannot be opened.
+function waitForAnalysisJob(job) {
+    return new Promise((resolve, reject) => {
+        let finished = false;
+        let polling = false;
+        let stompClient = null;
+
+        const finish = (status, result, error) => {
+            if (finished) return;
+            if (status === 'COMPLETED') {
+                finished = true;
+                resolve(result);
+            } else if (status === 'FAILED') {
+                finished = true;
+                reject(new Error(error || 'Analysis failed'));
+            } else {
+                return;
+            }
+            if (stompClient && stompClient.connected) {
+                stompClient.disconnect();
+            }
+        };
+
+        const poll = () => {
+            if (finished) return;
+            apiClient.getResumeJob(job.jobId)
+                .then(current => {
+                    finish(current.status, current.result, current.error);
+                    if (!finished) setTimeout(poll, JOB_POLL_INTERVAL_MS);
+                })
+                .catch(error => {
+                    finished = true;
+                    reject(error);
+                });
+        };
+        const startPolling = () => {
+            if (polling) return;
+            polling = true;
+            poll();
+        };
+
+        if (typeof SockJS === 'undefined' || typeof Stomp === 'undefined' || !job.topic) {
+            startPolling();
+            return;
+        }
+
+        const fallbackTimer = setTimeout(startPolling, SOCKET_CONNECT_TIMEOUT_MS);
+        stompClient = Stomp.over(new SockJS('/ws/resume'));
+        stompClient.debug = null;
+        stompClient.connect({ Authorization: `Bearer ${apiClient.token}` }, () => {
+            clearTimeout(fallbackTimer);
+            if (job.progressTopic) {
+                stompClient.subscribe(job.progressTopic, message => {
+                    const event = JSON.parse(message.body);
+                    if (event.jobId === job.jobId) showAnalysisStage(event);
+                });
+            }
+            stompClient.subscribe(job.topic, message => {
+                const current = JSON.parse(message.body);
+                if (current.jobId === job.jobId) finish(current.status, current.result, current.error);
+            });
+            // The job may have finished before the subscription was in place
+            apiClient.getResumeJob(job.jobId)
+                .then(current => finish(current.status, current.result, current.error))
+                .catch(() => {});
+        }, () => {
+            // Connection lost or refused; carry on by polling
+            clearTimeout(fallbackTimer);
+            startPolling();
+        });
+    });
+}
+
+function showAnalysisStage(event) {
+    const stage = document.getElementById('loadingStage');
+    const detail = document.getElementById('loadingDetail');
+    if (!stage || !STAGE_LABELS[event.stage]) return;
+
+    stage.textContent = STAGE_LABELS[event.stage] + '...';
+    if (event.stage === 'EXTRACTED' && event.pageCount) {
+        const sections = (event.sections || []).length;
+        detail.textContent = `${event.pageCount} page${event.pageCount === 1 ? '' : 's'}`
+            + (sections ? `, ${sections} section${sections === 1 ? '' : 's'} found` : '');
+    } else if (event.stage === 'AI_PENDING' && event.preview && event.preview.atsScore != null) {
+        detail.textContent = `Preliminary ATS score: ${event.preview.atsScore}`;
+    }
+}
+
 // ==================== Score Tier Helpers ====================
 
 function getScoreTier(score) {
@@ -259,6 +363,47 @@ function displayResults(data) {
 
     // Overall Feedback
     document.getElementById('overallFeedback').textContent = data.overallFeedback || 'Analysis complete.';
+
+    renderRevision(data.revision);
+}
+
+const SECTION_LABELS = { HEADER: 'Contact header' };
+
+// Shows which sections changed since the earlier version and what each change was worth
+function renderRevision(revision) {
+    const card = document.getElementById('revisionCard');
+    if (!card) return;
+    if (!revision) {
+        card.style.display = 'none';
+        return;
+    }
+    card.style.display = 'block';
+
+    const formatDelta = delta => delta > 0 ? `+${delta}` : `${delta}`;
+    const deltaClass = delta => delta > 0 ? 'delta-up' : (delta < 0 ? 'delta-down' : 'delta-none');
+    const label = key => SECTION_LABELS[key] || key.charAt(0) + key.slice(1).toLowerCase().replace('#', ' #');
+
+    const summary = document.getElementById('revisionSummary');
+    if (revision.analysisReused) {
+        summary.textContent = 'Nothing changed since your last upload, so your previous analysis was kept.';
+    } else if (revision.scoreDelta != null) {
+        summary.innerHTML = `Score ${revision.previousAtsScore} → ${revision.previousAtsScore + revision.scoreDelta} `
+            + `<span class="${deltaClass(revision.scoreDelta)}">(${formatDelta(revision.scoreDelta)})</span>`;
+    } else {
+        summary.textContent = 'Compared with your last version of this resume.';
+    }
+
+    const changes = (revision.changes || []).map(change => {
+        const delta = change.scoreDelta != null
+            ? ` <span class="${deltaClass(change.scoreDelta)}">${formatDelta(change.scoreDelta)}</span>`
+            : '';
+        return `<li><strong>${label(change.section)}</strong> ${change.change.toLowerCase()}${delta}</li>`;
+    });
+    if (revision.unattributedDelta) {
+        changes.push(`<li>Overall re-evaluation <span class="${deltaClass(revision.unattributedDelta)}">`
+            + `${formatDelta(revision.unattributedDelta)}</span></li>`);
+    }
+    document.getElementById('revisionChanges').innerHTML = changes.join('');
 }
 
 function setProgressWithAnimation(barId, valueId, percentage) {
@@ -280,6 +425,8 @@ function setProgressWithAnimation(barId, valueId, percentage) {
 }
 
 function showLoadingSection() {
+    document.getElementById('loadingStage').textContent = 'Analyzing your resume...';
+    document.getElementById('loadingDetail').textContent = '';
     document.getElementById('uploadSection').style.display = 'none';
     document.getElementById('loadingSection').style.display = 'block';
     document.getElementById('resultsSection').style.display = 'none';
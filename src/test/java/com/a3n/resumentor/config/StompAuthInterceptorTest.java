@@ -0,0 +1,190 @@
+package com.a3n.resumentor.config;
+
+import com.a3n.resumentor.entity.InterviewSession;
+import com.a3n.resumentor.repository.InterviewSessionRepository;
+import com.a3n.resumentor.util.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Frames are run through the interceptor the way the client inbound channel does: a
+ * CONNECT sets the principal, and later frames of the same connection share its session
+ * attributes.
+ */
+class StompAuthInterceptorTest {
+
+    private static final long USER_ID = 5L;
+    private static final long OWN_INTERVIEW = 10L;
+    private static final long OTHER_INTERVIEW = 11L;
+
+    private final StompAuthInterceptor interceptor = new StompAuthInterceptor();
+    private final JwtTokenProvider jwtTokenProvider = mock(JwtTokenProvider.class);
+    private final InterviewSessionRepository interviewSessionRepository = mock(InterviewSessionRepository.class);
+    private final Map<String, Object> sessionAttributes = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(jwtTokenProvider.validateToken("good")).thenReturn(true);
+        when(jwtTokenProvider.getUserIdFromToken("good")).thenReturn(USER_ID);
+        when(interviewSessionRepository.findBySessionIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.empty());
+        when(interviewSessionRepository.findBySessionIdAndUserId(OWN_INTERVIEW, USER_ID))
+                .thenReturn(Optional.of(new InterviewSession()));
+        ReflectionTestUtils.setField(interceptor, "jwtTokenProvider", jwtTokenProvider);
+        ReflectionTestUtils.setField(interceptor, "interviewSessionRepository", interviewSessionRepository);
+    }
+
+    @Test
+    void connectWithValidTokenSetsThePrincipal() {
+        assertThat(StompAuthInterceptor.userId(connect("Bearer good"))).isEqualTo(USER_ID);
+    }
+
+    @Test
+    void connectWithBadTokenIsRefused() {
+        Message<byte[]> connect = connectFrame("Bearer forged");
+
+        assertThatThrownBy(() -> interceptor.preSend(connect, null)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void ownQueuesAndInterviewsAreAllowed() {
+        Principal user = connect("Bearer good");
+
+        assertAllowed(frame(StompCommand.SUBSCRIBE, "/user/queue/resume-progress", user));
+        assertAllowed(frame(StompCommand.SUBSCRIBE, "/user/queue/resume-jobs", user));
+        assertAllowed(frame(StompCommand.SUBSCRIBE, "/topic/interviews/" + OWN_INTERVIEW, user));
+        assertAllowed(frame(StompCommand.SEND, "/app/interviews/" + OWN_INTERVIEW + "/next", user));
+        assertAllowed(frame(StompCommand.SEND, "/app/interviews/" + OWN_INTERVIEW + "/answer", user));
+        assertAllowed(frame(StompCommand.SEND, "/app/interviews/" + OWN_INTERVIEW + "/transcript", user));
+    }
+
+    @Test
+    void otherUsersInterviewsAreRefused() {
+        Principal user = connect("Bearer good");
+
+        assertDenied(frame(StompCommand.SUBSCRIBE, "/topic/interviews/" + OTHER_INTERVIEW, user));
+        assertDenied(frame(StompCommand.SEND, "/app/interviews/" + OTHER_INTERVIEW + "/answer", user));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/topic/interviews/*", "/topic/interviews/**", "/topic/interviews/1?", "/topic/interviews/{id}",
+            "/topic/**", "/user/queue/*", "/queue/resume-progress-user*"
+    })
+    void patternDestinationsAreRefused(String destination) {
+        Principal user = connect("Bearer good");
+
+        assertDenied(frame(StompCommand.SUBSCRIBE, destination, user));
+        verify(interviewSessionRepository, never()).findBySessionIdAndUserId(anyLong(), anyLong());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/topic/interviews/10", "/topic/resume-jobs/abc", "/user/queue/resume-progress", "/queue/resume-progress"
+    })
+    void clientsCannotPublishToBrokerDestinations(String destination) {
+        Principal user = connect("Bearer good");
+
+        assertDenied(frame(StompCommand.SEND, destination, user));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/topic/resume-jobs/abc", "/topic/users/5/resume-progress", "/queue/resume-progress",
+            "/queue/resume-progress-userabc123", "/user/queue/other", "/topic/interviews/10/extra",
+            "/app/interviews/10/unknown"
+    })
+    void destinationsOutsideTheAllowListAreRefused(String destination) {
+        Principal user = connect("Bearer good");
+
+        assertDenied(frame(StompCommand.SUBSCRIBE, destination, user));
+    }
+
+    @Test
+    void anonymousConnectionsCanUseNothing() {
+        Principal anonymous = connect(null);
+
+        assertThat(anonymous).isNull();
+        assertDenied(frame(StompCommand.SUBSCRIBE, "/user/queue/resume-progress", null));
+        assertDenied(frame(StompCommand.SUBSCRIBE, "/topic/interviews/" + OWN_INTERVIEW, null));
+        assertDenied(frame(StompCommand.SEND, "/app/interviews/" + OWN_INTERVIEW + "/next", null));
+    }
+
+    @Test
+    void ownershipIsCheckedOncePerConnection() {
+        Principal user = connect("Bearer good");
+
+        assertAllowed(frame(StompCommand.SUBSCRIBE, "/topic/interviews/" + OWN_INTERVIEW, user));
+        for (int i = 0; i < 5; i++) {
+            assertAllowed(frame(StompCommand.SEND, "/app/interviews/" + OWN_INTERVIEW + "/answer", user));
+        }
+        verify(interviewSessionRepository, times(1)).findBySessionIdAndUserId(OWN_INTERVIEW, USER_ID);
+
+        // A new connection has its own cache
+        sessionAttributes.clear();
+        assertAllowed(frame(StompCommand.SEND, "/app/interviews/" + OWN_INTERVIEW + "/next", user));
+        verify(interviewSessionRepository, times(2)).findBySessionIdAndUserId(OWN_INTERVIEW, USER_ID);
+    }
+
+    @Test
+    void refusedOwnershipIsNotCached() {
+        Principal user = connect("Bearer good");
+
+        assertDenied(frame(StompCommand.SEND, "/app/interviews/" + OTHER_INTERVIEW + "/next", user));
+        assertDenied(frame(StompCommand.SEND, "/app/interviews/" + OTHER_INTERVIEW + "/next", user));
+        verify(interviewSessionRepository, times(2)).findBySessionIdAndUserId(OTHER_INTERVIEW, USER_ID);
+    }
+
+    private Principal connect(String authorization) {
+        Message<byte[]> connect = connectFrame(authorization);
+        interceptor.preSend(connect, null);
+        return StompHeaderAccessor.wrap(connect).getUser();
+    }
+
+    private Message<byte[]> connectFrame(String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+        return message(accessor, null);
+    }
+
+    private Message<byte[]> frame(StompCommand command, String destination, Principal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        return message(accessor, user);
+    }
+
+    private Message<byte[]> message(StompHeaderAccessor accessor, Principal user) {
+        accessor.setSessionAttributes(sessionAttributes);
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private void assertAllowed(Message<byte[]> frame) {
+        assertThatCode(() -> interceptor.preSend(frame, null)).doesNotThrowAnyException();
+    }
+
+    private void assertDenied(Message<byte[]> frame) {
+        assertThatThrownBy(() -> interceptor.preSend(frame, null)).isInstanceOf(AccessDeniedException.class);
+    }
+}
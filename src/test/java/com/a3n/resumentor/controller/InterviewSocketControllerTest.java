@@ -0,0 +1,111 @@
+package com.a3n.resumentor.controller;
+
+import com.a3n.resumentor.dto.InterviewAnswerRequest;
+import com.a3n.resumentor.dto.InterviewResponse;
+import com.a3n.resumentor.service.AnalysisScheduler;
+import com.a3n.resumentor.service.IdempotencyService;
+import com.a3n.resumentor.service.InterviewService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * A retried answer with the same Idempotency-Key is resolved before the scheduler, so it
+ * never queues a second evaluation, and every event carries the request-id it answers.
+ */
+class InterviewSocketControllerTest {
+
+    private static final long SESSION_ID = 10L;
+    private static final Principal USER = new UsernamePasswordAuthenticationToken(5L, null, Collections.emptyList());
+
+    private final InterviewSocketController controller = new InterviewSocketController();
+    private final AnalysisScheduler analysisScheduler = mock(AnalysisScheduler.class);
+    private final InterviewService interviewService = mock(InterviewService.class);
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final CompletableFuture<ResponseEntity<?>> evaluation = new CompletableFuture<>();
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyService idempotencyService = new IdempotencyService();
+        ReflectionTestUtils.setField(idempotencyService, "maxEntries", 100);
+        ReflectionTestUtils.setField(idempotencyService, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(idempotencyService, "meterRegistry", new SimpleMeterRegistry());
+        idempotencyService.init();
+
+        ReflectionTestUtils.setField(controller, "idempotencyService", idempotencyService);
+        ReflectionTestUtils.setField(controller, "analysisScheduler", analysisScheduler);
+        ReflectionTestUtils.setField(controller, "interviewService", interviewService);
+        ReflectionTestUtils.setField(controller, "messagingTemplate", messagingTemplate);
+        doReturn(evaluation).when(analysisScheduler).submit(anyLong(), any(), any());
+    }
+
+    @Test
+    void retriedAnswerIsNotQueuedAgain() {
+        InterviewAnswerRequest answer = new InterviewAnswerRequest(SESSION_ID, 3L, "My answer");
+
+        controller.submitAnswer(SESSION_ID, answer, "key-1", "request-1", USER);
+        controller.submitAnswer(SESSION_ID, answer, "key-1", "request-2", USER);
+        verify(analysisScheduler, times(1)).submit(eq(5L), eq(AnalysisScheduler.Workload.INTERVIEW_EVALUATION), any());
+
+        evaluation.complete(ResponseEntity.ok(response()));
+
+        // Both attempts get the result of the one evaluation, each under its own request id
+        assertThat(events("FEEDBACK")).extracting(event -> event.get("requestId"))
+                .containsExactlyInAnyOrder("request-1", "request-2");
+    }
+
+    @Test
+    void reusedKeyForADifferentAnswerIsRefusedWithoutQueueing() {
+        controller.submitAnswer(SESSION_ID, new InterviewAnswerRequest(SESSION_ID, 3L, "First"), "key-1", "request-1", USER);
+        controller.submitAnswer(SESSION_ID, new InterviewAnswerRequest(SESSION_ID, 3L, "Second"), "key-1", "request-2", USER);
+
+        verify(analysisScheduler, times(1)).submit(anyLong(), any(), any());
+        assertThat(events("ERROR")).singleElement()
+                .satisfies(event -> assertThat(event).containsEntry("requestId", "request-2"));
+    }
+
+    @Test
+    void nextQuestionEchoesTheRequestId() {
+        when(interviewService.getNextQuestion(SESSION_ID, 5L)).thenReturn(response());
+
+        controller.nextQuestion(SESSION_ID, "request-7", USER);
+
+        assertThat(events("QUESTION")).singleElement()
+                .satisfies(event -> assertThat(event).containsEntry("requestId", "request-7"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> events(String type) {
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(eq("/topic/interviews/" + SESSION_ID), events.capture());
+        return events.getAllValues().stream()
+                .map(event -> (Map<String, Object>) event)
+                .filter(event -> type.equals(event.get("type")))
+                .toList();
+    }
+
+    private static InterviewResponse response() {
+        InterviewResponse response = new InterviewResponse();
+        response.setSessionId(SESSION_ID);
+        response.setQuestionId(4L);
+        response.setCurrentScore(70);
+        response.setIsCompleted(false);
+        return response;
+    }
+}
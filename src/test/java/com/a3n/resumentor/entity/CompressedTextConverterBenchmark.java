@@ -0,0 +1,60 @@
+package com.a3n.resumentor.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stored size and conversion time of each compressed column over
+ * {@link CompressionSamples}. Not part of the regular test run; start it with
+ * {@code mvn test -Dtest=CompressedTextConverterBenchmark}. The "binary" column is the
+ * size the deflated bytes would take in a BLOB instead of base64 text.
+ */
+class CompressedTextConverterBenchmark {
+
+    private static final int ROUNDS = 200;
+
+    @Test
+    void sizeAndTime() throws Exception {
+        Map<String, List<String>> samples = CompressionSamples.byColumn();
+        CompressedTextConverter converter = new CompressedTextConverter();
+        for (int i = 0; i < ROUNDS; i++) {
+            samples.values().forEach(values -> values.forEach(v ->
+                    converter.convertToEntityAttribute(converter.convertToDatabaseColumn(v))));
+        }
+
+        System.out.println("column                           rows  avg raw B  avg stored B  stored %  binary %  write us  read us");
+        for (Map.Entry<String, List<String>> column : samples.entrySet()) {
+            List<String> values = column.getValue();
+            long raw = 0;
+            long stored = 0;
+            long binary = 0;
+            for (String value : values) {
+                String dbData = converter.convertToDatabaseColumn(value);
+                raw += value.getBytes(StandardCharsets.UTF_8).length;
+                stored += dbData.getBytes(StandardCharsets.UTF_8).length;
+                binary += CompressedTextConverter.isCompressed(dbData)
+                        ? Base64.getDecoder().decode(dbData.substring(CompressedTextConverter.PREFIX.length())).length
+                        : dbData.getBytes(StandardCharsets.UTF_8).length;
+            }
+            List<String> stores = values.stream().map(converter::convertToDatabaseColumn).toList();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                values.forEach(converter::convertToDatabaseColumn);
+            }
+            double writeUs = (System.nanoTime() - start) / 1e3 / ROUNDS / values.size();
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                stores.forEach(converter::convertToEntityAttribute);
+            }
+            double readUs = (System.nanoTime() - start) / 1e3 / ROUNDS / values.size();
+
+            System.out.printf("%-32s %4d  %9d  %12d  %7.1f%%  %7.1f%%  %8.1f  %7.1f%n", column.getKey(), values.size(),
+                    raw / values.size(), stored / values.size(), 100.0 * stored / raw, 100.0 * binary / raw, writeUs, readUs);
+        }
+    }
+}
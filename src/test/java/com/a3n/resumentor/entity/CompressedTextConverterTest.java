@@ -0,0 +1,56 @@
+package com.a3n.resumentor.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void representativeRowsRoundTripAndShrink() throws Exception {
+        for (Map.Entry<String, List<String>> column : CompressionSamples.byColumn().entrySet()) {
+            long raw = 0;
+            long stored = 0;
+            for (String value : column.getValue()) {
+                String dbData = converter.convertToDatabaseColumn(value);
+                assertThat(converter.convertToEntityAttribute(dbData)).isEqualTo(value);
+                raw += value.getBytes(StandardCharsets.UTF_8).length;
+                stored += dbData.getBytes(StandardCharsets.UTF_8).length;
+            }
+            // Base64 included; see CompressedTextConverterBenchmark for the per-column figures
+            assertThat(stored).as(column.getKey()).isLessThan(raw / 2);
+        }
+    }
+
+    @Test
+    void shortValuesAreStoredAsIs() {
+        assertThat(converter.convertToDatabaseColumn("Good answer.")).isEqualTo("Good answer.");
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    }
+
+    @Test
+    void legacyRowsReadUnchanged() {
+        String legacy = "{\"atsScore\": 72, \"strengths\": [\"Clear structure\"]}".repeat(20);
+        assertThat(converter.convertToEntityAttribute(legacy)).isEqualTo(legacy);
+    }
+
+    @Test
+    void textStartingWithThePrefixIsNotMisread() {
+        String text = CompressedTextConverter.PREFIX + "not compressed";
+        String dbData = converter.convertToDatabaseColumn(text);
+        assertThat(dbData).isNotEqualTo(text);
+        assertThat(converter.convertToEntityAttribute(dbData)).isEqualTo(text);
+    }
+
+    @Test
+    void nonAsciiTextRoundTrips() {
+        String text = "Zoë Ångström – Développeuse, 東京 ✓ ".repeat(30);
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(text))).isEqualTo(text);
+    }
+}
@@ -0,0 +1,100 @@
+package com.a3n.resumentor.entity;
+
+import com.a3n.resumentor.util.MockAIAnalyzer;
+import com.a3n.resumentor.util.ResumeSectionDetector;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Representative values of each compressed column. Analysis JSON and answer feedback come
+ * from the real rule-based analyzer; resumes, answers and transcripts are generated from a
+ * fixed seed.
+ */
+final class CompressionSamples {
+
+    private static final String[] ROLES = {"Backend Developer", "Frontend Engineer", "Data Scientist", "DevOps Engineer"};
+    private static final String[] SKILLS = {"Java", "Spring Boot", "React", "TypeScript", "Python", "SQL", "Docker",
+            "Kubernetes", "AWS", "Kafka", "Redis", "PostgreSQL", "TensorFlow", "Terraform", "GraphQL", "CI/CD"};
+    private static final String[] VERBS = {"Built", "Designed", "Led", "Migrated", "Optimized", "Automated", "Shipped"};
+    private static final String[] QUESTIONS = {
+            "Tell me about yourself and your experience as a software engineer.",
+            "Describe a challenging project you worked on and how you handled it.",
+            "How do you approach designing a scalable REST API?",
+            "Tell me about a mistake you made and what you learned from it.",
+            "How do you ensure code quality in your team?"};
+    private static final String[] ANSWER_WORDS = ("I first designed the service for example we reduced latency by 40% "
+            + "which means users saw faster pages additionally the team improved the process and I learned to "
+            + "measure outcomes before changing the architecture basically we used caching and indexing").split(" ");
+
+    private CompressionSamples() {
+    }
+
+    /**
+     * Column name mapped to sample values, in a stable order.
+     */
+    static Map<String, List<String>> byColumn() throws JsonProcessingException {
+        MockAIAnalyzer analyzer = new MockAIAnalyzer();
+        ReflectionTestUtils.setField(analyzer, "resumeSectionDetector", new ResumeSectionDetector());
+        ObjectMapper objectMapper = new ObjectMapper();
+        Random random = new Random(7);
+
+        Map<String, List<String>> samples = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            String resume = resume(random);
+            String role = ROLES[i % ROLES.length];
+            add(samples, "resumes.resume_text", resume);
+            add(samples, "resumes.analysis_result",
+                    objectMapper.writeValueAsString(analyzer.analyzeResume(resume, role, null)));
+
+            StringBuilder transcript = new StringBuilder();
+            for (String question : QUESTIONS) {
+                String answer = answer(random, 40 + random.nextInt(160));
+                add(samples, "interview_questions.user_answer", answer);
+                add(samples, "interview_questions.ai_feedback", analyzer.evaluateInterviewAnswer(question, answer, resume));
+                transcript.append("AI: ").append(question).append("\nYou: ").append(answer).append("\n\n");
+            }
+            add(samples, "interview_sessions.transcript", transcript.toString());
+        }
+        return samples;
+    }
+
+    private static void add(Map<String, List<String>> samples, String column, String value) {
+        samples.computeIfAbsent(column, c -> new ArrayList<>()).add(value);
+    }
+
+    private static String resume(Random random) {
+        StringBuilder text = new StringBuilder("Jane Doe\njane.doe@example.com | +1 555 0100 | linkedin.com/in/janedoe\n\n");
+        text.append("SUMMARY\nSoftware engineer with ").append(3 + random.nextInt(10))
+                .append(" years of experience building production systems.\n\nEXPERIENCE\n");
+        for (int job = 0; job < 3; job++) {
+            text.append("Senior Engineer, Company ").append((char) ('A' + random.nextInt(26)))
+                    .append(" (20").append(10 + random.nextInt(14)).append(" - present)\n");
+            for (int bullet = 0; bullet < 4; bullet++) {
+                text.append("- ").append(VERBS[random.nextInt(VERBS.length)]).append(' ')
+                        .append(SKILLS[random.nextInt(SKILLS.length)]).append(" services handling ")
+                        .append(1 + random.nextInt(50)).append(" million requests per day, cutting costs by ")
+                        .append(5 + random.nextInt(60)).append("%\n");
+            }
+        }
+        text.append("\nSKILLS\n");
+        for (int skill = 0; skill < 8; skill++) {
+            text.append(SKILLS[random.nextInt(SKILLS.length)]).append(", ");
+        }
+        return text.append("Git\n\nEDUCATION\nBSc Computer Science, State University\n").toString();
+    }
+
+    private static String answer(Random random, int words) {
+        StringBuilder answer = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            answer.append(ANSWER_WORDS[random.nextInt(ANSWER_WORDS.length)]).append(i % 15 == 14 ? ". " : " ");
+        }
+        return answer.toString().trim();
+    }
+}
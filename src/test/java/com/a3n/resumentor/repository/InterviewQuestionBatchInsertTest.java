@@ -0,0 +1,139 @@
+package com.a3n.resumentor.repository;
+
+import com.a3n.resumentor.config.IdGeneratorSeeder;
+import com.a3n.resumentor.entity.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Saving the questions of a new interview must reach the database as one batched insert,
+ * with ids handed out in memory from a block that IdGeneratorSeeder started right after
+ * MAX(id). Hibernate runs with the shipped configuration over a recording JDBC driver,
+ * so the statements asserted here are the ones MySQL would get.
+ */
+class InterviewQuestionBatchInsertTest {
+
+    private final RecordingDataSource database = new RecordingDataSource();
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = TestHibernate.sessionFactory(database.dataSource());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void savingAnInterviewsQuestionsIsOneBatchedInsert() {
+        database.setMaxId("interview_questions", 1000);
+        seed();
+
+        List<InterviewQuestion> saved = saveQuestions(12);
+
+        List<RecordingDataSource.Execution> inserts = database.executions().stream()
+                .filter(execution -> execution.sql().contains("insert into interview_questions"))
+                .toList();
+        assertThat(inserts).hasSize(1);
+        assertThat(inserts.get(0).batch()).isTrue();
+        assertThat(inserts.get(0).rows()).isEqualTo(12);
+
+        assertThat(saved).extracting(InterviewQuestion::getId).containsExactlyElementsOf(ids(1001, 12));
+        assertThat(generatorReads()).isEqualTo(1);
+    }
+
+    @Test
+    void laterInterviewsTakeIdsFromTheSameBlock() {
+        database.setMaxId("interview_questions", 1000);
+        seed();
+        saveQuestions(12);
+        database.clear();
+
+        List<InterviewQuestion> saved = saveQuestions(12);
+
+        assertThat(saved).extracting(InterviewQuestion::getId).containsExactlyElementsOf(ids(1013, 12));
+        assertThat(generatorReads()).isZero();
+    }
+
+    @Test
+    void seededGeneratorStartsRightAfterExistingIds() {
+        database.setMaxId("interview_questions", 1000);
+        seed();
+
+        // The first id handed out is MAX(id) + 1: no collision with existing rows and no gap
+        assertThat(saveQuestions(1)).extracting(InterviewQuestion::getId).containsExactly(1001L);
+        // The generator row reserves one block of allocationSize ids
+        assertThat(database.generatorValue("interview_questions")).isEqualTo(1050);
+    }
+
+    @Test
+    void seederNeverMovesAGeneratorBack() {
+        database.setMaxId("interview_questions", 1000);
+        database.seedGenerator("interview_questions", 5000);
+        seed();
+
+        assertThat(saveQuestions(1)).extracting(InterviewQuestion::getId).containsExactly(5001L);
+    }
+
+    @Test
+    void emptyTableStartsAtOne() {
+        seed();
+
+        assertThat(saveQuestions(1)).extracting(InterviewQuestion::getId).containsExactly(1L);
+    }
+
+    private void seed() {
+        IdGeneratorSeeder seeder = new IdGeneratorSeeder();
+        ReflectionTestUtils.setField(seeder, "jdbcTemplate", new JdbcTemplate(database.dataSource()));
+        seeder.seed();
+        database.clear();
+    }
+
+    private List<InterviewQuestion> saveQuestions(int count) {
+        try (EntityManager entityManager = sessionFactory.createEntityManager()) {
+            InterviewQuestionRepository repository = new JpaRepositoryFactory(entityManager)
+                    .getRepository(InterviewQuestionRepository.class);
+            entityManager.getTransaction().begin();
+            InterviewSession session = entityManager.getReference(InterviewSession.class, 7L);
+            List<InterviewQuestion> questions = new ArrayList<>();
+            for (int number = 1; number <= count; number++) {
+                InterviewQuestion question = new InterviewQuestion();
+                question.setSession(session);
+                question.setQuestionNumber(number);
+                question.setQuestionText("Question " + number);
+                question.setDifficultyLevel(InterviewQuestion.DifficultyLevel.BASIC);
+                questions.add(question);
+            }
+            List<InterviewQuestion> saved = repository.saveAll(questions);
+            entityManager.getTransaction().commit();
+            return saved;
+        }
+    }
+
+    private long generatorReads() {
+        return database.executions().stream()
+                .filter(execution -> execution.sql().contains("from id_generators"))
+                .count();
+    }
+
+    private static List<Long> ids(long first, int count) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = first; id < first + count; id++) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,297 @@
+package com.a3n.resumentor.repository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A JDBC DataSource with no database behind it that records the statements it is sent.
+ * It keeps the {@code id_generators} table in memory, so table-generated ids and
+ * IdGeneratorSeeder work, and the {@code scheduler_leases} table, so lease takeover and
+ * insert-if-absent report the rows they would change; it answers {@code MAX(id)} queries from {@link #setMaxId}, finds
+ * rows added with {@link #addRow} by primary key, and acknowledges every other update
+ * and batch with one row per statement. Other queries return no rows. It also records
+ * how long each connection is held, from {@code getConnection} until it is closed, and
+ * can stand in for a remote database by waiting a fixed round trip on every execution
+ * and commit.
+ */
+public class RecordingDataSource {
+
+    private static final Pattern MAX_ID = Pattern.compile("select coalesce\\(max\\(id\\), 0\\) from (\\w+)");
+    private static final Pattern BY_ID = Pattern.compile("select .* from (\\w+) \\w+ where \\w+\\.id=\\?$");
+
+    /**
+     * One execution of a prepared statement: a single update or query with its bound
+     * parameters by index, or a whole batch (whose parameters are not kept).
+     */
+    public record Execution(String sql, int rows, boolean batch, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * A row of {@code scheduler_leases}.
+     */
+    public record Lease(String owner, LocalDateTime expiresAt) {
+    }
+
+    private final Map<String, Long> idGenerators = new HashMap<>();
+    private final Map<String, Long> maxIds = new HashMap<>();
+    private final Map<String, Set<Long>> rows = new HashMap<>();
+    private final Map<String, Lease> leases = new HashMap<>();
+    private final List<Execution> executions = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final List<Long> connectionHoldNanos = Collections.synchronizedList(new ArrayList<>());
+    private volatile long roundTripMs;
+
+    public void seedGenerator(String sequenceName, long nextVal) {
+        idGenerators.put(sequenceName, nextVal);
+    }
+
+    public void setMaxId(String table, long maxId) {
+        maxIds.put(table, maxId);
+    }
+
+    /**
+     * Makes lookups of the given id in the table return a row. Only the id column, the
+     * first one Hibernate selects, has a value; every other column reads as NULL.
+     */
+    public void addRow(String table, long id) {
+        rows.computeIfAbsent(table, name -> new HashSet<>()).add(id);
+    }
+
+    /**
+     * Makes every statement execution, batch and commit wait this long, like a network
+     * round trip to the database would.
+     */
+    public void setRoundTripMs(long roundTripMs) {
+        this.roundTripMs = roundTripMs;
+    }
+
+    public void putLease(String name, String owner, LocalDateTime expiresAt) {
+        leases.put(name, new Lease(owner, expiresAt));
+    }
+
+    public Lease lease(String name) {
+        return leases.get(name);
+    }
+
+    public Long generatorValue(String sequenceName) {
+        return idGenerators.get(sequenceName);
+    }
+
+    public List<Execution> executions() {
+        return List.copyOf(executions);
+    }
+
+    public void clear() {
+        executions.clear();
+        connectionHoldNanos.clear();
+    }
+
+    /**
+     * Connections handed out and not closed yet.
+     */
+    public int openConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * The longest time a connection was held, from {@code getConnection} to {@code close},
+     * over the connections closed since the last {@link #clear()}.
+     */
+    public long longestConnectionHoldMs() {
+        synchronized (connectionHoldNanos) {
+            return connectionHoldNanos.stream().mapToLong(Long::longValue).max().orElse(0) / 1_000_000;
+        }
+    }
+
+    public DataSource dataSource() {
+        return proxy(DataSource.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getConnection" -> connection();
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private Connection connection() {
+        long openedAt = System.nanoTime();
+        openConnections.incrementAndGet();
+        boolean[] closed = {false};
+        return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+            case "prepareStatement" -> statement((String) args[0]);
+            case "createStatement" -> statement(null);
+            case "getAutoCommit" -> true;
+            case "isValid" -> true;
+            case "isClosed" -> closed[0];
+            case "commit", "rollback" -> {
+                roundTrip();
+                yield null;
+            }
+            case "close" -> {
+                if (!closed[0]) {
+                    closed[0] = true;
+                    openConnections.decrementAndGet();
+                    connectionHoldNanos.add(System.nanoTime() - openedAt);
+                }
+                yield null;
+            }
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    private PreparedStatement statement(String preparedSql) {
+        Map<Integer, Object> parameters = new HashMap<>();
+        int[] batched = {0};
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+                return null;
+            }
+            return switch (name) {
+                case "addBatch" -> {
+                    batched[0]++;
+                    yield null;
+                }
+                case "executeBatch" -> {
+                    roundTrip();
+                    executions.add(new Execution(normalize(preparedSql), batched[0], true, Map.of()));
+                    int[] counts = new int[batched[0]];
+                    Arrays.fill(counts, 1);
+                    batched[0] = 0;
+                    yield counts;
+                }
+                case "executeUpdate" -> {
+                    String sql = normalize(args != null ? (String) args[0] : preparedSql);
+                    roundTrip();
+                    int updated = executeUpdate(sql, parameters);
+                    executions.add(new Execution(sql, updated, false, new HashMap<>(parameters)));
+                    yield updated;
+                }
+                case "executeQuery" -> {
+                    String sql = normalize(args != null ? (String) args[0] : preparedSql);
+                    roundTrip();
+                    executions.add(new Execution(sql, 0, false, new HashMap<>(parameters)));
+                    yield executeQuery(sql, parameters);
+                }
+                default -> defaultValue(method.getReturnType());
+            };
+        });
+    }
+
+    private void roundTrip() {
+        if (roundTripMs > 0) {
+            try {
+                Thread.sleep(roundTripMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private int executeUpdate(String commented, Map<Integer, Object> parameters) {
+        // Hibernate prefixes the statements of queries with the query as a comment
+        String sql = commented.replaceFirst("^/\\*.*?\\*/ ", "");
+        if (sql.startsWith("insert into id_generators") && sql.contains("on duplicate key update")) {
+            // IdGeneratorSeeder: next_val = GREATEST(next_val, ?)
+            idGenerators.merge((String) parameters.get(1), ((Number) parameters.get(3)).longValue(), Math::max);
+        } else if (sql.startsWith("insert into id_generators")) {
+            idGenerators.put((String) parameters.get(1), ((Number) parameters.get(2)).longValue());
+        } else if (sql.startsWith("update id_generators")) {
+            String name = (String) parameters.get(3);
+            long expected = ((Number) parameters.get(2)).longValue();
+            if (!idGenerators.containsKey(name) || idGenerators.get(name) != expected) {
+                return 0;
+            }
+            idGenerators.put(name, ((Number) parameters.get(1)).longValue());
+        } else if (sql.startsWith("update scheduler_leases")) {
+            // set owner=?, expires_at=? where name=? and (owner=? or expires_at<?)
+            Lease lease = leases.get((String) parameters.get(3));
+            if (lease == null || !(lease.owner().equals(parameters.get(4))
+                    || lease.expiresAt().isBefore(dateTime(parameters.get(5))))) {
+                return 0;
+            }
+            leases.put((String) parameters.get(3), new Lease((String) parameters.get(1), dateTime(parameters.get(2))));
+        } else if (sql.startsWith("insert ignore into scheduler_leases")) {
+            if (leases.containsKey((String) parameters.get(1))) {
+                return 0;
+            }
+            leases.put((String) parameters.get(1), new Lease((String) parameters.get(2), dateTime(parameters.get(3))));
+        }
+        return 1;
+    }
+
+    private ResultSet executeQuery(String sql, Map<Integer, Object> parameters) {
+        Matcher maxId = MAX_ID.matcher(sql);
+        Matcher byId = BY_ID.matcher(sql);
+        Long value = sql.contains("from id_generators") ? idGenerators.get((String) parameters.get(1))
+                : maxId.matches() ? maxIds.getOrDefault(maxId.group(1), 0L)
+                : byId.find() && parameters.get(1) instanceof Number id
+                        && rows.getOrDefault(byId.group(1), Set.of()).contains(id.longValue()) ? id.longValue()
+                : null;
+        boolean[] remaining = {value != null};
+        boolean[] lastWasNull = {false};
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            // The value is in the first column, or in any column asked for by name
+            Object column = args != null && args.length > 0 && args[0] instanceof Integer index && index != 1 ? null : value;
+            return switch (method.getName()) {
+                case "next" -> {
+                    boolean hasRow = remaining[0];
+                    remaining[0] = false;
+                    yield hasRow;
+                }
+                case "getLong", "getObject" -> {
+                    lastWasNull[0] = column == null;
+                    yield column == null ? defaultValue(method.getReturnType()) : column;
+                }
+                case "wasNull" -> lastWasNull[0];
+                case "getMetaData" -> proxy(ResultSetMetaData.class, (metaProxy, metaMethod, metaArgs) ->
+                        metaMethod.getName().equals("getColumnCount") ? 1 : defaultValue(metaMethod.getReturnType()));
+                default -> {
+                    if (method.getName().startsWith("get")) {
+                        lastWasNull[0] = true;
+                    }
+                    yield defaultValue(method.getReturnType());
+                }
+            };
+        });
+    }
+
+    private static LocalDateTime dateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private static String normalize(String sql) {
+        return sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        InvocationHandler withIdentity = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            default -> handler.invoke(proxy, method, args);
+        };
+        return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[]{type}, withIdentity);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == double.class) return 0d;
+        if (type == float.class) return 0f;
+        return null;
+    }
+}
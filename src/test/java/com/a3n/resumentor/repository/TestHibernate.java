@@ -0,0 +1,78 @@
+package com.a3n.resumentor.repository;
+
+import com.a3n.resumentor.entity.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.Configuration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Builds a Hibernate SessionFactory with the application's entities and the
+ * spring.jpa.properties of the shipped configuration over a test DataSource, so the
+ * statements a test sees are the ones MySQL would get.
+ */
+public final class TestHibernate {
+
+    private static final String TEMPLATE = "/application.properties.template";
+    private static final String JPA_PREFIX = "spring.jpa.properties.";
+
+    private TestHibernate() {
+    }
+
+    public static SessionFactory sessionFactory(DataSource dataSource) {
+        return sessionFactory(dataSource, Map.of());
+    }
+
+    /**
+     * Same, with some Hibernate properties replaced, e.g. to compare against another
+     * batch size.
+     */
+    public static SessionFactory sessionFactory(DataSource dataSource, Map<String, String> overrides) {
+        Configuration configuration = new Configuration();
+        for (Class<?> entity : List.of(User.class, Resume.class, InterviewSession.class, InterviewQuestion.class,
+                Achievement.class, BankQuestion.class, SchedulerLease.class, ScoreTally.class)) {
+            configuration.addAnnotatedClass(entity);
+        }
+        shippedJpaProperties().forEach((key, value) -> configuration.setProperty((String) key, (String) value));
+        configuration.setProperty("hibernate.boot.allow_jdbc_metadata_access", "false");
+        configuration.setProperty("hibernate.hbm2ddl.auto", "none");
+        configuration.setProperty("hibernate.show_sql", "false");
+        // Spring Boot's default physical naming: expiresAt is the expires_at column
+        configuration.setProperty("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+        // What Spring's HibernateJpaVendorAdapter sets: a session keeps its connection until it is closed
+        configuration.setProperty("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_HOLD");
+        overrides.forEach(configuration::setProperty);
+        configuration.getProperties().put("hibernate.connection.datasource", dataSource);
+        return configuration.buildSessionFactory();
+    }
+
+    /**
+     * The application properties of the shipped configuration template.
+     */
+    public static Properties shippedProperties() {
+        Properties template = new Properties();
+        try (InputStream in = TestHibernate.class.getResourceAsStream(TEMPLATE)) {
+            template.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return template;
+    }
+
+    private static Properties shippedJpaProperties() {
+        Properties template = shippedProperties();
+        Properties jpa = new Properties();
+        template.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(JPA_PREFIX))
+                .forEach(name -> jpa.setProperty(name.substring(JPA_PREFIX.length()), template.getProperty(name)));
+        jpa.setProperty("hibernate.dialect", template.getProperty("spring.jpa.database-platform"));
+        return jpa;
+    }
+}
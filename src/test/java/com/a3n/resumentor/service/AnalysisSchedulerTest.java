@@ -0,0 +1,108 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.exception.CapacityExceededException;
+import com.a3n.resumentor.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A caller waits at most scheduler.max-wait-ms for a worker. Work that is still queued
+ * by then is dropped, while work that has started is awaited to the end.
+ */
+class AnalysisSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AnalysisScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        scheduler = new AnalysisScheduler();
+        ReflectionTestUtils.setField(scheduler, "userRepository", userRepository);
+        ReflectionTestUtils.setField(scheduler, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "workers", 1);
+        ReflectionTestUtils.setField(scheduler, "registeredQuantum", 4);
+        ReflectionTestUtils.setField(scheduler, "registeredMaxConcurrency", 1);
+        ReflectionTestUtils.setField(scheduler, "guestQuantum", 1);
+        ReflectionTestUtils.setField(scheduler, "guestMaxConcurrency", 1);
+        ReflectionTestUtils.setField(scheduler, "maxQueued", 10);
+        ReflectionTestUtils.setField(scheduler, "maxQueuedPerUser", 10);
+        ReflectionTestUtils.setField(scheduler, "maxWaitMs", 100L);
+        scheduler.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void queuedWorkIsWithdrawnAfterTheMaximumWait() throws Exception {
+        occupyTheWorker();
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertThatThrownBy(() -> scheduler.call(2L, AnalysisScheduler.Workload.INTERVIEW_EVALUATION, () -> {
+            ran.set(true);
+            return "late";
+        })).isInstanceOf(CapacityExceededException.class);
+
+        assertThat(ReflectionTestUtils.getField(scheduler, "queued")).isEqualTo(0);
+        assertThat(meterRegistry.counter("resumentor.scheduler.expired", "class", "registered").count()).isEqualTo(1);
+
+        // The freed worker serves new work and never the withdrawn task
+        release.countDown();
+        assertThat(scheduler.call(3L, AnalysisScheduler.Workload.INTERVIEW_EVALUATION, () -> "next")).isEqualTo("next");
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void startedWorkIsAwaitedPastTheMaximumWait() throws Exception {
+        String result = scheduler.call(1L, AnalysisScheduler.Workload.RESUME_ANALYSIS, () -> {
+            Thread.sleep(300);
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(meterRegistry.counter("resumentor.scheduler.expired", "class", "registered").count()).isZero();
+    }
+
+    @Test
+    void withdrawingOneTaskKeepsTheRestOfTheUsersQueue() throws Exception {
+        occupyTheWorker();
+        CompletableFuture<String> queued = scheduler.submit(2L, AnalysisScheduler.Workload.INTERVIEW_EVALUATION, () -> "kept");
+
+        assertThatThrownBy(() -> scheduler.call(2L, AnalysisScheduler.Workload.INTERVIEW_EVALUATION, () -> "dropped"))
+                .isInstanceOf(CapacityExceededException.class);
+
+        release.countDown();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("kept");
+    }
+
+    private void occupyTheWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        scheduler.submit(1L, AnalysisScheduler.Workload.RESUME_ANALYSIS, () -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
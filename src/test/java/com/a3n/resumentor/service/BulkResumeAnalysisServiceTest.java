@@ -0,0 +1,145 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.User;
+import com.a3n.resumentor.exception.CapacityExceededException;
+import com.a3n.resumentor.repository.UserRepository;
+import com.a3n.resumentor.storage.StagedUpload;
+import com.a3n.resumentor.util.FileUploadUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Bulk batches are admitted up to the global and per-user limits, extra batches are
+ * refused before anything is staged, and a finished batch frees its slot.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BulkResumeAnalysisServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FileUploadUtil fileUploadUtil;
+
+    @Mock
+    private AnalysisScheduler analysisScheduler;
+
+    @Mock
+    private ResumeAnalysisService resumeAnalysisService;
+
+    @InjectMocks
+    private BulkResumeAnalysisService service;
+
+    // Holds every running batch inside the scheduler until released
+    private final CountDownLatch finish = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(service, "poolSize", 2);
+        ReflectionTestUtils.setField(service, "maxFiles", 10);
+        ReflectionTestUtils.setField(service, "persistBatchSize", 10);
+        ReflectionTestUtils.setField(service, "sseTimeoutMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxConcurrentBatches", 2);
+        ReflectionTestUtils.setField(service, "maxBatchesPerUser", 1);
+        service.init();
+
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setId(invocation.getArgument(0));
+            return Optional.of(user);
+        });
+        when(fileUploadUtil.stageUpload(any())).thenAnswer(invocation -> mock(StagedUpload.class));
+        when(analysisScheduler.call(anyLong(), any(), any())).thenAnswer(invocation -> {
+            finish.await(10, TimeUnit.SECONDS);
+            throw new IllegalStateException("analysis stopped");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        finish.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void secondBatchOfTheSameUserIsRefusedBeforeStaging() throws Exception {
+        service.startBulkAnalysis(files("a.pdf"), "Developer", null, 1L);
+
+        assertThatThrownBy(() -> service.startBulkAnalysis(files("b.pdf"), "Developer", null, 1L))
+                .isInstanceOf(CapacityExceededException.class);
+        verify(fileUploadUtil, never()).stageUpload(argThat(file -> "b.pdf".equals(file.getOriginalFilename())));
+    }
+
+    @Test
+    void batchesBeyondTheGlobalLimitAreRefused() throws Exception {
+        service.startBulkAnalysis(files("a.pdf"), "Developer", null, 1L);
+        service.startBulkAnalysis(files("b.pdf"), "Developer", null, 2L);
+
+        assertThatThrownBy(() -> service.startBulkAnalysis(files("c.pdf"), "Developer", null, 3L))
+                .isInstanceOf(CapacityExceededException.class)
+                .hasMessageContaining("Too many bulk analyses");
+        // The refused user holds no slot of their own afterwards
+        finish.countDown();
+        awaitAdmitted(3L);
+    }
+
+    @Test
+    void finishedBatchFreesItsSlot() throws Exception {
+        service.startBulkAnalysis(files("a.pdf"), "Developer", null, 1L);
+        finish.countDown();
+
+        awaitAdmitted(1L);
+    }
+
+    @Test
+    void stagingFailureFreesTheSlot() throws Exception {
+        when(fileUploadUtil.stageUpload(any())).thenThrow(new IOException("disk full"));
+
+        assertThatThrownBy(() -> service.startBulkAnalysis(files("a.pdf"), "Developer", null, 1L))
+                .isInstanceOf(IOException.class);
+        // Had the slot leaked, this would be refused as a second batch
+        assertThatThrownBy(() -> service.startBulkAnalysis(files("a.pdf"), "Developer", null, 1L))
+                .isInstanceOf(IOException.class)
+                .hasMessage("disk full");
+    }
+
+    private void awaitAdmitted(Long userId) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            try {
+                service.startBulkAnalysis(List.of(), "Developer", null, userId);
+                return;
+            } catch (CapacityExceededException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static List<MultipartFile> files(String name) {
+        return List.of(new MockMultipartFile("files", name, "application/pdf", new byte[]{1}));
+    }
+}
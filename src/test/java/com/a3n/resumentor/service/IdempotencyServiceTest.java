@@ -0,0 +1,241 @@
+package com.a3n.resumentor.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Replays of requests carrying an Idempotency-Key: a duplicate of a running request waits
+ * for its response or gets 409 when the wait times out, a key reused for another payload
+ * gets 422, server errors and exceptions are not remembered, entries expire after their
+ * TTL, and eviction never drops a request that is still running.
+ */
+class IdempotencyServiceTest {
+
+    private static final String FINGERPRINT = "fingerprint";
+
+    private final IdempotencyService service = new IdempotencyService();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxEntries", 100);
+        ReflectionTestUtils.setField(service, "ttlMinutes", 60L);
+        ReflectionTestUtils.setField(service, "waitTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheRunningRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ResponseEntity<?>> first = executor.submit(() -> execute("key", FINGERPRINT, () -> {
+            started.countDown();
+            await(release);
+            return ok("first");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<ResponseEntity<?>> duplicate = executor.submit(() -> execute("key", FINGERPRINT, () -> ok("second")));
+        Thread.sleep(100);
+        assertThat(duplicate.isDone()).isFalse();
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("first");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("first");
+        assertThat(runs).hasValue(1);
+        assertThat(meterRegistry.counter("resumentor.idempotency.replayed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateGets409WhenTheRunningRequestTakesTooLong() throws Exception {
+        ReflectionTestUtils.setField(service, "waitTimeoutMs", 100L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ResponseEntity<?>> first = executor.submit(() -> execute("key", FINGERPRINT, () -> {
+            started.countDown();
+            await(release);
+            return ok("first");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ResponseEntity<?> duplicate = execute("key", FINGERPRINT, () -> ok("second"));
+
+        assertThat(duplicate.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("first");
+        // Once the original finishes, a retry replays it
+        assertThat(execute("key", FINGERPRINT, () -> ok("third")).getBody()).isEqualTo("first");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keyReusedForAnotherPayloadGets422() {
+        execute("key", FINGERPRINT, () -> ok("first"));
+
+        ResponseEntity<?> reused = execute("key", "another fingerprint", () -> ok("second"));
+
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_CONTENT);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void serverErrorsAreNotRemembered() {
+        ResponseEntity<?> failed = execute("key", FINGERPRINT,
+                () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("busy"));
+
+        ResponseEntity<?> retried = execute("key", FINGERPRINT, () -> ok("second"));
+
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(retried.getBody()).isEqualTo("second");
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void clientErrorsAreReplayed() {
+        execute("key", FINGERPRINT, () -> ResponseEntity.badRequest().body("bad file"));
+
+        ResponseEntity<?> retried = execute("key", FINGERPRINT, () -> ok("second"));
+
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void exceptionsAreNotRemembered() {
+        assertThatThrownBy(() -> execute("key", FINGERPRINT, () -> {
+            throw new IllegalStateException("boom");
+        })).hasMessage("boom");
+
+        assertThat(execute("key", FINGERPRINT, () -> ok("second")).getBody()).isEqualTo("second");
+    }
+
+    @Test
+    void entriesExpireAfterTheirTtl() throws Exception {
+        ReflectionTestUtils.setField(service, "ttlMinutes", 0L);
+        execute("key", FINGERPRINT, () -> ok("first"));
+        Thread.sleep(1);
+
+        assertThat(execute("key", FINGERPRINT, () -> ok("second")).getBody()).isEqualTo("second");
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void keysAreScopedToUserAndEndpoint() {
+        service.execute("key", 1L, "resume-upload", FINGERPRINT, counted(() -> ok("user 1")));
+        ResponseEntity<?> otherUser = service.execute("key", 2L, "resume-upload", FINGERPRINT, counted(() -> ok("user 2")));
+        ResponseEntity<?> otherScope = service.execute("key", 1L, "resume-job", FINGERPRINT, counted(() -> ok("job")));
+
+        assertThat(otherUser.getBody()).isEqualTo("user 2");
+        assertThat(otherScope.getBody()).isEqualTo("job");
+        assertThat(runs).hasValue(3);
+    }
+
+    @Test
+    void requestsWithoutAKeyAlwaysRun() {
+        service.execute(null, 1L, "resume-upload", FINGERPRINT, counted(() -> ok("first")));
+        service.execute(" ", 1L, "resume-upload", FINGERPRINT, counted(() -> ok("second")));
+
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void evictionSkipsRequestsThatAreStillRunning() throws Exception {
+        ReflectionTestUtils.setField(service, "maxEntries", 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<ResponseEntity<?>> running = executor.submit(() -> execute("running", FINGERPRINT, () -> {
+            started.countDown();
+            await(release);
+            return ok("running");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        execute("a", FINGERPRINT, () -> ok("a"));
+        execute("b", FINGERPRINT, () -> ok("b"));
+        execute("c", FINGERPRINT, () -> ok("c"));
+
+        // "a" is the least recently used finished entry; "running" is older but in flight
+        assertThat(entries()).containsOnlyKeys("1:test:running", "1:test:c");
+        Future<ResponseEntity<?>> duplicate = executor.submit(() -> execute("running", FINGERPRINT, () -> ok("again")));
+        release.countDown();
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("running");
+        assertThat(running.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("running");
+        assertThat(runs).hasValue(4);
+    }
+
+    @Test
+    void asyncDuplicateCompletesWithTheFirstResponse() throws Exception {
+        CompletableFuture<ResponseEntity<?>> original = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<?>> first = service.executeAsync("key", 1L, "submit-answer", FINGERPRINT,
+                () -> {
+                    runs.incrementAndGet();
+                    return original;
+                });
+        CompletableFuture<ResponseEntity<?>> duplicate = service.executeAsync("key", 1L, "submit-answer", FINGERPRINT,
+                () -> {
+                    runs.incrementAndGet();
+                    return CompletableFuture.completedFuture(ok("second"));
+                });
+        assertThat(duplicate).isNotDone();
+
+        original.complete(ok("first"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("first");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("first");
+        assertThat(runs).hasValue(1);
+    }
+
+    private ResponseEntity<?> execute(String key, String fingerprint, Supplier<ResponseEntity<?>> action) {
+        return service.execute(key, 1L, "test", fingerprint, counted(action));
+    }
+
+    private Supplier<ResponseEntity<?>> counted(Supplier<ResponseEntity<?>> action) {
+        return () -> {
+            runs.incrementAndGet();
+            return action.get();
+        };
+    }
+
+    private static ResponseEntity<?> ok(String body) {
+        return ResponseEntity.ok(body);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> entries() {
+        return (Map<String, ?>) ReflectionTestUtils.getField(service, "entries");
+    }
+}
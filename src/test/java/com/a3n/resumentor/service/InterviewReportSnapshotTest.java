@@ -0,0 +1,156 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.dto.ReportDTO;
+import com.a3n.resumentor.dto.ReportSnapshot;
+import com.a3n.resumentor.entity.InterviewQuestion;
+import com.a3n.resumentor.entity.InterviewSession;
+import com.a3n.resumentor.entity.ScoreTally;
+import com.a3n.resumentor.repository.InterviewQuestionRepository;
+import com.a3n.resumentor.repository.InterviewSessionRepository;
+import com.a3n.resumentor.util.MockAIAnalyzer;
+import com.a3n.resumentor.util.OpenAIService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Optional;
+
+import static com.a3n.resumentor.service.InterviewService.REPORT_SNAPSHOT_VERSION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * A finished interview's report is served from its snapshot while the snapshot carries the
+ * current REPORT_SNAPSHOT_VERSION; a snapshot of another version or one that cannot be
+ * read is rebuilt from the questions and stored again. Ongoing interviews are always built
+ * fresh and never stored.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InterviewReportSnapshotTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private InterviewSessionRepository interviewSessionRepository;
+
+    @Mock
+    private InterviewQuestionRepository interviewQuestionRepository;
+
+    @Mock
+    private MockAIAnalyzer mockAIAnalyzer;
+
+    @Mock
+    private OpenAIService openAIService;
+
+    @InjectMocks
+    private InterviewService interviewService;
+
+    private InterviewSession session;
+
+    @BeforeEach
+    void setUp() {
+        session = new InterviewSession();
+        session.setId(1L);
+        session.setDurationMinutes(20);
+        session.setStatus(InterviewSession.SessionStatus.COMPLETED);
+        session.setBasicScores(new ScoreTally(150, 2));
+        when(interviewSessionRepository.findBySessionIdAndUserId(1L, 1L)).thenReturn(Optional.of(session));
+        when(interviewQuestionRepository.findBySessionOrderByQuestionNumberAsc(session))
+                .thenReturn(List.of(question(1, 70), question(2, 80)));
+        when(openAIService.isAvailable()).thenReturn(false);
+    }
+
+    @Test
+    void currentSnapshotIsServedWithoutLoadingQuestions() throws Exception {
+        ReportDTO stored = new ReportDTO();
+        stored.setSessionId(1L);
+        stored.setTotalScore(42);
+        stored.setPerformanceTier("NEEDS_IMPROVEMENT");
+        String snapshot = objectMapper.writeValueAsString(new ReportSnapshot(REPORT_SNAPSHOT_VERSION, stored));
+        session.setFeedbackReport(snapshot);
+
+        ReportDTO report = interviewService.getInterviewReport(1L, 1L);
+
+        assertThat(report.getTotalScore()).isEqualTo(42);
+        assertThat(report.getPerformanceTier()).isEqualTo("NEEDS_IMPROVEMENT");
+        assertThat(session.getFeedbackReport()).isEqualTo(snapshot);
+        verify(interviewQuestionRepository, never()).findBySessionOrderByQuestionNumberAsc(any());
+        verify(interviewSessionRepository, never()).save(any());
+    }
+
+    @Test
+    void snapshotOfAnotherVersionIsRebuiltAndStored() throws Exception {
+        ReportDTO stale = new ReportDTO();
+        stale.setTotalScore(42);
+        session.setFeedbackReport(objectMapper.writeValueAsString(new ReportSnapshot(REPORT_SNAPSHOT_VERSION - 1, stale)));
+
+        ReportDTO report = interviewService.getInterviewReport(1L, 1L);
+
+        assertRebuiltAndStored(report);
+    }
+
+    @Test
+    void unreadableSnapshotIsRebuiltAndStored() throws Exception {
+        session.setFeedbackReport("Great interview, keep practising!");
+
+        ReportDTO report = interviewService.getInterviewReport(1L, 1L);
+
+        assertRebuiltAndStored(report);
+    }
+
+    @Test
+    void ongoingSessionIsNeverStored() throws Exception {
+        session.setStatus(InterviewSession.SessionStatus.ONGOING);
+
+        ReportDTO report = interviewService.getInterviewReport(1L, 1L);
+
+        assertThat(report.getTotalScore()).isEqualTo(75);
+        assertThat(session.getFeedbackReport()).isNull();
+        verify(interviewSessionRepository, never()).save(any());
+
+        // Even a current snapshot is not served while the interview can still change
+        ReportDTO stored = new ReportDTO();
+        stored.setTotalScore(42);
+        session.setFeedbackReport(objectMapper.writeValueAsString(new ReportSnapshot(REPORT_SNAPSHOT_VERSION, stored)));
+
+        assertThat(interviewService.getInterviewReport(1L, 1L).getTotalScore()).isEqualTo(75);
+        verify(interviewSessionRepository, never()).save(any());
+    }
+
+    private void assertRebuiltAndStored(ReportDTO report) throws Exception {
+        assertThat(report.getTotalScore()).isEqualTo(75);
+        verify(interviewQuestionRepository).findBySessionOrderByQuestionNumberAsc(session);
+        verify(interviewSessionRepository).save(session);
+
+        JsonNode stored = objectMapper.readTree(session.getFeedbackReport());
+        assertThat(stored.path("version").asInt()).isEqualTo(REPORT_SNAPSHOT_VERSION);
+        assertThat(stored.path("report").path("totalScore").asInt()).isEqualTo(75);
+
+        // The stored snapshot now serves the next view
+        clearInvocations(interviewQuestionRepository, interviewSessionRepository);
+        assertThat(interviewService.getInterviewReport(1L, 1L).getTotalScore()).isEqualTo(75);
+        verify(interviewQuestionRepository, never()).findBySessionOrderByQuestionNumberAsc(any());
+        verify(interviewSessionRepository, never()).save(any());
+    }
+
+    private InterviewQuestion question(int number, int score) {
+        InterviewQuestion question = new InterviewQuestion();
+        question.setSession(session);
+        question.setQuestionNumber(number);
+        question.setQuestionText("Explain dependency injection.");
+        question.setDifficultyLevel(InterviewQuestion.DifficultyLevel.BASIC);
+        question.setUserAnswer("It hands a class its collaborators instead of having it build them.");
+        question.setAnswerScore(score);
+        return question;
+    }
+}
@@ -0,0 +1,279 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.InterviewQuestion;
+import com.a3n.resumentor.entity.InterviewQuestion.DifficultyLevel;
+import com.a3n.resumentor.entity.InterviewSession;
+import com.a3n.resumentor.repository.InterviewQuestionRepository;
+import com.a3n.resumentor.repository.InterviewSessionRepository;
+import com.a3n.resumentor.repository.RecordingDataSource;
+import com.a3n.resumentor.repository.TestHibernate;
+import com.a3n.resumentor.util.MockAIAnalyzer;
+import com.a3n.resumentor.util.OpenAIService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Submitting answers keeps the per-difficulty and technical/behavioral tallies on the
+ * session equal to what findScoresByDifficulty computes from the answered rows: a first
+ * answer adds its score, a re-answer replaces the earlier score, and blank answers do
+ * not count. The question updates are modelled after their JPQL in memory; the tally
+ * update is the SQL Hibernate generates from addScore, evaluated against the session row.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class InterviewScoreTallyTest {
+
+    private static final long SESSION_ID = 7L;
+    private static final long USER_ID = 1L;
+    private static final String GOOD_ANSWER = "I designed the API around resources, for example orders and payments, "
+            + "and added caching which reduced latency by 40%. Additionally I wrote integration tests and "
+            + "documented the contracts so other teams could adopt it quickly.";
+    private static final String OTHER_ANSWER = "We talked it through, agreed on metrics and shipped a smaller first version.";
+    // col=(alias.col+case ? when 'level' then ? else 0 end) or col=(alias.col+case when ?=true then ? else 0 end)
+    private static final Pattern ASSIGNMENT = Pattern.compile(
+            "(\\w+)=\\(\\w+\\.(\\w+)\\+case (?:\\? when '(\\w+)'|when \\?=(true|false)) then \\? else 0 end\\)");
+
+    @Mock
+    private InterviewQuestionRepository interviewQuestionRepository;
+
+    @Mock
+    private InterviewSessionRepository interviewSessionRepository;
+
+    @Mock
+    private LiveInterviewStateCache liveInterviewStateCache;
+
+    @Mock
+    private OpenAIService openAIService;
+
+    @Spy
+    private MockAIAnalyzer mockAIAnalyzer = new MockAIAnalyzer();
+
+    @InjectMocks
+    private InterviewService interviewService;
+
+    private final RecordingDataSource database = new RecordingDataSource();
+    private final Map<Long, InterviewQuestion> rows = new LinkedHashMap<>();
+    private final Map<String, Integer> sessionRow = new HashMap<>();
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = TestHibernate.sessionFactory(database.dataSource());
+
+        InterviewSession session = new InterviewSession();
+        session.setId(SESSION_ID);
+        session.setStartTime(LocalDateTime.now());
+        List<InterviewQuestion> questions = List.of(
+                question(1, "How would you design a REST API for orders?", DifficultyLevel.BASIC),
+                question(2, "Tell me about a time you disagreed with a teammate.", DifficultyLevel.INTERMEDIATE),
+                question(3, "How would you scale a database for heavy writes?", DifficultyLevel.ADVANCED),
+                question(4, "What motivates you at work?", DifficultyLevel.BASIC),
+                // Never answered, so the interview stays open
+                question(5, "Walk me through your last project.", DifficultyLevel.ADVANCED));
+        when(liveInterviewStateCache.get(SESSION_ID))
+                .thenReturn(LiveInterviewStateCache.from(session, USER_ID, questions));
+
+        when(interviewQuestionRepository.recordFirstAnswer(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            // ... WHERE q.id = :id AND q.userAnswer IS NULL
+            InterviewQuestion row = rows.get(invocation.<Long>getArgument(0));
+            if (row.getUserAnswer() != null) {
+                return 0;
+            }
+            record(row, invocation.getArgument(1), invocation.getArgument(2), invocation.getArgument(3));
+            return 1;
+        });
+        when(interviewQuestionRepository.recordAnswer(anyLong(), any(), any(), any())).thenAnswer(invocation -> {
+            record(rows.get(invocation.<Long>getArgument(0)), invocation.getArgument(1), invocation.getArgument(2),
+                    invocation.getArgument(3));
+            return 1;
+        });
+        when(interviewQuestionRepository.findCountedScore(anyLong())).thenAnswer(invocation -> {
+            InterviewQuestion row = rows.get(invocation.<Long>getArgument(0));
+            return counts(row) ? Optional.of(row.getAnswerScore()) : Optional.empty();
+        });
+        when(interviewQuestionRepository.countUnanswered(SESSION_ID))
+                .thenAnswer(invocation -> rows.values().stream().filter(row -> row.getUserAnswer() == null).count());
+        when(interviewSessionRepository.addScore(eq(SESSION_ID), anyString(), anyBoolean(), anyInt(), anyInt()))
+                .thenAnswer(invocation -> addScore(invocation.getArgument(1), invocation.getArgument(2),
+                        invocation.getArgument(3), invocation.getArgument(4)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void firstAnswersAddTheirScores() {
+        submit(1, GOOD_ANSWER);
+        submit(2, OTHER_ANSWER);
+
+        assertTalliesMatchAnsweredRows();
+        assertThat(sessionRow).containsEntry("basic_scored_count", 1).containsEntry("intermediate_scored_count", 1)
+                .containsEntry("advanced_scored_count", 0)
+                .containsEntry("technical_scored_count", 1).containsEntry("behavioral_scored_count", 1)
+                .containsEntry("basic_score_sum", rows.get(1L).getAnswerScore())
+                .containsEntry("technical_score_sum", rows.get(1L).getAnswerScore());
+    }
+
+    @Test
+    void reAnswerReplacesTheEarlierScore() {
+        submit(1, GOOD_ANSWER);
+        submit(1, OTHER_ANSWER);
+
+        assertTalliesMatchAnsweredRows();
+        assertThat(sessionRow).containsEntry("basic_scored_count", 1)
+                .containsEntry("basic_score_sum", rows.get(1L).getAnswerScore());
+        verify(interviewQuestionRepository).recordAnswer(eq(1L), eq(OTHER_ANSWER), any(), any());
+    }
+
+    @Test
+    void blankAnswersDoNotCount() {
+        submit(3, "   ");
+
+        assertTalliesMatchAnsweredRows();
+        assertThat(sessionRow.getOrDefault("advanced_scored_count", 0)).isZero();
+        // A blank first answer scores 0 and leaves the tallies alone
+        verify(interviewSessionRepository, never()).addScore(anyLong(), anyString(), anyBoolean(), anyInt(), anyInt());
+
+        // Answering it properly afterwards counts it once
+        submit(3, GOOD_ANSWER);
+        assertTalliesMatchAnsweredRows();
+        assertThat(sessionRow).containsEntry("advanced_scored_count", 1).containsEntry("technical_scored_count", 1);
+    }
+
+    @Test
+    void blankReAnswerTakesTheEarlierScoreBackOut() {
+        submit(2, OTHER_ANSWER);
+        submit(2, " ");
+
+        assertTalliesMatchAnsweredRows();
+        assertThat(sessionRow).containsEntry("intermediate_scored_count", 0).containsEntry("intermediate_score_sum", 0)
+                .containsEntry("behavioral_scored_count", 0).containsEntry("behavioral_score_sum", 0);
+    }
+
+    @Test
+    void mixedSequenceKeepsEveryBucketInStep() {
+        submit(1, GOOD_ANSWER);
+        submit(2, OTHER_ANSWER);
+        submit(3, "");
+        submit(1, OTHER_ANSWER);
+        submit(3, GOOD_ANSWER);
+        submit(2, "  ");
+        submit(4, OTHER_ANSWER);
+
+        assertTalliesMatchAnsweredRows();
+        assertThat(sessionRow).containsEntry("basic_scored_count", 2).containsEntry("intermediate_scored_count", 0)
+                .containsEntry("advanced_scored_count", 1)
+                .containsEntry("technical_scored_count", 2).containsEntry("behavioral_scored_count", 1);
+    }
+
+    private void submit(long questionId, String answer) {
+        interviewService.submitAnswer(SESSION_ID, questionId, answer, USER_ID);
+        assertTalliesMatchAnsweredRows();
+    }
+
+    /**
+     * The tallies against findScoresByDifficulty's grouping of the counted rows, plus the
+     * same sums split by technical and behavioral question.
+     */
+    private void assertTalliesMatchAnsweredRows() {
+        Map<String, int[]> expected = new HashMap<>();
+        for (String bucket : List.of("basic", "intermediate", "advanced", "technical", "behavioral")) {
+            expected.put(bucket, new int[2]);
+        }
+        for (InterviewQuestion row : rows.values()) {
+            // ... AND q.answerScore IS NOT NULL AND q.userAnswer IS NOT NULL AND TRIM(q.userAnswer) <> ''
+            if (!counts(row)) {
+                continue;
+            }
+            String split = technical(row) ? "technical" : "behavioral";
+            for (String bucket : List.of(row.getDifficultyLevel().name().toLowerCase(), split)) {
+                expected.get(bucket)[0] += row.getAnswerScore();
+                expected.get(bucket)[1]++;
+            }
+        }
+        expected.forEach((bucket, tally) -> {
+            assertThat(sessionRow.getOrDefault(bucket + "_score_sum", 0)).as(bucket + " sum").isEqualTo(tally[0]);
+            assertThat(sessionRow.getOrDefault(bucket + "_scored_count", 0)).as(bucket + " count").isEqualTo(tally[1]);
+        });
+    }
+
+    /**
+     * Runs addScore through the real repository and applies the generated UPDATE to the
+     * session row, reading each CASE with its bound parameters.
+     */
+    private int addScore(String difficulty, boolean technical, int scoreDelta, int countDelta) {
+        database.clear();
+        try (EntityManager entityManager = sessionFactory.createEntityManager()) {
+            entityManager.getTransaction().begin();
+            new JpaRepositoryFactory(entityManager).getRepository(InterviewSessionRepository.class)
+                    .addScore(SESSION_ID, difficulty, technical, scoreDelta, countDelta);
+            entityManager.getTransaction().commit();
+        }
+        RecordingDataSource.Execution update = database.executions().get(0);
+        Matcher assignment = ASSIGNMENT.matcher(update.sql());
+        int parameter = 1;
+        int assignments = 0;
+        while (assignment.find()) {
+            assertThat(assignment.group(2)).isEqualTo(assignment.group(1));
+            Object selector = update.parameters().get(parameter++);
+            int delta = ((Number) update.parameters().get(parameter++)).intValue();
+            boolean applies = assignment.group(3) != null
+                    ? ((String) selector).equalsIgnoreCase(assignment.group(3))
+                    : selector.equals(Boolean.parseBoolean(assignment.group(4)));
+            sessionRow.merge(assignment.group(1), applies ? delta : 0, Integer::sum);
+            assignments++;
+        }
+        assertThat(assignments).isEqualTo(10);
+        assertThat(update.parameters().get(parameter)).isEqualTo(SESSION_ID);
+        return 1;
+    }
+
+    private InterviewQuestion question(long id, String text, DifficultyLevel difficulty) {
+        InterviewQuestion question = new InterviewQuestion();
+        question.setId(id);
+        question.setQuestionNumber((int) id);
+        question.setQuestionText(text);
+        question.setDifficultyLevel(difficulty);
+        question.setIsFollowUp(false);
+        rows.put(id, question);
+        return question;
+    }
+
+    private static void record(InterviewQuestion row, String answer, String feedback, Integer score) {
+        row.setUserAnswer(answer);
+        row.setAiFeedback(feedback);
+        row.setAnswerScore(score);
+    }
+
+    private static boolean counts(InterviewQuestion row) {
+        return row.getAnswerScore() != null && row.getUserAnswer() != null && !row.getUserAnswer().trim().isEmpty();
+    }
+
+    private static boolean technical(InterviewQuestion row) {
+        String text = row.getQuestionText().toLowerCase();
+        return List.of("code", "design", "implement", "api", "database", "system", "architecture", "testing")
+                .stream().anyMatch(text::contains);
+    }
+}
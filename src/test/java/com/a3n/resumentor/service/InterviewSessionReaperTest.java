@@ -0,0 +1,189 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.repository.InterviewSessionRepository;
+import com.a3n.resumentor.repository.RecordingDataSource;
+import com.a3n.resumentor.repository.SchedulerLeaseRepository;
+import com.a3n.resumentor.repository.TestHibernate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.a3n.resumentor.service.InterviewSessionReaper.LEASE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * The reaper runs only while its node holds the lease: it inserts the lease the first
+ * time, renews its own, takes over an expired one and backs off while another node's is
+ * live. When it runs, answered sessions are completed and scored in SQL before the
+ * remaining expired ones are abandoned. Hibernate translates the repository queries with
+ * the shipped configuration over RecordingDataSource, which keeps the lease table.
+ */
+class InterviewSessionReaperTest {
+
+    private final RecordingDataSource database = new RecordingDataSource();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InterviewSessionReaper reaper = new InterviewSessionReaper();
+    private SessionFactory sessionFactory;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = TestHibernate.sessionFactory(database.dataSource());
+        JpaTransactionManager transactionManager = new JpaTransactionManager(sessionFactory);
+        transactionManager.setJpaDialect(new HibernateJpaDialect());
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(
+                SharedEntityManagerCreator.createSharedEntityManager(sessionFactory));
+        ReflectionTestUtils.setField(reaper, "enabled", true);
+        ReflectionTestUtils.setField(reaper, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(reaper, "interviewSessionRepository",
+                repositories.getRepository(InterviewSessionRepository.class));
+        ReflectionTestUtils.setField(reaper, "schedulerLeaseRepository",
+                repositories.getRepository(SchedulerLeaseRepository.class));
+        ReflectionTestUtils.setField(reaper, "meterRegistry", meterRegistry);
+        reaper.init();
+        // reap() is @Transactional: the lease and both updates share one transaction
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void firstRunInsertsTheLease() {
+        reap();
+
+        assertThat(database.lease(LEASE_NAME).owner()).isEqualTo(nodeId());
+        assertThat(database.lease(LEASE_NAME).expiresAt())
+                .isCloseTo(LocalDateTime.now().plusSeconds(300), within(Duration.ofSeconds(5)));
+        assertThat(statements("insert ignore into scheduler_leases")).hasSize(1);
+        assertThat(sessionUpdates()).hasSize(2);
+    }
+
+    @Test
+    void holderRenewsItsLease() {
+        database.putLease(LEASE_NAME, nodeId(), LocalDateTime.now().plusSeconds(10));
+
+        reap();
+
+        assertThat(database.lease(LEASE_NAME).owner()).isEqualTo(nodeId());
+        assertThat(database.lease(LEASE_NAME).expiresAt()).isAfter(LocalDateTime.now().plusSeconds(250));
+        // Renewed by the update, so no insert is attempted
+        assertThat(statements("insert ignore into scheduler_leases")).isEmpty();
+        assertThat(sessionUpdates()).hasSize(2);
+    }
+
+    @Test
+    void expiredLeaseOfAnotherNodeIsTakenOver() {
+        database.putLease(LEASE_NAME, "other-node", LocalDateTime.now().minusMinutes(1));
+
+        reap();
+
+        assertThat(database.lease(LEASE_NAME).owner()).isEqualTo(nodeId());
+        assertThat(sessionUpdates()).hasSize(2);
+    }
+
+    @Test
+    void liveLeaseOfAnotherNodeStopsTheRun() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(4);
+        database.putLease(LEASE_NAME, "other-node", expiresAt);
+
+        reap();
+
+        assertThat(database.lease(LEASE_NAME)).isEqualTo(new RecordingDataSource.Lease("other-node", expiresAt));
+        assertThat(statements("insert ignore into scheduler_leases")).hasSize(1);
+        assertThat(sessionUpdates()).isEmpty();
+        assertThat(meterRegistry.counter("resumentor.interview.reaped", "outcome", "completed").count()).isZero();
+    }
+
+    @Test
+    void answeredSessionsAreCompletedBeforeTheRestAreAbandoned() {
+        LocalDateTime before = LocalDateTime.now();
+        reap();
+
+        List<RecordingDataSource.Execution> updates = sessionUpdates();
+        RecordingDataSource.Execution complete = updates.get(0);
+        RecordingDataSource.Execution abandon = updates.get(1);
+
+        // set status, end_time, duration_minutes, score where status and start_time
+        assertThat(complete.sql()).contains("exists(select 1 from interview_questions");
+        assertThat(complete.parameters()).containsEntry(1, "COMPLETED").containsEntry(3, 30).containsEntry(4, "ONGOING");
+        assertThat(dateTime(complete.parameters().get(5)))
+                .isCloseTo(before.minusMinutes(InterviewService.INTERVIEW_DURATION_MINUTES), within(Duration.ofSeconds(5)));
+        // Abandons whatever is still ongoing, i.e. the sessions without an answer
+        assertThat(strip(abandon.sql()))
+                .isEqualTo("update interview_sessions set status=?,end_time=? where status=? and start_time<?");
+        assertThat(abandon.parameters()).containsEntry(1, "ABANDONED").containsEntry(3, "ONGOING");
+        assertThat(abandon.parameters().get(4)).isEqualTo(complete.parameters().get(5));
+        assertThat(meterRegistry.counter("resumentor.interview.reaped", "outcome", "completed").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("resumentor.interview.reaped", "outcome", "abandoned").count()).isEqualTo(1);
+    }
+
+    @Test
+    void completedSessionsAreScoredInSqlFromNonBlankScoredAnswers() {
+        reap();
+
+        assertThat(strip(sessionUpdates().get(0).sql())).contains(
+                "score=(select coalesce(floor(avg(answer_score)),0) from interview_questions "
+                        + "where session_id=id and answer_score is not null and user_answer is not null "
+                        + "and trim(both from user_answer)<>'')");
+    }
+
+    @Test
+    void disabledReaperDoesNothing() {
+        ReflectionTestUtils.setField(reaper, "enabled", false);
+
+        reap();
+
+        assertThat(database.executions()).isEmpty();
+        assertThat(database.lease(LEASE_NAME)).isNull();
+    }
+
+    private void reap() {
+        transaction.executeWithoutResult(status -> reaper.reap());
+    }
+
+    private String nodeId() {
+        return (String) ReflectionTestUtils.getField(reaper, "nodeId");
+    }
+
+    private List<RecordingDataSource.Execution> statements(String prefix) {
+        return database.executions().stream()
+                .filter(execution -> withoutComment(execution.sql()).startsWith(prefix))
+                .toList();
+    }
+
+    private List<RecordingDataSource.Execution> sessionUpdates() {
+        return database.executions().stream()
+                .filter(execution -> execution.sql().contains("update interview_sessions"))
+                .toList();
+    }
+
+    private static String withoutComment(String sql) {
+        return sql.replaceFirst("^/\\*.*?\\*/ ", "");
+    }
+
+    // Drops Hibernate's generated table aliases so the SQL reads like the JPQL
+    private static String strip(String sql) {
+        return withoutComment(sql).replaceAll("\\b\\w+\\d_0\\.", "").replaceAll(" \\w+\\d_0\\b", "");
+    }
+
+    private static LocalDateTime dateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,102 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.InterviewQuestion;
+import com.a3n.resumentor.entity.InterviewSession;
+import com.a3n.resumentor.service.LiveInterviewStateCache.LiveInterview;
+import com.a3n.resumentor.util.AnswerFeatures;
+import com.a3n.resumentor.util.MockAIAnalyzer;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transcript buffers live only while their question is unanswered: submitting drops the
+ * buffer, and chunks that arrive afterwards are not buffered again.
+ */
+class LiveInterviewStateCacheTest {
+
+    private static final String QUESTION = "Tell me about a challenge you faced";
+    private static final int MAX_CHARS = 1000;
+
+    private final MockAIAnalyzer analyzer = new MockAIAnalyzer();
+    private final Supplier<AnswerFeatures> features = () -> analyzer.answerFeatures(QUESTION);
+    private final LiveInterview state = LiveInterviewStateCache.from(session(), 5L, List.of(question(1L, 1), question(2L, 2)));
+
+    @Test
+    void bufferedTranscriptIsUsedWhenItIsTheSubmittedAnswer() {
+        assertThat(state.appendTranscript(1L, "For example, ", false, features, MAX_CHARS)).isTrue();
+        assertThat(state.appendTranscript(1L, "I learned a lot", false, features, MAX_CHARS)).isTrue();
+
+        AnswerFeatures buffered = state.takeAnswerFeatures(1L, " For example, I learned a lot ");
+
+        assertThat(buffered).isNotNull();
+        assertThat(buffered.wordCount()).isEqualTo(6);
+    }
+
+    @Test
+    void markingAnsweredDropsTheBuffer() {
+        state.appendTranscript(1L, "Half an answer", false, features, MAX_CHARS);
+
+        state.markAnswered(1L);
+
+        assertThat(state.getTranscripts()).isEmpty();
+        assertThat(state.takeAnswerFeatures(1L, "Half an answer")).isNull();
+    }
+
+    @Test
+    void chunksOfAnsweredQuestionsAreNotBuffered() {
+        state.markAnswered(1L);
+
+        assertThat(state.appendTranscript(1L, "late chunk", false, features, MAX_CHARS)).isFalse();
+        assertThat(state.appendTranscript(1L, "late reset", true, features, MAX_CHARS)).isFalse();
+        assertThat(state.getTranscripts()).isEmpty();
+
+        // Other questions are unaffected
+        assertThat(state.appendTranscript(2L, "next answer", false, features, MAX_CHARS)).isTrue();
+        assertThat(state.getTranscripts()).containsOnlyKeys(2L);
+    }
+
+    @Test
+    void chunksOfUnknownQuestionsAreNotBuffered() {
+        assertThat(state.appendTranscript(99L, "stray chunk", false, features, MAX_CHARS)).isFalse();
+        assertThat(state.getTranscripts()).isEmpty();
+    }
+
+    @Test
+    void overflowingBufferIsDroppedUntilReset() {
+        assertThat(state.appendTranscript(1L, "x".repeat(MAX_CHARS), false, features, MAX_CHARS)).isTrue();
+        assertThat(state.appendTranscript(1L, "y", false, features, MAX_CHARS)).isFalse();
+        assertThat(state.takeAnswerFeatures(1L, "x".repeat(MAX_CHARS))).isNull();
+
+        assertThat(state.appendTranscript(1L, "typed over", true, features, MAX_CHARS)).isTrue();
+        assertThat(state.takeAnswerFeatures(1L, "typed over")).isNotNull();
+    }
+
+    @Test
+    void editedAnswerIsEvaluatedFromTheSubmittedText() {
+        state.appendTranscript(1L, "spoken answer", false, features, MAX_CHARS);
+
+        assertThat(state.takeAnswerFeatures(1L, "edited answer")).isNull();
+        assertThat(state.getTranscripts()).isEmpty();
+    }
+
+    private static InterviewSession session() {
+        InterviewSession session = new InterviewSession();
+        session.setId(10L);
+        session.setStartTime(LocalDateTime.now());
+        return session;
+    }
+
+    private static InterviewQuestion question(Long id, int number) {
+        InterviewQuestion question = new InterviewQuestion();
+        question.setId(id);
+        question.setQuestionNumber(number);
+        question.setQuestionText(QUESTION);
+        question.setDifficultyLevel(InterviewQuestion.DifficultyLevel.BASIC);
+        return question;
+    }
+}
@@ -0,0 +1,154 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.repository.ResumeRepository;
+import com.a3n.resumentor.storage.InMemoryResumeStorage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The orphan collector over the in-memory store: only files past the grace period and not
+ * referenced by a resume row are deleted, the references are checked one batch at a time,
+ * a run stops at its deletion cap, and what was removed is counted.
+ */
+class OrphanUploadCollectorTest {
+
+    @TempDir
+    Path workDir;
+
+    private final InMemoryResumeStorage storage = new InMemoryResumeStorage();
+    private final ResumeRepository resumeRepository = mock(ResumeRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrphanUploadCollector collector = new OrphanUploadCollector();
+    private final List<List<String>> checkedBatches = new ArrayList<>();
+    private Set<String> referenced = Set.of();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(collector, "enabled", true);
+        ReflectionTestUtils.setField(collector, "gracePeriodHours", 24L);
+        ReflectionTestUtils.setField(collector, "batchSize", 500);
+        ReflectionTestUtils.setField(collector, "maxDeletesPerRun", 1000);
+        ReflectionTestUtils.setField(collector, "batchPauseMs", 0L);
+        ReflectionTestUtils.setField(collector, "resumeStorage", storage);
+        ReflectionTestUtils.setField(collector, "resumeRepository", resumeRepository);
+        ReflectionTestUtils.setField(collector, "meterRegistry", meterRegistry);
+        collector.init();
+
+        when(resumeRepository.findReferencedFileUrls(anyList())).thenAnswer(invocation -> {
+            List<String> batch = invocation.getArgument(0);
+            checkedBatches.add(List.copyOf(batch));
+            return batch.stream().filter(referenced::contains).toList();
+        });
+    }
+
+    @Test
+    void filesInsideTheGracePeriodAreKept() throws IOException {
+        String fresh = store("fresh.pdf", "fresh", Duration.ofHours(23));
+        String old = store("old.pdf", "old", Duration.ofHours(25));
+
+        collector.collect();
+
+        assertThat(locations()).containsExactly(fresh);
+        assertThat(checkedBatches).containsExactly(List.of(old));
+    }
+
+    @Test
+    void referencedFilesAreKept() throws IOException {
+        String kept = store("kept.pdf", "kept", Duration.ofDays(3));
+        store("orphan.pdf", "orphan", Duration.ofDays(3));
+        referenced = Set.of(kept);
+
+        collector.collect();
+
+        assertThat(locations()).containsExactly(kept);
+    }
+
+    @Test
+    void referencesAreCheckedOneBatchAtATime() throws IOException {
+        ReflectionTestUtils.setField(collector, "batchSize", 2);
+        for (int i = 0; i < 5; i++) {
+            store("resume-" + i + ".pdf", "x", Duration.ofDays(2));
+        }
+
+        collector.collect();
+
+        assertThat(checkedBatches).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(checkedBatches.stream().flatMap(Collection::stream).distinct()).hasSize(5);
+        assertThat(locations()).isEmpty();
+    }
+
+    @Test
+    void aRunStopsAtItsDeletionCap() throws IOException {
+        ReflectionTestUtils.setField(collector, "batchSize", 2);
+        ReflectionTestUtils.setField(collector, "maxDeletesPerRun", 3);
+        for (int i = 0; i < 7; i++) {
+            store("resume-" + i + ".pdf", "x", Duration.ofDays(2));
+        }
+
+        collector.collect();
+
+        assertThat(locations()).hasSize(4);
+        assertThat(checkedBatches).hasSize(2);
+
+        collector.collect();
+
+        assertThat(locations()).hasSize(1);
+    }
+
+    @Test
+    void deletionsAndReclaimedBytesAreCounted() throws IOException {
+        store("a.pdf", "12345", Duration.ofDays(2));
+        store("b.pdf", "1234567890", Duration.ofDays(2));
+        referenced = Set.of(store("c.pdf", "referenced", Duration.ofDays(2)));
+        store("d.pdf", "too new", Duration.ZERO);
+
+        collector.collect();
+
+        assertThat(meterRegistry.counter("resumentor.storage.gc.deleted").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("resumentor.storage.gc.reclaimed").count()).isEqualTo(15);
+    }
+
+    @Test
+    void disabledCollectorTouchesNothing() throws IOException {
+        ReflectionTestUtils.setField(collector, "enabled", false);
+        store("orphan.pdf", "orphan", Duration.ofDays(3));
+
+        collector.collect();
+
+        assertThat(locations()).hasSize(1);
+        assertThat(checkedBatches).isEmpty();
+    }
+
+    private String store(String key, String content, Duration age) throws IOException {
+        String location = storage.store(key, Files.writeString(workDir.resolve(key), content)).join();
+        @SuppressWarnings("unchecked")
+        Map<String, Instant> storedAt = (Map<String, Instant>) ReflectionTestUtils.getField(storage, "storedAt");
+        storedAt.put(key, Instant.now().minus(age));
+        return location;
+    }
+
+    private List<String> locations() throws IOException {
+        try (var listing = storage.list()) {
+            return listing.map(object -> object.getLocation()).toList();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.a3n.resumentor.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * The sparse Fisher-Yates draw behaves like shuffling the concatenated pools and taking a
+ * prefix: every question and every ordered pick is equally likely, nothing is drawn twice,
+ * and questions already chosen are skipped.
+ */
+class QuestionBankIndexTest {
+
+    private static final List<List<String>> POOLS = List.of(List.of("a", "b", "c"), List.of(), List.of("d", "e"));
+    private static final int RUNS = 200_000;
+
+    @Test
+    void drawsAreUniformOverAllPools() {
+        Random random = new Random(7);
+        Map<String, Integer> singles = new HashMap<>();
+        Map<List<String>, Integer> pairs = new HashMap<>();
+        for (int run = 0; run < RUNS; run++) {
+            List<String> drawn = QuestionBankIndex.sample(2, new HashSet<>(), random, POOLS);
+            drawn.forEach(question -> singles.merge(question, 1, Integer::sum));
+            pairs.merge(drawn, 1, Integer::sum);
+        }
+
+        assertThat(singles).containsOnlyKeys("a", "b", "c", "d", "e");
+        singles.values().forEach(count -> assertThat((double) count / RUNS).isCloseTo(2.0 / 5, within(0.01)));
+        // 5 * 4 ordered pairs
+        assertThat(pairs).hasSize(20);
+        pairs.values().forEach(count -> assertThat((double) count / RUNS).isCloseTo(1.0 / 20, within(0.005)));
+    }
+
+    @Test
+    void chosenQuestionsAreSkippedAndTheRestStayUniform() {
+        Random random = new Random(11);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int run = 0; run < RUNS; run++) {
+            Set<String> chosen = new HashSet<>(Set.of("a", "d"));
+            List<String> drawn = QuestionBankIndex.sample(1, chosen, random, POOLS);
+            assertThat(chosen).containsAll(drawn);
+            drawn.forEach(question -> counts.merge(question, 1, Integer::sum));
+        }
+
+        assertThat(counts).containsOnlyKeys("b", "c", "e");
+        counts.values().forEach(count -> assertThat((double) count / RUNS).isCloseTo(1.0 / 3, within(0.01)));
+    }
+
+    @Test
+    void neverDrawsAQuestionTwice() {
+        Random random = new Random(3);
+        List<String> large = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            large.add("q" + i);
+        }
+        for (int run = 0; run < 1000; run++) {
+            List<String> drawn = QuestionBankIndex.sample(12, new HashSet<>(), random, List.of(large, List.of("x", "y")));
+            assertThat(drawn).hasSize(12).doesNotHaveDuplicates();
+        }
+    }
+
+    @Test
+    void drawingMoreThanThePoolsHoldReturnsEachQuestionOnce() {
+        List<String> drawn = QuestionBankIndex.sample(10, new HashSet<>(), new Random(1), POOLS);
+
+        assertThat(drawn).containsExactlyInAnyOrder("a", "b", "c", "d", "e");
+    }
+
+    @Test
+    void duplicateTextsAcrossPoolsAreDrawnOnce() {
+        List<String> drawn = QuestionBankIndex.sample(3, new HashSet<>(), new Random(5),
+                List.of(List.of("same", "other"), List.of("same")));
+
+        assertThat(drawn).containsExactlyInAnyOrder("same", "other");
+    }
+
+    @Test
+    void emptyPoolsDrawNothing() {
+        assertThat(QuestionBankIndex.sample(1, new HashSet<>(), new Random(), List.of(List.of(), List.of()))).isEmpty();
+    }
+}
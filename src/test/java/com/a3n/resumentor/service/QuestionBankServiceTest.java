@@ -0,0 +1,236 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.entity.BankQuestion;
+import com.a3n.resumentor.entity.BankQuestion.Category;
+import com.a3n.resumentor.entity.InterviewQuestion.DifficultyLevel;
+import com.a3n.resumentor.repository.BankQuestionRepository;
+import com.a3n.resumentor.repository.BankQuestionRepository.BankVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * The bank is imported from the shipped seed into an in-memory repository: imports are
+ * idempotent, also for retired questions, and batched, new questions are served without waiting for a refresh, and
+ * an import that fails stops startup.
+ */
+class QuestionBankServiceTest {
+
+    private static final String SEED = "classpath:question-bank/*.json";
+    private static final int SEED_SIZE = 125;
+    private static final List<DifficultyLevel> SLOTS = slots();
+
+    private final QuestionBankService service = new QuestionBankService();
+    private final BankQuestionRepository repository = mock(BankQuestionRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final List<BankQuestion> table = new ArrayList<>();
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(repository.findByActiveTrue()).thenAnswer(invocation -> table.stream().filter(BankQuestion::getActive).toList());
+        when(repository.findAllFingerprints()).thenAnswer(invocation -> table.stream().map(BankQuestion::getFingerprint).toList());
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            for (BankQuestion question : (Iterable<BankQuestion>) invocation.getArgument(0)) {
+                question.setId((long) table.size() + 1);
+                table.add(question);
+            }
+            return null;
+        });
+        when(repository.findVersion()).thenAnswer(invocation -> version());
+        doAnswer(invocation -> {
+            ((Consumer<Object>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        ReflectionTestUtils.setField(service, "bankQuestionRepository", repository);
+        ReflectionTestUtils.setField(service, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(service, "importLocations", new String[]{SEED});
+        ReflectionTestUtils.setField(service, "importBatchSize", 50);
+    }
+
+    @Test
+    void seedIsImportedInBatches() {
+        service.init();
+
+        assertThat(table).hasSize(SEED_SIZE);
+        // 125 questions in batches of 50
+        verify(repository, times(3)).saveAll(anyIterable());
+    }
+
+    @Test
+    void reimportingTheSeedIsANoOp() {
+        service.init();
+        clearInvocations(repository);
+
+        service.init();
+
+        assertThat(table).hasSize(SEED_SIZE);
+        verify(repository, never()).saveAll(anyIterable());
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {
+            "Backend Engineer", "Senior Java Developer", "Frontend Developer", "Full Stack Developer",
+            "Data Scientist", "Machine Learning Engineer", "DevOps Engineer", "Security Analyst", "QA Engineer",
+            "Android Developer", "Cloud Architect", "Product Manager", "Nurse", ""
+    })
+    void everyRoleGetsTwelveDistinctQuestions(String jobRole) {
+        service.init();
+
+        for (int run = 0; run < 200; run++) {
+            List<String> questions = service.sampleInterview(jobRole, SLOTS);
+
+            assertThat(questions).hasSize(12).doesNotHaveDuplicates();
+            assertThat(questions.subList(0, 3)).allSatisfy(question -> assertThat(category(question)).isEqualTo(Category.INTRO));
+            assertThat(questions.subList(3, 12)).allSatisfy(question ->
+                    assertThat(category(question)).isIn(Category.TECHNICAL, Category.BEHAVIORAL));
+        }
+    }
+
+    @Test
+    void technicalQuestionsComeFromTheRole() {
+        service.init();
+
+        List<String> questions = service.sampleInterview("Senior Java Developer", SLOTS);
+
+        assertThat(questions.subList(3, 12)).allSatisfy(question ->
+                assertThat(role(question)).isIn("backend", QuestionBankService.GENERAL_ROLE));
+        assertThat(questions).noneSatisfy(question -> assertThat(role(question)).isEqualTo("frontend"));
+    }
+
+    @Test
+    void largeImportGoesLiveImmediately() {
+        service.init();
+        List<String> golang = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            golang.add("Golang question " + i);
+        }
+        clearInvocations(repository);
+
+        int imported = service.importQuestions(List.of(
+                new QuestionBankService.QuestionGroup("golang", Category.TECHNICAL, DifficultyLevel.ADVANCED, golang)));
+
+        assertThat(imported).isEqualTo(5000);
+        verify(repository, times(100)).saveAll(anyIterable());
+        // No refresh in between: the import swaps the index itself
+        List<String> questions = service.sampleInterview("Golang Developer", SLOTS);
+        assertThat(questions.subList(8, 12)).anySatisfy(question -> assertThat(question).startsWith("Golang question"));
+        assertThat(questions.subList(3, 8)).noneSatisfy(question -> assertThat(question).startsWith("Golang question"));
+
+        assertThat(service.importQuestions(List.of(
+                new QuestionBankService.QuestionGroup("golang", Category.TECHNICAL, DifficultyLevel.ADVANCED, golang))))
+                .isZero();
+    }
+
+    @Test
+    void refreshPicksUpQuestionsAddedElsewhere() {
+        service.init();
+        BankQuestion added = new BankQuestion(null, "rust", Category.TECHNICAL, null, "What is ownership?",
+                QuestionBankService.fingerprint("rust", Category.TECHNICAL, null, "What is ownership?"), true, null);
+        repository.saveAll(List.of(added));
+
+        service.refresh();
+
+        assertThat(service.sampleInterview("Rust Developer", SLOTS)).contains("What is ownership?");
+    }
+
+    @Test
+    void retiredQuestionIsNotImportedAgain() {
+        String text = "Tell me about yourself and what made you interested in this role.";
+        service.init();
+        question(text).setActive(false);
+        clearInvocations(repository);
+
+        // The seed is imported on every start; the retired row still holds the fingerprint
+        // that uk_question_bank_fingerprint keeps unique
+        service.init();
+
+        verify(repository, never()).saveAll(anyIterable());
+        assertThat(table).hasSize(SEED_SIZE);
+        for (int run = 0; run < 200; run++) {
+            assertThat(service.sampleInterview("Backend Engineer", SLOTS)).doesNotContain(text);
+        }
+    }
+
+    @Test
+    void unreadableImportFailsStartup() throws Exception {
+        Files.writeString(dir.resolve("broken.json"), "[{\"role\": \"backend\", \"questions\": [");
+        ReflectionTestUtils.setField(service, "importLocations", new String[]{SEED, "file:" + dir + "/*.json"});
+
+        assertThatThrownBy(service::init)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Could not import question bank");
+    }
+
+    @Test
+    void emptyBankFailsStartup() {
+        ReflectionTestUtils.setField(service, "importLocations", new String[]{"file:" + dir + "/*.json"});
+
+        assertThatThrownBy(service::init)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("empty");
+    }
+
+    private Category category(String text) {
+        return question(text).getCategory();
+    }
+
+    private String role(String text) {
+        return question(text).getRole();
+    }
+
+    private BankQuestion question(String text) {
+        return table.stream().filter(question -> question.getQuestionText().equals(text)).findFirst().orElseThrow();
+    }
+
+    private BankVersion version() {
+        long count = table.size();
+        return new BankVersion() {
+            @Override
+            public Long getQuestionCount() {
+                return count;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return count;
+            }
+
+            @Override
+            public LocalDateTime getLastUpdated() {
+                return null;
+            }
+        };
+    }
+
+    private static List<DifficultyLevel> slots() {
+        List<DifficultyLevel> slots = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            slots.add(DifficultyLevel.values()[i / 4]);
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,172 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.dto.AnalysisJob;
+import com.a3n.resumentor.dto.ResumeAnalysisResponse;
+import com.a3n.resumentor.exception.CapacityExceededException;
+import com.a3n.resumentor.exception.GlobalExceptionHandler;
+import com.a3n.resumentor.exception.ResourceNotFoundException;
+import com.a3n.resumentor.storage.StagedUpload;
+import com.a3n.resumentor.util.FileUploadUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Background analysis jobs: a job is queued, runs once the scheduler gets to it and ends
+ * completed or failed, only its owner may read it, a refused job leaves nothing behind,
+ * and finished jobs are dropped once they are older than the retention period.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResumeAnalysisJobServiceTest {
+
+    private static final long OWNER = 7L;
+
+    @Mock
+    private ResumeAnalysisService resumeAnalysisService;
+
+    @Mock
+    private FileUploadUtil fileUploadUtil;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private AnalysisProgressPublisher progressPublisher;
+
+    @Mock
+    private AnalysisScheduler analysisScheduler;
+
+    @Mock
+    private AnalysisProgressListener progress;
+
+    @Mock
+    private StagedUpload upload;
+
+    @InjectMocks
+    private ResumeAnalysisJobService service;
+
+    // Work handed to the scheduler, run by the test when it wants the job to start
+    private final List<Callable<?>> scheduled = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(service, "retentionMinutes", 30L);
+        when(fileUploadUtil.stageUpload(any())).thenReturn(upload);
+        when(upload.getOriginalFilename()).thenReturn("cv.pdf");
+        when(progressPublisher.forUser(anyLong(), anyString())).thenReturn(progress);
+        when(analysisScheduler.submit(anyLong(), any(), any())).thenAnswer(invocation -> {
+            scheduled.add(invocation.getArgument(2));
+            return new CompletableFuture<>();
+        });
+    }
+
+    @Test
+    void jobRunsFromQueuedToCompleted() throws Exception {
+        ResumeAnalysisResponse result = new ResumeAnalysisResponse();
+        when(resumeAnalysisService.analyzeStaged(eq(upload), eq("Java Developer"), eq("desc"), eq(OWNER), eq(progress)))
+                .thenReturn(result);
+
+        AnalysisJob job = service.submit(mock(MultipartFile.class), "Java Developer", "desc", OWNER);
+
+        assertThat(service.getJob(job.getJobId(), OWNER).getStatus()).isEqualTo(AnalysisJob.Status.QUEUED);
+        verify(analysisScheduler).submit(eq(OWNER), eq(AnalysisScheduler.Workload.RESUME_ANALYSIS), any());
+
+        runScheduled();
+
+        AnalysisJob done = service.getJob(job.getJobId(), OWNER);
+        assertThat(done.getStatus()).isEqualTo(AnalysisJob.Status.COMPLETED);
+        assertThat(done.getResult()).isSameAs(result);
+        assertThat(done.getError()).isNull();
+        verify(upload).close();
+        verify(messagingTemplate).convertAndSendToUser("7", ResumeAnalysisJobService.JOB_DESTINATION, done);
+    }
+
+    @Test
+    void failedAnalysisEndsTheJobAsFailed() throws Exception {
+        when(resumeAnalysisService.analyzeStaged(any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Could not read the PDF"));
+
+        AnalysisJob job = service.submit(mock(MultipartFile.class), "Java Developer", null, OWNER);
+        runScheduled();
+
+        AnalysisJob failed = service.getJob(job.getJobId(), OWNER);
+        assertThat(failed.getStatus()).isEqualTo(AnalysisJob.Status.FAILED);
+        assertThat(failed.getError()).isEqualTo("Could not read the PDF");
+        assertThat(failed.getResult()).isNull();
+        verify(upload).close();
+        verify(progress).onStage(AnalysisProgressListener.FAILED, Map.of("message", "Could not read the PDF"));
+        verify(messagingTemplate).convertAndSendToUser("7", ResumeAnalysisJobService.JOB_DESTINATION, failed);
+    }
+
+    @Test
+    void onlyTheOwnerCanReadAJob() throws Exception {
+        AnalysisJob job = service.submit(mock(MultipartFile.class), "Java Developer", null, OWNER);
+
+        assertThatThrownBy(() -> service.getJob(job.getJobId(), 8L)).isInstanceOf(SecurityException.class)
+                .satisfies(e -> assertThat(new GlobalExceptionHandler().handleSecurityException((SecurityException) e)
+                        .getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+        assertThatThrownBy(() -> service.getJob("no-such-job", OWNER)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void refusedJobIsForgottenAndItsUploadReleased() throws Exception {
+        when(analysisScheduler.submit(anyLong(), any(), any())).thenThrow(new CapacityExceededException("busy"));
+
+        assertThatThrownBy(() -> service.submit(mock(MultipartFile.class), "Java Developer", null, OWNER))
+                .isInstanceOf(CapacityExceededException.class);
+
+        verify(upload).close();
+        assertThat(jobs()).isEmpty();
+    }
+
+    @Test
+    void finishedJobsArePurgedAfterTheRetentionPeriod() throws Exception {
+        AnalysisJob oldFinished = service.submit(mock(MultipartFile.class), "Java Developer", null, OWNER);
+        AnalysisJob recentFinished = service.submit(mock(MultipartFile.class), "Java Developer", null, OWNER);
+        AnalysisJob oldRunning = service.submit(mock(MultipartFile.class), "Java Developer", null, OWNER);
+        runScheduled();
+        oldFinished.setUpdatedAt(LocalDateTime.now().minusMinutes(31));
+        recentFinished.setUpdatedAt(LocalDateTime.now().minusMinutes(29));
+        oldRunning.setStatus(AnalysisJob.Status.RUNNING);
+        oldRunning.setUpdatedAt(LocalDateTime.now().minusHours(2));
+
+        service.purgeFinishedJobs();
+
+        assertThat(jobs()).containsOnlyKeys(recentFinished.getJobId(), oldRunning.getJobId());
+        assertThatThrownBy(() -> service.getJob(oldFinished.getJobId(), OWNER)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private void runScheduled() throws Exception {
+        for (Callable<?> work : scheduled) {
+            work.call();
+        }
+        scheduled.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, AnalysisJob> jobs() {
+        return (Map<String, AnalysisJob>) ReflectionTestUtils.getField(service, "jobs");
+    }
+}
@@ -0,0 +1,204 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import com.a3n.resumentor.dto.ResumeAnalysisResponse;
+import com.a3n.resumentor.dto.ResumeRevision;
+import com.a3n.resumentor.entity.Resume;
+import com.a3n.resumentor.entity.User;
+import com.a3n.resumentor.repository.ResumeRepository;
+import com.a3n.resumentor.repository.UserRepository;
+import com.a3n.resumentor.storage.StagedUpload;
+import com.a3n.resumentor.util.MockAIAnalyzer;
+import com.a3n.resumentor.util.OpenAIService;
+import com.a3n.resumentor.util.PDFExtractor;
+import com.a3n.resumentor.util.ResumeSectionDetector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * On the rule-based path a revised resume must not cost more analyzer passes than a fresh
+ * upload: the per-section score attribution works from block features instead of
+ * re-scoring the resume once per change, and an unchanged resume is not scored at all.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResumeAnalysisServiceRevisionTest {
+
+    private static final String ROLE = "Java Developer";
+    private static final String PREVIOUS = """
+            Jane Doe
+            jane.doe@example.com | +1 555 010 0199 | linkedin.com/in/janedoe
+
+            SUMMARY
+            Backend engineer with 6 years of experience building Java services.
+
+            EXPERIENCE
+            • Developed REST API services in Java and Spring Boot for 2 million users
+            • Reduced p99 latency by 40% by adding Redis caching
+
+            EDUCATION
+            B.S. Computer Science, University of Texas, 2017
+
+            SKILLS
+            Java, Spring Boot, SQL, Git
+
+            PROJECTS
+            • Built an open-source rate limiter used by 300+ projects
+
+            CERTIFICATIONS
+            Oracle Certified Professional, Java SE 17
+            """;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ResumeRepository resumeRepository;
+
+    @Mock
+    private PDFExtractor pdfExtractor;
+
+    @Mock
+    private OpenAIService openAIService;
+
+    @Mock
+    private AchievementService achievementService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StagedUpload upload;
+
+    @InjectMocks
+    private ResumeAnalysisService resumeAnalysisService;
+
+    private final ResumeSectionDetector detector = new ResumeSectionDetector();
+    private final ResumeRevisionService revisionService = new ResumeRevisionService();
+    private MockAIAnalyzer analyzer;
+    private int previousScore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockAIAnalyzer real = new MockAIAnalyzer();
+        ReflectionTestUtils.setField(real, "resumeSectionDetector", detector);
+        analyzer = spy(real);
+        ReflectionTestUtils.setField(revisionService, "enabled", true);
+        ReflectionTestUtils.setField(revisionService, "minOverlap", 0.5);
+        ReflectionTestUtils.setField(revisionService, "maxChangedFraction", 0.5);
+        ReflectionTestUtils.setField(revisionService, "maxAttributedChanges", 8);
+        ReflectionTestUtils.setField(revisionService, "resumeRepository", resumeRepository);
+        ReflectionTestUtils.setField(revisionService, "resumeSectionDetector", detector);
+        ReflectionTestUtils.setField(revisionService, "mockAIAnalyzer", analyzer);
+        ReflectionTestUtils.setField(resumeAnalysisService, "mockAIAnalyzer", analyzer);
+        ReflectionTestUtils.setField(resumeAnalysisService, "resumeRevisionService", revisionService);
+
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(resumeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Resume> resumes = invocation.getArgument(0);
+            resumes.forEach(resume -> resume.setId(2L));
+            return resumes;
+        });
+        when(transactionTemplate.execute(any())).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(openAIService.isAvailable()).thenReturn(false);
+        when(upload.getOriginalFilename()).thenReturn("resume.pdf");
+        when(upload.getLocalPath()).thenReturn(Path.of("resume.pdf"));
+        when(upload.awaitStored()).thenReturn("uploads/resume.pdf");
+
+        ResumeAnalysisResponse previousAnalysis = real.analyzeResume(PREVIOUS, ROLE, null);
+        previousScore = previousAnalysis.getAtsScore();
+        when(resumeRepository.findAnalysisResultById(1L))
+                .thenReturn(new ObjectMapper().writeValueAsString(previousAnalysis));
+    }
+
+    @Test
+    void revisionCostsNoMoreAnalyzerPassesThanAFreshUpload() throws Exception {
+        when(resumeRepository.findRevisionCandidates(1L, ROLE)).thenReturn(List.of());
+        analyze(PREVIOUS);
+        int fresh = analyzerPasses();
+
+        clearInvocations(analyzer);
+        when(resumeRepository.findRevisionCandidates(1L, ROLE)).thenReturn(List.of(candidate()));
+        String revised = PREVIOUS.replace("Java, Spring Boot, SQL, Git", "Java, Spring Boot, SQL, Git, Docker, Kafka")
+                .replace("building Java services", "building Java microservices")
+                .replace("Oracle Certified Professional", "AWS Certified Developer");
+        ResumeAnalysisResponse response = analyze(revised);
+
+        ResumeRevision report = response.getRevision();
+        assertThat(report.getChanges()).hasSize(3);
+        assertThat(report.getChanges()).allSatisfy(change -> assertThat(change.getScoreDelta()).isNotNull());
+        assertThat(fresh).isEqualTo(1);
+        assertThat(analyzerPasses()).isLessThanOrEqualTo(fresh);
+        verify(analyzer, never()).analyzeResume(anyString(), anyString(), any());
+    }
+
+    @Test
+    void singleChangeExplainsTheWholeScoreChange() throws Exception {
+        when(resumeRepository.findRevisionCandidates(1L, ROLE)).thenReturn(List.of(candidate()));
+        String revised = PREVIOUS.replace("Java, Spring Boot, SQL, Git",
+                "Java, Spring Boot, SQL, Git, Docker, Kafka, Maven, JUnit, Kubernetes");
+
+        ResumeRevision report = analyze(revised).getRevision();
+
+        // The spliced version is the new resume, so the feature score matches the analyzer's
+        assertThat(report.getScoreDelta()).isPositive();
+        assertThat(report.getChanges()).singleElement()
+                .satisfies(change -> assertThat(change.getScoreDelta()).isEqualTo(report.getScoreDelta()));
+        assertThat(report.getUnattributedDelta()).isZero();
+    }
+
+    @Test
+    void unchangedResumeIsNotScoredAgain() throws Exception {
+        when(resumeRepository.findRevisionCandidates(1L, ROLE)).thenReturn(List.of(candidate()));
+
+        ResumeAnalysisResponse response = analyze(PREVIOUS);
+
+        assertThat(response.getRevision().getAnalysisReused()).isTrue();
+        assertThat(response.getAtsScore()).isEqualTo(previousScore);
+        assertThat(analyzerPasses()).isZero();
+        verify(resumeRepository).findAnalysisResultById(1L);
+    }
+
+    private ResumeAnalysisResponse analyze(String text) throws Exception {
+        when(pdfExtractor.extractResume(anyString())).thenReturn(detector.segment(text, 1, null));
+        return resumeAnalysisService.analyzeStaged(upload, ROLE, null, 1L, AnalysisProgressListener.NONE);
+    }
+
+    private int analyzerPasses() {
+        return (int) mockingDetails(analyzer).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("analyzeResume")
+                        && invocation.getArguments()[0] instanceof ExtractedResume)
+                .count();
+    }
+
+    private ResumeRepository.RevisionCandidate candidate() {
+        return new ResumeRepository.RevisionCandidate() {
+            public Long getId() { return 1L; }
+            public String getFileName() { return "resume.pdf"; }
+            public String getJobDescription() { return null; }
+            public Integer getAtsScore() { return previousScore; }
+            public String getResumeText() { return PREVIOUS; }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import com.a3n.resumentor.dto.ResumeAnalysisResponse;
+import com.a3n.resumentor.repository.RecordingDataSource;
+import com.a3n.resumentor.repository.ResumeRepository;
+import com.a3n.resumentor.repository.TestHibernate;
+import com.a3n.resumentor.repository.UserRepository;
+import com.a3n.resumentor.storage.StagedUpload;
+import com.a3n.resumentor.util.MockAIAnalyzer;
+import com.a3n.resumentor.util.OpenAIService;
+import com.a3n.resumentor.util.PDFExtractor;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * The analysis pipeline must only hold a pooled database connection for the persist step,
+ * never while extraction or the AI call runs. Hibernate and Spring's transaction manager
+ * run over a recording DataSource that times how long each connection is held, so the
+ * user lookup on the request thread is part of what is measured.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResumeAnalysisServiceTransactionTest {
+
+    private static final long AI_LATENCY_MS = 300;
+
+    @Mock
+    private PDFExtractor pdfExtractor;
+
+    @Mock
+    private MockAIAnalyzer mockAIAnalyzer;
+
+    @Mock
+    private OpenAIService openAIService;
+
+    @Mock
+    private AchievementService achievementService;
+
+    @Mock
+    private ResumeRevisionService resumeRevisionService;
+
+    @Mock
+    private StagedUpload upload;
+
+    @InjectMocks
+    private ResumeAnalysisService resumeAnalysisService;
+
+    private final RecordingDataSource database = new RecordingDataSource();
+    private final List<Integer> connectionsOpenDuringAiCall = new ArrayList<>();
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sessionFactory = TestHibernate.sessionFactory(database.dataSource());
+        JpaTransactionManager transactionManager = new JpaTransactionManager(sessionFactory);
+        transactionManager.setJpaDialect(new HibernateJpaDialect());
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(sessionFactory));
+        // Repository methods run in their own transactions, as they do behind Spring's repository proxies
+        repositories.addRepositoryProxyPostProcessor((proxy, repository) -> proxy.addAdvice(
+                new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource())));
+        ReflectionTestUtils.setField(resumeAnalysisService, "userRepository", repositories.getRepository(UserRepository.class));
+        ReflectionTestUtils.setField(resumeAnalysisService, "resumeRepository", repositories.getRepository(ResumeRepository.class));
+        ReflectionTestUtils.setField(resumeAnalysisService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        database.addRow("users", 1L);
+
+        when(upload.getOriginalFilename()).thenReturn("resume.pdf");
+        when(upload.getLocalPath()).thenReturn(Path.of("resume.pdf"));
+        when(upload.awaitStored()).thenReturn("uploads/resume.pdf");
+        when(pdfExtractor.extractResume(anyString()))
+                .thenReturn(new ExtractedResume("Jane Doe\nEXPERIENCE\nBuilt things", 1, new ArrayList<>()));
+        when(openAIService.isAvailable()).thenReturn(true);
+        when(openAIService.analyzeResumeWithGPT(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            connectionsOpenDuringAiCall.add(database.openConnections());
+            Thread.sleep(AI_LATENCY_MS);
+            return "{\"atsScore\": 72}";
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void connectionIsOnlyHeldForTheLookupAndTheInsert() throws Exception {
+        // The first run pays for Hibernate's one-time setup inside its transactions
+        analyze();
+        database.clear();
+        connectionsOpenDuringAiCall.clear();
+
+        long start = System.nanoTime();
+        var response = analyze();
+        long totalMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(response.getResumeId()).isNotNull();
+        assertThat(database.executions()).anyMatch(execution -> execution.sql().contains("insert into resumes"));
+        assertThat(connectionsOpenDuringAiCall).containsExactly(0);
+        assertThat(database.openConnections()).isZero();
+        assertThat(totalMs).isGreaterThanOrEqualTo(AI_LATENCY_MS);
+        // No connection lives through the AI call: each is a small fraction of its latency
+        assertThat(database.longestConnectionHoldMs()).isLessThan(AI_LATENCY_MS / 3);
+    }
+
+    @Test
+    void aSessionPerRequestWouldHoldTheConnectionThroughTheAiCall() throws Exception {
+        // What spring.jpa.open-in-view=true does around every web request
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(sessionFactory);
+        WebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+        openInView.preHandle(request);
+        try {
+            analyze();
+        } finally {
+            openInView.afterCompletion(request, null);
+        }
+
+        assertThat(connectionsOpenDuringAiCall).containsExactly(1);
+        assertThat(database.longestConnectionHoldMs()).isGreaterThanOrEqualTo(AI_LATENCY_MS);
+    }
+
+    @Test
+    void shippedConfigurationHasNoSessionPerRequest() {
+        assertThat(TestHibernate.shippedProperties().getProperty("spring.jpa.open-in-view")).isEqualTo("false");
+    }
+
+    private ResumeAnalysisResponse analyze() throws Exception {
+        return resumeAnalysisService.analyzeStaged(upload, "Backend Developer", null, 1L, AnalysisProgressListener.NONE);
+    }
+}
@@ -0,0 +1,69 @@
+package com.a3n.resumentor.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A revision is analyzed incrementally only while the added, modified and removed text
+ * together stay within analysis.revision.max-changed-fraction.
+ */
+class ResumeRevisionServiceTest {
+
+    private final ResumeRevisionService service = new ResumeRevisionService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "maxChangedFraction", 0.5);
+    }
+
+    @Test
+    void removedSectionsCountAsChangedText() {
+        Map<String, String> previous = blocks("summary", "a".repeat(100), "experience", "b".repeat(900));
+        Map<String, String> current = blocks("summary", "a".repeat(100));
+
+        ResumeRevisionService.Revision revision = service.new Revision(null, previous, current);
+
+        assertThat(revision.getChangedChars()).isEqualTo(900);
+        assertThat(revision.getTotalChars()).isEqualTo(1000);
+        assertThat(revision.isIncremental()).isFalse();
+    }
+
+    @Test
+    void smallRemovalStaysIncremental() {
+        Map<String, String> previous = blocks("summary", "a".repeat(100), "experience", "b".repeat(800),
+                "hobbies", "c".repeat(100));
+        Map<String, String> current = blocks("summary", "a".repeat(100), "experience", "b".repeat(800));
+
+        ResumeRevisionService.Revision revision = service.new Revision(null, previous, current);
+
+        assertThat(revision.getChangedChars()).isEqualTo(100);
+        assertThat(revision.isIncremental()).isTrue();
+    }
+
+    @Test
+    void addedAndModifiedSectionsCountAsBefore() {
+        Map<String, String> previous = blocks("summary", "old summary", "experience", "b".repeat(100));
+        Map<String, String> current = blocks("summary", "new summary", "experience", "b".repeat(100),
+                "skills", "java");
+
+        ResumeRevisionService.Revision revision = service.new Revision(null, previous, current);
+
+        assertThat(revision.getChangedChars()).isEqualTo("new summary".length() + "java".length());
+        assertThat(revision.getTotalChars()).isEqualTo("new summary".length() + 100 + "java".length());
+        assertThat(revision.getUnchanged()).containsExactly("experience");
+    }
+
+    private static Map<String, String> blocks(String... keysAndTexts) {
+        Map<String, String> blocks = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndTexts.length; i += 2) {
+            blocks.put(keysAndTexts[i], keysAndTexts[i + 1]);
+        }
+        return blocks;
+    }
+}
@@ -0,0 +1,100 @@
+package com.a3n.resumentor.service;
+
+import com.a3n.resumentor.repository.InterviewQuestionRepository;
+import com.a3n.resumentor.repository.InterviewSessionRepository;
+import com.a3n.resumentor.repository.RecordingDataSource;
+import com.a3n.resumentor.repository.ResumeRepository;
+import com.a3n.resumentor.repository.TestHibernate;
+import com.a3n.resumentor.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Time to start an interview (the session row plus its 12 questions) by database round
+ * trip: one insert per question, the statement pattern IDENTITY ids force because each
+ * row's id only comes back from its own insert, vs the shipped batched insert. Hibernate
+ * runs with the shipped configuration over RecordingDataSource, which waits the round trip
+ * on every execution and commit; the one-row variant only sets hibernate.jdbc.batch_size
+ * to 1. Not part of the regular test run; start it with
+ * {@code mvn test -Dtest=StartInterviewBenchmark}.
+ */
+class StartInterviewBenchmark {
+
+    private static final long[] ROUND_TRIP_MS = {0, 1, 2, 5};
+    private static final int WARMUP = 50;
+    private static final int RUNS = 31;
+
+    @Test
+    void oneRowInsertsVsBatched() {
+        System.out.println("round trip ms  one-row ms  batched ms  one-row trips  batched trips");
+        for (long roundTripMs : ROUND_TRIP_MS) {
+            Result oneRow = run(Map.of("hibernate.jdbc.batch_size", "1"), roundTripMs);
+            Result batched = run(Map.of(), roundTripMs);
+            System.out.printf("%13d  %10.2f  %10.2f  %13d  %13d%n", roundTripMs,
+                    oneRow.medianMs(), batched.medianMs(), oneRow.roundTrips(), batched.roundTrips());
+        }
+    }
+
+    private Result run(Map<String, String> overrides, long roundTripMs) {
+        RecordingDataSource database = new RecordingDataSource();
+        database.addRow("users", 1L);
+        database.addRow("resumes", 1L);
+        try (SessionFactory sessionFactory = TestHibernate.sessionFactory(database.dataSource(), overrides)) {
+            JpaTransactionManager transactionManager = new JpaTransactionManager(sessionFactory);
+            transactionManager.setJpaDialect(new HibernateJpaDialect());
+            JpaRepositoryFactory repositories = new JpaRepositoryFactory(
+                    SharedEntityManagerCreator.createSharedEntityManager(sessionFactory));
+            repositories.addRepositoryProxyPostProcessor((proxy, repository) -> proxy.addAdvice(
+                    new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource())));
+
+            InterviewService service = new InterviewService();
+            ReflectionTestUtils.setField(service, "userRepository", repositories.getRepository(UserRepository.class));
+            ReflectionTestUtils.setField(service, "resumeRepository", repositories.getRepository(ResumeRepository.class));
+            ReflectionTestUtils.setField(service, "interviewSessionRepository",
+                    repositories.getRepository(InterviewSessionRepository.class));
+            ReflectionTestUtils.setField(service, "interviewQuestionRepository",
+                    repositories.getRepository(InterviewQuestionRepository.class));
+            QuestionBankService questionBank = mock(QuestionBankService.class);
+            when(questionBank.sampleInterview(any(), any())).thenReturn(Collections.nCopies(12, "Tell me about a project."));
+            ReflectionTestUtils.setField(service, "questionBankService", questionBank);
+            ReflectionTestUtils.setField(service, "liveInterviewStateCache", mock(LiveInterviewStateCache.class));
+            // InterviewService is @Transactional: the whole start is one transaction
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+            for (int i = 0; i < WARMUP; i++) {
+                transaction.execute(status -> service.startInterview(1L, 1L));
+            }
+            database.setRoundTripMs(roundTripMs);
+            database.clear();
+            double[] times = new double[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                transaction.execute(status -> service.startInterview(1L, 1L));
+                times[i] = (System.nanoTime() - start) / 1e6;
+            }
+            Arrays.sort(times);
+            // Every execution and the commit is a round trip
+            int roundTrips = (database.executions().size() + RUNS) / RUNS;
+            return new Result(times[RUNS / 2], roundTrips);
+        }
+    }
+
+    private record Result(double medianMs, int roundTrips) {
+    }
+}
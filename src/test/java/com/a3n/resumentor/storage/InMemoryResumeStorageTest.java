@@ -0,0 +1,11 @@
+package com.a3n.resumentor.storage;
+
+import java.nio.file.Path;
+
+class InMemoryResumeStorageTest extends ResumeStorageContractTest {
+
+    @Override
+    protected ResumeStorage createStorage(Path workDir) {
+        return new InMemoryResumeStorage();
+    }
+}
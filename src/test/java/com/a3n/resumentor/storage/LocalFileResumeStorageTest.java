@@ -0,0 +1,16 @@
+package com.a3n.resumentor.storage;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+class LocalFileResumeStorageTest extends ResumeStorageContractTest {
+
+    @Override
+    protected ResumeStorage createStorage(Path workDir) throws Exception {
+        LocalFileResumeStorage storage = new LocalFileResumeStorage();
+        ReflectionTestUtils.setField(storage, "uploadDir", workDir.resolve("uploads").toString());
+        storage.init();
+        return storage;
+    }
+}
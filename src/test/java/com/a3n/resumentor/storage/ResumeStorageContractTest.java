@@ -0,0 +1,110 @@
+package com.a3n.resumentor.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Behaviour every {@link ResumeStorage} backend must share; each backend has a subclass
+ * that supplies an instance.
+ */
+abstract class ResumeStorageContractTest {
+
+    @TempDir
+    Path workDir;
+
+    private ResumeStorage storage;
+
+    protected abstract ResumeStorage createStorage(Path workDir) throws Exception;
+
+    /**
+     * Whether {@link ResumeStorage#list()} enumerates the store; the orphan collector skips
+     * backends that do not.
+     */
+    protected boolean supportsListing() {
+        return true;
+    }
+
+    @BeforeEach
+    void setUpStorage() throws Exception {
+        storage = createStorage(workDir);
+    }
+
+    @Test
+    void storedContentReadsBackByteForByte() throws IOException {
+        // Larger than the local backend's 64 KB copy chunk
+        byte[] content = new byte[200_000];
+        new Random(42).nextBytes(content);
+
+        String location = storage.store("resume-1.pdf", source(content)).join();
+
+        assertThat(read(location)).isEqualTo(content);
+    }
+
+    @Test
+    void storingAnExistingKeyReplacesIt() throws IOException {
+        storage.store("resume-2.pdf", source("first".getBytes())).join();
+        String location = storage.store("resume-2.pdf", source("second".getBytes())).join();
+
+        assertThat(read(location)).isEqualTo("second".getBytes());
+    }
+
+    @Test
+    void missingSourceFailsTheStore() {
+        assertThatThrownBy(() -> storage.store("resume-3.pdf", workDir.resolve("missing.pdf")).join())
+                .isInstanceOf(CompletionException.class);
+    }
+
+    @Test
+    void deletedContentIsGone() throws IOException {
+        String location = storage.store("resume-4.pdf", source("content".getBytes())).join();
+
+        storage.delete(location).join();
+
+        assertThatThrownBy(() -> read(location)).isInstanceOf(FileNotFoundException.class);
+        // Deleting again is not an error
+        storage.delete(location).join();
+    }
+
+    @Test
+    void listingShowsStoredObjects() throws IOException {
+        assumeTrue(supportsListing());
+        String kept = storage.store("resume-5.pdf", source("kept".getBytes())).join();
+        String deleted = storage.store("resume-6.pdf", source("deleted".getBytes())).join();
+        storage.delete(deleted).join();
+
+        List<StoredObject> objects;
+        try (Stream<StoredObject> listing = storage.list()) {
+            objects = listing.toList();
+        }
+
+        assertThat(objects).extracting(StoredObject::getLocation).contains(kept).doesNotContain(deleted);
+        StoredObject object = objects.stream().filter(o -> o.getLocation().equals(kept)).findFirst().orElseThrow();
+        assertThat(object.getSize()).isEqualTo(4);
+        assertThat(object.getLastModified()).isNotNull();
+    }
+
+    private Path source(byte[] content) throws IOException {
+        return Files.write(Files.createTempFile(workDir, "upload", ".tmp"), content);
+    }
+
+    private byte[] read(String location) throws IOException {
+        try (InputStream in = storage.open(location)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.a3n.resumentor.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the storage contract against a minimal S3 stand-in: an in-process HTTP server that
+ * keeps objects in a map, lists them with ListObjectsV2 two keys per page and, like MinIO,
+ * rejects any request whose SigV4 signature does not verify against its own copy of the
+ * credentials.
+ */
+class S3CompatibleResumeStorageTest extends ResumeStorageContractTest {
+
+    private static final String ACCESS_KEY = "minio-test";
+    private static final String SECRET_KEY = "minio-test-secret";
+    private static final String REGION = "us-east-1";
+    private static final int PAGE_SIZE = 2;
+
+    private FakeS3 server;
+
+    @Override
+    protected ResumeStorage createStorage(Path workDir) throws IOException {
+        server = new FakeS3(new SigV4Signer(ACCESS_KEY, SECRET_KEY, REGION, "s3"));
+        return storage(SECRET_KEY);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void keysArePercentEncodedInThePath() throws IOException {
+        ResumeStorage storage = storage(SECRET_KEY);
+        Path source = Files.writeString(Files.createTempFile(workDir, "upload", ".tmp"), "content");
+
+        String location = storage.store("jane doe+cv*(1).pdf", source).join();
+
+        assertThat(location).isEqualTo("s3://resumes/jane doe+cv*(1).pdf");
+        assertThat(server.objects).containsKey("/resumes/jane%20doe%2Bcv%2A%281%29.pdf");
+        try (InputStream in = storage.open(location)) {
+            assertThat(in.readAllBytes()).isEqualTo("content".getBytes());
+        }
+    }
+
+    @Test
+    void wrongCredentialsAreRejected() throws IOException {
+        ResumeStorage storage = storage("not-the-secret");
+        Path source = Files.writeString(Files.createTempFile(workDir, "upload", ".tmp"), "content");
+
+        assertThatThrownBy(() -> storage.store("resume.pdf", source).join())
+                .hasRootCauseMessage("Object store failed to store resume.pdf: HTTP 403");
+        assertThat(server.rejected.get()).isEqualTo(1);
+        assertThat(server.objects).isEmpty();
+    }
+
+    @Test
+    void listingFollowsContinuationTokens() throws IOException {
+        ResumeStorage storage = storage(SECRET_KEY);
+        Path source = Files.writeString(Files.createTempFile(workDir, "upload", ".tmp"), "content");
+        for (String key : List.of("a.pdf", "b & c.pdf", "d.pdf", "e.pdf", "f.pdf")) {
+            storage.store(key, source).join();
+        }
+
+        List<StoredObject> objects;
+        try (Stream<StoredObject> listing = storage.list()) {
+            objects = listing.toList();
+        }
+
+        assertThat(objects).extracting(StoredObject::getLocation).containsExactly("s3://resumes/a.pdf",
+                "s3://resumes/b & c.pdf", "s3://resumes/d.pdf", "s3://resumes/e.pdf", "s3://resumes/f.pdf");
+        assertThat(objects).extracting(StoredObject::getSize).containsOnly(7L);
+        assertThat(server.listRequests.get()).isEqualTo(3);
+        assertThat(server.rejected.get()).isZero();
+    }
+
+    @Test
+    void listingIsLazyAcrossPages() throws IOException {
+        ResumeStorage storage = storage(SECRET_KEY);
+        Path source = Files.writeString(Files.createTempFile(workDir, "upload", ".tmp"), "content");
+        for (String key : List.of("a.pdf", "b.pdf", "c.pdf", "d.pdf", "e.pdf")) {
+            storage.store(key, source).join();
+        }
+
+        try (Stream<StoredObject> listing = storage.list()) {
+            assertThat(listing.limit(2).count()).isEqualTo(2);
+        }
+
+        assertThat(server.listRequests.get()).isEqualTo(1);
+    }
+
+    private ResumeStorage storage(String secretKey) {
+        S3CompatibleResumeStorage storage = new S3CompatibleResumeStorage();
+        ReflectionTestUtils.setField(storage, "endpoint", server.endpoint() + "/");
+        ReflectionTestUtils.setField(storage, "region", REGION);
+        ReflectionTestUtils.setField(storage, "bucket", "resumes");
+        ReflectionTestUtils.setField(storage, "accessKey", ACCESS_KEY);
+        ReflectionTestUtils.setField(storage, "secretKey", secretKey);
+        storage.init();
+        return storage;
+    }
+
+    private static final class FakeS3 {
+        private final HttpServer http;
+        private final SigV4Signer signer;
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger listRequests = new AtomicInteger();
+
+        FakeS3(SigV4Signer signer) throws IOException {
+            this.signer = signer;
+            http = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            http.createContext("/", this::handle);
+            http.start();
+        }
+
+        String endpoint() {
+            return "http://127.0.0.1:" + http.getAddress().getPort();
+        }
+
+        void stop() {
+            http.stop(0);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try (exchange) {
+                byte[] body = exchange.getRequestBody().readAllBytes();
+                if (!verified(exchange)) {
+                    rejected.incrementAndGet();
+                    exchange.sendResponseHeaders(403, -1);
+                    return;
+                }
+                String path = exchange.getRequestURI().getRawPath();
+                switch (exchange.getRequestMethod()) {
+                    case "PUT" -> {
+                        objects.put(path, body);
+                        exchange.sendResponseHeaders(200, -1);
+                    }
+                    case "GET" -> {
+                        if (path.equals("/resumes") || path.equals("/resumes/")) {
+                            list(exchange);
+                            return;
+                        }
+                        byte[] content = objects.get(path);
+                        if (content == null) {
+                            exchange.sendResponseHeaders(404, -1);
+                        } else {
+                            exchange.sendResponseHeaders(200, content.length);
+                            exchange.getResponseBody().write(content);
+                        }
+                    }
+                    case "DELETE" -> {
+                        objects.remove(path);
+                        exchange.sendResponseHeaders(204, -1);
+                    }
+                    default -> exchange.sendResponseHeaders(405, -1);
+                }
+            }
+        }
+
+        private void list(HttpExchange exchange) throws IOException {
+            listRequests.incrementAndGet();
+            Map<String, String> query = query(exchange);
+            if (!"2".equals(query.get("list-type"))) {
+                exchange.sendResponseHeaders(400, -1);
+                return;
+            }
+            List<String> keys = objects.keySet().stream()
+                    .map(path -> URLDecoder.decode(path.substring("/resumes/".length()), StandardCharsets.UTF_8))
+                    .sorted()
+                    .toList();
+            int from = Integer.parseInt(query.getOrDefault("continuation-token", "0"));
+            int to = Math.min(keys.size(), from + PAGE_SIZE);
+            StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\"><Name>resumes</Name>");
+            for (String key : keys.subList(from, to)) {
+                byte[] content = objects.get("/resumes/" + URLEncoder.encode(key, StandardCharsets.UTF_8)
+                        .replace("+", "%20").replace("*", "%2A"));
+                xml.append("<Contents><Key>").append(key.replace("&", "&amp;")).append("</Key>")
+                        .append("<LastModified>2024-01-15T10:30:00.000Z</LastModified>")
+                        .append("<ETag>&quot;etag&quot;</ETag>")
+                        .append("<Size>").append(content == null ? 0 : content.length).append("</Size>")
+                        .append("<StorageClass>STANDARD</StorageClass></Contents>");
+            }
+            xml.append("<IsTruncated>").append(to < keys.size()).append("</IsTruncated>");
+            if (to < keys.size()) {
+                xml.append("<NextContinuationToken>").append(to).append("</NextContinuationToken>");
+            }
+            byte[] body = xml.append("</ListBucketResult>").toString().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+
+        private static Map<String, String> query(HttpExchange exchange) {
+            Map<String, String> query = new TreeMap<>();
+            String raw = exchange.getRequestURI().getRawQuery();
+            if (raw != null) {
+                for (String parameter : raw.split("&")) {
+                    String[] pair = parameter.split("=", 2);
+                    query.put(URLDecoder.decode(pair[0], StandardCharsets.UTF_8),
+                            pair.length > 1 ? URLDecoder.decode(pair[1], StandardCharsets.UTF_8) : "");
+                }
+            }
+            return query;
+        }
+
+        private static String canonicalQuery(HttpExchange exchange) {
+            String raw = exchange.getRequestURI().getRawQuery();
+            return raw == null ? "" : Arrays.stream(raw.split("&")).sorted().collect(Collectors.joining("&"));
+        }
+
+        private boolean verified(HttpExchange exchange) {
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            String amzDate = exchange.getRequestHeaders().getFirst("x-amz-date");
+            String payload = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+            if (authorization == null || amzDate == null || payload == null) {
+                return false;
+            }
+            try {
+                String expected = signer.authorization(exchange.getRequestMethod(), exchange.getRequestURI().getRawPath(), canonicalQuery(exchange),
+                        Map.of("host", exchange.getRequestHeaders().getFirst("Host"),
+                                "x-amz-content-sha256", payload, "x-amz-date", amzDate),
+                        payload, LocalDateTime.parse(amzDate, SigV4Signer.AMZ_DATE).atZone(ZoneOffset.UTC));
+                return expected.equals(authorization);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.util.AnswerRules.Indicator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The features of an answer are the same however it is cut into chunks, and equal the
+ * split, regex and contains checks the evaluator used to run over the whole answer.
+ */
+class AnswerFeaturesTest {
+
+    private static final List<String> PHRASES = List.of("for example", "which means", "first", "step", "learned");
+    private static final AnswerRules RULES = new AnswerRules(Map.of(
+            Indicator.EXAMPLE, List.of("for example"),
+            Indicator.EXPLANATION, List.of("which means"),
+            Indicator.STRUCTURE, List.of("first"),
+            Indicator.PROCESS, List.of("step"),
+            Indicator.LEARNING, List.of("learned")), false, false, false, false);
+
+    private static final Pattern JARGON = Pattern.compile("\\b(API|SDK|MVP|OOP|DRY|SOLID|REST)\\b");
+    private static final Pattern METRICS = Pattern.compile("\\d+%|\\d+ times|\\d+ users|\\d+ years|\\d+ months");
+
+    private static final String[] TOKENS = {
+            "For", "for", "example", "Example", "which", "means", "first", "FIRST", "steps", "learned", "REST",
+            "RESTful", "API", "APIs", "_API", "SOLID", "40%", "4", "%", "times", "users", "years", "months",
+            "1", "2 ", ".", "...", "!", "?", "?!", " ", "  ", "\t", "\n", "\r\n", "\u000B", "\f", "\u00A0",
+            "café", "-", ",", "i"
+    };
+
+    @Test
+    void phrasesSplitAcrossChunksAreFound() {
+        AnswerFeatures features = new AnswerFeatures(RULES);
+        for (String chunk : List.of("For ex", "ample, the first st", "ep is ", "R", "EST which me", "ans 4", "0% fewer calls")) {
+            features.append(chunk);
+        }
+
+        assertThat(features.contains("for example")).isTrue();
+        assertThat(features.contains("which means")).isTrue();
+        assertThat(features.any(Indicator.PROCESS)).isTrue();
+        assertThat(features.hasJargon()).isTrue();
+        assertThat(features.hasMetrics()).isTrue();
+        assertThat(features.any(Indicator.LEARNING)).isFalse();
+    }
+
+    @Test
+    void wordAndSentenceCountsCarryAcrossChunks() {
+        AnswerFeatures features = new AnswerFeatures(RULES);
+        for (String chunk : List.of("  I led", " the mig", "ration", ".", "..", " Then ", "we shipped", "!")) {
+            features.append(chunk);
+        }
+
+        assertThat(features.wordCount()).isEqualTo(7);
+        assertThat(features.sentenceCount()).isEqualTo(2);
+    }
+
+    @Test
+    void jargonSplitInsideALongerWordIsNotCounted() {
+        AnswerFeatures features = new AnswerFeatures(RULES);
+        features.append("We built a REST");
+        features.append("ful service");
+
+        assertThat(features.hasJargon()).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "word", "  two words  ", "Ends with a period.", "...", ". .", "!?", "Hi... there!! Again?",
+            ".leading delimiter", "a\tb\nc\r\nd", "no delimiter at all", "API", "the API.", "REST_API",
+            "RESTful", "x SOLID y", "grew 40% in 3 months", "5 years", "10times", "9 users",
+            "First step: for example, which means I learned", "\u00A0nbsp\u00A0is\u00A0not\u00A0whitespace"
+    })
+    void fixedAnswersMatchTheWholeTextChecks(String answer) {
+        assertMatchesWholeTextChecks(answer, List.of(answer));
+        assertMatchesWholeTextChecks(answer, perCharacter(answer));
+    }
+
+    @Test
+    void randomAnswersInRandomChunksMatchTheWholeTextChecks() {
+        Random random = new Random(42);
+        for (int run = 0; run < 5000; run++) {
+            StringBuilder answer = new StringBuilder();
+            int tokens = 1 + random.nextInt(40);
+            for (int i = 0; i < tokens; i++) {
+                answer.append(TOKENS[random.nextInt(TOKENS.length)]);
+                if (random.nextInt(3) > 0) {
+                    answer.append(' ');
+                }
+            }
+            String text = answer.toString();
+            if (text.isBlank()) {
+                continue;
+            }
+            assertMatchesWholeTextChecks(text, randomChunks(text, random));
+        }
+    }
+
+    private static void assertMatchesWholeTextChecks(String answer, List<String> chunks) {
+        AnswerFeatures features = new AnswerFeatures(RULES);
+        chunks.forEach(features::append);
+
+        String trimmed = answer.trim();
+        String lower = answer.toLowerCase();
+        assertThat(features.wordCount()).as("words of %s", answer).isEqualTo(trimmed.split("\\s+").length);
+        assertThat(features.sentenceCount()).as("sentences of %s", answer).isEqualTo(trimmed.split("[.!?]+").length);
+        assertThat(features.hasJargon()).as("jargon in %s", answer).isEqualTo(JARGON.matcher(answer).find());
+        assertThat(features.hasMetrics()).as("metrics in %s", answer).isEqualTo(METRICS.matcher(answer).find());
+        for (String phrase : PHRASES) {
+            assertThat(features.contains(phrase)).as("%s in %s", phrase, answer).isEqualTo(lower.contains(phrase));
+        }
+    }
+
+    private static List<String> perCharacter(String text) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < text.length(); i++) {
+            chunks.add(text.substring(i, i + 1));
+        }
+        return chunks;
+    }
+
+    private static List<String> randomChunks(String text, Random random) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            // Empty chunks included: clients may send them
+            int end = Math.min(text.length(), start + random.nextInt(8));
+            chunks.add(text.substring(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+}
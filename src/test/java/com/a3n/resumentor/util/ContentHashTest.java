@@ -0,0 +1,50 @@
+package com.a3n.resumentor.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentHashTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void hashesFileContentAsSha256Hex() throws Exception {
+        Path file = dir.resolve("abc.txt");
+        Files.writeString(file, "abc");
+
+        assertThat(ContentHash.of(file))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    void fingerprintKeepsValuesApart() {
+        assertThat(ContentHash.fingerprint("a|b", "c")).isNotEqualTo(ContentHash.fingerprint("a", "b|c"));
+        assertThat(ContentHash.fingerprint("ab", "")).isNotEqualTo(ContentHash.fingerprint("a", "b"));
+        assertThat(ContentHash.fingerprint((Object) null)).isNotEqualTo(ContentHash.fingerprint(""));
+        assertThat(ContentHash.fingerprint(1L, 2L, "answer")).isEqualTo(ContentHash.fingerprint(1L, 2L, "answer"));
+    }
+
+    @Test
+    void uploadFingerprintDependsOnContentNotName() throws Exception {
+        MockMultipartFile original = file("resume.pdf", "first version");
+        MockMultipartFile sameSize = file("resume.pdf", "other version");
+        MockMultipartFile renamed = file("renamed.pdf", "first version");
+
+        assertThat(ContentHash.fingerprint(original, "Developer", null))
+                .isNotEqualTo(ContentHash.fingerprint(sameSize, "Developer", null))
+                .isEqualTo(ContentHash.fingerprint(renamed, "Developer", null))
+                .isNotEqualTo(ContentHash.fingerprint(original, "Developer", ""));
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("file", name, "application/pdf", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package com.a3n.resumentor.util;
+
+import org.apache.poi.wp.usermodel.HeaderFooterType;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Streaming DOCX extraction vs POI's XWPFWordExtractor over the same file, by document
+ * size: median time and bytes allocated per extraction. Not part of the regular test run;
+ * start it with {@code mvn test -Dtest=DocxStreamingExtractorBenchmark}. Allocation is read
+ * from the JVM's per-thread counter, so it is reported as n/a where the JVM lacks one. The
+ * documents are resume-like: a header and footer, paragraphs of experience bullets and a
+ * skills table per section.
+ */
+class DocxStreamingExtractorBenchmark {
+
+    private static final int[] SECTIONS = {1, 4, 16, 64, 256};
+    private static final int RUNS = 31;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void streamingVsPoi() throws IOException {
+        DocxStreamingExtractor extractor = new DocxStreamingExtractor();
+        ReflectionTestUtils.setField(extractor, "maxChars", 50_000_000);
+
+        Path warmup = write(dir.resolve("warmup.docx"), 16);
+        for (int i = 0; i < 100; i++) {
+            extractor.extract(warmup.toFile());
+            poi(warmup);
+        }
+
+        System.out.println("sections  file KB  streaming ms  poi ms  streaming KB alloc  poi KB alloc");
+        for (int sections : SECTIONS) {
+            Path file = write(dir.resolve(sections + ".docx"), sections);
+            double streaming = median(() -> extractor.extract(file.toFile()));
+            double poi = median(() -> poi(file));
+            String streamingAlloc = allocatedKb(() -> extractor.extract(file.toFile()));
+            String poiAlloc = allocatedKb(() -> poi(file));
+            System.out.printf("%8d  %7d  %12.2f  %6.2f  %18s  %12s%n", sections, Files.size(file) / 1024,
+                    streaming, poi, streamingAlloc, poiAlloc);
+        }
+    }
+
+    private static String poi(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             XWPFWordExtractor extractor = new XWPFWordExtractor(new XWPFDocument(in))) {
+            return extractor.getText();
+        }
+    }
+
+    private static Path write(Path file, int sections) throws IOException {
+        try (XWPFDocument document = new XWPFDocument()) {
+            document.createHeader(HeaderFooterType.DEFAULT).createParagraph().createRun().setText("Jane Doe - Resume");
+            document.createFooter(HeaderFooterType.DEFAULT).createParagraph().createRun()
+                    .setText("jane@example.com | +1 555 0100");
+            for (int section = 1; section <= sections; section++) {
+                document.createParagraph().createRun().setText("EXPERIENCE " + section);
+                for (int bullet = 0; bullet < 6; bullet++) {
+                    document.createParagraph().createRun().setText("Built and operated payment services in Java "
+                            + "and Spring Boot, cutting p99 latency by 40% for 2 million users (" + section + "." + bullet + ")");
+                }
+                XWPFTable skills = document.createTable(3, 2);
+                skills.getRow(0).getCell(0).setText("Languages");
+                skills.getRow(0).getCell(1).setText("Java, Kotlin, SQL, TypeScript");
+                skills.getRow(1).getCell(0).setText("Tools");
+                skills.getRow(1).getCell(1).setText("Docker, Kubernetes, Terraform, Kafka");
+                skills.getRow(2).getCell(0).setText("Practices");
+                skills.getRow(2).getCell(1).setText("TDD, code review, on-call, incident reviews");
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                document.write(out);
+            }
+        }
+        return file;
+    }
+
+    private static double median(IoAction action) throws IOException {
+        double[] times = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            action.run();
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    private static String allocatedKb(IoAction action) throws IOException {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return "n/a";
+        }
+        long id = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(id);
+        action.run();
+        return String.valueOf((threads.getThreadAllocatedBytes(id) - before) / 1024);
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,114 @@
+package com.a3n.resumentor.util;
+
+import org.apache.poi.wp.usermodel.HeaderFooterType;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.model.XWPFHeaderFooterPolicy;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFHeaderFooter;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTSectPr;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The streaming extractor is checked against POI's XWPFWordExtractor on the same file.
+ * The two lay out whitespace differently (POI separates table cells with tabs), so the
+ * comparison is word by word.
+ */
+class DocxStreamingExtractorTest {
+
+    @TempDir
+    Path dir;
+
+    private final DocxStreamingExtractor extractor = extractor();
+
+    @Test
+    void matchesPoiWordForWord() throws IOException {
+        Path file = dir.resolve("resume.docx");
+        try (XWPFDocument document = new XWPFDocument()) {
+            text(document.createHeader(HeaderFooterType.FIRST), "Jane Doe - Curriculum Vitae");
+            text(document.createHeader(HeaderFooterType.DEFAULT), "Jane Doe - page header");
+            text(document.createFooter(HeaderFooterType.DEFAULT), "jane@example.com | +1 555 0100");
+
+            document.createParagraph().createRun().setText("Jane Doe");
+            document.createParagraph().createRun().setText("EXPERIENCE");
+            XWPFParagraph bullet = document.createParagraph();
+            bullet.createRun().setText("Built payment services in Java, ");
+            bullet.createRun().setText("cutting latency by 40%.");
+            XWPFTable skills = document.createTable(2, 2);
+            skills.getRow(0).getCell(0).setText("Languages");
+            skills.getRow(0).getCell(1).setText("Java, Kotlin, SQL");
+            skills.getRow(1).getCell(0).setText("Tools");
+            skills.getRow(1).getCell(1).setText("Spring Boot, Docker");
+            document.createParagraph().createRun().setText("EDUCATION");
+            document.createParagraph().createRun().setText("BSc Computer Science, 2018");
+            save(document, file);
+        }
+
+        String streamed = extractor.extract(file.toFile()).getText();
+        String poi;
+        try (InputStream in = Files.newInputStream(file);
+             XWPFWordExtractor poiExtractor = new XWPFWordExtractor(new XWPFDocument(in))) {
+            poi = poiExtractor.getText();
+        }
+
+        assertThat(words(streamed)).isEqualTo(words(poi));
+        assertThat(streamed).startsWith("Jane Doe - Curriculum Vitae\nJane Doe - page header\nJane Doe\n");
+    }
+
+    @Test
+    void headersFollowSectionOrderPastNine() throws IOException {
+        Path file = dir.resolve("sections.docx");
+        try (XWPFDocument document = new XWPFDocument()) {
+            for (int section = 1; section <= 11; section++) {
+                XWPFParagraph paragraph = document.createParagraph();
+                paragraph.createRun().setText("Body " + section);
+                CTSectPr sectPr = section == 11
+                        ? document.getDocument().getBody().addNewSectPr()
+                        : paragraph.getCTP().addNewPPr().addNewSectPr();
+                text(new XWPFHeaderFooterPolicy(document, sectPr).createHeader(XWPFHeaderFooterPolicy.DEFAULT),
+                        "Header " + section);
+            }
+            save(document, file);
+        }
+
+        List<String> lines = Arrays.asList(extractor.extract(file.toFile()).getText().split("\n"));
+        List<String> expected = IntStream.rangeClosed(1, 11).mapToObj(i -> "Header " + i).toList();
+        assertThat(lines.subList(0, 11)).isEqualTo(expected);
+        assertThat(lines.subList(11, 22)).isEqualTo(IntStream.rangeClosed(1, 11).mapToObj(i -> "Body " + i).toList());
+    }
+
+    private static void text(XWPFHeaderFooter part, String text) {
+        XWPFParagraph paragraph = part.getParagraphs().isEmpty() ? part.createParagraph() : part.getParagraphs().get(0);
+        paragraph.createRun().setText(text);
+    }
+
+    private static void save(XWPFDocument document, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            document.write(out);
+        }
+    }
+
+    private static List<String> words(String text) {
+        return Arrays.stream(text.trim().split("\\s+")).toList();
+    }
+
+    private static DocxStreamingExtractor extractor() {
+        DocxStreamingExtractor extractor = new DocxStreamingExtractor();
+        ReflectionTestUtils.setField(extractor, "maxChars", 2_000_000);
+        return extractor;
+    }
+}
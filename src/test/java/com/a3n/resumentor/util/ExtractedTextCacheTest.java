@@ -0,0 +1,100 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExtractedTextCacheTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @TempDir
+    Path dir;
+
+    private ExtractedTextCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = newCache();
+    }
+
+    private ExtractedTextCache newCache() throws IOException {
+        ExtractedTextCache cache = new ExtractedTextCache();
+        ReflectionTestUtils.setField(cache, "cacheDir", dir.toString());
+        ReflectionTestUtils.setField(cache, "maxMemoryEntries", 8);
+        ReflectionTestUtils.setField(cache, "maxDiskBytes", 1L << 20);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        cache.init();
+        return cache;
+    }
+
+    @Test
+    void callersGetIndependentCopies() {
+        ExtractedResume extracted = resume();
+        cache.put(HASH, extracted);
+        extracted.getSections().get(0).getBullets().add("changed by the extractor");
+
+        ExtractedResume first = cache.get(HASH).orElseThrow();
+        first.setText("changed by a caller");
+        first.getSections().get(0).getBullets().clear();
+        first.getContact().setEmail(null);
+
+        ExtractedResume second = cache.get(HASH).orElseThrow();
+        assertThat(second.getText()).isEqualTo("Jane Doe\nEXPERIENCE\n- Built things");
+        assertThat(second.getSections().get(0).getBullets()).containsExactly("Built things");
+        assertThat(second.getContact().getEmail()).isEqualTo("jane@example.com");
+    }
+
+    @Test
+    void concurrentWritesOfTheSameFileLeaveOneReadableSidecar() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                writes.add(executor.submit(() -> {
+                    start.await();
+                    cache.put(HASH, resume());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .containsExactly(HASH + ".v2.json.gz");
+        }
+        // A fresh instance has an empty memory tier, so this reads the sidecar
+        assertThat(newCache().get(HASH).orElseThrow().getText()).isEqualTo(resume().getText());
+    }
+
+    private static ExtractedResume resume() {
+        ExtractedResume.Section experience = new ExtractedResume.Section("EXPERIENCE", "EXPERIENCE", 9, 33);
+        experience.getBullets().add("Built things");
+        ExtractedResume extracted = new ExtractedResume("Jane Doe\nEXPERIENCE\n- Built things", 1, new ArrayList<>(List.of(experience)));
+        extracted.setContact(new ExtractedResume.Contact("jane@example.com", null, null, null, null, 0, 8));
+        return extracted;
+    }
+}
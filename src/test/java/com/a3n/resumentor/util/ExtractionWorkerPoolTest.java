@@ -0,0 +1,78 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.exception.CapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A full extraction queue is a capacity problem, not a bad document: it is reported as
+ * {@link CapacityExceededException} so the client gets a retryable 503 that is not
+ * stored under its Idempotency-Key.
+ */
+class ExtractionWorkerPoolTest {
+
+    private final ExtractionWorkerPool pool = new ExtractionWorkerPool();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(pool, "poolSize", 1);
+        ReflectionTestUtils.setField(pool, "queueCapacity", 1);
+        ReflectionTestUtils.setField(pool, "timeoutSeconds", 30L);
+        ReflectionTestUtils.setField(pool, "meterRegistry", meterRegistry);
+        pool.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pool.shutdown();
+    }
+
+    @Test
+    void fullQueueIsACapacityError() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> extract(() -> {
+            started.countDown();
+            release.await();
+            return "first";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> extract(() -> "second"));
+        waitForQueueDepth(1);
+
+        assertThatThrownBy(() -> pool.execute("third.pdf", () -> "third"))
+                .isInstanceOf(CapacityExceededException.class);
+        assertThat(meterRegistry.counter("resumentor.extraction.rejected").count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    private String extract(Callable<String> task) {
+        try {
+            return pool.execute("doc.pdf", task);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        for (int i = 0; i < 500 && meterRegistry.get("resumentor.extraction.queue.depth").gauge().value() < depth; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
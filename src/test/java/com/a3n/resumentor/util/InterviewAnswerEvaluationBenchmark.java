@@ -0,0 +1,87 @@
+package com.a3n.resumentor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Time to evaluate one interview answer by answer length: from the whole text, from
+ * features streamed in transcript-sized chunks (where only the final evaluation is on the
+ * submit path), and with a question whose rules are not cached yet. Not part of the regular
+ * test run; start it with {@code mvn test -Dtest=InterviewAnswerEvaluationBenchmark}. Like
+ * the other benchmarks here it is a warmed-up timing loop rather than JMH, which the build
+ * does not carry; the numbers are for comparing the paths with each other, and a change
+ * in feedback is caught by InterviewAnswerEvaluationTest, not here.
+ */
+class InterviewAnswerEvaluationBenchmark {
+
+    private static final String QUESTION = "How do you approach designing a scalable REST API for a microservices system?";
+    private static final String[] VOCABULARY = ("I first designed the API using REST and caching, for example we reduced "
+            + "latency by 40% which means users saw 3 times faster pages. Additionally the database indexing improved "
+            + "throughput. Finally I learned a lot basically").split(" ");
+    private static final int[] WORD_COUNTS = {20, 50, 150, 500, 2000};
+    private static final int ANSWERS = 200;
+    private static final int CHUNK_CHARS = 40;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void evaluationTime() {
+        MockAIAnalyzer analyzer = new MockAIAnalyzer();
+        Random random = new Random(1);
+        long sink = 0;
+
+        System.out.println("words  whole text us  streamed append us  streamed evaluate us  uncached rules us");
+        for (int words : WORD_COUNTS) {
+            String[] answers = new String[ANSWERS];
+            for (int i = 0; i < ANSWERS; i++) {
+                StringBuilder answer = new StringBuilder();
+                for (int w = 0; w < words; w++) {
+                    answer.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(' ');
+                }
+                answers[i] = answer.toString();
+            }
+            int iterations = Math.max(1000, 2_000_000 / words);
+
+            double wholeUs = 0;
+            double appendUs = 0;
+            double evaluateUs = 0;
+            double uncachedUs = 0;
+            // The last round is reported; the earlier ones warm up
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < iterations; i++) {
+                    sink += analyzer.evaluateInterviewAnswer(QUESTION, answers[i % ANSWERS], null).length();
+                }
+                wholeUs = (System.nanoTime() - start) / 1e3 / iterations;
+
+                long appendNanos = 0;
+                long evaluateNanos = 0;
+                for (int i = 0; i < iterations; i++) {
+                    String answer = answers[i % ANSWERS];
+                    long appendStart = System.nanoTime();
+                    AnswerFeatures features = analyzer.answerFeatures(QUESTION);
+                    for (int from = 0; from < answer.length(); from += CHUNK_CHARS) {
+                        features.append(answer.substring(from, Math.min(answer.length(), from + CHUNK_CHARS)));
+                    }
+                    long evaluateStart = System.nanoTime();
+                    sink += analyzer.evaluateInterviewAnswer(QUESTION, features).length();
+                    appendNanos += evaluateStart - appendStart;
+                    evaluateNanos += System.nanoTime() - evaluateStart;
+                }
+                appendUs = appendNanos / 1e3 / iterations;
+                evaluateUs = evaluateNanos / 1e3 / iterations;
+
+                int uncachedIterations = Math.max(100, iterations / 10);
+                start = System.nanoTime();
+                for (int i = 0; i < uncachedIterations; i++) {
+                    // A question text never seen before compiles its rules on first use
+                    sink += analyzer.evaluateInterviewAnswer(QUESTION + " (" + round + "-" + words + "-" + i + ")",
+                            answers[i % ANSWERS], null).length();
+                }
+                uncachedUs = (System.nanoTime() - start) / 1e3 / uncachedIterations;
+            }
+            System.out.printf("%5d  %13.1f  %18.1f  %20.1f  %17.1f%n", words, wholeUs, appendUs, evaluateUs, uncachedUs);
+        }
+        System.out.println("(" + sink % 10 + ")");
+    }
+}
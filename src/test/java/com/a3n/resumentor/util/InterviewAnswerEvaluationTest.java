@@ -0,0 +1,124 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.util.AnswerRules.Indicator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The interview answer evaluator against golden feedback. interview-answer-golden.json was
+ * recorded from the evaluator as it was before answers were scanned by the rule engine,
+ * which lowercased and searched the whole answer once per check, so any change in
+ * feedback shows up here. The same answers, cut into chunks in different ways, must yield
+ * identical features and feedback.
+ */
+class InterviewAnswerEvaluationTest {
+
+    private static final String GOLDEN = "/interview-answer-golden.json";
+
+    private final MockAIAnalyzer analyzer = new MockAIAnalyzer();
+
+    record Golden(String question, String answer, String feedback) {
+    }
+
+    @Test
+    void feedbackMatchesTheGoldenOutput() throws IOException {
+        for (Golden golden : golden()) {
+            assertThat(analyzer.evaluateInterviewAnswer(golden.question(), golden.answer(), null))
+                    .as("feedback for %s", golden.answer())
+                    .isEqualTo(golden.feedback());
+        }
+    }
+
+    @Test
+    void streamedAnswersGetTheGoldenFeedback() throws IOException {
+        Random random = new Random(17);
+        for (Golden golden : golden()) {
+            for (List<String> chunks : chunkings(golden.answer(), random)) {
+                AnswerFeatures features = analyzer.answerFeatures(golden.question());
+                chunks.forEach(features::append);
+
+                assertThat(analyzer.evaluateInterviewAnswer(golden.question(), features))
+                        .as("feedback for %s in %d chunks", golden.answer(), chunks.size())
+                        .isEqualTo(golden.feedback());
+            }
+        }
+    }
+
+    @Test
+    void everyChunkingYieldsTheSameFeatures() throws IOException {
+        Random random = new Random(23);
+        for (Golden golden : golden()) {
+            Map<String, Object> whole = snapshot(features(golden.question(), List.of(golden.answer())));
+            for (List<String> chunks : chunkings(golden.answer(), random)) {
+                assertThat(snapshot(features(golden.question(), chunks)))
+                        .as("features of %s in %d chunks", golden.answer(), chunks.size())
+                        .isEqualTo(whole);
+            }
+        }
+    }
+
+    @Test
+    void blankAnswersGetTheEmptyAnswerFeedback() throws IOException {
+        String empty = golden().get(0).feedback();
+
+        assertThat(analyzer.evaluateInterviewAnswer("Tell me about yourself", null, null)).isEqualTo(empty);
+        assertThat(analyzer.evaluateInterviewAnswer("Tell me about yourself", "\r\n", null)).isEqualTo(empty);
+    }
+
+    private AnswerFeatures features(String question, List<String> chunks) {
+        AnswerFeatures features = analyzer.answerFeatures(question);
+        chunks.forEach(features::append);
+        return features;
+    }
+
+    private static Map<String, Object> snapshot(AnswerFeatures features) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("words", features.wordCount());
+        snapshot.put("sentences", features.sentenceCount());
+        snapshot.put("blank", features.isBlank());
+        snapshot.put("jargon", features.hasJargon());
+        snapshot.put("metrics", features.hasMetrics());
+        for (Indicator indicator : Indicator.values()) {
+            snapshot.put(indicator.name(), features.count(indicator));
+        }
+        return snapshot;
+    }
+
+    private static List<List<String>> chunkings(String answer, Random random) {
+        List<List<String>> chunkings = new ArrayList<>();
+        List<String> perCharacter = new ArrayList<>();
+        for (int i = 0; i < answer.length(); i++) {
+            perCharacter.add(answer.substring(i, i + 1));
+        }
+        chunkings.add(perCharacter);
+        for (int run = 0; run < 20; run++) {
+            List<String> chunks = new ArrayList<>();
+            int start = 0;
+            while (start < answer.length()) {
+                int end = Math.min(answer.length(), start + random.nextInt(12));
+                chunks.add(answer.substring(start, end));
+                start = end;
+            }
+            chunkings.add(chunks);
+        }
+        return chunkings;
+    }
+
+    private static List<Golden> golden() throws IOException {
+        try (InputStream in = InterviewAnswerEvaluationTest.class.getResourceAsStream(GOLDEN)) {
+            return new ObjectMapper().readValue(in, new TypeReference<>() {
+            });
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import com.a3n.resumentor.dto.ResumeAnalysisResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the rule-based resume score for a known resume, so a change in section or contact
+ * detection, structure scoring or ATS friendliness shows up as a changed number. The
+ * expected values are worked out from the scoring rules in the comments. Scoring from
+ * per-block features must agree with scoring the text.
+ */
+class MockAIAnalyzerTest {
+
+    private static final String RESUME = """
+            Jane Doe
+            jane.doe@example.com | +1 555 010 0199 | linkedin.com/in/janedoe
+            Austin, TX
+
+            SUMMARY
+            Backend engineer with 6 years of experience building Java services.
+
+            EXPERIENCE
+            • Developed REST API services in Java and Spring Boot for 2 million users
+            • Reduced p99 latency by 40% by adding Redis caching
+            • Led migration to microservices on Kubernetes and Docker
+            • Automated releases with Jenkins CI/CD, cutting deploy time by 70%
+
+            EDUCATION
+            B.S. Computer Science, University of Texas, 2017
+
+            SKILLS
+            Java, Spring Boot, SQL, Git, Maven, JUnit, Docker, Kafka
+            Communication, teamwork, leadership
+
+            PROJECTS
+            • Built an open-source rate limiter used by 300+ projects
+            """;
+
+    private final MockAIAnalyzer analyzer = new MockAIAnalyzer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(analyzer, "resumeSectionDetector", new ResumeSectionDetector());
+    }
+
+    @Test
+    void knownResumeGetsAFixedScore() {
+        ResumeAnalysisResponse response = analyzer.analyzeResume(RESUME, "Java Developer", null);
+
+        // 8 of 9 required skills (no "database"), 6 of 9 preferred, 3 soft skills
+        assertThat(response.getMissingKeywords()).containsExactly("database");
+        assertThat(response.getMatchedKeywords()).hasSize(14);
+        assertThat(response.getKeywordMatchPercentage()).isEqualTo(14 * 100 / 18);
+        assertThat(response.getSoftSkillsScore()).isEqualTo(60);
+        // 5 sections (0.4) + email, phone (0.2 each) + LinkedIn (0.1); under 200 words
+        assertThat(response.getStructureScore()).isEqualTo(90);
+        // 5 of 8 action verbs (0.25) + 4 of 5 metrics (0.32) + "years of experience" (0.2)
+        assertThat(response.getExperienceScore()).isEqualTo(77);
+
+        assertThat(response.getFormattingScore()).isEqualTo(100);
+        assertThat(response.getParsabilityScore()).isEqualTo(100);
+        assertThat(response.getContactInfoScore()).isEqualTo(100);
+        assertThat(response.getSectionOrganizationScore()).isEqualTo(100);
+        assertThat(response.getKeywordDensityScore()).isEqualTo(93);
+        assertThat(response.getAtsIssues()).isEmpty();
+
+        // Content 15 + 26.67 + 15 + 13.5 + 9.24 + 8 + 5 = 92; friendliness 98;
+        // unified round(92 * 0.65 + 98 * 0.35 + 3) = 97
+        assertThat(response.getAtsScore()).isEqualTo(97);
+        assertThat(response.getAtsFriendlinessScore()).isEqualTo(97);
+        assertThat(response.getResumeStrength()).isEqualTo("EXCELLENT");
+    }
+
+    @Test
+    void blockFeaturesScoreLikeTheWholeResume() {
+        ResumeSectionDetector detector = new ResumeSectionDetector();
+        List<ExtractedResume.Section> sections = detector.detectSections(RESUME);
+        List<MockAIAnalyzer.TextFeatures> blocks = new ArrayList<>();
+        blocks.add(analyzer.features(RESUME.substring(0, sections.get(0).getStart()), null, "Java Developer"));
+        for (ExtractedResume.Section section : sections) {
+            blocks.add(analyzer.features(RESUME.substring(section.getStart(), section.getEnd()), section.getName(),
+                    "Java Developer"));
+        }
+
+        assertThat(blocks).hasSize(6);
+        assertThat(analyzer.atsScore(blocks, "Java Developer")).isEqualTo(97);
+        // Without the skills section: fewer keywords and no SKILLS heading
+        blocks.remove(4);
+        assertThat(analyzer.atsScore(blocks, "Java Developer")).isEqualTo(
+                analyzer.analyzeResume(RESUME.substring(0, sections.get(3).getStart())
+                        + RESUME.substring(sections.get(4).getStart()), "Java Developer", null).getAtsScore());
+    }
+
+    @Test
+    void sectionTitlesInProseDoNotCountAsSections() {
+        String prose = RESUME.replace("\nSUMMARY\n", "\n").replace("\nEXPERIENCE\n", "\nMy experience:\n")
+                .replace("\nEDUCATION\n", "\n").replace("\nSKILLS\n", "\n").replace("\nPROJECTS\n", "\n");
+
+        ResumeAnalysisResponse response = analyzer.analyzeResume(prose, "Java Developer", null);
+
+        // Only the contact details remain of the structure score
+        assertThat(response.getStructureScore()).isEqualTo(50);
+        assertThat(response.getParsabilityScore()).isZero();
+        assertThat(response.getSectionOrganizationScore()).isEqualTo(30);
+        assertThat(response.getAtsIssues()).contains("Missing standard sections: Experience, Education, or Skills",
+                "Resume structure is unclear - add standard sections");
+    }
+}
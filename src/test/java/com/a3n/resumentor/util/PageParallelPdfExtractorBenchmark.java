@@ -0,0 +1,106 @@
+package com.a3n.resumentor.util;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Serial vs page-parallel extraction time by page count, which is what
+ * {@code extraction.pdf.parallel-min-pages} is tuned from. Not part of the regular test
+ * run; start it with {@code mvn test -Dtest=PageParallelPdfExtractorBenchmark}. On a
+ * single core the page threads only add work, so the parallel time there is the total cost
+ * of a split extraction and the 4-core column only estimates it by dividing that cost by
+ * the number of ranges; such a run does not give a threshold. With more cores the measured
+ * times are reported as they are. The threshold is the first page count at which splitting
+ * halves the measured time, which leaves headroom for the extra CPU a split costs when other
+ * documents are being extracted at the same time.
+ */
+class PageParallelPdfExtractorBenchmark {
+
+    private static final int[] PAGE_COUNTS = {2, 4, 6, 8, 10, 12, 16, 24, 40};
+    private static final int THREADS = 4;
+    private static final int RUNS = 31;
+    private static final long MEMORY = 8 * 1024 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void crossover() throws IOException {
+        PageParallelPdfExtractor extractor = PageParallelPdfExtractorTest.extractor(THREADS, 32);
+        try {
+            File warmup = TestPdfs.write(dir.resolve("warmup.pdf"), 20).toFile();
+            for (int i = 0; i < 100; i++) {
+                serial(warmup);
+                parallel(extractor, warmup);
+            }
+
+            int cores = Runtime.getRuntime().availableProcessors();
+            System.out.printf("%d cores available%n", cores);
+            System.out.println("pages  ranges  serial ms  parallel ms  4-core ms");
+            Integer measured = null;
+            Integer estimated = null;
+            for (int pages : PAGE_COUNTS) {
+                File file = TestPdfs.write(dir.resolve(pages + ".pdf"), pages).toFile();
+                double serial = median(() -> serial(file));
+                double parallel = median(() -> parallel(extractor, file));
+                int ranges = (pages + pagesPerRange(pages) - 1) / pagesPerRange(pages);
+                double fourCores = cores == 1 ? parallel / ranges : parallel;
+                System.out.printf("%5d  %6d  %9.2f  %11.2f  %9.2f%n", pages, ranges, serial, parallel, fourCores);
+                if (measured == null && parallel <= serial / 2) {
+                    measured = pages;
+                }
+                if (estimated == null && fourCores <= serial / 2) {
+                    estimated = pages;
+                }
+            }
+            if (cores == 1) {
+                System.out.printf("Single core: no threshold measured (4-core estimate: %s pages); "
+                        + "leave extraction.pdf.parallel-min-pages at 0 or rerun on the target host%n", estimated);
+            } else {
+                System.out.printf("Parallel halves the time on this host from %s pages: "
+                        + "set extraction.pdf.parallel-min-pages to that%n", measured);
+            }
+        } finally {
+            extractor.shutdown();
+        }
+    }
+
+    private static void serial(File file) throws IOException {
+        try (PDDocument document = PDDocument.load(file, MemoryUsageSetting.setupMixed(MEMORY))) {
+            new LayoutTextStripper().extract(document);
+        }
+    }
+
+    private static void parallel(PageParallelPdfExtractor extractor, File file) throws IOException {
+        try (PDDocument document = PDDocument.load(file, MemoryUsageSetting.setupMixed(MEMORY))) {
+            extractor.extract(document, file, MEMORY);
+        }
+    }
+
+    // Same split as PageParallelPdfExtractor with its minimum of 3 pages per range
+    private static int pagesPerRange(int pages) {
+        return Math.max(3, (pages + THREADS - 1) / THREADS);
+    }
+
+    private static double median(IoAction action) throws IOException {
+        double[] times = new double[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            action.run();
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[RUNS / 2];
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,103 @@
+package com.a3n.resumentor.util;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Stitched page ranges must give exactly the text and line layout of a serial extraction,
+ * whether the ranges run on page threads or, with a full queue, on the calling thread.
+ */
+class PageParallelPdfExtractorTest {
+
+    private static final long MEMORY = 8 * 1024 * 1024;
+
+    @TempDir
+    Path dir;
+
+    private PageParallelPdfExtractor extractor;
+
+    @AfterEach
+    void tearDown() {
+        if (extractor != null) {
+            extractor.shutdown();
+        }
+    }
+
+    @Test
+    void parallelExtractionMatchesSerial() throws IOException {
+        extractor = extractor(4, 32);
+        assertMatchesSerial(TestPdfs.write(dir.resolve("long.pdf"), 23));
+    }
+
+    @Test
+    void fullQueueRunsRangesOnCallingThread() throws IOException {
+        extractor = extractor(2, 1);
+        assertMatchesSerial(TestPdfs.write(dir.resolve("long.pdf"), 30));
+    }
+
+    @Test
+    void shortDocumentsStaySerial() {
+        extractor = extractor(4, 32);
+        assertThat(extractor.shouldParallelize(5)).isFalse();
+        assertThat(extractor.shouldParallelize(6)).isTrue();
+    }
+
+    @Test
+    void splittingIsOffUntilAThresholdIsConfigured() {
+        extractor = extractor(4, 32);
+        ReflectionTestUtils.setField(extractor, "parallelMinPages", 0);
+
+        assertThat(extractor.shouldParallelize(1)).isFalse();
+        assertThat(extractor.shouldParallelize(500)).isFalse();
+    }
+
+    @Test
+    void interruptedExtractionStops() throws IOException {
+        extractor = extractor(4, 32);
+        Path file = TestPdfs.write(dir.resolve("long.pdf"), 20);
+        try (PDDocument document = PDDocument.load(file.toFile())) {
+            Thread.currentThread().interrupt();
+            assertThatThrownBy(() -> extractor.extract(document, file.toFile(), MEMORY))
+                    .isInstanceOf(IOException.class);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private void assertMatchesSerial(Path file) throws IOException {
+        try (PDDocument document = PDDocument.load(file.toFile())) {
+            LayoutTextStripper.Result serial = new LayoutTextStripper().extract(document);
+            LayoutTextStripper.Result parallel = extractor.extract(document, file.toFile(), MEMORY);
+
+            assertThat(parallel.getText()).isEqualTo(serial.getText());
+            assertThat(parallel.getLines()).hasSameSizeAs(serial.getLines());
+            for (int i = 0; i < serial.getLines().size(); i++) {
+                LayoutTextStripper.Line expected = serial.getLines().get(i);
+                LayoutTextStripper.Line actual = parallel.getLines().get(i);
+                assertThat(actual.getStart()).isEqualTo(expected.getStart());
+                assertThat(actual.getEnd()).isEqualTo(expected.getEnd());
+                assertThat(actual.getFontSize()).isEqualTo(expected.getFontSize());
+                assertThat(actual.isBold()).isEqualTo(expected.isBold());
+            }
+        }
+    }
+
+    static PageParallelPdfExtractor extractor(int threads, int queueCapacity) {
+        PageParallelPdfExtractor extractor = new PageParallelPdfExtractor();
+        ReflectionTestUtils.setField(extractor, "parallelMinPages", 6);
+        ReflectionTestUtils.setField(extractor, "minPagesPerChunk", 3);
+        ReflectionTestUtils.setField(extractor, "parallelThreads", threads);
+        ReflectionTestUtils.setField(extractor, "queueCapacity", queueCapacity);
+        extractor.init();
+        return extractor;
+    }
+}
@@ -0,0 +1,147 @@
+package com.a3n.resumentor.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every phrase is found exactly where {@code contains} finds it: overlapping phrases,
+ * phrases that are suffixes or prefixes of others, repeated phrases and non-ASCII text,
+ * with and without case folding.
+ */
+class PhraseAutomatonTest {
+
+    @Test
+    void overlappingPhrasesAreAllFound() {
+        PhraseAutomaton automaton = new PhraseAutomaton(List.of("he", "she", "his", "hers"), false);
+
+        assertThat(found(automaton, "ushers")).containsExactly(true, true, false, true);
+        assertThat(found(automaton, "ahishe")).containsExactly(true, true, true, false);
+    }
+
+    @Test
+    void suffixPhrasesAreReportedWithTheLongerOne() {
+        PhraseAutomaton automaton = new PhraseAutomaton(List.of("abcd", "bcd", "cd", "d", "abc"), false);
+
+        int state = PhraseAutomaton.START;
+        for (char c : "xabcd".toCharArray()) {
+            state = automaton.next(state, c);
+        }
+
+        assertThat(automaton.matches(state)).containsExactlyInAnyOrder(
+                automaton.idOf("abcd"), automaton.idOf("bcd"), automaton.idOf("cd"), automaton.idOf("d"));
+        assertThat(found(automaton, "abxcd")).containsExactly(false, false, true, true, false);
+    }
+
+    @Test
+    void failedLongMatchFallsBackToAShorterOne() {
+        PhraseAutomaton automaton = new PhraseAutomaton(List.of("for example", "example"), true);
+
+        assertThat(found(automaton, "for exam for example")).containsExactly(true, true);
+        assertThat(found(automaton, "for a good example")).containsExactly(false, true);
+        assertThat(found(automaton, "for examp")).containsExactly(false, false);
+    }
+
+    @Test
+    void repeatedAndEmptyPhrasesShareOneId() {
+        PhraseAutomaton automaton = new PhraseAutomaton(List.of("Step", "step", "STEP", ""), true);
+
+        assertThat(automaton.size()).isEqualTo(1);
+        assertThat(automaton.idOf("sTeP")).isZero();
+        assertThat(automaton.idOf("")).isEqualTo(-1);
+        assertThat(automaton.idOf("steps")).isEqualTo(-1);
+    }
+
+    @Test
+    void caseIsFoldedOnlyWhenAsked() {
+        PhraseAutomaton folded = new PhraseAutomaton(List.of("API", "café"), true);
+        PhraseAutomaton exact = new PhraseAutomaton(List.of("API", "café"), false);
+
+        assertThat(found(folded, "an api at the CAFÉ")).containsExactly(true, true);
+        assertThat(found(exact, "an api at the CAFÉ")).containsExactly(false, false);
+        assertThat(found(exact, "an API at the café")).containsExactly(true, true);
+    }
+
+    @Test
+    void nonAsciiCharactersAreMatched() {
+        PhraseAutomaton automaton = new PhraseAutomaton(List.of("naïve", "größe", "日本語", "ＳＯＬＩＤ", "ñ"), true);
+
+        assertThat(found(automaton, "NAÏVE Größe")).containsExactly(true, true, false, false, false);
+        assertThat(found(automaton, "日本語とＳＯＬＩＤ")).containsExactly(false, false, true, true, false);
+        assertThat(found(automaton, "naive GROSSE 日本 SOLID Ñ")).containsExactly(false, false, false, false, true);
+    }
+
+    @Test
+    void dottedCapitalIFoldsLikeStringToLowerCase() {
+        PhraseAutomaton automaton = new PhraseAutomaton(List.of("in my experience", "api", "İstanbul"), true);
+
+        // "İ".toLowerCase(Locale.ROOT) is "i̇", so it ends "api" but does not start "in"
+        assertThat(found(automaton, "İn my experience")).containsExactly(false, false, false);
+        assertThat(found(automaton, "the APİ")).containsExactly(false, true, false);
+        assertThat(found(automaton, "İSTANBUL")).containsExactly(false, false, true);
+        assertThat(found(automaton, "In my experience")).containsExactly(true, false, false);
+    }
+
+    @Test
+    void stateCarriesAcrossChunks() {
+        PhraseAutomaton automaton = new PhraseAutomaton(List.of("which means", "means"), true);
+        boolean[] found = new boolean[automaton.size()];
+
+        int state = PhraseAutomaton.START;
+        for (String chunk : List.of("Wh", "ich ", "", "mea", "ns")) {
+            for (char c : chunk.toCharArray()) {
+                state = automaton.next(state, c, found);
+            }
+        }
+
+        assertThat(found).containsExactly(true, true);
+    }
+
+    @Test
+    void randomTextMatchesLowerCaseContains() {
+        String alphabet = "abAB cİıIéÉ日ß.";
+        Random random = new Random(99);
+        for (int run = 0; run < 500; run++) {
+            List<String> phrases = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(8); i++) {
+                phrases.add(randomText(alphabet, 1 + random.nextInt(4), random));
+            }
+            PhraseAutomaton folded = new PhraseAutomaton(phrases, true);
+            PhraseAutomaton exact = new PhraseAutomaton(phrases, false);
+            for (int text = 0; text < 20; text++) {
+                String input = randomText(alphabet, random.nextInt(40), random);
+                boolean[] foldedFound = found(folded, input);
+                boolean[] exactFound = found(exact, input);
+                for (String phrase : phrases) {
+                    String lowered = phrase.toLowerCase(Locale.ROOT);
+                    assertThat(foldedFound[folded.idOf(phrase)]).as("%s in %s", lowered, input)
+                            .isEqualTo(input.toLowerCase(Locale.ROOT).contains(lowered));
+                    assertThat(exactFound[exact.idOf(phrase)]).as("%s in %s", phrase, input)
+                            .isEqualTo(input.contains(phrase));
+                }
+            }
+        }
+    }
+
+    private static boolean[] found(PhraseAutomaton automaton, String text) {
+        boolean[] found = new boolean[automaton.size()];
+        int state = PhraseAutomaton.START;
+        for (int i = 0; i < text.length(); i++) {
+            state = automaton.next(state, text.charAt(i), found);
+        }
+        return found;
+    }
+
+    private static String randomText(String alphabet, int length, Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,192 @@
+package com.a3n.resumentor.util;
+
+import com.a3n.resumentor.dto.ExtractedResume;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Section, bullet and contact detection on plain text and on PDF layout lines: headings in
+ * capitals, with trailing colons or dashes, prose that mentions a section title, wrapped
+ * bullets, and a two-column layout whose sidebar is extracted after the main column.
+ */
+class ResumeSectionDetectorTest {
+
+    private final ResumeSectionDetector detector = new ResumeSectionDetector();
+
+    @Test
+    void headingsAreKnownTitlesOnShortLines() {
+        assertThat(detector.headingName("SKILLS")).isEqualTo("SKILLS");
+        assertThat(detector.headingName("Technical Skills:")).isEqualTo("SKILLS");
+        assertThat(detector.headingName("Work Experience -")).isEqualTo("EXPERIENCE");
+        assertThat(detector.headingName("Honors & Awards |")).isEqualTo("ACHIEVEMENTS");
+        assertThat(detector.headingName("My experience")).isNull();
+        assertThat(detector.headingName("Hobbies")).isNull();
+        assertThat(detector.headingName("")).isNull();
+    }
+
+    @Test
+    void plainTextIsSplitAtHeadingLines() {
+        String text = """
+                Jane Doe
+                jane@example.com
+
+                PROFESSIONAL SUMMARY
+                Engineer with experience in payments.
+                Work Experience:
+                • Built payment services
+                  handling 2 million users
+                - Cut latency by 40%
+                * Led a team of 4
+                Gained experience with Kafka
+                Education -
+                B.S. Computer Science
+                HOBBIES
+                Chess
+                Skills
+                Java, Kafka""";
+
+        List<ExtractedResume.Section> sections = detector.detectSections(text);
+
+        assertThat(sections).extracting(ExtractedResume.Section::getName)
+                .containsExactly("SUMMARY", "EXPERIENCE", "EDUCATION", "SKILLS");
+        assertThat(sections).extracting(ExtractedResume.Section::getHeading)
+                .containsExactly("PROFESSIONAL SUMMARY", "Work Experience:", "Education -", "Skills");
+        assertSpansCoverTheText(text, sections);
+        assertThat(sections.get(1).getBullets()).containsExactly(
+                "Built payment services handling 2 million users", "Cut latency by 40%", "Led a team of 4");
+        // An unknown heading stays part of the section before it
+        assertThat(text.substring(sections.get(2).getStart(), sections.get(2).getEnd())).contains("HOBBIES\nChess");
+    }
+
+    @Test
+    void emphasizedLinesAreHeadingsInAStyledLayout() {
+        Layout layout = new Layout()
+                .line("Jane Doe", 18, true, 50)
+                .line("jane@example.com | +1 555 010 0199", 10, false, 50)
+                .line("Experience", 12, true, 50)
+                .line("• Built payment services in Java and Spring Boot", 10, false, 50)
+                .line("Projects", 10, false, 50)
+                .line("• Cut latency by 40% across 2 million users", 10, false, 50)
+                .line("OPEN SOURCE", 10, true, 50)
+                .line("Maintainer of a rate limiting library", 10, false, 50)
+                .line("EDUCATION", 10, false, 50)
+                .line("B.S. Computer Science, University of Texas", 10, false, 50);
+
+        List<ExtractedResume.Section> sections = detector.detectSections(layout.text(), layout.lines());
+
+        // "Projects" in body type is text; the bold all-caps line is an unknown heading;
+        // all-caps "EDUCATION" counts as emphasized even at body size and weight
+        assertThat(sections).extracting(ExtractedResume.Section::getName)
+                .containsExactly("EXPERIENCE", "OTHER", "EDUCATION");
+        assertThat(sections.get(1).getHeading()).isEqualTo("OPEN SOURCE");
+        assertSpansCoverTheText(layout.text(), sections);
+        assertThat(sections.get(0).getBullets()).containsExactly(
+                "Built payment services in Java and Spring Boot", "Cut latency by 40% across 2 million users");
+    }
+
+    @Test
+    void unstyledLayoutFallsBackToHeadingTitles() {
+        Layout layout = new Layout()
+                .line("Jane Doe", 11, false, 50)
+                .line("Experience", 11, false, 50)
+                .line("- Built payment services", 11, false, 50)
+                .line("Skills", 11, false, 50)
+                .line("Java, Kafka", 11, false, 50);
+
+        List<ExtractedResume.Section> sections = detector.detectSections(layout.text(), layout.lines());
+
+        assertThat(sections).extracting(ExtractedResume.Section::getName).containsExactly("EXPERIENCE", "SKILLS");
+    }
+
+    @Test
+    void sidebarColumnGetsItsOwnSectionsAndBullets() {
+        // PDFBox emits a two-column page column by column: the main column, then the sidebar
+        Layout layout = new Layout()
+                .line("Jane Doe", 18, true, 50)
+                .line("Experience", 12, true, 50)
+                .line("• Built payment services in Java", 10, false, 50)
+                .line("And Spring Boot for 2 million users", 10, false, 60)
+                .line("• Cut latency by 40%", 10, false, 50)
+                .line("Education", 12, true, 50)
+                .line("B.S. Computer Science, University of Texas", 10, false, 50)
+                .line("SKILLS", 11, true, 400)
+                .line("• Java", 10, false, 400)
+                .line("• Kubernetes", 10, false, 400)
+                .line("Certified Kubernetes Administrator", 10, false, 400)
+                .line("Languages", 11, true, 400)
+                .line("• English", 10, false, 400);
+
+        ExtractedResume extracted = detector.segment(layout.text(), 1, layout.lines());
+
+        List<ExtractedResume.Section> sections = extracted.getSections();
+        assertThat(sections).extracting(ExtractedResume.Section::getName)
+                .containsExactly("EXPERIENCE", "EDUCATION", "SKILLS", "LANGUAGES");
+        assertSpansCoverTheText(layout.text(), sections);
+        // Indented past the bullet glyph is a continuation, even when it starts in capitals
+        assertThat(sections.get(0).getBullets())
+                .containsExactly("Built payment services in Java And Spring Boot for 2 million users", "Cut latency by 40%");
+        assertThat(sections.get(2).getBullets()).containsExactly("Java", "Kubernetes");
+        assertThat(sections.get(3).getBullets()).containsExactly("English");
+    }
+
+    @Test
+    void contactDetailsComeFromTheHeaderBlockFirst() {
+        String text = """
+                Jane Doe
+                Austin, TX | (555) 010-0199 | linkedin.com/in/janedoe
+                EXPERIENCE
+                • Moved from Seattle, WA in 2019
+                Code at github.com/janedoe, mail jane@example.com""";
+
+        ExtractedResume extracted = detector.segment(text, 1, null);
+
+        ExtractedResume.Contact contact = extracted.getContact();
+        assertThat(contact.getLocation()).isEqualTo("Austin, TX");
+        assertThat(contact.getPhone()).isEqualTo("(555) 010-0199");
+        assertThat(contact.getLinkedin()).isEqualTo("linkedin.com/in/janedoe");
+        // Not in the header block, found in the rest of the text
+        assertThat(contact.getGithub()).isEqualTo("github.com/janedoe");
+        assertThat(contact.getEmail()).isEqualTo("jane@example.com");
+        assertThat(contact.getEnd()).isEqualTo(text.indexOf("EXPERIENCE"));
+    }
+
+    @Test
+    void locationIsOnlyTakenFromTheHeaderBlock() {
+        ExtractedResume extracted = detector.segment("Jane Doe\nSKILLS\nRelocating to Seattle, WA", 1, null);
+
+        assertThat(extracted.getContact().getLocation()).isNull();
+    }
+
+    private static void assertSpansCoverTheText(String text, List<ExtractedResume.Section> sections) {
+        for (int i = 0; i < sections.size(); i++) {
+            ExtractedResume.Section section = sections.get(i);
+            assertThat(text.substring(section.getStart())).startsWith(section.getHeading());
+            assertThat(section.getEnd()).isEqualTo(i + 1 < sections.size() ? sections.get(i + 1).getStart() : text.length());
+        }
+    }
+
+    private static final class Layout {
+        private final StringBuilder text = new StringBuilder();
+        private final List<LayoutTextStripper.Line> lines = new ArrayList<>();
+
+        Layout line(String content, float fontSize, boolean bold, float x) {
+            int start = text.length();
+            text.append(content);
+            lines.add(new LayoutTextStripper.Line(start, text.length(), fontSize, bold, x));
+            text.append('\n');
+            return this;
+        }
+
+        String text() {
+            return text.toString();
+        }
+
+        List<LayoutTextStripper.Line> lines() {
+            return lines;
+        }
+    }
+}